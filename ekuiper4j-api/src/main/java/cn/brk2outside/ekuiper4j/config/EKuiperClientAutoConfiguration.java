@@ -1,24 +1,53 @@
 package cn.brk2outside.ekuiper4j.config;
 
 import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientFactory;
+import cn.brk2outside.ekuiper4j.http.JdkHttpClient;
+import cn.brk2outside.ekuiper4j.http.JdkTransport;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
+import cn.brk2outside.ekuiper4j.http.NodeConcurrencyLimiter;
 import cn.brk2outside.ekuiper4j.http.RestTemplateHttpClient;
+import cn.brk2outside.ekuiper4j.http.auth.HeaderSnapshot;
 import cn.brk2outside.ekuiper4j.http.auth.JwtAwareHttpClient;
 import cn.brk2outside.ekuiper4j.http.auth.JwtTokenManager;
+import cn.brk2outside.ekuiper4j.http.auth.JwtTokenManagerRegistry;
+import cn.brk2outside.ekuiper4j.http.cache.CachingHttpClient;
+import cn.brk2outside.ekuiper4j.http.coalescing.CoalescingHttpClient;
+import cn.brk2outside.ekuiper4j.http.cluster.ClusterHttpClient;
+import cn.brk2outside.ekuiper4j.http.cluster.ClusterMember;
+import cn.brk2outside.ekuiper4j.http.hedging.HedgingHttpClient;
+import cn.brk2outside.ekuiper4j.http.resilience.NodeGuard;
+import cn.brk2outside.ekuiper4j.http.retry.RetryingHttpClient;
+import cn.brk2outside.ekuiper4j.metrics.RuleMetricsCollector;
+import cn.brk2outside.ekuiper4j.sdk.api.AsyncConfigKeyAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.AsyncConnectionAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.AsyncOverviewAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.AsyncRuleAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.AsyncStreamAPI;
 import cn.brk2outside.ekuiper4j.sdk.api.ConfigKeyAPI;
 import cn.brk2outside.ekuiper4j.sdk.api.ConnectionAPI;
 import cn.brk2outside.ekuiper4j.sdk.api.OverviewAPI;
 import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
 import cn.brk2outside.ekuiper4j.sdk.api.StreamAPI;
+import cn.brk2outside.ekuiper4j.sdk.batch.BatchingRuleAPI;
+import cn.brk2outside.ekuiper4j.sdk.batch.RuleStatusBatcher;
+import cn.brk2outside.ekuiper4j.sdk.fleet.FleetClient;
+import cn.brk2outside.ekuiper4j.sdk.util.ClientExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Auto-configuration for the eKuiper HTTP client.
  */
@@ -27,81 +56,365 @@ import org.springframework.web.client.RestTemplate;
 @EnableScheduling
 public class EKuiperClientAutoConfiguration {
 
+    /**
+     * Creates the registry of per-node JWT token managers if not already defined.
+     * Managers are only created, and their keys loaded, when a node is first used.
+     *
+     * @param properties The eKuiper client properties
+     * @return The JWT token manager registry
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtTokenManagerRegistry ekuiperJwtTokenManagerRegistry(EKuiperClientProperties properties) {
+        return new JwtTokenManagerRegistry(properties);
+    }
+
     /**
      * Creates a JwtTokenManager bean if JWT authentication is enabled.
+     * Taken from the registry, so that nodes inheriting the top-level settings share its token.
      *
      * @param properties The eKuiper client properties
+     * @param registry The JWT token manager registry
      * @return The JWT token manager
      */
     @Bean
     @ConditionalOnProperty(value = "ekuiper.client.jwt.enabled", havingValue = "true")
     @ConditionalOnMissingBean
-    public JwtTokenManager jwtTokenManager(EKuiperClientProperties properties) {
-        return new JwtTokenManager(properties);
+    public JwtTokenManager jwtTokenManager(EKuiperClientProperties properties, JwtTokenManagerRegistry registry) {
+        return registry.forConfig(properties.getJwt());
+    }
+
+    /**
+     * Creates the request factory shared by every eKuiper RestTemplate.
+     * Uses a pooled keep-alive transport unless {@code ekuiper.client.pool.enabled=false}.
+     *
+     * @param properties The eKuiper client properties
+     * @return The request factory; closed together with the application context
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "ekuiperClientHttpRequestFactory")
+    public ClientHttpRequestFactory ekuiperClientHttpRequestFactory(EKuiperClientProperties properties) {
+        return HttpClientFactory.createRequestFactory(properties);
+    }
+
+    /**
+     * Creates the JDK transport shared by every eKuiper client when {@code ekuiper.client.transport=jdk}.
+     * Its threads are only started once a client uses it.
+     *
+     * @param properties The eKuiper client properties
+     * @return The JDK transport; closed together with the application context
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JdkTransport ekuiperJdkTransport(EKuiperClientProperties properties) {
+        return new JdkTransport(Duration.ofMillis(properties.getConnectTimeout()));
+    }
+
+    /**
+     * Creates the JSON codec shared by the eKuiper HTTP clients if not already defined.
+     * <p>
+     * Deliberately not an {@code ObjectMapper} bean, so that it does not replace the application's mapper.
+     *
+     * @param properties The eKuiper client properties
+     * @return The JSON codec
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public JsonCodec ekuiperJsonCodec(EKuiperClientProperties properties) {
+        return JsonCodec.create(properties.getJson().isBlackbird());
+    }
+
+    /**
+     * Creates the per-node circuit breakers and bulkheads if not already defined.
+     *
+     * @param properties The eKuiper client properties
+     * @return The node guard
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public NodeGuard ekuiperNodeGuard(EKuiperClientProperties properties) {
+        return new NodeGuard(properties);
     }
 
     /**
      * Creates the HTTP client bean if not already defined.
      *
      * @param properties The eKuiper client properties
+     * @param requestFactory The request factory used for the underlying RestTemplate
+     * @param jdkTransport The JDK transport used if {@code ekuiper.client.transport=jdk}
+     * @param jsonCodec The JSON codec for request and response bodies
+     * @param nodeGuard The per-node circuit breakers and bulkheads
+     * @param limiter The per-node concurrency limiter, bounding the requests to every cluster member
+     * @param jwtTokenManagerRegistry The per-node JWT token managers, used by cluster members
      * @param jwtTokenManager JWT token manager (optional, injected if JWT auth is enabled)
-     * @return A configured HttpClient instance
+     * @return A configured HttpClient instance, guarded by the node's circuit breaker and bulkhead if enabled, hedging slow
+     *         reads if enabled and retrying idempotent requests if enabled; spreading requests across the
+     *         cluster members if {@code ekuiper.client.cluster.enabled=true}, coalescing identical concurrent reads
+     *         if {@code ekuiper.client.coalescing.enabled=true} and caching metadata reads if
+     *         {@code ekuiper.client.cache.enabled=true}
      */
     @Bean
     @ConditionalOnMissingBean
     public HttpClient ekuiperHttpClient(
             EKuiperClientProperties properties,
+            @Qualifier("ekuiperClientHttpRequestFactory") ClientHttpRequestFactory requestFactory,
+            JdkTransport jdkTransport,
+            JsonCodec jsonCodec,
+            NodeGuard nodeGuard,
+            NodeConcurrencyLimiter limiter,
+            JwtTokenManagerRegistry jwtTokenManagerRegistry,
             @org.springframework.beans.factory.annotation.Autowired(required = false) JwtTokenManager jwtTokenManager) {
+        JwtTokenManager primaryTokenManager = properties.getJwt().isEnabled() ? jwtTokenManager : null;
+        HttpClient guarded;
+        if (properties.getCluster().isEnabled()) {
+            guarded = createClusterHttpClient(properties, requestFactory, jdkTransport, jsonCodec, nodeGuard, limiter,
+                    jwtTokenManagerRegistry, primaryTokenManager);
+        } else {
+            HttpClient client = createHttpClient(properties, requestFactory, jdkTransport, jsonCodec,
+                    properties.getHost(), properties.getPort(), primaryTokenManager);
+            guarded = nodeGuard.guard(client, properties.getHost(), properties.getPort());
+        }
+        // Hedged attempts each go through the guard; retries outside the breaker, so that an open breaker is not retried
+        HttpClient hedged = HedgingHttpClient.wrap(guarded, properties.getHedging());
+        HttpClient retrying = RetryingHttpClient.wrap(hedged, properties.getRetry());
+        // Cache misses are coalesced, so only one caller per read goes through the retry loop
+        HttpClient coalesced = CoalescingHttpClient.wrap(retrying, properties.getCoalescing());
+        return CachingHttpClient.wrap(coalesced, properties.getCache());
+    }
+    
+    /**
+     * Creates the fleet client if not already defined, with every node configured under
+     * {@code ekuiper.client.nodes} registered under its name.
+     *
+     * @param properties The eKuiper client properties
+     * @param requestFactory The request factory used for the underlying RestTemplates
+     * @param jdkTransport The JDK transport used if {@code ekuiper.client.transport=jdk}
+     * @param jsonCodec The JSON codec for request and response bodies
+     * @param nodeGuard The per-node circuit breakers and bulkheads
+     * @param jwtTokenManagerRegistry The per-node JWT token managers
+     * @return The fleet client; closed together with the application context
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public FleetClient ekuiperFleetClient(
+            EKuiperClientProperties properties,
+            @Qualifier("ekuiperClientHttpRequestFactory") ClientHttpRequestFactory requestFactory,
+            JdkTransport jdkTransport,
+            JsonCodec jsonCodec,
+            NodeGuard nodeGuard,
+            JwtTokenManagerRegistry jwtTokenManagerRegistry) {
+        FleetClient fleetClient = new FleetClient(properties);
+        for (String name : properties.getNodes().keySet()) {
+            HttpClient client = createNodeHttpClient(properties, requestFactory, jdkTransport, jsonCodec, nodeGuard, jwtTokenManagerRegistry, name);
+            fleetClient.register(name, RetryingHttpClient.wrap(client, properties.getRetry()), jsonCodec);
+        }
+        return fleetClient;
+    }
+    
+    /**
+     * Creates the rule metrics collector if {@code ekuiper.client.metrics.enabled=true}, polling the primary node
+     * under the name {@value EKuiperClientProperties.Cluster#PRIMARY} and every node of the fleet client.
+     * The primary node is polled directly rather than through {@link #ekuiperHttpClient}, so that its metrics are
+     * neither cached nor read from another cluster member.
+     *
+     * @param properties The eKuiper client properties
+     * @param requestFactory The request factory used for the underlying RestTemplates
+     * @param jdkTransport The JDK transport used if {@code ekuiper.client.transport=jdk}
+     * @param jsonCodec The JSON codec for request and response bodies
+     * @param nodeGuard The per-node circuit breakers and bulkheads
+     * @param fleetClient The fleet client providing the configured nodes
+     * @param jwtTokenManager JWT token manager (optional, injected if JWT auth is enabled)
+     * @return The started collector; stopped together with the application context
+     */
+    @Bean
+    @ConditionalOnProperty(value = "ekuiper.client.metrics.enabled", havingValue = "true")
+    @ConditionalOnMissingBean
+    public RuleMetricsCollector ekuiperRuleMetricsCollector(
+            EKuiperClientProperties properties,
+            @Qualifier("ekuiperClientHttpRequestFactory") ClientHttpRequestFactory requestFactory,
+            JdkTransport jdkTransport,
+            JsonCodec jsonCodec,
+            NodeGuard nodeGuard,
+            FleetClient fleetClient,
+            @org.springframework.beans.factory.annotation.Autowired(required = false) JwtTokenManager jwtTokenManager) {
+        RuleMetricsCollector collector = new RuleMetricsCollector(properties.getMetrics());
+        HttpClient primary = createHttpClient(properties, requestFactory, jdkTransport, jsonCodec, properties.getHost(),
+                properties.getPort(), properties.getJwt().isEnabled() ? jwtTokenManager : null);
+        primary = nodeGuard.guard(primary, properties.getHost(), properties.getPort());
+        collector.addNode(EKuiperClientProperties.Cluster.PRIMARY,
+                new RuleAPI(RetryingHttpClient.wrap(primary, properties.getRetry()), jsonCodec));
+        for (String name : fleetClient.getNodeNames()) {
+            collector.addNode(name, fleetClient.getNode(name).rules());
+        }
+        collector.start();
+        return collector;
+    }
+    
+    /**
+     * Creates the client spreading requests across the cluster members, each guarded by its own node's circuit
+     * breaker and bulkhead and limited to the node's concurrency, and starts its health checks.
+     *
+     * @param properties The eKuiper client properties
+     * @param requestFactory The request factory used for the underlying RestTemplates
+     * @param jdkTransport The JDK transport used if {@code ekuiper.client.transport=jdk}
+     * @param jsonCodec The JSON codec for request and response bodies
+     * @param nodeGuard The per-node circuit breakers and bulkheads
+     * @param limiter The per-node concurrency limiter
+     * @param jwtTokenManagerRegistry The per-node JWT token managers
+     * @param primaryTokenManager JWT token manager of the primary node, or null if JWT auth is disabled
+     * @return The cluster client
+     */
+    private ClusterHttpClient createClusterHttpClient(EKuiperClientProperties properties,
+                                                      ClientHttpRequestFactory requestFactory, JdkTransport jdkTransport,
+                                                      JsonCodec jsonCodec,
+                                                      NodeGuard nodeGuard, NodeConcurrencyLimiter limiter,
+                                                      JwtTokenManagerRegistry jwtTokenManagerRegistry,
+                                                      JwtTokenManager primaryTokenManager) {
+        EKuiperClientProperties.Cluster cluster = properties.getCluster();
+        List<String> memberNames = new ArrayList<>(cluster.getMembers());
+        if (memberNames.isEmpty()) {
+            memberNames.add(EKuiperClientProperties.Cluster.PRIMARY);
+            memberNames.addAll(properties.getNodes().keySet());
+        }
         
-        // Create the request factory with configured timeouts
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(properties.getConnectTimeout());
-        requestFactory.setReadTimeout(properties.getReadTimeout());
-        
-        // Create the RestTemplate with the configured request factory
-        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        List<ClusterMember> members = new ArrayList<>();
+        for (String name : memberNames) {
+            HttpClient client;
+            if (EKuiperClientProperties.Cluster.PRIMARY.equals(name)) {
+                client = createHttpClient(properties, requestFactory, jdkTransport, jsonCodec,
+                        properties.getHost(), properties.getPort(), primaryTokenManager);
+                client = nodeGuard.guard(client, properties.getHost(), properties.getPort());
+                client = limiter.limit(client, properties.getHost(), properties.getPort());
+            } else if (properties.getNodes().containsKey(name)) {
+                EKuiperClientProperties.Node node = properties.getNodes().get(name);
+                client = createNodeHttpClient(properties, requestFactory, jdkTransport, jsonCodec, nodeGuard, jwtTokenManagerRegistry, name);
+                client = limiter.limit(client, node.getHost(), node.getPort());
+            } else {
+                throw new IllegalArgumentException("Unknown eKuiper cluster member: " + name);
+            }
+            members.add(new ClusterMember(name, client));
+        }
         
+        ClusterHttpClient clusterClient = new ClusterHttpClient(members, cluster.getWriteNode(), cluster.getBalancing());
+        clusterClient.startHealthChecks(cluster.getHealthCheckIntervalMs());
+        return clusterClient;
+    }
+    
+    /**
+     * Creates the client of a node configured under {@code ekuiper.client.nodes}, guarded by the node's circuit
+     * breaker and bulkhead.
+     *
+     * @param properties The eKuiper client properties
+     * @param requestFactory The request factory used for the underlying RestTemplate
+     * @param jdkTransport The JDK transport used if {@code ekuiper.client.transport=jdk}
+     * @param jsonCodec The JSON codec for request and response bodies
+     * @param nodeGuard The per-node circuit breakers and bulkheads
+     * @param jwtTokenManagerRegistry The per-node JWT token managers
+     * @param name The node name
+     * @return The node's client
+     */
+    private HttpClient createNodeHttpClient(EKuiperClientProperties properties, ClientHttpRequestFactory requestFactory,
+                                            JdkTransport jdkTransport, JsonCodec jsonCodec, NodeGuard nodeGuard,
+                                            JwtTokenManagerRegistry jwtTokenManagerRegistry, String name) {
+        EKuiperClientProperties.Node node = properties.getNodes().get(name);
+        HttpClient client = createHttpClient(properties, requestFactory, jdkTransport, jsonCodec, node.getHost(), node.getPort(),
+                jwtTokenManagerRegistry.forNode(name));
+        return nodeGuard.guard(client, node.getHost(), node.getPort());
+    }
+    
+    /**
+     * Creates the HTTP client for the configured transport and authentication.
+     *
+     * @param properties The eKuiper client properties
+     * @param requestFactory The request factory used for the underlying RestTemplate
+     * @param jdkTransport The JDK transport used if {@code ekuiper.client.transport=jdk}
+     * @param jsonCodec The JSON codec for request and response bodies
+     * @param host The eKuiper host
+     * @param port The eKuiper REST port
+     * @param jwtTokenManager JWT token manager, or null if JWT auth is disabled
+     * @return A configured HttpClient instance
+     */
+    private HttpClient createHttpClient(EKuiperClientProperties properties, ClientHttpRequestFactory requestFactory,
+                                        JdkTransport jdkTransport, JsonCodec jsonCodec, String host, int port,
+                                        JwtTokenManager jwtTokenManager) {
         // Create base headers
         HttpHeaders baseHeaders = new HttpHeaders();
         baseHeaders.set("Content-Type", "application/json");
         baseHeaders.set("Accept", "application/json");
         
+        // Non-blocking JDK transport
+        if (properties.getTransport() == EKuiperClientProperties.Transport.JDK) {
+            return createJdkHttpClient(properties, jdkTransport, baseHeaders, jsonCodec, host, port, jwtTokenManager);
+        }
+        
+        // Create the RestTemplate with the configured request factory
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        
         // JWT authentication takes precedence if enabled
-        if (properties.getJwt().isEnabled() && jwtTokenManager != null) {
+        if (jwtTokenManager != null) {
             // Use JwtAwareHttpClient that gets fresh tokens for each request
             return new JwtAwareHttpClient(
-                    properties.getHost(),
-                    properties.getPort(),
+                    host,
+                    port,
                     restTemplate,
                     baseHeaders,
-                    jwtTokenManager
+                    jwtTokenManager,
+                    jsonCodec
             );
         }
         // Basic authentication 
         else if (properties.isAuthEnabled() && properties.getUsername() != null && properties.getPassword() != null) {
-            // Create a supplier that provides headers with basic auth
-            final HttpHeaders authHeaders = new HttpHeaders();
-            authHeaders.putAll(baseHeaders);
-            authHeaders.setBasicAuth(properties.getUsername(), properties.getPassword());
-            
-            return new RestTemplateHttpClient(properties.getHost(), properties.getPort(), restTemplate) {
-                @Override
-                protected HttpHeaders getHeaders() {
-                    return authHeaders;
-                }
-            };
+            HttpHeaders authHeaders = HeaderSnapshot.basicAuth(
+                    baseHeaders, properties.getUsername(), properties.getPassword()).get();
+            return new RestTemplateHttpClient(host, port, restTemplate, authHeaders, jsonCodec);
         }
         // No authentication
         else {
             return new RestTemplateHttpClient(
-                    properties.getHost(),
-                    properties.getPort(),
+                    host,
+                    port,
                     restTemplate,
-                    baseHeaders
+                    baseHeaders,
+                    jsonCodec
             );
         }
     }
     
+    /**
+     * Creates a {@link JdkHttpClient} carrying the same authentication headers as the RestTemplate clients.
+     *
+     * @param properties The eKuiper client properties
+     * @param jdkTransport The JDK transport shared by all clients
+     * @param baseHeaders Base headers (without Authorization)
+     * @param jsonCodec The JSON codec for request and response bodies
+     * @param host The eKuiper host
+     * @param port The eKuiper REST port
+     * @param jwtTokenManager JWT token manager, or null if JWT auth is disabled
+     * @return A configured JDK-based HttpClient instance
+     */
+    private HttpClient createJdkHttpClient(EKuiperClientProperties properties, JdkTransport jdkTransport,
+                                           HttpHeaders baseHeaders, JsonCodec jsonCodec, String host, int port,
+                                           JwtTokenManager jwtTokenManager) {
+        java.net.http.HttpClient transport = jdkTransport.getHttpClient();
+        Duration requestTimeout = Duration.ofMillis(properties.getReadTimeout());
+        
+        if (jwtTokenManager != null) {
+            HeaderSnapshot jwtHeaders = HeaderSnapshot.jwt(baseHeaders, jwtTokenManager);
+            return new JdkHttpClient(host, port, transport, requestTimeout, baseHeaders, jsonCodec) {
+                @Override
+                protected HttpHeaders getHeaders() {
+                    return jwtHeaders.get();
+                }
+            };
+        }
+        
+        HttpHeaders headers = baseHeaders;
+        if (properties.isAuthEnabled() && properties.getUsername() != null && properties.getPassword() != null) {
+            headers = HeaderSnapshot.basicAuth(baseHeaders, properties.getUsername(), properties.getPassword()).get();
+        }
+        return new JdkHttpClient(host, port, transport, requestTimeout, headers, jsonCodec);
+    }
+    
     /**
      * Creates the OverviewAPI bean if not already defined.
      *
@@ -154,11 +467,150 @@ public class EKuiperClientAutoConfiguration {
      * Creates the RuleAPI bean if not already defined.
      *
      * @param httpClient The eKuiper HTTP client
-     * @return A configured RuleAPI instance
+     * @param jsonCodec The JSON codec of the client, parsing streamed rule status responses
+     * @param properties The eKuiper client properties
+     * @return A configured RuleAPI instance, batching rule status requests if
+     *         {@code ekuiper.client.status-batching.enabled=true}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RuleAPI ruleAPI(HttpClient httpClient, JsonCodec jsonCodec, EKuiperClientProperties properties) {
+        if (properties.getStatusBatching().isEnabled()) {
+            return new BatchingRuleAPI(httpClient, new RuleStatusBatcher(httpClient, properties.getStatusBatching()),
+                    jsonCodec);
+        }
+        return new RuleAPI(httpClient, jsonCodec);
+    }
+    
+    /**
+     * Creates the executor running blocking requests issued through the asynchronous API facades.
+     *
+     * @param properties The eKuiper client properties
+     * @return The client executor; shut down together with the application context
      */
     @Bean
     @ConditionalOnMissingBean
-    public RuleAPI ruleAPI(HttpClient httpClient) {
-        return new RuleAPI(httpClient);
+    public ClientExecutor ekuiperClientExecutor(EKuiperClientProperties properties) {
+        return ClientExecutor.create(properties.getAsync());
+    }
+    
+    /**
+     * Creates the limiter bounding concurrent asynchronous requests per eKuiper node.
+     *
+     * @param properties The eKuiper client properties
+     * @return The node concurrency limiter
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public NodeConcurrencyLimiter ekuiperNodeConcurrencyLimiter(EKuiperClientProperties properties) {
+        return new NodeConcurrencyLimiter(properties.getAsync().getMaxConcurrentRequestsPerNode());
+    }
+    
+    /**
+     * Creates the AsyncOverviewAPI bean if not already defined.
+     *
+     * @param httpClient The eKuiper HTTP client
+     * @param clientExecutor The executor running blocking requests
+     * @param limiter The per-node concurrency limiter
+     * @param properties The eKuiper client properties
+     * @return A configured AsyncOverviewAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncOverviewAPI asyncOverviewAPI(HttpClient httpClient, ClientExecutor clientExecutor,
+            NodeConcurrencyLimiter limiter, EKuiperClientProperties properties) {
+        return new AsyncOverviewAPI(asyncClient(httpClient, limiter, properties),
+                clientExecutor.getExecutor());
+    }
+    
+    /**
+     * Creates the AsyncStreamAPI bean if not already defined.
+     *
+     * @param httpClient The eKuiper HTTP client
+     * @param clientExecutor The executor running blocking requests
+     * @param limiter The per-node concurrency limiter
+     * @param properties The eKuiper client properties
+     * @return A configured AsyncStreamAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncStreamAPI asyncStreamAPI(HttpClient httpClient, ClientExecutor clientExecutor,
+            NodeConcurrencyLimiter limiter, EKuiperClientProperties properties) {
+        return new AsyncStreamAPI(asyncClient(httpClient, limiter, properties),
+                clientExecutor.getExecutor());
+    }
+    
+    /**
+     * Creates the AsyncConnectionAPI bean if not already defined.
+     *
+     * @param httpClient The eKuiper HTTP client
+     * @param clientExecutor The executor running blocking requests
+     * @param limiter The per-node concurrency limiter
+     * @param properties The eKuiper client properties
+     * @return A configured AsyncConnectionAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncConnectionAPI asyncConnectionAPI(HttpClient httpClient, ClientExecutor clientExecutor,
+            NodeConcurrencyLimiter limiter, EKuiperClientProperties properties) {
+        return new AsyncConnectionAPI(asyncClient(httpClient, limiter, properties),
+                clientExecutor.getExecutor());
+    }
+    
+    /**
+     * Creates the AsyncConfigKeyAPI bean if not already defined.
+     *
+     * @param httpClient The eKuiper HTTP client
+     * @param clientExecutor The executor running blocking requests
+     * @param limiter The per-node concurrency limiter
+     * @param properties The eKuiper client properties
+     * @return A configured AsyncConfigKeyAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncConfigKeyAPI asyncConfigKeyAPI(HttpClient httpClient, ClientExecutor clientExecutor,
+            NodeConcurrencyLimiter limiter, EKuiperClientProperties properties) {
+        return new AsyncConfigKeyAPI(asyncClient(httpClient, limiter, properties),
+                clientExecutor.getExecutor());
+    }
+    
+    /**
+     * Creates the AsyncRuleAPI bean if not already defined.
+     *
+     * @param httpClient The eKuiper HTTP client
+     * @param clientExecutor The executor running blocking requests
+     * @param limiter The per-node concurrency limiter
+     * @param properties The eKuiper client properties
+     * @return A configured AsyncRuleAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncRuleAPI asyncRuleAPI(HttpClient httpClient, ClientExecutor clientExecutor,
+            NodeConcurrencyLimiter limiter, EKuiperClientProperties properties) {
+        return new AsyncRuleAPI(asyncClient(httpClient, limiter, properties),
+                clientExecutor.getExecutor());
+    }
+    
+    /**
+     * Builds the client behind the asynchronous API facades, limited to the configured concurrency per node.
+     * <p>
+     * If the eKuiper HTTP client is a bare non-blocking {@link JdkHttpClient}, the facades send their requests
+     * through it directly, so that they hold no thread while they wait for a permit or a response. As soon as the
+     * client is decorated, e.g. cached, spread across a cluster, retried or guarded by a circuit breaker, every
+     * request runs the decorated blocking client on the client executor instead: writes then invalidate the cache
+     * and reads are balanced across the cluster members exactly as for the blocking APIs. In cluster mode the
+     * members are already limited per node, see {@link #createClusterHttpClient}.
+     *
+     * @param httpClient The eKuiper HTTP client
+     * @param limiter The per-node concurrency limiter
+     * @param properties The eKuiper client properties
+     * @return The client for the asynchronous facades
+     */
+    private static HttpClient asyncClient(HttpClient httpClient, NodeConcurrencyLimiter limiter,
+                                          EKuiperClientProperties properties) {
+        if (properties.getCluster().isEnabled()) {
+            return httpClient;
+        }
+        return limiter.limit(httpClient, properties.getHost(), properties.getPort());
     }
-} 
\ No newline at end of file
+}
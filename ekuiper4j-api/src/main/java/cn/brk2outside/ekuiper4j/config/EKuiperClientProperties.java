@@ -2,6 +2,11 @@ package cn.brk2outside.ekuiper4j.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for the eKuiper HTTP client.
  */
@@ -28,6 +33,11 @@ public class EKuiperClientProperties {
      */
     private int readTimeout = 15000;
     
+    /**
+     * HTTP transport used to talk to eKuiper.
+     */
+    private Transport transport = Transport.REST_TEMPLATE;
+    
     /**
      * Whether to enable basic authentication.
      */
@@ -48,6 +58,90 @@ public class EKuiperClientProperties {
      */
     private JwtAuth jwt = new JwtAuth();
     
+    /**
+     * Connection pool properties for the HTTP transport.
+     */
+    private Pool pool = new Pool();
+    
+    /**
+     * Executor properties for the asynchronous API facades.
+     */
+    private Async async = new Async();
+    
+    /**
+     * JSON (de)serialization properties.
+     */
+    private Json json = new Json();
+    
+    /**
+     * Retry properties for idempotent requests.
+     */
+    private Retry retry = new Retry();
+    
+    /**
+     * Circuit breaker properties, one breaker per eKuiper node.
+     */
+    private Breaker circuitBreaker = new Breaker();
+    
+    /**
+     * Bulkhead properties, limiting the calls in flight per eKuiper node.
+     */
+    private Bulkhead bulkhead = new Bulkhead();
+    
+    /**
+     * Hedging properties for read-only endpoints.
+     */
+    private Hedging hedging = new Hedging();
+    
+    /**
+     * Cache properties for rarely changing stream and rule metadata.
+     */
+    private Cache cache = new Cache();
+    
+    /**
+     * Coalescing properties for identical concurrent GET requests.
+     */
+    private Coalescing coalescing = new Coalescing();
+    
+    /**
+     * Properties for batching per-rule status requests into one request for all rules.
+     */
+    private StatusBatching statusBatching = new StatusBatching();
+    
+    /**
+     * Additional eKuiper nodes by name, e.g. {@code ekuiper.client.nodes.edge-1.host=10.0.0.1}.
+     */
+    private Map<String, Node> nodes = new LinkedHashMap<>();
+    
+    /**
+     * Cluster properties, spreading reads across replicated eKuiper nodes.
+     */
+    private Cluster cluster = new Cluster();
+    
+    /**
+     * Fleet properties, for running operations across many eKuiper nodes in parallel.
+     */
+    private Fleet fleet = new Fleet();
+    
+    /**
+     * Rule metrics collector properties.
+     */
+    private Metrics metrics = new Metrics();
+    
+    /**
+     * Available HTTP transports.
+     */
+    public enum Transport {
+        /**
+         * Blocking Spring RestTemplate on the configured (pooled) request factory.
+         */
+        REST_TEMPLATE,
+        /**
+         * Non-blocking JDK {@code java.net.http} client with asynchronous request variants.
+         */
+        JDK
+    }
+    
     public static class JwtAuth {
         /**
          * Whether to enable JWT authentication.
@@ -64,6 +158,11 @@ public class EKuiperClientProperties {
          */
         private String publicKeyPath;
         
+        /**
+         * Directory for generated keys when no explicit key paths are given.
+         */
+        private String certsDir = "certs";
+        
         /**
          * Issuer (iss) claim for the JWT.
          * Must be the same as the public key filename in etc/mgmt directory.
@@ -84,6 +183,16 @@ public class EKuiperClientProperties {
          * Path to the eKuiper etc/mgmt directory where the public key should be deployed.
          */
         private String ekuiperMgmtPath = "/etc/mgmt";
+        
+        /**
+         * Maximum time between token refreshes in milliseconds.
+         */
+        private long refreshIntervalMs = 600000;
+        
+        /**
+         * How long before expiry a token is renewed, in seconds (capped at half of the token validity).
+         */
+        private long refreshAheadSeconds = 60;
 
         public boolean isEnabled() {
             return enabled;
@@ -109,6 +218,14 @@ public class EKuiperClientProperties {
             this.publicKeyPath = publicKeyPath;
         }
 
+        public String getCertsDir() {
+            return certsDir;
+        }
+
+        public void setCertsDir(String certsDir) {
+            this.certsDir = certsDir;
+        }
+
         public String getIssuer() {
             return issuer;
         }
@@ -140,69 +257,1076 @@ public class EKuiperClientProperties {
         public void setEkuiperMgmtPath(String ekuiperMgmtPath) {
             this.ekuiperMgmtPath = ekuiperMgmtPath;
         }
-    }
 
-    public String getHost() {
-        return host;
-    }
+        public long getRefreshIntervalMs() {
+            return refreshIntervalMs;
+        }
 
-    public void setHost(String host) {
-        this.host = host;
-    }
+        public void setRefreshIntervalMs(long refreshIntervalMs) {
+            this.refreshIntervalMs = refreshIntervalMs;
+        }
 
-    public int getPort() {
-        return port;
-    }
+        public long getRefreshAheadSeconds() {
+            return refreshAheadSeconds;
+        }
 
-    public void setPort(int port) {
-        this.port = port;
+        public void setRefreshAheadSeconds(long refreshAheadSeconds) {
+            this.refreshAheadSeconds = refreshAheadSeconds;
+        }
     }
 
-    public int getConnectTimeout() {
-        return connectTimeout;
-    }
+    public static class Pool {
+        /**
+         * Whether to use a pooled keep-alive transport instead of one connection per request.
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Maximum number of pooled connections per eKuiper node (route).
+         */
+        private int maxConnectionsPerNode = 20;
+        
+        /**
+         * Maximum number of pooled connections across all eKuiper nodes.
+         */
+        private int maxConnectionsTotal = 200;
+        
+        /**
+         * Connections idle for longer than this (in milliseconds) are evicted by a background thread.
+         */
+        private long idleEvictionMs = 30000;
+        
+        /**
+         * How long (in milliseconds) a pooled connection may be reused after it was opened before it is closed.
+         * The server's Keep-Alive header may close it earlier.
+         */
+        private long keepAliveTtlMs = 60000;
+        
+        /**
+         * Pooled connections idle for longer than this (in milliseconds) are validated before reuse.
+         */
+        private long validateAfterInactivityMs = 2000;
 
-    public void setConnectTimeout(int connectTimeout) {
-        this.connectTimeout = connectTimeout;
-    }
+        public boolean isEnabled() {
+            return enabled;
+        }
 
-    public int getReadTimeout() {
-        return readTimeout;
-    }
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
 
-    public void setReadTimeout(int readTimeout) {
-        this.readTimeout = readTimeout;
-    }
+        public int getMaxConnectionsPerNode() {
+            return maxConnectionsPerNode;
+        }
 
-    public boolean isAuthEnabled() {
-        return authEnabled;
-    }
+        public void setMaxConnectionsPerNode(int maxConnectionsPerNode) {
+            this.maxConnectionsPerNode = maxConnectionsPerNode;
+        }
 
-    public void setAuthEnabled(boolean authEnabled) {
-        this.authEnabled = authEnabled;
-    }
+        public int getMaxConnectionsTotal() {
+            return maxConnectionsTotal;
+        }
 
-    public String getUsername() {
-        return username;
-    }
+        public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+            this.maxConnectionsTotal = maxConnectionsTotal;
+        }
 
-    public void setUsername(String username) {
-        this.username = username;
+        public long getIdleEvictionMs() {
+            return idleEvictionMs;
+        }
+
+        public void setIdleEvictionMs(long idleEvictionMs) {
+            this.idleEvictionMs = idleEvictionMs;
+        }
+
+        public long getKeepAliveTtlMs() {
+            return keepAliveTtlMs;
+        }
+
+        public void setKeepAliveTtlMs(long keepAliveTtlMs) {
+            this.keepAliveTtlMs = keepAliveTtlMs;
+        }
+
+        public long getValidateAfterInactivityMs() {
+            return validateAfterInactivityMs;
+        }
+
+        public void setValidateAfterInactivityMs(long validateAfterInactivityMs) {
+            this.validateAfterInactivityMs = validateAfterInactivityMs;
+        }
     }
 
-    public String getPassword() {
-        return password;
+    public static class Async {
+        /**
+         * Number of threads running blocking requests issued through the asynchronous API facades.
+         */
+        private int threads = 16;
+
+        /**
+         * Run asynchronous and bulk requests on virtual threads instead of the fixed thread pool (requires Java 21).
+         */
+        private boolean virtualThreads = false;
+
+        /**
+         * Maximum number of asynchronous requests in flight per eKuiper node; 0 disables the limit.
+         * In cluster mode the limit applies to every request sent to a cluster member, blocking ones included.
+         */
+        private int maxConcurrentRequestsPerNode = 16;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public void setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+        }
+
+        public int getMaxConcurrentRequestsPerNode() {
+            return maxConcurrentRequestsPerNode;
+        }
+
+        public void setMaxConcurrentRequestsPerNode(int maxConcurrentRequestsPerNode) {
+            this.maxConcurrentRequestsPerNode = maxConcurrentRequestsPerNode;
+        }
     }
 
-    public void setPassword(String password) {
-        this.password = password;
+    public static class Retry {
+        /**
+         * Retry idempotent requests that failed with a connection error, a timeout or a 5xx response.
+         * Disabled by default.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of attempts per request, including the first one.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Backoff before the first retry; doubled (see {@code backoff-multiplier}) for every further retry.
+         */
+        private long initialBackoffMs = 100;
+
+        /**
+         * Upper bound of the backoff between two attempts.
+         */
+        private long maxBackoffMs = 2000;
+
+        /**
+         * Factor the backoff grows by after each retry.
+         */
+        private double backoffMultiplier = 2.0;
+
+        /**
+         * Fraction of each backoff that is randomized, between 0 (fixed delays) and 1 (full jitter).
+         */
+        private double jitter = 0.5;
+
+        /**
+         * Retries allowed on top of the request volume, as a fraction of the requests sent by the client.
+         */
+        private double budgetRatio = 0.2;
+
+        /**
+         * Retries allowed per second regardless of the request volume.
+         */
+        private int budgetMinRetriesPerSecond = 10;
+
+        /**
+         * Overrides by endpoint name, e.g. {@code ekuiper.client.retry.endpoints.get-rule-status.max-attempts=5}.
+         * Names are those of {@link cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints}.
+         */
+        private Map<String, EndpointRetry> endpoints = new LinkedHashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(long initialBackoffMs) {
+            this.initialBackoffMs = initialBackoffMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public double getBackoffMultiplier() {
+            return backoffMultiplier;
+        }
+
+        public void setBackoffMultiplier(double backoffMultiplier) {
+            this.backoffMultiplier = backoffMultiplier;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public int getBudgetMinRetriesPerSecond() {
+            return budgetMinRetriesPerSecond;
+        }
+
+        public void setBudgetMinRetriesPerSecond(int budgetMinRetriesPerSecond) {
+            this.budgetMinRetriesPerSecond = budgetMinRetriesPerSecond;
+        }
+
+        public Map<String, EndpointRetry> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(Map<String, EndpointRetry> endpoints) {
+            this.endpoints = endpoints;
+        }
     }
-    
-    public JwtAuth getJwt() {
-        return jwt;
+
+    public static class EndpointRetry {
+        /**
+         * Retry this endpoint; also allows retrying endpoints that are not idempotent.
+         */
+        private Boolean enabled;
+
+        /**
+         * Maximum number of attempts for this endpoint; the global setting applies if not set.
+         */
+        private Integer maxAttempts;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(Integer maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
     }
-    
-    public void setJwt(JwtAuth jwt) {
+
+    public static class Breaker {
+        /**
+         * Stop sending requests to a node that keeps failing with connection errors, timeouts or 5xx responses.
+         * Disabled by default.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Percentage of failed calls in the sliding window that opens the breaker.
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * Number of most recent calls the failure rate is computed over.
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Minimum number of calls in the sliding window before the failure rate is evaluated.
+         */
+        private int minimumNumberOfCalls = 5;
+
+        /**
+         * Time an open breaker rejects calls before it probes the node with a ping.
+         */
+        private long waitDurationInOpenStateMs = 10000;
+
+        /**
+         * Time the ping probing an open breaker's node may take before the probe counts as failed. The probe runs
+         * in the background; calls keep being rejected until it succeeds.
+         */
+        private long probeTimeoutMs = 2000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public long getWaitDurationInOpenStateMs() {
+            return waitDurationInOpenStateMs;
+        }
+
+        public void setWaitDurationInOpenStateMs(long waitDurationInOpenStateMs) {
+            this.waitDurationInOpenStateMs = waitDurationInOpenStateMs;
+        }
+
+        public long getProbeTimeoutMs() {
+            return probeTimeoutMs;
+        }
+
+        public void setProbeTimeoutMs(long probeTimeoutMs) {
+            this.probeTimeoutMs = probeTimeoutMs;
+        }
+    }
+
+    public static class Bulkhead {
+        /**
+         * Reject calls to a node once too many are in flight, instead of letting them queue up.
+         * Disabled by default.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of calls in flight per eKuiper node.
+         */
+        private int maxConcurrentCalls = 64;
+
+        /**
+         * Time a call waits for a free slot before it is rejected; 0 rejects it right away.
+         */
+        private long maxWaitMs = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+    }
+
+    public static class Cache {
+        /**
+         * Cache responses of read-only metadata endpoints; writes through the same client invalidate them.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Endpoints to cache, by {@link cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints} name; only GET
+         * endpoints are cached.
+         */
+        private List<String> endpoints = new ArrayList<>(List.of(
+                "list-streams", "get-stream-details", "get-stream-schema", "list-rules", "get-rule"));
+
+        /**
+         * Time a cached response is served for.
+         */
+        private long ttlMs = 10000;
+
+        /**
+         * Time a cached response is served for, per endpoint name, overriding {@code ttl-ms}.
+         */
+        private Map<String, Long> endpointTtlMs = new LinkedHashMap<>();
+
+        /**
+         * Maximum number of cached responses; the least recently used are evicted first.
+         */
+        private int maxEntries = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(List<String> endpoints) {
+            this.endpoints = endpoints;
+        }
+
+        public long getTtlMs() {
+            return ttlMs;
+        }
+
+        public void setTtlMs(long ttlMs) {
+            this.ttlMs = ttlMs;
+        }
+
+        public Map<String, Long> getEndpointTtlMs() {
+            return endpointTtlMs;
+        }
+
+        public void setEndpointTtlMs(Map<String, Long> endpointTtlMs) {
+            this.endpointTtlMs = endpointTtlMs;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class Coalescing {
+        /**
+         * Let concurrent identical GET requests share the response of the one already in flight.
+         */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static class StatusBatching {
+        /**
+         * Merge concurrent {@code RuleAPI.getRuleStatus} calls into one {@code /rules/status/all} request.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Time the first status request of a batch waits for more requests to join.
+         */
+        private long windowMs = 5;
+
+        /**
+         * Minimum number of distinct rules in a batch for the bulk request to be used; smaller batches are sent
+         * as individual requests.
+         */
+        private int minBatchSize = 4;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getWindowMs() {
+            return windowMs;
+        }
+
+        public void setWindowMs(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        public int getMinBatchSize() {
+            return minBatchSize;
+        }
+
+        public void setMinBatchSize(int minBatchSize) {
+            this.minBatchSize = minBatchSize;
+        }
+    }
+
+    public static class Hedging {
+        /**
+         * Send a second attempt of slow read-only requests and use whichever response arrives first.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Endpoints to hedge, by {@link cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints} name; only GET
+         * endpoints are hedged.
+         */
+        private List<String> endpoints = new ArrayList<>(List.of("get-rule-status", "list-rules", "get-stream-schema"));
+
+        /**
+         * Latency percentile of an endpoint after which the second attempt is sent.
+         */
+        private double percentile = 95;
+
+        /**
+         * Number of latencies recorded per endpoint before requests are hedged.
+         */
+        private int minSamples = 20;
+
+        /**
+         * Lower bound of the delay before the second attempt.
+         */
+        private long minDelayMs = 5;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getEndpoints() {
+            return endpoints;
+        }
+
+        public void setEndpoints(List<String> endpoints) {
+            this.endpoints = endpoints;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+    }
+
+    public static class Node {
+        /**
+         * Host of the eKuiper node.
+         */
+        private String host = "localhost";
+
+        /**
+         * Port of the eKuiper node's REST API.
+         */
+        private int port = 9081;
+
+        /**
+         * JWT authentication of this node; if not set, the top-level {@code ekuiper.client.jwt} settings apply.
+         * Nodes with equal settings share one token.
+         */
+        private JwtAuth jwt;
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public JwtAuth getJwt() {
+            return jwt;
+        }
+
+        public void setJwt(JwtAuth jwt) {
+            this.jwt = jwt;
+        }
+    }
+
+    public static class Cluster {
+        /**
+         * Name of the node configured by the top-level {@code host} and {@code port}.
+         */
+        public static final String PRIMARY = "primary";
+
+        /**
+         * Whether to send requests to several eKuiper nodes instead of the top-level one only.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Names of the member nodes: {@value #PRIMARY} or keys of {@code ekuiper.client.nodes}.
+         * If empty, the primary node and all configured nodes are members.
+         */
+        private List<String> members = new ArrayList<>();
+
+        /**
+         * Name of the member receiving all writes (POST, PUT and DELETE requests).
+         */
+        private String writeNode = PRIMARY;
+
+        /**
+         * How reads (GET requests) are spread across healthy members.
+         */
+        private Balancing balancing = Balancing.LEAST_OUTSTANDING;
+
+        /**
+         * Interval between health checks of the members.
+         */
+        private long healthCheckIntervalMs = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getMembers() {
+            return members;
+        }
+
+        public void setMembers(List<String> members) {
+            this.members = members;
+        }
+
+        public String getWriteNode() {
+            return writeNode;
+        }
+
+        public void setWriteNode(String writeNode) {
+            this.writeNode = writeNode;
+        }
+
+        public Balancing getBalancing() {
+            return balancing;
+        }
+
+        public void setBalancing(Balancing balancing) {
+            this.balancing = balancing;
+        }
+
+        public long getHealthCheckIntervalMs() {
+            return healthCheckIntervalMs;
+        }
+
+        public void setHealthCheckIntervalMs(long healthCheckIntervalMs) {
+            this.healthCheckIntervalMs = healthCheckIntervalMs;
+        }
+    }
+
+    /**
+     * Strategies for choosing the member serving a read.
+     */
+    public enum Balancing {
+        /**
+         * The healthy member with the fewest requests in flight.
+         */
+        LEAST_OUTSTANDING,
+        /**
+         * The less busy of two healthy members picked at random.
+         */
+        POWER_OF_TWO_CHOICES
+    }
+
+    public static class Fleet {
+        /**
+         * Maximum number of nodes an operation runs on at the same time.
+         */
+        private int maxConcurrency = 64;
+
+        /**
+         * Time an operation may take on one node before that node is reported as timed out.
+         */
+        private long nodeTimeoutMs = 30000;
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public long getNodeTimeoutMs() {
+            return nodeTimeoutMs;
+        }
+
+        public void setNodeTimeoutMs(long nodeTimeoutMs) {
+            this.nodeTimeoutMs = nodeTimeoutMs;
+        }
+    }
+
+    public static class Metrics {
+        /**
+         * Poll the rule metrics of the primary node and every configured node in the background.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Interval between two polls of {@code /rules/status/all} on one node. In adaptive mode, the interval
+         * between two listings of the rules of a node and the initial poll interval of every rule.
+         */
+        private long intervalMs = 15000;
+
+        /**
+         * Poll every rule at an interval of its own, shorter while its metrics change and longer while the rule is
+         * stopped or idle, instead of polling all rules of a node at a fixed interval.
+         */
+        private boolean adaptive = false;
+
+        /**
+         * Shortest poll interval of a rule in adaptive mode, also the interval at which nodes are checked for
+         * rules due to be polled.
+         */
+        private long minIntervalMs = 1000;
+
+        /**
+         * Longest poll interval of a rule in adaptive mode.
+         */
+        private long maxIntervalMs = 300000;
+
+        /**
+         * Maximum average number of requests per second sent to one node in adaptive mode, 0 for no limit.
+         */
+        private double maxRequestsPerSecond = 2;
+
+        /**
+         * Number of samples kept per operator; rates are computed between the most recent samples.
+         */
+        private int historySize = 60;
+
+        /**
+         * Number of threads polling nodes; a slow node only delays the others if all threads are busy.
+         */
+        private int threads = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getIntervalMs() {
+            return intervalMs;
+        }
+
+        public void setIntervalMs(long intervalMs) {
+            this.intervalMs = intervalMs;
+        }
+
+        public boolean isAdaptive() {
+            return adaptive;
+        }
+
+        public void setAdaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+        }
+
+        public long getMinIntervalMs() {
+            return minIntervalMs;
+        }
+
+        public void setMinIntervalMs(long minIntervalMs) {
+            this.minIntervalMs = minIntervalMs;
+        }
+
+        public long getMaxIntervalMs() {
+            return maxIntervalMs;
+        }
+
+        public void setMaxIntervalMs(long maxIntervalMs) {
+            this.maxIntervalMs = maxIntervalMs;
+        }
+
+        public double getMaxRequestsPerSecond() {
+            return maxRequestsPerSecond;
+        }
+
+        public void setMaxRequestsPerSecond(double maxRequestsPerSecond) {
+            this.maxRequestsPerSecond = maxRequestsPerSecond;
+        }
+
+        public int getHistorySize() {
+            return historySize;
+        }
+
+        public void setHistorySize(int historySize) {
+            this.historySize = historySize;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+    }
+
+    public static class Json {
+        /**
+         * Register the Jackson Blackbird module when {@code jackson-module-blackbird} is on the classpath.
+         */
+        private boolean blackbird = true;
+
+        public boolean isBlackbird() {
+            return blackbird;
+        }
+
+        public void setBlackbird(boolean blackbird) {
+            this.blackbird = blackbird;
+        }
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public boolean isAuthEnabled() {
+        return authEnabled;
+    }
+
+    public void setAuthEnabled(boolean authEnabled) {
+        this.authEnabled = authEnabled;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+    
+    public JwtAuth getJwt() {
+        return jwt;
+    }
+    
+    public void setJwt(JwtAuth jwt) {
         this.jwt = jwt;
     }
-} 
\ No newline at end of file
+    
+    public Pool getPool() {
+        return pool;
+    }
+    
+    public void setPool(Pool pool) {
+        this.pool = pool;
+    }
+    
+    public Async getAsync() {
+        return async;
+    }
+    
+    public void setAsync(Async async) {
+        this.async = async;
+    }
+    
+    public Json getJson() {
+        return json;
+    }
+    
+    public void setJson(Json json) {
+        this.json = json;
+    }
+    
+    public Retry getRetry() {
+        return retry;
+    }
+    
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+    
+    public Breaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    
+    public void setCircuitBreaker(Breaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+    
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+    
+    public void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+    
+    public Hedging getHedging() {
+        return hedging;
+    }
+    
+    public void setHedging(Hedging hedging) {
+        this.hedging = hedging;
+    }
+    
+    public Cache getCache() {
+        return cache;
+    }
+    
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+    
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+    
+    public void setCoalescing(Coalescing coalescing) {
+        this.coalescing = coalescing;
+    }
+    
+    public StatusBatching getStatusBatching() {
+        return statusBatching;
+    }
+    
+    public void setStatusBatching(StatusBatching statusBatching) {
+        this.statusBatching = statusBatching;
+    }
+    
+    public Map<String, Node> getNodes() {
+        return nodes;
+    }
+    
+    public void setNodes(Map<String, Node> nodes) {
+        this.nodes = nodes;
+    }
+    
+    public Cluster getCluster() {
+        return cluster;
+    }
+    
+    public void setCluster(Cluster cluster) {
+        this.cluster = cluster;
+    }
+    
+    public Fleet getFleet() {
+        return fleet;
+    }
+    
+    public void setFleet(Fleet fleet) {
+        this.fleet = fleet;
+    }
+    
+    public Metrics getMetrics() {
+        return metrics;
+    }
+    
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+}
@@ -1,11 +1,15 @@
 package cn.brk2outside.ekuiper4j.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -38,6 +42,57 @@ public class RuleStatusResponse {
     /**
      * Additional metrics, dynamically added based on the rule configuration
      * Keys are metric names like source_demo_0_records_in_total, op_filter_0_records_in_total, etc.
+     * Use {@link cn.brk2outside.ekuiper4j.metrics.RuleMetricsDecoder} for typed values.
      */
+    @JsonIgnore
     private Map<String, Object> metrics;
+
+    /**
+     * Rule status, e.g. running or stopped
+     */
+    @JsonProperty("status")
+    private String status;
+
+    /**
+     * Reason the rule stopped, if any
+     */
+    @JsonProperty("message")
+    private String message;
+
+    /**
+     * Creates a response without status and message, as before they were bound.
+     *
+     * @param lastStartTimestamp last time the rule was started
+     * @param lastStopTimestamp  last time the rule was stopped
+     * @param nextStartTimestamp next time the rule will start
+     * @param metrics            the metrics
+     */
+    public RuleStatusResponse(Long lastStartTimestamp, Long lastStopTimestamp, Long nextStartTimestamp,
+                              Map<String, Object> metrics) {
+        this(lastStartTimestamp, lastStopTimestamp, nextStartTimestamp, metrics, null, null);
+    }
+
+    /**
+     * Collects the flat metric keys of the status payload into {@link #metrics}.
+     *
+     * @param key   the metric name
+     * @param value the metric value
+     */
+    @JsonAnySetter
+    public void putMetric(String key, Object value) {
+        if (metrics == null) {
+            metrics = new LinkedHashMap<>();
+        }
+        metrics.put(key, value);
+    }
+
+    /**
+     * Exposes {@link #metrics} as flat keys of the status payload, as eKuiper sends them.
+     *
+     * @return the metrics, or null if there are none
+     */
+    @JsonAnyGetter
+    public Map<String, Object> metricsForJson() {
+        return metrics;
+    }
 } 
\ No newline at end of file
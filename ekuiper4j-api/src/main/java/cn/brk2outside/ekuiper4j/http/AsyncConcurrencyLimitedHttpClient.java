@@ -0,0 +1,68 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link AsyncHttpClient} decorator that caps the number of requests in flight to one eKuiper node.
+ * <p>
+ * Non-blocking requests beyond the limit are queued without holding a thread and sent by whichever request
+ * frees the permit; blocking requests wait as in {@link ConcurrencyLimitedHttpClient}. Both draw from the same
+ * {@link NodePermits}.
+ */
+public class AsyncConcurrencyLimitedHttpClient extends ForwardingAsyncHttpClient {
+
+    private final NodePermits permits;
+
+    /**
+     * Creates a decorator limiting requests with the given permits.
+     *
+     * @param delegate The client requests are forwarded to
+     * @param permits  The permits shared by all requests to the node
+     */
+    public AsyncConcurrencyLimitedHttpClient(AsyncHttpClient delegate, NodePermits permits) {
+        super(delegate);
+        this.permits = permits;
+    }
+
+    @Override
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return ConcurrencyLimitedHttpClient.withPermit(permits, path,
+                () -> super.exchange(method, path, requestBody, queryParams, responseType, pathVariables));
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> exchangeAsync(HttpMethods method, String path, Object requestBody,
+                                                     Map<String, Object> queryParams,
+                                                     ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        permits.acquireAsync().thenRun(() -> {
+            if (result.isDone()) {
+                // Cancelled by the caller while queued
+                permits.release();
+                return;
+            }
+            CompletableFuture<T> response;
+            try {
+                response = super.exchangeAsync(method, path, requestBody, queryParams, responseType, pathVariables);
+            } catch (RuntimeException e) {
+                permits.release();
+                result.completeExceptionally(e);
+                return;
+            }
+            response.whenComplete((value, error) -> {
+                permits.release();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        });
+        return result;
+    }
+}
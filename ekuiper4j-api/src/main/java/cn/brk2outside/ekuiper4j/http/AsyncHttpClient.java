@@ -0,0 +1,111 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP client that, in addition to the blocking {@link HttpClient} methods, offers a non-blocking
+ * variant of each request. The returned futures complete exceptionally with an
+ * {@link HttpClientException} when the request fails or returns an invalid status code.
+ */
+public interface AsyncHttpClient extends HttpClient {
+
+    /**
+     * Performs a non-blocking GET request to the specified path with path variables and expected response type.
+     *
+     * @param path          The API path to send the request to (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param responseType  The expected response type class
+     * @param <T>           The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @return              A future completed with the response body as the expected type
+     */
+    <T> CompletableFuture<T> getAsync(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables);
+
+    /**
+     * Performs a non-blocking GET request to the specified path with path variables, query parameters, and expected response type.
+     *
+     * @param path          The API path to send the request to (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param queryParams   Query parameters to append to the URL (can be null or empty)
+     * @param responseType  The expected response type class
+     * @param <T>           The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @return              A future completed with the response body as the expected type
+     */
+    <T> CompletableFuture<T> getAsync(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables);
+
+    /**
+     * Performs a non-blocking POST request with a request body, path variables, and expected response type.
+     *
+     * @param path          The API path to send the request to (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param requestBody   The request body (can be null)
+     * @param responseType  The expected response type class
+     * @param <T>           The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @return              A future completed with the response body as the expected type
+     */
+    <T> CompletableFuture<T> postAsync(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables);
+
+    /**
+     * Performs a non-blocking POST request with a request body, path variables, query parameters, and expected response type.
+     *
+     * @param path          The API path to send the request to (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param requestBody   The request body (can be null)
+     * @param queryParams   Query parameters to append to the URL (can be null or empty)
+     * @param responseType  The expected response type class
+     * @param <T>           The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @return              A future completed with the response body as the expected type
+     */
+    <T> CompletableFuture<T> postAsync(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables);
+
+    /**
+     * Performs a non-blocking PUT request with a request body, path variables, and expected response type.
+     *
+     * @param path          The API path to send the request to (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param requestBody   The request body (can be null)
+     * @param responseType  The expected response type class
+     * @param <T>           The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @return              A future completed with the response body as the expected type
+     */
+    <T> CompletableFuture<T> putAsync(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables);
+
+    /**
+     * Performs a non-blocking PUT request with a request body, path variables, query parameters, and expected response type.
+     *
+     * @param path          The API path to send the request to (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param requestBody   The request body (can be null)
+     * @param queryParams   Query parameters to append to the URL (can be null or empty)
+     * @param responseType  The expected response type class
+     * @param <T>           The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @return              A future completed with the response body as the expected type
+     */
+    <T> CompletableFuture<T> putAsync(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables);
+
+    /**
+     * Performs a non-blocking DELETE request to the specified path with path variables and expected response type.
+     *
+     * @param path          The API path to send the request to (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param responseType  The expected response type class
+     * @param <T>           The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @return              A future completed with the response body as the expected type
+     */
+    <T> CompletableFuture<T> deleteAsync(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables);
+
+    /**
+     * Performs a non-blocking DELETE request to the specified path with path variables, query parameters and expected response type.
+     *
+     * @param path          The API path to send the request to (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param queryParams   Query parameters to append to the URL (can be null or empty)
+     * @param responseType  The expected response type class
+     * @param <T>           The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @return              A future completed with the response body as the expected type
+     */
+    <T> CompletableFuture<T> deleteAsync(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables);
+
+}
@@ -0,0 +1,61 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link HttpClient} decorator that caps the number of requests in flight to one eKuiper node.
+ * <p>
+ * Callers beyond the limit block until a permit is free, which is cheap when they run on virtual threads.
+ * Several clients talking to the same node share one limit through {@link NodeConcurrencyLimiter}; see
+ * {@link AsyncConcurrencyLimitedHttpClient} for the non-blocking variant.
+ */
+public class ConcurrencyLimitedHttpClient extends ForwardingHttpClient {
+
+    private final NodePermits permits;
+
+    /**
+     * Creates a decorator limiting requests with the given permits.
+     *
+     * @param delegate The client requests are forwarded to
+     * @param permits  The permits shared by all requests to the node
+     */
+    public ConcurrencyLimitedHttpClient(HttpClient delegate, NodePermits permits) {
+        super(delegate);
+        this.permits = permits;
+    }
+
+    @Override
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return withPermit(permits, path,
+                () -> super.exchange(method, path, requestBody, queryParams, responseType, pathVariables));
+    }
+
+    /**
+     * Runs a blocking request while holding a permit.
+     *
+     * @param permits The node's permits
+     * @param path    The API path, for the error message
+     * @param request The request
+     * @param <T>     The expected response type
+     * @return The response of the request
+     * @throws HttpClientException if the request fails or the thread is interrupted while waiting for a permit
+     */
+    static <T> T withPermit(NodePermits permits, String path, Supplier<T> request) throws HttpClientException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("Interrupted while waiting to send request: " + path, e, -1);
+        }
+        try {
+            return request.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns the raw body of an error response into an {@link HttpClientException}.
+ * <p>
+ * The body is scanned once with a streaming parser, picking up the {@code error} and {@code message} fields
+ * of an eKuiper error payload such as {@code {"error":1002,"message":"..."}}. Bodies that are not JSON objects
+ * are recognized up front and reported as plain text, so the common failure modes of an outage (proxy pages,
+ * empty bodies) do not go through Jackson exceptions.
+ */
+public class EKuiperErrorDecoder {
+
+    private final JsonCodec jsonCodec;
+
+    /**
+     * Creates a decoder.
+     *
+     * @param jsonCodec The codec providing the JSON parser factory
+     */
+    public EKuiperErrorDecoder(JsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
+    }
+
+    /**
+     * Decodes an error response body encoded as UTF-8.
+     *
+     * @param statusCode The HTTP status code
+     * @param body       The raw response body (can be null or empty)
+     * @return The exception to throw
+     */
+    public HttpClientException decode(int statusCode, byte[] body) {
+        return decode(statusCode, body, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes an error response body.
+     *
+     * @param statusCode The HTTP status code
+     * @param body       The raw response body (can be null or empty)
+     * @param charset    The charset of the body if it is not JSON
+     * @return The exception to throw, carrying the eKuiper error if the body is one
+     */
+    public HttpClientException decode(int statusCode, byte[] body, Charset charset) {
+        if (body == null || body.length == 0) {
+            return new HttpClientException("HTTP request failed with status code: " + statusCode, statusCode);
+        }
+        if (!startsWithObject(body)) {
+            return new HttpClientException(text(body, charset), statusCode);
+        }
+
+        int errorCode = 0;
+        String errorText = null;
+        String message = null;
+        try (JsonParser parser = jsonCodec.getObjectMapper().getFactory().createParser(body)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("error".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    errorCode = parser.getIntValue();
+                } else if ("error".equals(field) && value == JsonToken.VALUE_STRING) {
+                    errorText = parser.getText();
+                } else if ("message".equals(field) && value == JsonToken.VALUE_STRING) {
+                    message = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            // Truncated or malformed JSON, fall back to the raw text
+            return new HttpClientException(text(body, charset), statusCode);
+        }
+
+        if (errorCode > 0) {
+            return HttpClientException.ekuiperError(new EKuiperErrorResponse(errorCode, message), statusCode);
+        }
+        if (message != null) {
+            return new HttpClientException(message, statusCode);
+        }
+        if (errorText != null) {
+            return new HttpClientException(errorText, statusCode);
+        }
+        return new HttpClientException(text(body, charset), statusCode);
+    }
+
+    private static boolean startsWithObject(byte[] body) {
+        for (byte b : body) {
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                return b == '{';
+            }
+        }
+        return false;
+    }
+
+    private static String text(byte[] body, Charset charset) {
+        return new String(body, charset != null ? charset : StandardCharsets.UTF_8);
+    }
+}
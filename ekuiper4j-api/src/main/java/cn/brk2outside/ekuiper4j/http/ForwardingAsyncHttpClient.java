@@ -0,0 +1,127 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base class for {@link AsyncHttpClient} decorators.
+ * <p>
+ * Blocking requests are routed through {@link #exchange} as in {@link ForwardingHttpClient}; every non-blocking
+ * request is routed through {@link #exchangeAsync}, whose default implementation forwards to the delegate
+ * unchanged, so a decorator keeps requests non-blocking all the way down.
+ */
+public abstract class ForwardingAsyncHttpClient extends ForwardingHttpClient implements AsyncHttpClient {
+
+    /**
+     * Creates a decorator around the given client.
+     *
+     * @param delegate The client requests are forwarded to
+     */
+    protected ForwardingAsyncHttpClient(AsyncHttpClient delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public AsyncHttpClient getDelegate() {
+        return (AsyncHttpClient) delegate;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return exchangeAsync(HttpMethods.GET, path, null, null, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return exchangeAsync(HttpMethods.GET, path, null, queryParams, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> postAsync(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return exchangeAsync(HttpMethods.POST, path, requestBody, null, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> postAsync(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return exchangeAsync(HttpMethods.POST, path, requestBody, queryParams, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> putAsync(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return exchangeAsync(HttpMethods.PUT, path, requestBody, null, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> putAsync(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return exchangeAsync(HttpMethods.PUT, path, requestBody, queryParams, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> deleteAsync(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return exchangeAsync(HttpMethods.DELETE, path, null, null, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> deleteAsync(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return exchangeAsync(HttpMethods.DELETE, path, null, queryParams, responseType, pathVariables);
+    }
+
+    /**
+     * Performs a non-blocking request. Decorators override this to wrap every non-blocking request of the client.
+     *
+     * @param method        The HTTP method
+     * @param path          The API path (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param requestBody   The request body (null for GET and DELETE)
+     * @param queryParams   Query parameters (null if the caller passed none)
+     * @param responseType  The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @param <T>           The expected response type
+     * @return A future completed with the response body as the expected type
+     */
+    protected <T> CompletableFuture<T> exchangeAsync(HttpMethods method, String path, Object requestBody,
+                                                     Map<String, Object> queryParams,
+                                                     ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return forwardAsync(getDelegate(), method, path, requestBody, queryParams, responseType, pathVariables);
+    }
+
+    /**
+     * Sends a non-blocking request through the matching method of the given client.
+     *
+     * @param client        The client to send the request with
+     * @param method        The HTTP method
+     * @param path          The API path
+     * @param requestBody   The request body (ignored for GET and DELETE)
+     * @param queryParams   Query parameters (can be null)
+     * @param responseType  The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @param <T>           The expected response type
+     * @return A future completed with the response body as the expected type
+     */
+    public static <T> CompletableFuture<T> forwardAsync(AsyncHttpClient client, HttpMethods method, String path,
+                                                        Object requestBody, Map<String, Object> queryParams,
+                                                        ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        switch (method) {
+            case GET:
+                return queryParams != null
+                        ? client.getAsync(path, queryParams, responseType, pathVariables)
+                        : client.getAsync(path, responseType, pathVariables);
+            case POST:
+                return queryParams != null
+                        ? client.postAsync(path, requestBody, queryParams, responseType, pathVariables)
+                        : client.postAsync(path, requestBody, responseType, pathVariables);
+            case PUT:
+                return queryParams != null
+                        ? client.putAsync(path, requestBody, queryParams, responseType, pathVariables)
+                        : client.putAsync(path, requestBody, responseType, pathVariables);
+            case DELETE:
+                return queryParams != null
+                        ? client.deleteAsync(path, queryParams, responseType, pathVariables)
+                        : client.deleteAsync(path, responseType, pathVariables);
+            default:
+                return CompletableFuture.failedFuture(new IllegalArgumentException("Unsupported HTTP method: " + method));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.Map;
+
+/**
+ * Base class for {@link HttpClient} decorators.
+ * <p>
+ * Every request method is routed through {@link #exchange}, so a decorator only needs to override that
+ * single method to wrap all requests; the default implementation forwards to the delegate unchanged.
+ * Closing a decorator closes the client it decorates, so that closing the outermost client of a chain releases
+ * the threads and connections held anywhere in it.
+ */
+public abstract class ForwardingHttpClient implements HttpClient, AutoCloseable {
+
+    protected final HttpClient delegate;
+
+    /**
+     * Creates a decorator around the given client.
+     *
+     * @param delegate The client requests are forwarded to
+     */
+    protected ForwardingHttpClient(HttpClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Gets the decorated client.
+     *
+     * @return The client requests are forwarded to
+     */
+    public HttpClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public <T> T get(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return exchange(HttpMethods.GET, path, null, null, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> T get(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return exchange(HttpMethods.GET, path, null, queryParams, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> T post(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return exchange(HttpMethods.POST, path, requestBody, null, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> T post(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return exchange(HttpMethods.POST, path, requestBody, queryParams, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> T put(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return exchange(HttpMethods.PUT, path, requestBody, null, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> T put(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return exchange(HttpMethods.PUT, path, requestBody, queryParams, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> T delete(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return exchange(HttpMethods.DELETE, path, null, null, responseType, pathVariables);
+    }
+
+    @Override
+    public <T> T delete(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return exchange(HttpMethods.DELETE, path, null, queryParams, responseType, pathVariables);
+    }
+
+    /**
+     * Performs a request. Decorators override this to wrap every request of the client.
+     *
+     * @param method        The HTTP method
+     * @param path          The API path (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param requestBody   The request body (null for GET and DELETE)
+     * @param queryParams   Query parameters (null if the caller passed none)
+     * @param responseType  The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @param <T>           The expected response type
+     * @return The response body as the expected type
+     * @throws HttpClientException if the request fails or returns an invalid status code
+     */
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return forward(delegate, method, path, requestBody, queryParams, responseType, pathVariables);
+    }
+
+    /**
+     * Sends a request through the matching method of the given client.
+     *
+     * @param client        The client to send the request with
+     * @param method        The HTTP method
+     * @param path          The API path
+     * @param requestBody   The request body (ignored for GET and DELETE)
+     * @param queryParams   Query parameters (can be null)
+     * @param responseType  The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @param <T>           The expected response type
+     * @return The response body as the expected type
+     * @throws HttpClientException if the request fails or returns an invalid status code
+     */
+    public static <T> T forward(HttpClient client, HttpMethods method, String path, Object requestBody,
+                                Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType,
+                                Object... pathVariables) throws HttpClientException {
+        switch (method) {
+            case GET:
+                return queryParams != null
+                        ? client.get(path, queryParams, responseType, pathVariables)
+                        : client.get(path, responseType, pathVariables);
+            case POST:
+                return queryParams != null
+                        ? client.post(path, requestBody, queryParams, responseType, pathVariables)
+                        : client.post(path, requestBody, responseType, pathVariables);
+            case PUT:
+                return queryParams != null
+                        ? client.put(path, requestBody, queryParams, responseType, pathVariables)
+                        : client.put(path, requestBody, responseType, pathVariables);
+            case DELETE:
+                return queryParams != null
+                        ? client.delete(path, queryParams, responseType, pathVariables)
+                        : client.delete(path, responseType, pathVariables);
+            default:
+                throw new IllegalArgumentException("Unsupported HTTP method: " + method);
+        }
+    }
+
+    /**
+     * Closes the decorated client if it holds resources.
+     * Decorators holding resources of their own release them and then call this method.
+     */
+    @Override
+    public void close() {
+        closeClient(delegate);
+    }
+
+    /**
+     * Closes the given client if it is {@link AutoCloseable}.
+     *
+     * @param client The client to close (can be null)
+     */
+    public static void closeClient(HttpClient client) {
+        if (client instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to close HTTP client", e);
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package cn.brk2outside.ekuiper4j.http;
 
 import lombok.Getter;
 
+import java.io.IOException;
+
 /**
  * Exception thrown when HTTP requests fail.
  */
@@ -87,6 +89,30 @@ public class HttpClientException extends RuntimeException {
         return statusCode;
     }
     
+    /**
+     * Checks whether this failure is transient: a connection error, a timeout or a 5xx response that does not
+     * carry an eKuiper error (those are reported by eKuiper itself and would fail again).
+     *
+     * @return True if sending the request again may succeed
+     */
+    public boolean isTransient() {
+        if (statusCode >= 500) {
+            return statusCode != 501 && !hasEKuiperError();
+        }
+        if (statusCode != -1) {
+            return false;
+        }
+        for (Throwable cause = getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException) {
+                return false;
+            }
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * Checks if this exception contains an eKuiper-specific error.
      *
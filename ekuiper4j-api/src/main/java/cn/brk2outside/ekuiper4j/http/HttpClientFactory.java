@@ -1,10 +1,22 @@
 package cn.brk2outside.ekuiper4j.http;
 
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * Factory class for creating HTTP clients with different configurations.
  */
@@ -26,17 +38,14 @@ public class HttpClientFactory {
     
     /**
      * Creates a default HTTP client with standard timeouts and specified host/port.
+     * All default clients share one connection pool, so they need not be closed.
      *
      * @param host The eKuiper host
      * @param port The eKuiper port
      * @return A new HttpClient instance
      */
     public static HttpClient createDefault(String host, int port) {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(DEFAULT_CONNECT_TIMEOUT);
-        requestFactory.setReadTimeout(DEFAULT_READ_TIMEOUT);
-        
-        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        RestTemplate restTemplate = new RestTemplate(DefaultRequestFactory.INSTANCE);
         return new RestTemplateHttpClient(host, port, restTemplate);
     }
 
@@ -45,7 +54,7 @@ public class HttpClientFactory {
      *
      * @param connectTimeoutMs Connection timeout in milliseconds
      * @param readTimeoutMs    Read timeout in milliseconds
-     * @return A new HttpClient instance with the specified timeouts
+     * @return A new HttpClient instance with the specified timeouts, to be closed when no longer used
      */
     public static HttpClient createWithTimeouts(int connectTimeoutMs, int readTimeoutMs) {
         return createWithTimeouts(DEFAULT_HOST, DEFAULT_PORT, connectTimeoutMs, readTimeoutMs);
@@ -53,20 +62,18 @@ public class HttpClientFactory {
     
     /**
      * Creates an HTTP client with custom timeouts and specified host/port.
+     * The client owns a connection pool of its own and is {@link AutoCloseable}, e.g. through
+     * {@link ForwardingHttpClient#closeClient(HttpClient)}; use {@link #createPooled} to hold it as a
+     * {@link RestTemplateHttpClient}.
      *
      * @param host             The eKuiper host
      * @param port             The eKuiper port
      * @param connectTimeoutMs Connection timeout in milliseconds
      * @param readTimeoutMs    Read timeout in milliseconds
-     * @return A new HttpClient instance with the specified timeouts
+     * @return A new HttpClient instance with the specified timeouts, to be closed when no longer used
      */
     public static HttpClient createWithTimeouts(String host, int port, int connectTimeoutMs, int readTimeoutMs) {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(connectTimeoutMs);
-        requestFactory.setReadTimeout(readTimeoutMs);
-        
-        RestTemplate restTemplate = new RestTemplate(requestFactory);
-        return new RestTemplateHttpClient(host, port, restTemplate);
+        return createPooled(host, port, connectTimeoutMs, readTimeoutMs, new EKuiperClientProperties.Pool());
     }
 
     /**
@@ -88,11 +95,7 @@ public class HttpClientFactory {
      * @return A new HttpClient instance with the specified headers
      */
     public static HttpClient createWithHeaders(String host, int port, HttpHeaders headers) {
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setConnectTimeout(DEFAULT_CONNECT_TIMEOUT);
-        requestFactory.setReadTimeout(DEFAULT_READ_TIMEOUT);
-        
-        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        RestTemplate restTemplate = new RestTemplate(DefaultRequestFactory.INSTANCE);
         return new RestTemplateHttpClient(host, port, restTemplate, headers);
     }
 
@@ -118,4 +121,134 @@ public class HttpClientFactory {
         RestTemplate restTemplate = new RestTemplate(requestFactory);
         return new RestTemplateHttpClient(host, port, restTemplate);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Creates an HTTP client backed by a pooled keep-alive transport of its own.
+     * Closing the client shuts the pool and its eviction thread down.
+     *
+     * @param host             The eKuiper host
+     * @param port             The eKuiper port
+     * @param connectTimeoutMs Connection timeout in milliseconds
+     * @param readTimeoutMs    Read timeout in milliseconds
+     * @param pool             Connection pool settings
+     * @return A new HttpClient instance using the pooled transport, to be closed when no longer used
+     */
+    public static RestTemplateHttpClient createPooled(String host, int port, int connectTimeoutMs, int readTimeoutMs,
+                                                      EKuiperClientProperties.Pool pool) {
+        HttpComponentsClientHttpRequestFactory requestFactory = createPooledRequestFactory(connectTimeoutMs, readTimeoutMs, pool);
+        return new RestTemplateHttpClient(host, port, new RestTemplate(requestFactory), requestFactory::destroy);
+    }
+
+    /**
+     * Creates the request factory described by the client properties: a pooled keep-alive transport
+     * when {@code ekuiper.client.pool.enabled} is set, otherwise a plain JDK connection per request.
+     *
+     * @param properties The eKuiper client properties
+     * @return A request factory honouring the configured timeouts and pool settings
+     */
+    public static ClientHttpRequestFactory createRequestFactory(EKuiperClientProperties properties) {
+        if (properties.getPool().isEnabled()) {
+            return createPooledRequestFactory(properties.getConnectTimeout(), properties.getReadTimeout(), properties.getPool());
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getConnectTimeout());
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        return requestFactory;
+    }
+
+    /**
+     * Creates a request factory backed by a pooled Apache HttpClient connection manager.
+     * Connections are kept alive and reused per eKuiper node (route), validated after a period
+     * of inactivity, retired once older than the pool's time-to-live, and evicted by a background
+     * thread once idle or expired.
+     *
+     * @param connectTimeoutMs Connection timeout in milliseconds, also used as the pool lease timeout
+     * @param readTimeoutMs    Read (socket) timeout in milliseconds
+     * @param pool             Connection pool settings
+     * @return A request factory sharing one connection pool across all requests
+     */
+    public static HttpComponentsClientHttpRequestFactory createPooledRequestFactory(int connectTimeoutMs, int readTimeoutMs,
+                                                                                   EKuiperClientProperties.Pool pool) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .build();
+
+        // Keep-alive follows the server's Keep-Alive header; the pool's time-to-live caps the life of a connection
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(createConnectionManager(connectTimeoutMs, readTimeoutMs, pool))
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(pool.getIdleEvictionMs()))
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * Creates the connection manager holding the pooled connections.
+     *
+     * @param connectTimeoutMs Connection timeout in milliseconds
+     * @param readTimeoutMs    Read (socket) timeout in milliseconds
+     * @param pool             Connection pool settings
+     * @return A connection manager sized and configured by the pool settings
+     */
+    static PoolingHttpClientConnectionManager createConnectionManager(int connectTimeoutMs, int readTimeoutMs,
+                                                                      EKuiperClientProperties.Pool pool) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(pool.getMaxConnectionsPerNode())
+                .setMaxConnTotal(Math.max(pool.getMaxConnectionsTotal(), pool.getMaxConnectionsPerNode()))
+                .setDefaultConnectionConfig(createConnectionConfig(connectTimeoutMs, readTimeoutMs, pool))
+                .build();
+    }
+
+    /**
+     * Creates the configuration applied to every pooled connection.
+     *
+     * @param connectTimeoutMs Connection timeout in milliseconds
+     * @param readTimeoutMs    Read (socket) timeout in milliseconds
+     * @param pool             Connection pool settings
+     * @return The connection configuration
+     */
+    static ConnectionConfig createConnectionConfig(int connectTimeoutMs, int readTimeoutMs, EKuiperClientProperties.Pool pool) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofMilliseconds(pool.getValidateAfterInactivityMs()))
+                .setTimeToLive(TimeValue.ofMilliseconds(pool.getKeepAliveTtlMs()))
+                .build();
+    }
+
+    /**
+     * Creates a non-blocking HTTP client on the JDK transport shared by all JDK-based clients.
+     *
+     * @param host The eKuiper host
+     * @param port The eKuiper port
+     * @return A new AsyncHttpClient instance
+     */
+    public static AsyncHttpClient createJdk(String host, int port) {
+        return new JdkHttpClient(host, port);
+    }
+
+    /**
+     * Creates a non-blocking HTTP client on a dedicated JDK transport with custom timeouts.
+     *
+     * @param host             The eKuiper host
+     * @param port             The eKuiper port
+     * @param connectTimeoutMs Connection timeout in milliseconds
+     * @param readTimeoutMs    Request timeout in milliseconds
+     * @return A new AsyncHttpClient instance with the specified timeouts
+     */
+    public static AsyncHttpClient createJdk(String host, int port, int connectTimeoutMs, int readTimeoutMs) {
+        java.net.http.HttpClient transport = JdkHttpClient.newTransport(Duration.ofMillis(connectTimeoutMs), null);
+        return new JdkHttpClient(host, port, transport, Duration.ofMillis(readTimeoutMs));
+    }
+
+    /**
+     * Lazily built pooled request factory shared by the default clients; it lives as long as the JVM.
+     */
+    private static final class DefaultRequestFactory {
+        private static final HttpComponentsClientHttpRequestFactory INSTANCE =
+                createPooledRequestFactory(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT, new EKuiperClientProperties.Pool());
+    }
+}
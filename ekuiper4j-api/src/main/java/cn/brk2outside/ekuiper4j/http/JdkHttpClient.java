@@ -0,0 +1,395 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import lombok.Getter;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the {@link AsyncHttpClient} interface using the JDK's {@code java.net.http.HttpClient}.
+ * <p>
+ * All instances created without an explicit transport share a single {@code java.net.http.HttpClient},
+ * i.e. one selector thread and one connection pool, so a management service can drive many eKuiper
+ * nodes with a handful of threads. Response bodies are decoded the same way as in
+ * {@link RestTemplateHttpClient}: {@code String} responses are returned as raw text, {@code Void}
+ * responses are discarded, {@link ResponseBodyReader}s read the body as it arrives and everything else is
+ * read as JSON.
+ */
+public class JdkHttpClient implements AsyncHttpClient {
+
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(15);
+
+    private final java.net.http.HttpClient httpClient;
+    private final HttpHeaders defaultHeaders;
+    private final Duration requestTimeout;
+    private final JsonCodec jsonCodec;
+    private final EKuiperErrorDecoder errorDecoder;
+    /**
+     * -- GETTER --
+     *  Gets the base URL of the eKuiper instance.
+     *
+     * @return The base URL
+     */
+    @Getter
+    private final String baseUrl;
+
+    /**
+     * Creates a new JdkHttpClient on the shared transport with default timeouts.
+     *
+     * @param host The eKuiper host
+     * @param port The eKuiper port
+     */
+    public JdkHttpClient(String host, int port) {
+        this(host, port, sharedTransport(), DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Creates a new JdkHttpClient with a custom transport.
+     *
+     * @param host           The eKuiper host
+     * @param port           The eKuiper port
+     * @param httpClient     The JDK HTTP client to send requests with, may be shared between nodes
+     * @param requestTimeout Timeout for each request, from sending it until the response headers arrive
+     */
+    public JdkHttpClient(String host, int port, java.net.http.HttpClient httpClient, Duration requestTimeout) {
+        this(host, port, httpClient, requestTimeout, defaultJsonHeaders());
+    }
+
+    /**
+     * Creates a new JdkHttpClient with a custom transport and default headers.
+     *
+     * @param host           The eKuiper host
+     * @param port           The eKuiper port
+     * @param httpClient     The JDK HTTP client to send requests with, may be shared between nodes
+     * @param requestTimeout Timeout for each request, from sending it until the response headers arrive
+     * @param defaultHeaders Default headers to send with each request
+     */
+    public JdkHttpClient(String host, int port, java.net.http.HttpClient httpClient, Duration requestTimeout,
+                         HttpHeaders defaultHeaders) {
+        this(host, port, httpClient, requestTimeout, defaultHeaders, JsonCodec.shared());
+    }
+
+    /**
+     * Creates a new JdkHttpClient with a custom transport, default headers and JSON codec.
+     *
+     * @param host           The eKuiper host
+     * @param port           The eKuiper port
+     * @param httpClient     The JDK HTTP client to send requests with, may be shared between nodes
+     * @param requestTimeout Timeout for each request, from sending it until the response headers arrive
+     * @param defaultHeaders Default headers to send with each request
+     * @param jsonCodec      The JSON codec used for request and response bodies
+     */
+    public JdkHttpClient(String host, int port, java.net.http.HttpClient httpClient, Duration requestTimeout,
+                         HttpHeaders defaultHeaders, JsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
+        this.errorDecoder = new EKuiperErrorDecoder(jsonCodec);
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.defaultHeaders = defaultHeaders;
+        this.baseUrl = String.format("http://%s:%d", host, port);
+    }
+
+    /**
+     * Creates a JDK HTTP transport suitable for talking to eKuiper nodes.
+     *
+     * @param connectTimeout Connection timeout
+     * @param executor       Executor for asynchronous completions, or null for a small daemon pool
+     * @return A new JDK HTTP client
+     */
+    public static java.net.http.HttpClient newTransport(Duration connectTimeout, Executor executor) {
+        return java.net.http.HttpClient.newBuilder()
+                .version(java.net.http.HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(java.net.http.HttpClient.Redirect.NEVER)
+                .executor(executor != null ? executor : newCompletionExecutor())
+                .build();
+    }
+
+    /**
+     * Gets the transport shared by all clients created without an explicit one.
+     *
+     * @return The shared JDK HTTP client
+     */
+    public static java.net.http.HttpClient sharedTransport() {
+        return SharedTransport.INSTANCE;
+    }
+
+    /**
+     * Gets the headers to use for HTTP requests.
+     * This method can be overridden by subclasses to provide dynamic headers.
+     *
+     * @return The headers to use for requests
+     */
+    protected HttpHeaders getHeaders() {
+        return defaultHeaders;
+    }
+
+    @Override
+    public <T> T get(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return send(HttpMethod.GET, path, null, responseType, null, pathVariables);
+    }
+
+    @Override
+    public <T> T get(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return send(HttpMethod.GET, path, null, responseType, queryParams, pathVariables);
+    }
+
+    @Override
+    public <T> T post(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return send(HttpMethod.POST, path, requestBody, responseType, null, pathVariables);
+    }
+
+    @Override
+    public <T> T post(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return send(HttpMethod.POST, path, requestBody, responseType, queryParams, pathVariables);
+    }
+
+    @Override
+    public <T> T put(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return send(HttpMethod.PUT, path, requestBody, responseType, null, pathVariables);
+    }
+
+    @Override
+    public <T> T put(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return send(HttpMethod.PUT, path, requestBody, responseType, queryParams, pathVariables);
+    }
+
+    @Override
+    public <T> T delete(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return send(HttpMethod.DELETE, path, null, responseType, null, pathVariables);
+    }
+
+    @Override
+    public <T> T delete(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        return send(HttpMethod.DELETE, path, null, responseType, queryParams, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return sendAsync(HttpMethod.GET, path, null, responseType, null, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return sendAsync(HttpMethod.GET, path, null, responseType, queryParams, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> postAsync(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return sendAsync(HttpMethod.POST, path, requestBody, responseType, null, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> postAsync(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return sendAsync(HttpMethod.POST, path, requestBody, responseType, queryParams, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> putAsync(String path, Object requestBody, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return sendAsync(HttpMethod.PUT, path, requestBody, responseType, null, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> putAsync(String path, Object requestBody, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return sendAsync(HttpMethod.PUT, path, requestBody, responseType, queryParams, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> deleteAsync(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return sendAsync(HttpMethod.DELETE, path, null, responseType, null, pathVariables);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> deleteAsync(String path, Map<String, Object> queryParams, ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return sendAsync(HttpMethod.DELETE, path, null, responseType, queryParams, pathVariables);
+    }
+
+    /**
+     * Sends a request and blocks the calling thread until the response has been decoded.
+     */
+    private <T> T send(HttpMethod method, String path, Object requestBody,
+                       ParameterizedTypeReference<T> responseType, Map<String, Object> queryParams,
+                       Object... pathVariables) throws HttpClientException {
+        try {
+            HttpRequest request = buildRequest(method, path, requestBody, queryParams, pathVariables);
+            if (responseType instanceof ResponseBodyReader<T> reader) {
+                return read(httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream()), reader);
+            }
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return decode(response, responseType);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("Interrupted while waiting for " + path, e, -1);
+        } catch (Exception e) {
+            throw translate(e, path);
+        }
+    }
+
+    /**
+     * Sends a request without blocking; the response is decoded on the transport's executor.
+     * A {@link ResponseBodyReader} also reads the body there, blocking that thread until the body is received.
+     */
+    private <T> CompletableFuture<T> sendAsync(HttpMethod method, String path, Object requestBody,
+                                               ParameterizedTypeReference<T> responseType, Map<String, Object> queryParams,
+                                               Object... pathVariables) {
+        HttpRequest request;
+        try {
+            request = buildRequest(method, path, requestBody, queryParams, pathVariables);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(translate(e, path));
+        }
+        if (responseType instanceof ResponseBodyReader<T> reader) {
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            throw translate(error, path);
+                        }
+                        return read(response, reader);
+                    });
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw translate(error, path);
+                    }
+                    return decode(response, responseType);
+                });
+    }
+
+    private HttpRequest buildRequest(HttpMethod method, String path, Object requestBody,
+                                     Map<String, Object> queryParams, Object... pathVariables) throws IOException {
+        URI uri = PathTemplate.of(path).expand(baseUrl, queryParams, pathVariables);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .method(method.name(), bodyPublisher(requestBody));
+        getHeaders().forEach((name, values) -> {
+            for (String value : values) {
+                builder.header(name, value);
+            }
+        });
+        return builder.build();
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(Object requestBody) throws IOException {
+        if (requestBody == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (requestBody instanceof String text) {
+            return HttpRequest.BodyPublishers.ofString(text, StandardCharsets.UTF_8);
+        }
+        return HttpRequest.BodyPublishers.ofByteArray(jsonCodec.writeBytes(requestBody));
+    }
+
+    /**
+     * Decodes a response body into the expected type, mirroring the message converters of
+     * {@link RestTemplateHttpClient}, or throws for error status codes.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T decode(HttpResponse<byte[]> response, ParameterizedTypeReference<T> responseType) {
+        byte[] body = response.body();
+        if (response.statusCode() >= 400) {
+            throw errorDecoder.decode(response.statusCode(), body);
+        }
+
+        Type type = responseType.getType();
+        if (body == null || body.length == 0 || type == Void.class) {
+            return null;
+        }
+        if (type == String.class) {
+            return (T) new String(body, StandardCharsets.UTF_8);
+        }
+        if (type == byte[].class) {
+            return (T) body;
+        }
+        try {
+            return jsonCodec.read(body, type);
+        } catch (IOException e) {
+            throw new HttpClientException("Failed to decode response as " + type.getTypeName(), e, response.statusCode());
+        }
+    }
+
+    /**
+     * Hands a streamed response body to a reader, or throws for error status codes.
+     */
+    private <T> T read(HttpResponse<InputStream> response, ResponseBodyReader<T> reader) {
+        try (InputStream body = response.body()) {
+            if (response.statusCode() >= 400) {
+                throw errorDecoder.decode(response.statusCode(), body.readAllBytes());
+            }
+            return reader.read(body);
+        } catch (IOException e) {
+            // Not transient: the reader may already have consumed part of the body
+            throw new HttpClientException("Failed to read response body: " + e.getMessage(), e, response.statusCode());
+        }
+    }
+
+    /**
+     * Translates transport failures into {@link HttpClientException}s.
+     */
+    private HttpClientException translate(Throwable error, String path) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpClientException httpClientException) {
+            return httpClientException;
+        }
+        if (cause instanceof HttpTimeoutException) {
+            return HttpClientException.timeout("Connection to " + baseUrl + " timed out", cause);
+        }
+        if (cause instanceof IOException) {
+            return new HttpClientException("Error accessing resource: " + path, cause, -1);
+        }
+        return new HttpClientException("Error executing HTTP request: " + cause.getMessage(), cause, -1);
+    }
+
+    private static HttpHeaders defaultJsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Content-Type", "application/json");
+        headers.set("Accept", "application/json");
+        return headers;
+    }
+
+    /**
+     * Creates the small daemon pool completing requests of a transport. Idle threads end after a minute, so that a
+     * transport that is no longer used does not keep its threads.
+     *
+     * @return A new executor
+     */
+    static ExecutorService newCompletionExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "ekuiper4j-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Lazily created transport shared by all clients that do not bring their own.
+     */
+    private static final class SharedTransport {
+        private static final java.net.http.HttpClient INSTANCE = newTransport(DEFAULT_CONNECT_TIMEOUT, null);
+    }
+}
@@ -0,0 +1,59 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A {@code java.net.http.HttpClient} together with the threads completing its requests, to be shared by every
+ * {@link JdkHttpClient} of an application and closed with it.
+ * <p>
+ * The JDK client, and with it its selector thread, is only built when first used, so that a transport that is
+ * never used costs nothing. Closing the transport stops the completion threads; on Java 17 the selector thread
+ * ends once the JDK client is no longer referenced.
+ */
+public class JdkTransport implements AutoCloseable {
+
+    private final Duration connectTimeout;
+    private java.net.http.HttpClient httpClient;
+    private ExecutorService executor;
+    private boolean closed;
+
+    /**
+     * Creates a transport.
+     *
+     * @param connectTimeout Connection timeout
+     */
+    public JdkTransport(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Gets the JDK client, building it on first use.
+     *
+     * @return The JDK HTTP client
+     * @throws IllegalStateException if the transport is closed
+     */
+    public synchronized java.net.http.HttpClient getHttpClient() {
+        if (closed) {
+            throw new IllegalStateException("JDK transport is closed");
+        }
+        if (httpClient == null) {
+            executor = JdkHttpClient.newCompletionExecutor();
+            httpClient = JdkHttpClient.newTransport(connectTimeout, executor);
+        }
+        return httpClient;
+    }
+
+    /**
+     * Stops the threads completing requests. Requests still in flight fail.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        httpClient = null;
+    }
+}
@@ -0,0 +1,198 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.sdk.endpoint.ApiEndpoint;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The JSON mapper shared by the eKuiper HTTP clients, with cached readers and writers.
+ * <p>
+ * Building an {@link ObjectReader} or {@link ObjectWriter} resolves the (de)serializers for a type; doing it
+ * once per type instead of per call keeps decoding large rule status maps cheap. Readers for the response type
+ * and writers for the request type of every {@link StandardEndpoints} entry are built when the codec is created. If
+ * {@code jackson-module-blackbird} is on the classpath it is registered to speed up bean (de)serialization.
+ */
+public class JsonCodec {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsonCodec.class);
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+    /** Upper bound on cached readers/writers, so that ad-hoc types cannot grow the caches forever. */
+    private static final int MAX_CACHED_TYPES = 512;
+
+    private final ObjectMapper objectMapper;
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a codec around an existing mapper and preloads the readers of the standard endpoints.
+     *
+     * @param objectMapper The mapper; must not be reconfigured afterwards
+     */
+    public JsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (StandardEndpoints endpoint : StandardEndpoints.values()) {
+            ApiEndpoint<?, ?> apiEndpoint = endpoint.getEndpoint();
+            reader(apiEndpoint.getResponseClz().getType());
+            if (apiEndpoint.getRequestClz() != Void.class) {
+                writer(apiEndpoint.getRequestClz());
+            }
+        }
+    }
+
+    /**
+     * Gets the codec used by clients that are not given one explicitly.
+     *
+     * @return The shared default codec
+     */
+    public static JsonCodec shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Creates a codec with the client's default mapper settings: unknown properties are ignored and
+     * well-known Jackson modules on the classpath are registered.
+     *
+     * @param blackbird Whether to register the Blackbird module if it is on the classpath
+     * @return A new codec
+     */
+    public static JsonCodec create(boolean blackbird) {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .failOnUnknownProperties(false)
+                .build();
+        if (blackbird) {
+            registerBlackbird(objectMapper);
+        }
+        return new JsonCodec(objectMapper);
+    }
+
+    /**
+     * Gets the underlying mapper.
+     *
+     * @return The object mapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Gets the cached reader for a type.
+     *
+     * @param type The type to read, e.g. {@code ParameterizedTypeReference.getType()}
+     * @return The reader
+     */
+    public ObjectReader reader(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader != null) {
+            return reader;
+        }
+        reader = objectMapper.readerFor(objectMapper.getTypeFactory().constructType(type));
+        if (readers.size() < MAX_CACHED_TYPES) {
+            readers.putIfAbsent(type, reader);
+        }
+        return reader;
+    }
+
+    /**
+     * Gets the cached writer for a runtime class.
+     *
+     * @param type The runtime class of the values to write
+     * @return The writer
+     */
+    public ObjectWriter writer(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer != null) {
+            return writer;
+        }
+        writer = objectMapper.writerFor(type);
+        if (writers.size() < MAX_CACHED_TYPES) {
+            writers.putIfAbsent(type, writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Reads JSON content into the given type.
+     *
+     * @param content The JSON bytes
+     * @param type    The type to read
+     * @param <T>     The type to read
+     * @return The decoded value
+     * @throws IOException if the content is not valid JSON for the type
+     */
+    public <T> T read(byte[] content, Type type) throws IOException {
+        return reader(type).readValue(content);
+    }
+
+    /**
+     * Reads JSON content into the given type.
+     *
+     * @param content The JSON input stream; not closed by this method
+     * @param type    The type to read
+     * @param <T>     The type to read
+     * @return The decoded value
+     * @throws IOException if the content is not valid JSON for the type
+     */
+    public <T> T read(InputStream content, Type type) throws IOException {
+        return reader(type).readValue(content);
+    }
+
+    /**
+     * Writes a value as JSON bytes.
+     *
+     * @param value The value to write
+     * @return The JSON bytes
+     * @throws IOException if the value cannot be serialized
+     */
+    public byte[] writeBytes(Object value) throws IOException {
+        if (value == null) {
+            return objectMapper.writeValueAsBytes(null);
+        }
+        return writer(value.getClass()).writeValueAsBytes(value);
+    }
+
+    /**
+     * Writes a value as a JSON string.
+     *
+     * @param value The value to write
+     * @return The JSON string
+     * @throws IOException if the value cannot be serialized
+     */
+    public String writeString(Object value) throws IOException {
+        if (value == null) {
+            return objectMapper.writeValueAsString(null);
+        }
+        return writer(value.getClass()).writeValueAsString(value);
+    }
+
+    private static void registerBlackbird(ObjectMapper objectMapper) {
+        ClassLoader classLoader = JsonCodec.class.getClassLoader();
+        if (!ClassUtils.isPresent(BLACKBIRD_MODULE, classLoader)) {
+            return;
+        }
+        try {
+            Module module = (Module) ClassUtils.forName(BLACKBIRD_MODULE, classLoader)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            objectMapper.registerModule(module);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.warn("Failed to register the Jackson Blackbird module, using plain reflection", e);
+        }
+    }
+
+    private static final class Shared {
+        private static final JsonCodec INSTANCE = create(true);
+    }
+}
@@ -0,0 +1,88 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounds the number of concurrent requests sent to each eKuiper node.
+ * <p>
+ * Nodes are identified by {@code host:port}; every client obtained from {@link #limit(HttpClient, String, int)}
+ * for the same node draws from the same permits, so fanning out over many threads cannot overwhelm a small
+ * edge device. Non-blocking clients wait for a permit without holding a thread.
+ */
+public class NodeConcurrencyLimiter {
+
+    private final int maxConcurrentRequestsPerNode;
+    private final Map<String, NodePermits> permitsByNode = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a limiter.
+     *
+     * @param maxConcurrentRequestsPerNode Maximum number of requests in flight per node; 0 or less disables the limit
+     */
+    public NodeConcurrencyLimiter(int maxConcurrentRequestsPerNode) {
+        this.maxConcurrentRequestsPerNode = maxConcurrentRequestsPerNode;
+    }
+
+    /**
+     * Builds the key identifying a node.
+     *
+     * @param host The eKuiper host
+     * @param port The eKuiper REST port
+     * @return The node key
+     */
+    public static String nodeKey(String host, int port) {
+        return host + ":" + port;
+    }
+
+    /**
+     * Checks whether requests are limited at all.
+     *
+     * @return True if a positive per-node limit is configured
+     */
+    public boolean isEnabled() {
+        return maxConcurrentRequestsPerNode > 0;
+    }
+
+    /**
+     * Gets the maximum number of requests in flight per node.
+     *
+     * @return The per-node limit; 0 or less if disabled
+     */
+    public int getMaxConcurrentRequestsPerNode() {
+        return maxConcurrentRequestsPerNode;
+    }
+
+    /**
+     * Gets the permits shared by all requests to a node.
+     *
+     * @param nodeKey The node key, see {@link #nodeKey(String, int)}
+     * @return The node's permits
+     * @throws IllegalStateException if the limiter is disabled
+     */
+    public NodePermits permits(String nodeKey) {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Per-node concurrency limit is disabled");
+        }
+        return permitsByNode.computeIfAbsent(nodeKey, key -> new NodePermits(maxConcurrentRequestsPerNode));
+    }
+
+    /**
+     * Wraps a client so that its requests count against the node's limit.
+     *
+     * @param client The client sending requests to the node
+     * @param host   The eKuiper host
+     * @param port   The eKuiper REST port
+     * @return The limited client, non-blocking if the given client is an {@link AsyncHttpClient}; the given client
+     *         if the limiter is disabled
+     */
+    public HttpClient limit(HttpClient client, String host, int port) {
+        if (!isEnabled()) {
+            return client;
+        }
+        if (client instanceof AsyncHttpClient asyncClient) {
+            return new AsyncConcurrencyLimitedHttpClient(asyncClient, permits(nodeKey(host, port)));
+        }
+        return new ConcurrencyLimitedHttpClient(client, permits(nodeKey(host, port)));
+    }
+}
@@ -0,0 +1,103 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Permits for the requests in flight to one eKuiper node, handed out first come, first served.
+ * <p>
+ * Blocking callers wait in {@link #acquire()}; non-blocking callers get a future from {@link #acquireAsync()} that
+ * completes once they hold a permit, so that no thread is parked while they wait. Both kinds of callers queue
+ * together, and {@link #release()} hands a freed permit straight to the longest waiting one.
+ */
+public class NodePermits {
+
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int available;
+
+    /**
+     * Creates permits.
+     *
+     * @param permits The number of requests allowed in flight at once
+     */
+    public NodePermits(int permits) {
+        this.available = permits;
+    }
+
+    /**
+     * Acquires a permit without blocking.
+     *
+     * @return A future completing once the caller holds a permit; already completed if one was free
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        synchronized (this) {
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.addLast(waiter);
+            return waiter;
+        }
+    }
+
+    /**
+     * Acquires a permit, waiting until one is free.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting; no permit is held then
+     */
+    public void acquire() throws InterruptedException {
+        CompletableFuture<Void> waiter = acquireAsync();
+        try {
+            waiter.get();
+        } catch (InterruptedException e) {
+            boolean queued;
+            synchronized (this) {
+                queued = waiters.remove(waiter);
+            }
+            if (!queued) {
+                // The permit was handed over while the thread was being interrupted
+                release();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Permit waiter failed", e.getCause());
+        }
+    }
+
+    /**
+     * Releases a permit, handing it to the longest waiting caller if there is one.
+     * Waiting non-blocking callers resume on the releasing thread.
+     */
+    public void release() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = waiters.pollFirst();
+            if (next == null) {
+                available++;
+                return;
+            }
+        }
+        next.complete(null);
+    }
+
+    /**
+     * Gets the number of free permits.
+     *
+     * @return The permits nobody holds
+     */
+    public synchronized int getAvailablePermits() {
+        return available;
+    }
+
+    /**
+     * Gets the number of callers waiting for a permit.
+     *
+     * @return The queued callers
+     */
+    public synchronized int getQueueLength() {
+        return waiters.size();
+    }
+}
@@ -0,0 +1,234 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A request path such as {@code /rules/{id}/status}, parsed once into literal parts and variable slots.
+ * <p>
+ * Expanding a template appends the base URL, the literals, the percent-encoded path variables and the
+ * percent-encoded query parameters to a per-thread buffer, so building a request URI neither re-parses
+ * the path nor goes through {@code UriComponentsBuilder}. Templates of the standard endpoints are compiled
+ * when {@link cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints} is loaded and looked up by path.
+ */
+public final class PathTemplate {
+
+    /** Upper bound on cached templates, so that callers passing pre-expanded paths cannot grow the cache forever. */
+    private static final int MAX_CACHED_TEMPLATES = 256;
+    private static final int MAX_BUFFER_CAPACITY = 4096;
+
+    private static final Map<String, PathTemplate> CACHE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    /** RFC 3986 {@code pchar} minus {@code /}: a variable always expands to a single path segment. */
+    private static final boolean[] SEGMENT_CHARS = allowed("!$&'()*+,;=:@");
+    /** RFC 3986 query characters minus the delimiters {@code &}, {@code =} and {@code +}. */
+    private static final boolean[] QUERY_CHARS = allowed("!$'()*,;:@/?");
+
+    private final String path;
+    /** Literal parts; {@code literals[i]} precedes variable {@code i}, the last one trails the final variable. */
+    private final String[] literals;
+
+    private PathTemplate(String path, String[] literals) {
+        this.path = path;
+        this.literals = literals;
+    }
+
+    /**
+     * Gets the compiled template for a path, compiling and caching it on first use.
+     *
+     * @param path The path with {@code {name}} placeholders (may be null or empty)
+     * @return The compiled template
+     */
+    public static PathTemplate of(String path) {
+        String key = path != null ? path : "";
+        PathTemplate template = CACHE.get(key);
+        if (template != null) {
+            return template;
+        }
+        template = compile(key);
+        if (CACHE.size() < MAX_CACHED_TEMPLATES) {
+            PathTemplate existing = CACHE.putIfAbsent(key, template);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Compiles a path without caching it.
+     *
+     * @param path The path with {@code {name}} placeholders (may be null or empty)
+     * @return The compiled template
+     * @throws IllegalArgumentException if a placeholder is not closed
+     */
+    public static PathTemplate compile(String path) {
+        String normalized = path == null ? "" : path;
+        if (!normalized.isEmpty() && !normalized.startsWith("/")) {
+            normalized = "/" + normalized;
+        }
+
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = normalized.indexOf('{', start)) >= 0) {
+            int close = normalized.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed path variable in: " + path);
+            }
+            parts.add(normalized.substring(start, open));
+            start = close + 1;
+        }
+        parts.add(normalized.substring(start));
+        return new PathTemplate(normalized, parts.toArray(new String[0]));
+    }
+
+    /**
+     * Gets the normalized path this template was compiled from.
+     *
+     * @return The path, starting with {@code /} unless empty
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the number of path variables of this template.
+     *
+     * @return The number of placeholders
+     */
+    public int getVariableCount() {
+        return literals.length - 1;
+    }
+
+    /**
+     * Expands the template into a request URI.
+     *
+     * @param baseUrl       The base URL, e.g. {@code http://localhost:9081}
+     * @param queryParams   Query parameters to append (can be null or empty); null values are skipped
+     * @param pathVariables Values for the placeholders in order of appearance
+     * @return The request URI
+     * @throws IllegalArgumentException if fewer path variables than placeholders are given
+     */
+    public URI expand(String baseUrl, Map<String, Object> queryParams, Object... pathVariables) {
+        return URI.create(expandToString(baseUrl, queryParams, pathVariables));
+    }
+
+    /**
+     * Expands the template into a request URI string.
+     *
+     * @param baseUrl       The base URL, e.g. {@code http://localhost:9081}
+     * @param queryParams   Query parameters to append (can be null or empty); null values are skipped
+     * @param pathVariables Values for the placeholders in order of appearance
+     * @return The request URI string
+     * @throws IllegalArgumentException if fewer path variables than placeholders are given
+     */
+    public String expandToString(String baseUrl, Map<String, Object> queryParams, Object... pathVariables) {
+        int variableCount = getVariableCount();
+        int given = pathVariables != null ? pathVariables.length : 0;
+        if (given < variableCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Not enough variable values available to expand %s: expected %d but got %d", path, variableCount, given));
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.append(baseUrl);
+        for (int i = 0; i < variableCount; i++) {
+            buffer.append(literals[i]);
+            appendEncoded(buffer, String.valueOf(pathVariables[i]), SEGMENT_CHARS);
+        }
+        buffer.append(literals[variableCount]);
+
+        if (queryParams != null && !queryParams.isEmpty()) {
+            char separator = '?';
+            for (Map.Entry<String, Object> param : queryParams.entrySet()) {
+                if (param.getValue() == null) {
+                    continue;
+                }
+                buffer.append(separator);
+                appendEncoded(buffer, param.getKey(), QUERY_CHARS);
+                buffer.append('=');
+                appendEncoded(buffer, String.valueOf(param.getValue()), QUERY_CHARS);
+                separator = '&';
+            }
+        }
+
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * Appends a value, percent-encoding every character outside {@code [A-Za-z0-9-._~]} and the given extra set
+     * as UTF-8.
+     */
+    static void appendEncoded(StringBuilder buffer, String value, boolean[] allowed) {
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            char c = value.charAt(i);
+            if (c < 128 && allowed[c]) {
+                buffer.append(c);
+                i++;
+                continue;
+            }
+            int codePoint = value.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) {
+                // Unpaired surrogate, not encodable as UTF-8: send the replacement character instead
+                codePoint = 0xFFFD;
+            }
+            if (codePoint < 0x80) {
+                appendByte(buffer, codePoint);
+            } else if (codePoint < 0x800) {
+                appendByte(buffer, 0xC0 | (codePoint >> 6));
+                appendByte(buffer, 0x80 | (codePoint & 0x3F));
+            } else if (codePoint < 0x10000) {
+                appendByte(buffer, 0xE0 | (codePoint >> 12));
+                appendByte(buffer, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendByte(buffer, 0x80 | (codePoint & 0x3F));
+            } else {
+                appendByte(buffer, 0xF0 | (codePoint >> 18));
+                appendByte(buffer, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendByte(buffer, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendByte(buffer, 0x80 | (codePoint & 0x3F));
+            }
+        }
+    }
+
+    private static void appendByte(StringBuilder buffer, int b) {
+        buffer.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    private static boolean[] allowed(String extra) {
+        boolean[] allowed = new boolean[128];
+        for (char c = 'a'; c <= 'z'; c++) {
+            allowed[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            allowed[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            allowed[c] = true;
+        }
+        for (char c : "-._~".toCharArray()) {
+            allowed[c] = true;
+        }
+        for (char c : extra.toCharArray()) {
+            allowed[c] = true;
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,83 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response type that hands the raw body of a successful response to a reader instead of binding it.
+ * <p>
+ * Passed wherever a {@link ParameterizedTypeReference} is expected, e.g.
+ * {@code client.get("/rules/status/all", reader)}. The transports call {@link #read(InputStream)} with the body
+ * while it is still being received, so large payloads can be processed incrementally with a streaming parser
+ * instead of being materialized first. Error responses are still decoded into {@link HttpClientException}s.
+ * <p>
+ * Since the reader may have side effects, decorators that share or repeat responses (caching, coalescing and
+ * hedging) pass these requests through unchanged. A failure while reading the body is reported with the
+ * response's status code, so it is not retried after the reader has seen part of the payload.
+ *
+ * @param <T> The type of the value produced by the reader
+ */
+public final class ResponseBodyReader<T> extends ParameterizedTypeReference<T> {
+
+    /**
+     * Reads a response body.
+     *
+     * @param <T> The type of the value produced
+     */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        /**
+         * Reads a response body; the stream is closed by the caller.
+         *
+         * @param body The response body
+         * @return The value produced
+         * @throws IOException if the body cannot be read or parsed
+         */
+        T read(InputStream body) throws IOException;
+    }
+
+    private final BodyReader<T> reader;
+
+    private ResponseBodyReader(BodyReader<T> reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Creates a response type reading the body with the given reader.
+     *
+     * @param reader The body reader
+     * @param <T>    The type of the value produced by the reader
+     * @return The response type
+     */
+    public static <T> ResponseBodyReader<T> of(BodyReader<T> reader) {
+        return new ResponseBodyReader<>(reader);
+    }
+
+    /**
+     * Reads a response body.
+     *
+     * @param body The response body, possibly empty
+     * @return The value produced by the reader
+     * @throws IOException if the body cannot be read or parsed
+     */
+    public T read(InputStream body) throws IOException {
+        return reader.read(body);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseBodyReader<" + reader + ">";
+    }
+}
@@ -1,33 +1,56 @@
 package cn.brk2outside.ekuiper4j.http;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.PushbackInputStream;
+import java.lang.reflect.Type;
 import java.net.URI;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Implementation of the HttpClient interface using Spring's RestTemplate.
+ * <p>
+ * Clients built by {@link HttpClientFactory} around a connection pool of their own release it on {@link #close()};
+ * closing a client built around a caller-supplied RestTemplate does nothing.
  */
-public class RestTemplateHttpClient implements HttpClient {
+public class RestTemplateHttpClient implements HttpClient, AutoCloseable {
+
+    /**
+     * Lets error responses reach the response extractor instead of raising {@link HttpStatusCodeException}s.
+     */
+    private static final ResponseErrorHandler PASS_THROUGH_ERROR_HANDLER = new ResponseErrorHandler() {
+        @Override
+        public boolean hasError(ClientHttpResponse response) {
+            return false;
+        }
+
+        @Override
+        public void handleError(ClientHttpResponse response) {
+            // Never called, hasError() is always false
+        }
+    };
 
     private final RestTemplate restTemplate;
     private final HttpHeaders defaultHeaders;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonCodec jsonCodec;
+    private final EKuiperErrorDecoder errorDecoder;
     /**
      * -- GETTER --
      *  Gets the base URL of the eKuiper instance.
@@ -36,6 +59,10 @@ public class RestTemplateHttpClient implements HttpClient {
      */
     @Getter
     private final String baseUrl;
+    /**
+     * The transport owned by this client and released on close, or null if the RestTemplate belongs to the caller.
+     */
+    private final AutoCloseable transport;
 
     /**
      * Creates a new RestTemplateHttpClient with default configuration.
@@ -44,6 +71,8 @@ public class RestTemplateHttpClient implements HttpClient {
      * @param port The eKuiper port
      */
     public RestTemplateHttpClient(String host, int port) {
+        this.jsonCodec = JsonCodec.shared();
+        this.errorDecoder = new EKuiperErrorDecoder(this.jsonCodec);
         this.restTemplate = new RestTemplate();
         // Add converters to handle different content types
         this.setupRestTemplate(this.restTemplate);
@@ -51,6 +80,7 @@ public class RestTemplateHttpClient implements HttpClient {
         this.defaultHeaders.set("Content-Type", "application/json");
         this.defaultHeaders.set("Accept", "application/json");
         this.baseUrl = buildBaseUrl(host, port);
+        this.transport = null;
     }
 
     /**
@@ -61,6 +91,8 @@ public class RestTemplateHttpClient implements HttpClient {
      * @param restTemplate The RestTemplate to use
      */
     public RestTemplateHttpClient(String host, int port, RestTemplate restTemplate) {
+        this.jsonCodec = JsonCodec.shared();
+        this.errorDecoder = new EKuiperErrorDecoder(this.jsonCodec);
         this.restTemplate = restTemplate;
         // Add converters to handle different content types
         this.setupRestTemplate(this.restTemplate);
@@ -68,6 +100,7 @@ public class RestTemplateHttpClient implements HttpClient {
         this.defaultHeaders.set("Content-Type", "application/json");
         this.defaultHeaders.set("Accept", "application/json");
         this.baseUrl = buildBaseUrl(host, port);
+        this.transport = null;
     }
 
     /**
@@ -79,18 +112,65 @@ public class RestTemplateHttpClient implements HttpClient {
      * @param defaultHeaders Default headers to send with each request
      */
     public RestTemplateHttpClient(String host, int port, RestTemplate restTemplate, HttpHeaders defaultHeaders) {
+        this(host, port, restTemplate, defaultHeaders, JsonCodec.shared());
+    }
+
+    /**
+     * Creates a new RestTemplateHttpClient with a custom RestTemplate, default headers and JSON codec.
+     *
+     * @param host           The eKuiper host
+     * @param port           The eKuiper port
+     * @param restTemplate   The RestTemplate to use
+     * @param defaultHeaders Default headers to send with each request
+     * @param jsonCodec      The JSON codec used for request and response bodies
+     */
+    public RestTemplateHttpClient(String host, int port, RestTemplate restTemplate, HttpHeaders defaultHeaders,
+                                  JsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
+        this.errorDecoder = new EKuiperErrorDecoder(jsonCodec);
         this.restTemplate = restTemplate;
         this.setupRestTemplate(this.restTemplate);
         this.defaultHeaders = defaultHeaders;
         this.baseUrl = buildBaseUrl(host, port);
+        this.transport = null;
+    }
+
+    /**
+     * Creates a new RestTemplateHttpClient owning the transport behind its RestTemplate.
+     *
+     * @param host         The eKuiper host
+     * @param port         The eKuiper port
+     * @param restTemplate The RestTemplate to use
+     * @param transport    The transport released when this client is closed
+     */
+    RestTemplateHttpClient(String host, int port, RestTemplate restTemplate, AutoCloseable transport) {
+        this.jsonCodec = JsonCodec.shared();
+        this.errorDecoder = new EKuiperErrorDecoder(this.jsonCodec);
+        this.restTemplate = restTemplate;
+        this.setupRestTemplate(this.restTemplate);
+        this.defaultHeaders = new HttpHeaders();
+        this.defaultHeaders.set("Content-Type", "application/json");
+        this.defaultHeaders.set("Accept", "application/json");
+        this.baseUrl = buildBaseUrl(host, port);
+        this.transport = transport;
     }
 
     private void setupRestTemplate(RestTemplate restTemplate) {
         if (null != restTemplate) {
             StringHttpMessageConverter stringHttpMessageConverter = new StringHttpMessageConverter(StandardCharsets.UTF_8);
             stringHttpMessageConverter.setSupportedMediaTypes(List.of(MediaType.ALL));
-            MappingJackson2HttpMessageConverter jackson2HttpMessageConverter = new MappingJackson2HttpMessageConverter();
+            // Let the default JSON converter share the codec's mapper instead of building its own
+            restTemplate.getMessageConverters().stream()
+                    .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                    .map(MappingJackson2HttpMessageConverter.class::cast)
+                    .forEach(converter -> converter.setObjectMapper(jsonCodec.getObjectMapper()));
+            MappingJackson2HttpMessageConverter jackson2HttpMessageConverter =
+                    new MappingJackson2HttpMessageConverter(jsonCodec.getObjectMapper());
             jackson2HttpMessageConverter.setSupportedMediaTypes(List.of(MediaType.ALL));
+            // Error statuses are decoded by the response extractor; a user-supplied error handler is kept
+            if (restTemplate.getErrorHandler().getClass() == DefaultResponseErrorHandler.class) {
+                restTemplate.setErrorHandler(PASS_THROUGH_ERROR_HANDLER);
+            }
             restTemplate.getMessageConverters().addAll(
                     List.of(
                             stringHttpMessageConverter,
@@ -120,6 +200,22 @@ public class RestTemplateHttpClient implements HttpClient {
     protected HttpHeaders getHeaders() {
         return defaultHeaders;
     }
+
+    /**
+     * Releases the transport this client owns, such as the connection pool and eviction thread of a client built by
+     * {@link HttpClientFactory#createPooled}.
+     */
+    @Override
+    public void close() {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to close HTTP transport", e);
+        }
+    }
     
     @Override
     public <T> T get(String path, ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
@@ -197,40 +293,17 @@ public class RestTemplateHttpClient implements HttpClient {
                                        ParameterizedTypeReference<T> responseType, Map<String, Object> queryParams,
                                        Object... pathVariables) throws HttpClientException {
         try {
-            // Prepare and execute the request
-            URI uri = buildUri(combinePath(baseUrl, path), queryParams, pathVariables);
+            // Prepare and execute the request; the body is written as with exchange() but the
+            // response is decoded straight from the connection's input stream
+            URI uri = PathTemplate.of(path).expand(baseUrl, queryParams, pathVariables);
             HttpEntity<?> entity = new HttpEntity<>(requestBody, getHeaders());
-//            System.out.println(method);
-//            System.out.println(uri);
-//            System.out.println(entity.getHeaders());
-            ResponseEntity<T> response = restTemplate.exchange(uri, method, entity, responseType);
-//            System.out.println(response);
-
-            // Handle error responses with bodies that could be eKuiper errors
-            if (response.getStatusCode().isError()) {
-                // First try to parse as an eKuiper error
-                HttpClientException ekuiperException = tryParseEKuiperError(response.getBody(), response.getStatusCode().value());
-                if (ekuiperException != null) {
-                    throw ekuiperException;
-                }
-                
-                // For other error statuses, throw a generic exception with any available message
-                String errorMessage = extractErrorMessage(response.getBody());
-                throw new HttpClientException(
-                        errorMessage != null ? errorMessage : "HTTP request failed with status code: " + response.getStatusCode(),
-                        response.getStatusCode().value());
-            }
-            
-            return response.getBody();
+            // Body readers have no concrete type; asking for Object keeps the JSON Accept header
+            Type type = responseType instanceof ResponseBodyReader ? Object.class : responseType.getType();
+            return restTemplate.execute(uri, method, restTemplate.httpEntityCallback(entity, type), streamingExtractor(responseType));
         } catch (HttpStatusCodeException e) {
-            // Handle Spring's HTTP exceptions that might contain eKuiper errors
-            HttpClientException ekuiperException = tryParseEKuiperError(e.getResponseBodyAsString(), e.getStatusCode().value());
-            if (ekuiperException != null) {
-                throw ekuiperException;
-            }
-            
-            throw new HttpClientException("HTTP request failed with status code: " + e.getStatusCode(), 
-                    e, e.getStatusCode().value());
+            // Only reached with a custom error handler that throws for error statuses
+            throw errorDecoder.decode(e.getStatusCode().value(), e.getResponseBodyAsByteArray(),
+                    charsetOf(e.getResponseHeaders()));
         } catch (ResourceAccessException e) {
             if (e.getMessage() != null && e.getMessage().contains("Read timed out")) {
                 throw HttpClientException.timeout("Connection to " + baseUrl + " timed out", e);
@@ -246,148 +319,63 @@ public class RestTemplateHttpClient implements HttpClient {
     }
     
     /**
-     * Tries to parse an object or response body string as an eKuiper error response.
-     * 
-     * @param body The response body to parse (can be String or deserialized Object)
-     * @param statusCode The HTTP status code
-     * @return An HttpClientException if the body is a valid eKuiper error, null otherwise
+     * Creates the extractor decoding a response body without buffering it as a String first:
+     * {@code Void} responses are discarded, {@code String} and {@code byte[]} responses are copied as is,
+     * {@link ResponseBodyReader}s get the input stream and everything else is parsed by Jackson directly from
+     * the input stream. Error statuses are turned into {@link HttpClientException}s by the
+     * {@link EKuiperErrorDecoder}.
+     *
+     * @param responseType The expected response type
+     * @param <T>          The expected response type
+     * @return The response extractor
      */
-    private HttpClientException tryParseEKuiperError(Object body, int statusCode) {
-        if (body == null) {
-            return null;
-        }
-        
-        try {
-            // Convert the body to a string if needed
-            String jsonBody;
-            if (body instanceof String) {
-                jsonBody = (String) body;
-            } else {
-                jsonBody = objectMapper.writeValueAsString(body);
+    @SuppressWarnings("unchecked")
+    private <T> ResponseExtractor<T> streamingExtractor(ParameterizedTypeReference<T> responseType) {
+        Type type = responseType.getType();
+        return response -> {
+            int statusCode = response.getStatusCode().value();
+            // Error bodies are decoded once, from the raw bytes
+            if (response.getStatusCode().isError()) {
+                throw errorDecoder.decode(statusCode, StreamUtils.copyToByteArray(response.getBody()),
+                        charsetOf(response.getHeaders()));
             }
-            
-            // Try to parse as eKuiper error
-            if (jsonBody != null && !jsonBody.isEmpty()) {
-                EKuiperErrorResponse errorResponse = objectMapper.readValue(jsonBody, EKuiperErrorResponse.class);
-                if (errorResponse.getErrorCode() > 0) {
-                    return HttpClientException.ekuiperError(errorResponse, statusCode);
+            if (responseType instanceof ResponseBodyReader<T> reader) {
+                try {
+                    return reader.read(response.getBody());
+                } catch (IOException e) {
+                    // Not transient: the reader may already have consumed part of the body
+                    throw new HttpClientException("Failed to read response body: " + e.getMessage(), e, statusCode);
                 }
             }
-        } catch (Exception ignored) {
-            // Not a valid eKuiper error
-        }
-        
-        return null;
-    }
-
-    /**
-     * Handle eKuiper-specific error responses.
-     *
-     * @param errorResponse The parsed error response
-     * @param statusCode The HTTP status code
-     * @throws HttpClientException with detailed eKuiper error information
-     */
-    private <T> T handleEKuiperError(EKuiperErrorResponse errorResponse, int statusCode) throws HttpClientException {
-        throw HttpClientException.ekuiperError(errorResponse, statusCode);
-    }
-
-    /**
-     * Combines base URL with a path, ensuring proper formatting.
-     *
-     * @param baseUrl The base URL
-     * @param path    The path to append
-     * @return The combined URL
-     */
-    private String combinePath(String baseUrl, String path) {
-        if (path == null || path.isEmpty()) {
-            return baseUrl;
-        }
-        
-        if (path.startsWith("/")) {
-            return baseUrl + path;
-        } else {
-            return baseUrl + "/" + path;
-        }
-    }
+            if (type == Void.class) {
+                return null;
+            }
+            if (type == String.class) {
+                return (T) StreamUtils.copyToString(response.getBody(), charsetOf(response.getHeaders()));
+            }
+            if (type == byte[].class) {
+                return (T) StreamUtils.copyToByteArray(response.getBody());
+            }
 
-    /**
-     * Builds a URI with the given URL and query parameters (no path variables).
-     *
-     * @param url         The base URL
-     * @param queryParams The query parameters to append (can be null or empty)
-     * @return            The built URI
-     */
-    private URI buildUri(String url, Map<String, Object> queryParams) {
-        if (queryParams == null || queryParams.isEmpty()) {
-            return URI.create(url);
-        }
-        
-        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(url);
-        queryParams.forEach((key, value) -> {
-            if (value != null) {
-                builder.queryParam(key, value);
+            PushbackInputStream body = new PushbackInputStream(response.getBody(), 1);
+            int first = body.read();
+            if (first == -1) {
+                return null;
             }
-        });
-        
-        return builder.build().toUri();
-    }
-    
-    /**
-     * Builds a URI with the given URL, ordered path variables, and query parameters.
-     *
-     * @param url           The base URL with indexed path variable placeholders (e.g., "/api/{0}/details/{1}")
-     * @param queryParams   The query parameters to append (can be null or empty)
-     * @param pathVariables Ordered path variables to replace in the URL in order of appearance
-     * @return              The built URI
-     */
-    private URI buildUri(String url, Map<String, Object> queryParams, Object... pathVariables) {
-        // If we have no path variables, just use the regular method
-        if (pathVariables == null || pathVariables.length == 0) {
-            return buildUri(url, queryParams);
-        }
-        
-        // Use RestTemplate's UriComponentsBuilder for indexed path variables
-        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url);
-        
-        if (queryParams != null && !queryParams.isEmpty()) {
-            queryParams.forEach((key, value) -> {
-                if (value != null) {
-                    builder.queryParam(key, value);
-                }
-            });
-        }
-        
-        // Let Spring handle the URL expansion with varargs
-        return builder.buildAndExpand(pathVariables).toUri();
+            body.unread(first);
+            try {
+                return jsonCodec.read(body, type);
+            } catch (JsonProcessingException e) {
+                throw new HttpClientException("Failed to decode response as " + type.getTypeName(), e, statusCode);
+            }
+        };
     }
 
-    /**
-     * Extracts a meaningful error message from the response body if possible.
-     * 
-     * @param body The response body
-     * @return A meaningful error message if available, null otherwise
-     */
-    private String extractErrorMessage(Object body) {
-        if (body == null) {
-            return null;
-        }
-        
-        try {
-            // If it's a Map, try to extract a message field
-            if (body instanceof Map) {
-                Map<?, ?> map = (Map<?, ?>) body;
-                if (map.containsKey("message")) {
-                    return String.valueOf(map.get("message"));
-                }
-                if (map.containsKey("error")) {
-                    return String.valueOf(map.get("error"));
-                }
-            }
-            
-            // Try to convert to string
-            return objectMapper.writeValueAsString(body);
-        } catch (Exception ignored) {
-            return String.valueOf(body);
+    private static Charset charsetOf(HttpHeaders headers) {
+        MediaType contentType = headers != null ? headers.getContentType() : null;
+        if (contentType != null && contentType.getCharset() != null) {
+            return contentType.getCharset();
         }
+        return StandardCharsets.UTF_8;
     }
-} 
\ No newline at end of file
+}
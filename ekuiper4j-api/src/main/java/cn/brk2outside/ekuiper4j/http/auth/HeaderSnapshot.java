@@ -0,0 +1,130 @@
+package cn.brk2outside.ekuiper4j.http.auth;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Read-only request headers with the current {@code Authorization} value already merged in.
+ * <p>
+ * Requests reuse the same {@link HttpHeaders} instance until the credentials change, when a new merged
+ * instance is built and swapped in atomically. Requests thus no longer copy the base headers one by one.
+ * A JWT snapshot also remembers when its token expires, and asks the token manager again once it has,
+ * so that an expired token is never sent when the background refresh did not run or failed.
+ */
+public final class HeaderSnapshot implements Supplier<HttpHeaders> {
+
+    private final HttpHeaders baseHeaders;
+    private final AtomicReference<Published> current = new AtomicReference<>();
+    private final JwtTokenManager tokenManager;
+
+    private HeaderSnapshot(HttpHeaders baseHeaders, JwtTokenManager tokenManager) {
+        this.baseHeaders = HttpHeaders.readOnlyHttpHeaders(baseHeaders);
+        this.current.set(new Published(this.baseHeaders, Long.MAX_VALUE));
+        this.tokenManager = tokenManager;
+    }
+
+    /**
+     * Creates a snapshot carrying a fixed set of headers.
+     *
+     * @param baseHeaders The headers (copied)
+     * @return A new snapshot
+     */
+    public static HeaderSnapshot of(HttpHeaders baseHeaders) {
+        return new HeaderSnapshot(copy(baseHeaders), null);
+    }
+
+    /**
+     * Creates a snapshot carrying basic authentication credentials.
+     *
+     * @param baseHeaders Base headers (without Authorization)
+     * @param username    The username
+     * @param password    The password
+     * @return A new snapshot
+     */
+    public static HeaderSnapshot basicAuth(HttpHeaders baseHeaders, String username, String password) {
+        HttpHeaders headers = copy(baseHeaders);
+        headers.setBasicAuth(username, password);
+        return new HeaderSnapshot(headers, null);
+    }
+
+    /**
+     * Creates a snapshot that follows the tokens of a JWT token manager.
+     * The snapshot is swapped whenever the manager publishes a new token.
+     *
+     * @param baseHeaders  Base headers (without Authorization)
+     * @param tokenManager The JWT token manager
+     * @return A new snapshot, registered as a token listener of the manager
+     */
+    public static HeaderSnapshot jwt(HttpHeaders baseHeaders, JwtTokenManager tokenManager) {
+        HeaderSnapshot snapshot = new HeaderSnapshot(copy(baseHeaders), tokenManager);
+        tokenManager.addTokenListener(token -> snapshot.setAuthorization(token, tokenManager.getTokenExpiresAt()));
+        return snapshot;
+    }
+
+    /**
+     * Gets the headers to send with the next request.
+     * A JWT snapshot that has no token yet, or whose token has expired, asks the token manager for one first;
+     * if none can be had, the base headers are sent without the expired token.
+     *
+     * @return The read-only headers
+     */
+    @Override
+    public HttpHeaders get() {
+        Published published = current.get();
+        if (tokenManager != null && !published.isValid(tokenManager.currentTimeMillis())) {
+            // No token published yet, or it expired before the background refresh replaced it;
+            // getToken() refreshes and publishes
+            tokenManager.getToken();
+            published = current.get();
+            if (!published.isValid(tokenManager.currentTimeMillis())) {
+                return baseHeaders;
+            }
+        }
+        return published.headers();
+    }
+
+    /**
+     * Swaps in headers with a new {@code Authorization} value.
+     *
+     * @param authorization The header value, or null to send the base headers only
+     */
+    public void setAuthorization(String authorization) {
+        setAuthorization(authorization, Long.MAX_VALUE);
+    }
+
+    private void setAuthorization(String authorization, long expiresAt) {
+        Published previous = current.get();
+        if (Objects.equals(previous.headers().getFirst(HttpHeaders.AUTHORIZATION), authorization)
+                && previous.expiresAt() == expiresAt) {
+            return;
+        }
+        if (authorization == null) {
+            current.set(new Published(baseHeaders, Long.MAX_VALUE));
+            return;
+        }
+        HttpHeaders headers = copy(baseHeaders);
+        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        current.set(new Published(HttpHeaders.readOnlyHttpHeaders(headers), expiresAt));
+    }
+
+    private static HttpHeaders copy(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        if (headers != null) {
+            copy.putAll(headers);
+        }
+        return copy;
+    }
+
+    /**
+     * Headers in use, with the time the token they carry expires in epoch milliseconds.
+     */
+    private record Published(HttpHeaders headers, long expiresAt) {
+
+        boolean isValid(long now) {
+            return headers.containsKey(HttpHeaders.AUTHORIZATION) && now < expiresAt;
+        }
+    }
+}
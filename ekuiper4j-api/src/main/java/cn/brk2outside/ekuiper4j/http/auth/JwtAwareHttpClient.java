@@ -2,6 +2,7 @@ package cn.brk2outside.ekuiper4j.http.auth;
 
 import cn.brk2outside.ekuiper4j.http.HttpClient;
 import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
 import cn.brk2outside.ekuiper4j.http.RestTemplateHttpClient;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
@@ -11,7 +12,7 @@ import java.util.Map;
 import java.util.function.Supplier;
 
 /**
- * HTTP client implementation that uses JwtTokenManager to get fresh tokens for each request.
+ * HTTP client implementation that sends the current JwtTokenManager token with each request.
  */
 public class JwtAwareHttpClient implements HttpClient {
     
@@ -30,25 +31,28 @@ public class JwtAwareHttpClient implements HttpClient {
      */
     public JwtAwareHttpClient(String host, int port, RestTemplate restTemplate, 
                               HttpHeaders baseHeaders, JwtTokenManager tokenManager) {
+        this(host, port, restTemplate, baseHeaders, tokenManager, JsonCodec.shared());
+    }
+
+    /**
+     * Creates a new JWT-aware HTTP client with a custom JSON codec.
+     *
+     * @param host        The eKuiper host
+     * @param port        The eKuiper port
+     * @param restTemplate The RestTemplate to use
+     * @param baseHeaders Base headers (without Authorization)
+     * @param tokenManager The JWT token manager
+     * @param jsonCodec   The JSON codec used for request and response bodies
+     */
+    public JwtAwareHttpClient(String host, int port, RestTemplate restTemplate,
+                              HttpHeaders baseHeaders, JwtTokenManager tokenManager, JsonCodec jsonCodec) {
         this.tokenManager = tokenManager;
         
-        // Create headers supplier that adds fresh token for each call
-        this.headersSupplier = () -> {
-            HttpHeaders headers = new HttpHeaders();
-            // Copy all base headers
-            headers.putAll(baseHeaders);
-            
-            // Add current token
-            String token = tokenManager.getToken();
-            if (token != null) {
-                headers.set("Authorization", token);
-            }
-            
-            return headers;
-        };
+        // Pre-merged headers, swapped only when the token manager publishes a new token
+        this.headersSupplier = HeaderSnapshot.jwt(baseHeaders, tokenManager);
         
         // Create delegate with dynamic headers
-        this.delegate = new RestTemplateHttpClient(host, port, restTemplate) {
+        this.delegate = new RestTemplateHttpClient(host, port, restTemplate, baseHeaders, jsonCodec) {
             @Override
             protected HttpHeaders getHeaders() {
                 return headersSupplier.get();
@@ -28,7 +28,7 @@ import java.util.UUID;
 public class JwtTokenGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenGenerator.class);
     
-    private final EKuiperClientProperties properties;
+    private final EKuiperClientProperties.JwtAuth jwtConfig;
     private PrivateKey privateKey;
     private PublicKey publicKey;
     
@@ -38,7 +38,16 @@ public class JwtTokenGenerator {
      * @param properties Client configuration properties
      */
     public JwtTokenGenerator(EKuiperClientProperties properties) {
-        this.properties = properties;
+        this(properties.getJwt());
+    }
+    
+    /**
+     * Creates a new JWT token generator for one JWT configuration, e.g. that of a single eKuiper node.
+     *
+     * @param jwtConfig JWT configuration
+     */
+    public JwtTokenGenerator(EKuiperClientProperties.JwtAuth jwtConfig) {
+        this.jwtConfig = jwtConfig;
         
         try {
             initializeKeys();
@@ -54,8 +63,6 @@ public class JwtTokenGenerator {
      * @return JWT token string
      */
     public String generateToken() {
-        EKuiperClientProperties.JwtAuth jwtConfig = properties.getJwt();
-        
         Date now = new Date();
         Date expiration = new Date(now.getTime() + (jwtConfig.getExpirationTimeSeconds() * 1000));
         
@@ -71,6 +78,32 @@ public class JwtTokenGenerator {
                 .compact();
     }
     
+    /**
+     * Resolves the private key file of a JWT configuration.
+     *
+     * @param jwtConfig JWT configuration
+     * @return The configured private key path, or {@code ekuiper4j_rsa.key} in the certs directory
+     */
+    public static Path resolvePrivateKeyPath(EKuiperClientProperties.JwtAuth jwtConfig) {
+        if (StringUtils.hasText(jwtConfig.getPrivateKeyPath())) {
+            return Paths.get(jwtConfig.getPrivateKeyPath());
+        }
+        return Paths.get(jwtConfig.getCertsDir(), "ekuiper4j_rsa.key");
+    }
+    
+    /**
+     * Resolves the public key file of a JWT configuration.
+     *
+     * @param jwtConfig JWT configuration
+     * @return The configured public key path, or a file named after the issuer in the certs directory
+     */
+    public static Path resolvePublicKeyPath(EKuiperClientProperties.JwtAuth jwtConfig) {
+        if (StringUtils.hasText(jwtConfig.getPublicKeyPath())) {
+            return Paths.get(jwtConfig.getPublicKeyPath());
+        }
+        return Paths.get(jwtConfig.getCertsDir(), jwtConfig.getIssuer());
+    }
+    
     /**
      * Initializes the RSA keys by:
      * 1. Loading existing keys if available
@@ -78,28 +111,16 @@ public class JwtTokenGenerator {
      * 3. Deploying the public key to eKuiper's management directory
      */
     private void initializeKeys() throws Exception {
-        EKuiperClientProperties.JwtAuth jwtConfig = properties.getJwt();
-
-        // Create certs directory if it doesn't exist
-        Path certsDir = Paths.get("certs");
-        if (!Files.exists(certsDir)) {
-            Files.createDirectories(certsDir);
-        }
-        
-        // Determine key paths
-        String privateKeyPath = jwtConfig.getPrivateKeyPath();
-        if (!StringUtils.hasText(privateKeyPath)) {
-            privateKeyPath = "certs/ekuiper4j_rsa.key";
-        }
-        
-        String publicKeyPath = jwtConfig.getPublicKeyPath();
-        if (!StringUtils.hasText(publicKeyPath)) {
-            publicKeyPath = "certs/" + jwtConfig.getIssuer();
+        // Determine key paths and create their directories if they don't exist
+        File privateKeyFile = resolvePrivateKeyPath(jwtConfig).toFile();
+        File publicKeyFile = resolvePublicKeyPath(jwtConfig).toFile();
+        for (File keyFile : new File[]{privateKeyFile, publicKeyFile}) {
+            Path keyDir = keyFile.toPath().toAbsolutePath().getParent();
+            if (keyDir != null && !Files.exists(keyDir)) {
+                Files.createDirectories(keyDir);
+            }
         }
         
-        File privateKeyFile = new File(privateKeyPath);
-        File publicKeyFile = new File(publicKeyPath);
-        
         // Check key files existence and handle accordingly
         if (!privateKeyFile.exists()) {
             LOGGER.info("Private key not found, generating new RSA key pair");
@@ -220,8 +241,6 @@ public class JwtTokenGenerator {
      * @param ekuiperMgmtPath Path to eKuiper's management directory
      */
     private void deployPublicKeyToEKuiper(File publicKeyFile, String ekuiperMgmtPath) throws IOException {
-        EKuiperClientProperties.JwtAuth jwtConfig = properties.getJwt();
-        
         Path mgmtDir = Paths.get(ekuiperMgmtPath);
         if (!Files.exists(mgmtDir)) {
             LOGGER.warn("eKuiper management directory {} does not exist. Public key will not be deployed.", ekuiperMgmtPath);
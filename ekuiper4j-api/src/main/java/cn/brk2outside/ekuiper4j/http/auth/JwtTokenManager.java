@@ -3,70 +3,275 @@ package cn.brk2outside.ekuiper4j.http.auth;
 import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 /**
  * Manages JWT tokens for eKuiper authentication, handling token generation and automatic renewal.
+ * <p>
+ * Tokens are renewed on a background thread ahead of their expiry: {@code refresh-ahead-seconds} before
+ * they expire (at most half of their lifetime), and at least every {@code refresh-interval-ms}. Concurrent
+ * refresh requests share a single signing operation, so callers of {@link #getToken()} only wait for one
+ * when no valid token is available at all.
  */
-public class JwtTokenManager {
+public class JwtTokenManager implements AutoCloseable {
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenManager.class);
-    
-    private final JwtTokenGenerator tokenGenerator;
-    private final EKuiperClientProperties properties;
-    private final AtomicReference<String> currentToken = new AtomicReference<>();
-    
+
+    /** Delay before retrying a failed refresh, shortened if the current token expires sooner. */
+    private static final long RETRY_DELAY_MS = 30_000;
+    private static final long MIN_DELAY_MS = 1_000;
+
+    private final Supplier<String> tokenSource;
+    private final EKuiperClientProperties.JwtAuth jwt;
+    private final LongSupplier clock;
+    private final AtomicReference<IssuedToken> currentToken = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<String>> inFlight = new AtomicReference<>();
+    private final List<Consumer<String>> tokenListeners = new CopyOnWriteArrayList<>();
+    private final AtomicReference<ScheduledFuture<?>> nextRefresh = new AtomicReference<>();
+    private final ScheduledExecutorService scheduler;
+    /** Earliest time a caller may trigger another refresh after one failed. */
+    private volatile long retryAt;
+
     /**
      * Creates a new JwtTokenManager with the provided properties.
      *
      * @param properties Client configuration properties
      */
     public JwtTokenManager(EKuiperClientProperties properties) {
-        this.properties = properties;
-        this.tokenGenerator = new JwtTokenGenerator(properties);
-        
-        // Generate initial token if JWT auth is enabled
-        if (properties.getJwt().isEnabled()) {
+        this(properties.getJwt());
+    }
+
+    /**
+     * Creates a new JwtTokenManager for one JWT configuration, e.g. that of a single eKuiper node.
+     *
+     * @param jwt JWT configuration
+     */
+    public JwtTokenManager(EKuiperClientProperties.JwtAuth jwt) {
+        this(jwt, jwt.isEnabled() ? new JwtTokenGenerator(jwt)::generateToken : () -> null, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a new JwtTokenManager with a custom token source and clock.
+     *
+     * @param jwt         JWT configuration
+     * @param tokenSource Generates a signed token valid for {@code expiration-time-seconds}
+     * @param clock       Current time in milliseconds
+     */
+    JwtTokenManager(EKuiperClientProperties.JwtAuth jwt, Supplier<String> tokenSource, LongSupplier clock) {
+        this.jwt = jwt;
+        this.tokenSource = tokenSource;
+        this.clock = clock;
+
+        if (jwt.isEnabled()) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ekuiper4j-jwt-refresh-");
+            threadFactory.setDaemon(true);
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            // Generate the initial token up front, so that the first requests do not wait for it
             refreshToken();
+        } else {
+            this.scheduler = null;
         }
     }
-    
+
     /**
-     * Gets the current JWT token, generating a new one if needed.
+     * Gets the current JWT token.
+     * Returns immediately while the current token is valid, even if it is being renewed in the background;
+     * waits for the (shared) refresh only if there is no valid token.
      *
-     * @return The current JWT token, or null if JWT authentication is disabled
+     * @return The current JWT token, or null if JWT authentication is disabled or no token could be generated
      */
     public String getToken() {
-        if (!properties.getJwt().isEnabled()) {
+        if (!jwt.isEnabled()) {
             return null;
         }
-        
-        String token = currentToken.get();
-        if (token == null) {
-            refreshToken();
-            token = currentToken.get();
+
+        IssuedToken token = currentToken.get();
+        long now = clock.getAsLong();
+        if (token != null && now < token.expiresAt()) {
+            if (now >= token.refreshAt() && now >= retryAt) {
+                // The scheduled refresh is late or failed, renew in the background
+                refreshAsync();
+            }
+            return token.value();
         }
-        
-        return token;
+        return awaitRefresh();
     }
-    
+
     /**
-     * Refreshes the JWT token.
-     * This is called periodically to ensure the token doesn't expire.
+     * Refreshes the JWT token and waits for the new one.
+     * Joins a refresh that is already running instead of starting another one.
      */
-    @Scheduled(fixedDelayString = "${ekuiper.client.jwt.refresh-interval-ms:600000}")
     public void refreshToken() {
-        if (!properties.getJwt().isEnabled()) {
+        if (!jwt.isEnabled()) {
             return;
         }
-        
+        awaitRefresh();
+    }
+
+    /**
+     * Starts a refresh on the background thread unless one is already running.
+     *
+     * @return The pending refresh, completing with the new token or null if it failed
+     */
+    public CompletableFuture<String> refreshAsync() {
+        if (scheduler == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<String> pending = inFlight.get();
+        if (pending != null) {
+            return pending;
+        }
+        CompletableFuture<String> refresh = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, refresh)) {
+            return inFlight.get();
+        }
+        try {
+            scheduler.execute(() -> runRefresh(refresh));
+        } catch (RuntimeException e) {
+            // Shut down
+            inFlight.compareAndSet(refresh, null);
+            refresh.complete(null);
+        }
+        return refresh;
+    }
+
+    private String awaitRefresh() {
         try {
-            String newToken = tokenGenerator.generateToken();
-            currentToken.set(newToken);
-            LOGGER.debug("JWT token refreshed");
+            return refreshAsync().join();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void runRefresh(CompletableFuture<String> refresh) {
+        long issuedAt = clock.getAsLong();
+        String newToken = null;
+        try {
+            newToken = tokenSource.get();
+            IssuedToken issued = issue(newToken, issuedAt);
+            publish(issued);
+            LOGGER.debug("JWT token refreshed, next refresh in {} ms", issued.refreshAt() - issuedAt);
+            schedule(issued.refreshAt() - clock.getAsLong());
         } catch (Exception e) {
             LOGGER.error("Failed to refresh JWT token", e);
+            newToken = null;
+            IssuedToken token = currentToken.get();
+            long remaining = token != null ? token.expiresAt() - clock.getAsLong() : RETRY_DELAY_MS;
+            long delay = Math.max(Math.min(RETRY_DELAY_MS, remaining / 2), MIN_DELAY_MS);
+            retryAt = clock.getAsLong() + delay;
+            schedule(delay);
+        } finally {
+            inFlight.compareAndSet(refresh, null);
+            refresh.complete(newToken);
+        }
+    }
+
+    private IssuedToken issue(String token, long issuedAt) {
+        long lifetime = jwt.getExpirationTimeSeconds() * 1000;
+        long ahead = Math.min(jwt.getRefreshAheadSeconds() * 1000, lifetime / 2);
+        long refreshAt = issuedAt + Math.min(lifetime - ahead, jwt.getRefreshIntervalMs());
+        return new IssuedToken(token, refreshAt, issuedAt + lifetime);
+    }
+
+    /**
+     * Schedules the next background refresh, replacing the previously scheduled one.
+     */
+    private void schedule(long delayMs) {
+        try {
+            Runnable refresh = this::refreshAsync;
+            ScheduledFuture<?> previous = nextRefresh.getAndSet(
+                    scheduler.schedule(refresh, Math.max(delayMs, MIN_DELAY_MS), TimeUnit.MILLISECONDS));
+            if (previous != null) {
+                previous.cancel(false);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.debug("JWT token manager is closed, not scheduling another refresh");
+        }
+    }
+
+    /**
+     * Stores a new token and notifies the listeners if it changed.
+     * Synchronized with {@link #addTokenListener(Consumer)} so that no listener misses or reorders a token.
+     */
+    private synchronized void publish(IssuedToken newToken) {
+        IssuedToken previousToken = currentToken.getAndSet(newToken);
+        if (previousToken == null || !newToken.value().equals(previousToken.value())) {
+            tokenListeners.forEach(listener -> listener.accept(newToken.value()));
+        }
+    }
+
+    /**
+     * Registers a listener called with every new token.
+     * If a token is already available the listener is called with it right away.
+     *
+     * @param listener The listener, called on the refreshing thread
+     */
+    public synchronized void addTokenListener(Consumer<String> listener) {
+        tokenListeners.add(listener);
+        IssuedToken token = currentToken.get();
+        if (token != null) {
+            listener.accept(token.value());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Removes a listener registered with {@link #addTokenListener(Consumer)}.
+     *
+     * @param listener The listener to remove
+     */
+    public void removeTokenListener(Consumer<String> listener) {
+        tokenListeners.remove(listener);
+    }
+
+    /**
+     * Gets the time the current token expires, for listeners that cache it.
+     * Called from a token listener, this is the expiry of the token the listener was given.
+     *
+     * @return The expiry in epoch milliseconds (of this manager's clock), or 0 if there is no token
+     */
+    long getTokenExpiresAt() {
+        IssuedToken token = currentToken.get();
+        return token != null ? token.expiresAt() : 0;
+    }
+
+    /**
+     * Gets the current time of this manager's clock.
+     *
+     * @return The current time in epoch milliseconds
+     */
+    long currentTimeMillis() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Stops the background refresh; the current token stays available until it expires.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            // Release callers waiting for a refresh that will no longer run
+            CompletableFuture<String> pending = inFlight.getAndSet(null);
+            if (pending != null) {
+                pending.complete(null);
+            }
+        }
+    }
+
+    /**
+     * A signed token with the time it should be renewed and the time it expires, in epoch milliseconds.
+     */
+    private record IssuedToken(String value, long refreshAt, long expiresAt) {
+    }
+}
@@ -0,0 +1,93 @@
+package cn.brk2outside.ekuiper4j.http.auth;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one {@link JwtTokenManager} per JWT configuration for deployments talking to several eKuiper nodes.
+ * <p>
+ * Each node configured under {@code ekuiper.client.nodes} can have its own keys, issuer and token lifetime,
+ * falling back to the top-level {@code ekuiper.client.jwt} settings. Managers are created (and their keys
+ * loaded or generated) the first time a node is used. Nodes with the same effective configuration share a
+ * manager, so a token is only signed once for all of them.
+ */
+public class JwtTokenManagerRegistry implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenManagerRegistry.class);
+
+    private final EKuiperClientProperties properties;
+    private final Map<ConfigKey, JwtTokenManager> managers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new registry.
+     *
+     * @param properties Client configuration properties, including the per-node settings
+     */
+    public JwtTokenManagerRegistry(EKuiperClientProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Gets the token manager of a configured node.
+     *
+     * @param nodeName The node name, as configured under {@code ekuiper.client.nodes}
+     * @return The token manager, or null if JWT authentication is disabled for the node
+     * @throws IllegalArgumentException if no node with this name is configured
+     */
+    public JwtTokenManager forNode(String nodeName) {
+        EKuiperClientProperties.Node node = properties.getNodes().get(nodeName);
+        if (node == null) {
+            throw new IllegalArgumentException("Unknown eKuiper node: " + nodeName);
+        }
+        return forConfig(node.getJwt() != null ? node.getJwt() : properties.getJwt());
+    }
+
+    /**
+     * Gets the token manager for a JWT configuration, creating it on first use.
+     *
+     * @param jwt JWT configuration
+     * @return The token manager, or null if JWT authentication is disabled in the configuration
+     */
+    public JwtTokenManager forConfig(EKuiperClientProperties.JwtAuth jwt) {
+        if (!jwt.isEnabled()) {
+            return null;
+        }
+        return managers.computeIfAbsent(ConfigKey.of(jwt), key -> {
+            LOGGER.debug("Creating JWT token manager for issuer {} with key {}", key.issuer(), key.privateKeyPath());
+            return new JwtTokenManager(jwt);
+        });
+    }
+
+    /**
+     * Stops the background refresh of every manager created by this registry.
+     */
+    @Override
+    public void close() {
+        managers.values().forEach(JwtTokenManager::close);
+        managers.clear();
+    }
+
+    /**
+     * The settings that determine the tokens a manager signs.
+     */
+    private record ConfigKey(Path privateKeyPath, Path publicKeyPath, String issuer, String audience,
+                             long expirationTimeSeconds, String ekuiperMgmtPath,
+                             long refreshIntervalMs, long refreshAheadSeconds) {
+
+        static ConfigKey of(EKuiperClientProperties.JwtAuth jwt) {
+            return new ConfigKey(
+                    JwtTokenGenerator.resolvePrivateKeyPath(jwt).toAbsolutePath().normalize(),
+                    JwtTokenGenerator.resolvePublicKeyPath(jwt).toAbsolutePath().normalize(),
+                    jwt.getIssuer(),
+                    jwt.getAudience(),
+                    jwt.getExpirationTimeSeconds(),
+                    jwt.getEkuiperMgmtPath(),
+                    jwt.getRefreshIntervalMs(),
+                    jwt.getRefreshAheadSeconds());
+        }
+    }
+}
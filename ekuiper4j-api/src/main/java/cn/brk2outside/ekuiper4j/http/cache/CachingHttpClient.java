@@ -0,0 +1,211 @@
+package cn.brk2outside.ekuiper4j.http.cache;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.ForwardingHttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.ResponseBodyReader;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link HttpClient} decorator caching responses of read-only metadata endpoints.
+ * <p>
+ * Responses of the configured GET endpoints are kept for their TTL in a size-bounded LRU map, keyed by path,
+ * path variables, query parameters and response type. Any POST, PUT or DELETE sent through this client
+ * invalidates every cached response of the same resource, i.e. the same first path segment: creating a rule
+ * clears the cached rule list as well as every cached rule. A read that overlaps such a write is returned
+ * but not cached, so a response fetched before the write cannot be served after it.
+ * <p>
+ * Cached objects are shared between callers and must not be modified. Writes through other clients, or other
+ * tools, are only seen once the TTL expires.
+ */
+public class CachingHttpClient extends ForwardingHttpClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingHttpClient.class);
+
+    private final Map<String, Long> ttlNanosByPath = new HashMap<>();
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+    private final Map<String, Long> generations = new HashMap<>();
+    private long epoch;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a decorator.
+     *
+     * @param delegate The client requests are forwarded to
+     * @param cache    The cache properties
+     */
+    public CachingHttpClient(HttpClient delegate, EKuiperClientProperties.Cache cache) {
+        this(delegate, cache, System::nanoTime);
+    }
+
+    CachingHttpClient(HttpClient delegate, EKuiperClientProperties.Cache cache, LongSupplier nanoClock) {
+        super(delegate);
+        this.maxEntries = Math.max(cache.getMaxEntries(), 1);
+        this.nanoClock = nanoClock;
+
+        Map<StandardEndpoints, Long> ttlOverrides = new HashMap<>();
+        cache.getEndpointTtlMs().forEach((name, ttlMs) -> {
+            StandardEndpoints endpoint = StandardEndpoints.fromName(name);
+            if (endpoint == null) {
+                LOGGER.warn("Ignoring cache TTL of unknown endpoint {}", name);
+            } else {
+                ttlOverrides.put(endpoint, ttlMs);
+            }
+        });
+        for (String name : cache.getEndpoints()) {
+            StandardEndpoints endpoint = StandardEndpoints.fromName(name);
+            if (endpoint == null || endpoint.getEndpoint().getMethod() != HttpMethods.GET) {
+                LOGGER.warn("Not caching {}: only GET endpoints of StandardEndpoints can be cached", name);
+                continue;
+            }
+            long ttlMs = ttlOverrides.getOrDefault(endpoint, cache.getTtlMs());
+            if (ttlMs > 0) {
+                ttlNanosByPath.put(endpoint.getEndpoint().getEndpoint(), TimeUnit.MILLISECONDS.toNanos(ttlMs));
+            }
+        }
+    }
+
+    /**
+     * Wraps a client so that responses of the configured endpoints are cached.
+     *
+     * @param client The client to wrap
+     * @param cache  The cache properties
+     * @return The caching client, or the given client if caching is disabled
+     */
+    public static HttpClient wrap(HttpClient client, EKuiperClientProperties.Cache cache) {
+        if (!cache.isEnabled()) {
+            return client;
+        }
+        return new CachingHttpClient(client, cache);
+    }
+
+    @Override
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        if (method != HttpMethods.GET) {
+            try {
+                return super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+            } finally {
+                // Also after failures: a timed out write may still have been applied
+                invalidate(resourceOf(path));
+            }
+        }
+        Long ttlNanos = ttlNanosByPath.get(path);
+        if (ttlNanos == null || responseType instanceof ResponseBodyReader) {
+            return super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+        }
+
+        String resource = resourceOf(path);
+        Key key = new Key(resource, path, Arrays.asList(pathVariables.clone()),
+                queryParams == null ? Map.of() : new HashMap<>(queryParams), responseType.getType());
+        long generation;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtNanos - nanoClock.getAsLong() > 0) {
+                    hits.incrementAndGet();
+                    @SuppressWarnings("unchecked")
+                    T cached = (T) entry.value;
+                    return cached;
+                }
+                entries.remove(key);
+            }
+            generation = generationOf(resource);
+        }
+        misses.incrementAndGet();
+
+        T response = super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+        synchronized (entries) {
+            if (generationOf(resource) == generation) {
+                entries.put(key, new Entry(response, nanoClock.getAsLong() + ttlNanos));
+                if (entries.size() > maxEntries) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Removes every cached response of a resource.
+     *
+     * @param resource The first path segment of the resource, e.g. {@code rules}
+     */
+    public void invalidate(String resource) {
+        synchronized (entries) {
+            generations.merge(resource, 1L, Long::sum);
+            entries.keySet().removeIf(key -> key.resource.equals(resource));
+        }
+    }
+
+    /**
+     * Removes every cached response.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            epoch++;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Gets a number that changes whenever the cached responses of a resource are invalidated.
+     * Must be called while holding the lock on {@code entries}.
+     */
+    private long generationOf(String resource) {
+        return epoch + generations.getOrDefault(resource, 0L);
+    }
+
+    /**
+     * Gets the number of cached responses, including expired ones not evicted yet.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the resource a path belongs to: its first segment, e.g. {@code streams} for
+     * {@code /streams/{id}/schema}.
+     */
+    static String resourceOf(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private record Key(String resource, String path, List<Object> pathVariables, Map<String, Object> queryParams,
+                       Type responseType) {
+    }
+
+    private record Entry(Object value, long expiresAtNanos) {
+    }
+}
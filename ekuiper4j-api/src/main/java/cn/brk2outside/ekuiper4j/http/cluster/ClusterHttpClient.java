@@ -0,0 +1,190 @@
+package cn.brk2outside.ekuiper4j.http.cluster;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.ForwardingHttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.sdk.api.OverviewAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HttpClient} spreading requests across replicated eKuiper nodes.
+ * <p>
+ * Writes (POST, PUT and DELETE) always go to the designated write node, so that rules and streams are created
+ * and changed in one place. Reads (GET) go to a healthy member chosen by the configured
+ * {@link EKuiperClientProperties.Balancing balancing} strategy; if no member is healthy, all of them are
+ * candidates. Members are health-checked with {@link OverviewAPI#ping()} once {@link #startHealthChecks(long)}
+ * is called, and a member whose request fails with a transient error is taken out of rotation until it
+ * passes the next check.
+ */
+public class ClusterHttpClient extends ForwardingHttpClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterHttpClient.class);
+
+    private final List<ClusterMember> members;
+    private final ClusterMember writeMember;
+    private final EKuiperClientProperties.Balancing balancing;
+    private ScheduledExecutorService healthChecker;
+
+    /**
+     * Creates a cluster client.
+     *
+     * @param members    The members, each with a client talking to its node
+     * @param writeNode  The name of the member receiving all writes
+     * @param balancing  The strategy for spreading reads
+     * @throws IllegalArgumentException if there are no members or the write node is not one of them
+     */
+    public ClusterHttpClient(List<ClusterMember> members, String writeNode, EKuiperClientProperties.Balancing balancing) {
+        super(writeMember(members, writeNode).getClient());
+        this.members = List.copyOf(members);
+        this.writeMember = writeMember(members, writeNode);
+        this.balancing = balancing;
+    }
+
+    private static ClusterMember writeMember(List<ClusterMember> members, String writeNode) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("An eKuiper cluster needs at least one member");
+        }
+        return members.stream()
+                .filter(member -> member.getName().equals(writeNode))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Write node " + writeNode + " is not a cluster member"));
+    }
+
+    /**
+     * Checks the health of every member in the background.
+     * Members are pinged one after the other on a single daemon thread.
+     *
+     * @param intervalMs The interval between two rounds of checks
+     */
+    public synchronized void startHealthChecks(long intervalMs) {
+        if (healthChecker != null || intervalMs <= 0) {
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ekuiper4j-cluster-health-");
+        threadFactory.setDaemon(true);
+        healthChecker = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pings every member once and updates its health.
+     */
+    public void checkHealth() {
+        for (ClusterMember member : members) {
+            boolean healthy;
+            try {
+                new OverviewAPI(member.getClient()).ping();
+                healthy = true;
+            } catch (RuntimeException e) {
+                LOGGER.debug("Health check of eKuiper node {} failed: {}", member.getName(), e.getMessage());
+                healthy = false;
+            }
+            if (healthy != member.isHealthy()) {
+                LOGGER.info("eKuiper node {} is now {}", member.getName(), healthy ? "healthy" : "unhealthy");
+            }
+            member.setHealthy(healthy);
+        }
+    }
+
+    /**
+     * Gets the members of the cluster.
+     *
+     * @return The members, in configuration order
+     */
+    public List<ClusterMember> getMembers() {
+        return members;
+    }
+
+    /**
+     * Gets the member receiving all writes.
+     *
+     * @return The write member
+     */
+    public ClusterMember getWriteMember() {
+        return writeMember;
+    }
+
+    @Override
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        ClusterMember member = method == HttpMethods.GET ? chooseReader() : writeMember;
+        member.requestStarted();
+        try {
+            return forward(member.getClient(), method, path, requestBody, queryParams, responseType, pathVariables);
+        } catch (HttpClientException e) {
+            if (e.isTransient() && member.isHealthy()) {
+                LOGGER.info("eKuiper node {} failed a request, taking it out of rotation: {}", member.getName(), e.getMessage());
+                member.setHealthy(false);
+            }
+            throw e;
+        } finally {
+            member.requestFinished();
+        }
+    }
+
+    /**
+     * Chooses the member serving a read.
+     *
+     * @return The chosen member
+     */
+    ClusterMember chooseReader() {
+        List<ClusterMember> candidates = new ArrayList<>(members.size());
+        for (ClusterMember member : members) {
+            if (member.isHealthy()) {
+                candidates.add(member);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = members;
+        }
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (balancing == EKuiperClientProperties.Balancing.POWER_OF_TWO_CHOICES) {
+            int first = random.nextInt(size);
+            int second = (first + 1 + random.nextInt(size - 1)) % size;
+            ClusterMember a = candidates.get(first);
+            ClusterMember b = candidates.get(second);
+            return b.getOutstanding() < a.getOutstanding() ? b : a;
+        }
+
+        // Least outstanding, scanning from a random offset so that ties do not always favour the first member
+        int offset = random.nextInt(size);
+        ClusterMember least = null;
+        for (int i = 0; i < size; i++) {
+            ClusterMember member = candidates.get((offset + i) % size);
+            if (least == null || member.getOutstanding() < least.getOutstanding()) {
+                least = member;
+            }
+        }
+        return least;
+    }
+
+    /**
+     * Stops the background health checks and closes the clients of all members.
+     */
+    @Override
+    public synchronized void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+        // The write member's client is the delegate, closing the members closes it as well
+        members.forEach(member -> closeClient(member.getClient()));
+    }
+}
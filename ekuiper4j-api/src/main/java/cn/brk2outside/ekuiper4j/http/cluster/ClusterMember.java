@@ -0,0 +1,66 @@
+package cn.brk2outside.ekuiper4j.http.cluster;
+
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One eKuiper node of a {@link ClusterHttpClient}: the client talking to it, its requests in flight and whether
+ * it passed its last health check.
+ */
+public class ClusterMember {
+
+    private final String name;
+    private final HttpClient client;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean healthy = true;
+
+    /**
+     * Creates a member, initially considered healthy.
+     *
+     * @param name   The node name
+     * @param client The client sending requests to the node
+     */
+    public ClusterMember(String name, HttpClient client) {
+        this.name = name;
+        this.client = client;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * Gets the number of requests in flight to the node.
+     *
+     * @return The outstanding requests
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void requestFinished() {
+        outstanding.decrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return name + (healthy ? "" : " (unhealthy)") + ", outstanding=" + outstanding.get();
+    }
+}
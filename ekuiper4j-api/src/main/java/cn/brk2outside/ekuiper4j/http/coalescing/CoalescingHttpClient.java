@@ -0,0 +1,120 @@
+package cn.brk2outside.ekuiper4j.http.coalescing;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.ForwardingHttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.ResponseBodyReader;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link HttpClient} decorator letting identical concurrent GET requests share one response.
+ * <p>
+ * The first caller of a GET, identified by path, path variables, query parameters and response type, sends the
+ * request; callers asking for the same GET while it is in flight wait for it and get the same response object,
+ * or the same exception. A request started after the shared one completed is sent again, so no response is
+ * served later than it would have been without coalescing. This keeps a stampede of dashboards calling
+ * {@code getAllRulesStatus} at once down to one request per node.
+ * <p>
+ * Shared responses must not be modified by the callers. Requests read by a {@link ResponseBodyReader} are never
+ * coalesced.
+ */
+public class CoalescingHttpClient extends ForwardingHttpClient {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Creates a decorator.
+     *
+     * @param delegate The client requests are forwarded to
+     */
+    public CoalescingHttpClient(HttpClient delegate) {
+        super(delegate);
+    }
+
+    /**
+     * Wraps a client so that identical concurrent GET requests are coalesced.
+     *
+     * @param client     The client to wrap
+     * @param coalescing The coalescing properties
+     * @return The coalescing client, or the given client if coalescing is disabled
+     */
+    public static HttpClient wrap(HttpClient client, EKuiperClientProperties.Coalescing coalescing) {
+        if (!coalescing.isEnabled()) {
+            return client;
+        }
+        return new CoalescingHttpClient(client);
+    }
+
+    /**
+     * Gets the number of requests that were served by a request already in flight.
+     *
+     * @return The number of coalesced requests
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        if (method != HttpMethods.GET || responseType instanceof ResponseBodyReader) {
+            return super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+        }
+
+        Key key = new Key(path, Arrays.asList(pathVariables.clone()),
+                queryParams == null ? Map.of() : new HashMap<>(queryParams), responseType.getType());
+        CompletableFuture<Object> shared = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return (T) await(existing, path);
+        }
+
+        try {
+            T response = super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+            // Removed before completing, so that later callers send a fresh request
+            inFlight.remove(key, shared);
+            shared.complete(response);
+            return response;
+        } catch (Throwable t) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> shared, String path) {
+        try {
+            return shared.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("Interrupted while waiting for " + path, e, -1);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new HttpClientException("Error executing HTTP request: " + cause.getMessage(), cause, -1);
+        }
+    }
+
+    private record Key(String path, List<Object> pathVariables, Map<String, Object> queryParams, Type responseType) {
+    }
+}
@@ -0,0 +1,226 @@
+package cn.brk2outside.ekuiper4j.http.hedging;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.ForwardingHttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.ResponseBodyReader;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.ApiEndpoint;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link HttpClient} decorator that hedges slow requests to read-only endpoints.
+ * <p>
+ * For every hedged endpoint the latency of successful requests is tracked. Once enough samples are recorded, a
+ * request that has not completed after the configured percentile of that latency (p95 by default) is sent a
+ * second time; the caller gets whichever response arrives first and the other attempt is cancelled. This trades
+ * a few percent of extra requests for a much flatter tail, e.g. when eKuiper stalls on a garbage collection.
+ * <p>
+ * Both attempts run on threads owned by this client, so the caller can return as soon as either completes.
+ * Cancellation interrupts the losing attempt; whether that aborts the underlying I/O depends on the transport.
+ */
+public class HedgingHttpClient extends ForwardingHttpClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HedgingHttpClient.class);
+
+    private final Map<String, LatencyTracker> trackers = new HashMap<>();
+    private final long minDelayMs;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a decorator with threads of its own.
+     *
+     * @param delegate The client requests are forwarded to
+     * @param hedging  The hedging properties
+     */
+    public HedgingHttpClient(HttpClient delegate, EKuiperClientProperties.Hedging hedging) {
+        this(delegate, hedging, Executors.newCachedThreadPool(daemonThreads()));
+    }
+
+    /**
+     * Creates a decorator running attempts on the given executor.
+     * The executor must not queue tasks, or hedged attempts would wait behind the ones they are meant to overtake.
+     *
+     * @param delegate The client requests are forwarded to
+     * @param hedging  The hedging properties
+     * @param executor The executor running the attempts
+     */
+    public HedgingHttpClient(HttpClient delegate, EKuiperClientProperties.Hedging hedging, ExecutorService executor) {
+        super(delegate);
+        this.minDelayMs = hedging.getMinDelayMs();
+        this.executor = executor;
+        for (String name : hedging.getEndpoints()) {
+            StandardEndpoints standardEndpoint = StandardEndpoints.fromName(name);
+            if (standardEndpoint == null || standardEndpoint.getEndpoint().getMethod() != HttpMethods.GET) {
+                LOGGER.warn("Not hedging {}: only GET endpoints of StandardEndpoints can be hedged", name);
+                continue;
+            }
+            ApiEndpoint<?, ?> endpoint = standardEndpoint.getEndpoint();
+            trackers.put(endpoint.getEndpoint(), new LatencyTracker(hedging.getPercentile(), hedging.getMinSamples()));
+        }
+    }
+
+    /**
+     * Wraps a client so that requests to the configured endpoints are hedged.
+     *
+     * @param client  The client to wrap
+     * @param hedging The hedging properties
+     * @return The hedging client, or the given client if hedging is disabled
+     */
+    public static HttpClient wrap(HttpClient client, EKuiperClientProperties.Hedging hedging) {
+        if (!hedging.isEnabled()) {
+            return client;
+        }
+        return new HedgingHttpClient(client, hedging);
+    }
+
+    private static CustomizableThreadFactory daemonThreads() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ekuiper4j-hedge-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * Gets the latency tracker of an endpoint.
+     *
+     * @param path The API path, with path variable placeholders
+     * @return The tracker, or null if the endpoint is not hedged
+     */
+    public LatencyTracker getLatencyTracker(String path) {
+        return trackers.get(path);
+    }
+
+    @Override
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        // Body readers may have side effects, so they must not run twice
+        LatencyTracker tracker = method == HttpMethods.GET && !(responseType instanceof ResponseBodyReader)
+                ? trackers.get(path) : null;
+        if (tracker == null) {
+            return super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+        }
+
+        long percentileMs = tracker.percentileMs();
+        long start = System.nanoTime();
+        if (percentileMs < 0) {
+            // Not enough samples yet, just measure
+            T response = super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+            record(tracker, start);
+            return response;
+        }
+
+        Attempt<T> primary = start(method, path, requestBody, queryParams, responseType, pathVariables);
+        try {
+            T response = primary.result.get(Math.max(percentileMs, minDelayMs), TimeUnit.MILLISECONDS);
+            record(tracker, start);
+            return response;
+        } catch (TimeoutException e) {
+            LOGGER.debug("No response to {} after {} ms, sending a hedged request", path, percentileMs);
+        } catch (InterruptedException e) {
+            primary.cancel();
+            throw interrupted(path, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+
+        Attempt<T> hedge = start(method, path, requestBody, queryParams, responseType, pathVariables);
+        try {
+            T response = firstSuccessful(primary.result, hedge.result).get();
+            // The latency seen by the caller, so that cancelled slow attempts still count
+            record(tracker, start);
+            return response;
+        } catch (InterruptedException e) {
+            throw interrupted(path, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            primary.cancel();
+            hedge.cancel();
+        }
+    }
+
+    private <T> Attempt<T> start(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                                 ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(forward(delegate, method, path, requestBody, queryParams, responseType, pathVariables));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return new Attempt<>(result, task);
+    }
+
+    private static void record(LatencyTracker tracker, long startNanos) {
+        tracker.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Completes with the first successful result, or with the failure of the primary attempt if both fail.
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary, CompletableFuture<T> hedge) {
+        CompletableFuture<T> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((response, error) -> {
+            if (error == null) {
+                first.complete(response);
+            } else if (failures.incrementAndGet() == 2) {
+                first.completeExceptionally(error);
+            }
+        });
+        hedge.whenComplete((response, error) -> {
+            if (error == null) {
+                first.complete(response);
+            } else if (failures.incrementAndGet() == 2) {
+                primary.whenComplete((ignored, primaryError) -> first.completeExceptionally(primaryError));
+            }
+        });
+        return first;
+    }
+
+    private static HttpClientException interrupted(String path, InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return new HttpClientException("Interrupted while waiting for " + path, e, -1);
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        if (error instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new HttpClientException("Error executing HTTP request: " + error.getMessage(), error, -1);
+    }
+
+    /**
+     * Stops the threads running the attempts and closes the decorated client.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        super.close();
+    }
+
+    /**
+     * One attempt of a request: its result and the task producing it.
+     */
+    private record Attempt<T>(CompletableFuture<T> result, Future<?> task) {
+        void cancel() {
+            task.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package cn.brk2outside.ekuiper4j.http.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Tracks a latency percentile over the most recent successful requests of one endpoint.
+ * <p>
+ * Latencies are kept in a fixed-size ring buffer; the percentile is recomputed from a sorted copy every
+ * {@value #RECOMPUTE_EVERY} samples rather than on every lookup.
+ */
+public class LatencyTracker {
+
+    private static final int WINDOW_SIZE = 256;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final double percentile;
+    private final int minSamples;
+    private final long[] samples = new long[WINDOW_SIZE];
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private long cachedPercentile = -1;
+
+    /**
+     * Creates a tracker.
+     *
+     * @param percentile The tracked percentile, e.g. 95
+     * @param minSamples Number of samples required before the percentile is reported
+     */
+    public LatencyTracker(double percentile, int minSamples) {
+        this.percentile = Math.min(Math.max(percentile, 0), 100);
+        this.minSamples = Math.min(Math.max(minSamples, 1), WINDOW_SIZE);
+    }
+
+    /**
+     * Records the latency of a successful request.
+     *
+     * @param latencyMs The latency in milliseconds
+     */
+    public synchronized void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % WINDOW_SIZE;
+        if (count < WINDOW_SIZE) {
+            count++;
+        }
+        if (++sinceRecompute >= RECOMPUTE_EVERY || cachedPercentile < 0) {
+            recompute();
+        }
+    }
+
+    /**
+     * Gets the tracked percentile.
+     *
+     * @return The latency in milliseconds, or -1 if fewer than the minimum number of samples were recorded
+     */
+    public synchronized long percentileMs() {
+        return cachedPercentile;
+    }
+
+    /**
+     * Gets the number of samples in the window.
+     *
+     * @return The sample count
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    private void recompute() {
+        sinceRecompute = 0;
+        if (count < minSamples) {
+            cachedPercentile = -1;
+            return;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        cachedPercentile = sorted[Math.min(Math.max(index, 0), count - 1)];
+    }
+}
@@ -0,0 +1,61 @@
+package cn.brk2outside.ekuiper4j.http.resilience;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.ForwardingHttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HttpClient} decorator that rejects calls once too many are in flight to its node.
+ * <p>
+ * Unlike {@link cn.brk2outside.ekuiper4j.http.ConcurrencyLimitedHttpClient}, which queues callers until a permit
+ * is free, a call waits at most {@code maxWaitMs} and then fails. A node that hangs therefore only ties up as
+ * many caller threads as it has slots.
+ */
+public class BulkheadHttpClient extends ForwardingHttpClient {
+
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    private final String nodeName;
+
+    /**
+     * Creates a decorator drawing from the given permits.
+     *
+     * @param delegate  The client requests are forwarded to
+     * @param permits   The permits shared by all calls to the node
+     * @param maxWaitMs Time a call waits for a permit before it is rejected
+     * @param nodeName  The name of the node, used in error messages
+     */
+    public BulkheadHttpClient(HttpClient delegate, Semaphore permits, long maxWaitMs, String nodeName) {
+        super(delegate);
+        this.permits = permits;
+        this.maxWaitMs = maxWaitMs;
+        this.nodeName = nodeName;
+    }
+
+    @Override
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        boolean acquired;
+        try {
+            acquired = maxWaitMs > 0 ? permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS) : permits.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("Interrupted while waiting to send request: " + path, e, -1);
+        }
+        if (!acquired) {
+            throw new HttpClientException("Too many calls in flight to eKuiper node " + nodeName
+                    + ", rejected " + method + " " + path, -1);
+        }
+        try {
+            return super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+        } finally {
+            permits.release();
+        }
+    }
+}
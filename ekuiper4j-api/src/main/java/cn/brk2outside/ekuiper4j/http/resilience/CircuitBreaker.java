@@ -0,0 +1,234 @@
+package cn.brk2outside.ekuiper4j.http.resilience;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker guarding the calls to one eKuiper node.
+ * <p>
+ * While {@link State#CLOSED closed}, the outcome of every call is recorded in a count-based sliding window. Once
+ * the failure rate in the window reaches the threshold the breaker {@link State#OPEN opens} and rejects calls
+ * without sending them. After the wait duration the next caller moves it to {@link State#HALF_OPEN half-open}
+ * and starts a probe of the node in the background; a probe succeeding within the probe timeout closes the
+ * breaker, a failed or late one opens it again. No caller waits for the probe: all of them, including the one
+ * that started it, keep being rejected until it succeeds, and a new probe only starts once the previous one
+ * has returned.
+ */
+public class CircuitBreaker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * States of a circuit breaker.
+     */
+    public enum State {
+        /**
+         * Calls are sent and their outcome recorded.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected until the wait duration has passed.
+         */
+        OPEN,
+        /**
+         * The node is being probed; calls are rejected until the probe completes.
+         */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumNumberOfCalls;
+    private final long waitDurationInOpenStateMs;
+    private final long probeTimeoutMs;
+    private final Runnable probe;
+    private final Executor probeExecutor;
+    private final LongSupplier clock;
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    /** Outcomes of the most recent calls, true for failures. */
+    private final boolean[] window;
+    private int next;
+    private int calls;
+    private int failures;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+
+    /**
+     * Creates a circuit breaker.
+     *
+     * @param name   The name of the guarded node, used in log messages
+     * @param config The circuit breaker properties
+     * @param probe  Checks whether the node recovered, throwing if it did not (e.g. a ping)
+     */
+    public CircuitBreaker(String name, EKuiperClientProperties.Breaker config, Runnable probe) {
+        this(name, config, probe, probeThread(name), System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a circuit breaker with a custom probe executor and clock.
+     *
+     * @param name          The name of the guarded node
+     * @param config        The circuit breaker properties
+     * @param probe         Checks whether the node recovered, throwing if it did not
+     * @param probeExecutor Runs the probes
+     * @param clock         Current time in milliseconds
+     */
+    CircuitBreaker(String name, EKuiperClientProperties.Breaker config, Runnable probe, Executor probeExecutor,
+                   LongSupplier clock) {
+        this.name = name;
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.minimumNumberOfCalls = Math.max(config.getMinimumNumberOfCalls(), 1);
+        this.waitDurationInOpenStateMs = config.getWaitDurationInOpenStateMs();
+        this.window = new boolean[Math.max(config.getSlidingWindowSize(), this.minimumNumberOfCalls)];
+        this.probeTimeoutMs = config.getProbeTimeoutMs();
+        this.probe = probe;
+        this.probeExecutor = probeExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether a call may be sent. Starts a probe of the node if the breaker has been open long enough,
+     * without waiting for it.
+     *
+     * @return True if the call may be sent, false if it must be rejected
+     */
+    public boolean tryAcquirePermission() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && clock.getAsLong() - openedAt >= waitDurationInOpenStateMs
+                && probing.compareAndSet(false, true)) {
+            startProbe();
+            // Only sent if the probe already succeeded, e.g. with an executor running it on this thread
+            return state == State.CLOSED;
+        }
+        return false;
+    }
+
+    private void startProbe() {
+        state = State.HALF_OPEN;
+        CompletableFuture<Void> outcome = new CompletableFuture<>();
+        outcome.orTimeout(probeTimeoutMs, TimeUnit.MILLISECONDS).whenComplete((ignored, error) -> {
+            if (error == null) {
+                close();
+            } else {
+                LOGGER.debug("Probe of eKuiper node {} failed: {}", name, error.getMessage());
+                open();
+            }
+        });
+        try {
+            probeExecutor.execute(() -> {
+                try {
+                    probe.run();
+                    outcome.complete(null);
+                } catch (RuntimeException e) {
+                    outcome.completeExceptionally(e);
+                } finally {
+                    // A probe that timed out holds off the next one until it returns
+                    probing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            probing.set(false);
+            outcome.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Records a call that reached the node.
+     */
+    public void onSuccess() {
+        record(false);
+    }
+
+    /**
+     * Records a call that failed because of the node (connection error, timeout, 5xx response).
+     */
+    public void onFailure() {
+        record(true);
+    }
+
+    private synchronized void record(boolean failure) {
+        if (state != State.CLOSED) {
+            // Calls sent before the breaker opened
+            return;
+        }
+        if (calls == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failure;
+        next = (next + 1) % window.length;
+        if (failure) {
+            failures++;
+            if (calls >= minimumNumberOfCalls && failures * 100 >= failureRateThreshold * calls) {
+                open();
+            }
+        }
+    }
+
+    private synchronized void open() {
+        LOGGER.warn("Circuit breaker for eKuiper node {} is open, rejecting calls for {} ms", name, waitDurationInOpenStateMs);
+        openedAt = clock.getAsLong();
+        state = State.OPEN;
+    }
+
+    private synchronized void close() {
+        LOGGER.info("eKuiper node {} recovered, circuit breaker is closed", name);
+        next = 0;
+        calls = 0;
+        failures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Creates an executor starting a daemon thread for each probe. Probes are rare and at most one per breaker
+     * runs at a time, so no pool is kept around.
+     */
+    private static Executor probeThread(String name) {
+        return probe -> {
+            Thread thread = new Thread(probe, "ekuiper4j-breaker-probe-" + name);
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    /**
+     * Gets the name of the guarded node.
+     *
+     * @return The node name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return The state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the failure rate in the sliding window.
+     *
+     * @return The percentage of failed calls, or -1 if fewer than the minimum number of calls were recorded
+     */
+    public synchronized float getFailureRate() {
+        return calls < minimumNumberOfCalls ? -1 : failures * 100f / calls;
+    }
+}
@@ -0,0 +1,62 @@
+package cn.brk2outside.ekuiper4j.http.resilience;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.ForwardingHttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.Map;
+
+/**
+ * {@link HttpClient} decorator that fails fast while the {@link CircuitBreaker} of its node is open.
+ * <p>
+ * Transient failures (see {@link HttpClientException#isTransient()}) count against the node; any other HTTP
+ * response, including a 4xx error, shows that the node is up. Rejected calls throw an
+ * {@link HttpClientException} with status code -1 without touching the network.
+ */
+public class CircuitBreakingHttpClient extends ForwardingHttpClient {
+
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Creates a decorator guarded by the given breaker.
+     *
+     * @param delegate       The client requests are forwarded to
+     * @param circuitBreaker The breaker of the node the client talks to
+     */
+    public CircuitBreakingHttpClient(HttpClient delegate, CircuitBreaker circuitBreaker) {
+        super(delegate);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Gets the breaker guarding this client.
+     *
+     * @return The circuit breaker
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    @Override
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new HttpClientException("Circuit breaker for eKuiper node " + circuitBreaker.getName()
+                    + " is " + circuitBreaker.getState() + ", rejected " + method + " " + path, -1);
+        }
+        try {
+            T response = super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+            circuitBreaker.onSuccess();
+            return response;
+        } catch (HttpClientException e) {
+            if (e.isTransient()) {
+                circuitBreaker.onFailure();
+            } else if (e.getStatusCode() > 0) {
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        }
+    }
+}
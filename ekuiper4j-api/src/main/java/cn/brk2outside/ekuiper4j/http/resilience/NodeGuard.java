@@ -0,0 +1,91 @@
+package cn.brk2outside.ekuiper4j.http.resilience;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.NodeConcurrencyLimiter;
+import cn.brk2outside.ekuiper4j.sdk.api.OverviewAPI;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps one {@link CircuitBreaker} and one bulkhead per eKuiper node.
+ * <p>
+ * Nodes are identified by {@code host:port} as in {@link NodeConcurrencyLimiter}; every client guarded for the
+ * same node shares its breaker and bulkhead slots. Open breakers probe their node with {@link OverviewAPI#ping()},
+ * sent past the bulkhead so that a probe is never held up by calls queued for a slot.
+ */
+public class NodeGuard {
+
+    private final EKuiperClientProperties.Breaker breakerConfig;
+    private final EKuiperClientProperties.Bulkhead bulkheadConfig;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> bulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a guard.
+     *
+     * @param properties Client configuration properties
+     */
+    public NodeGuard(EKuiperClientProperties properties) {
+        this(properties.getCircuitBreaker(), properties.getBulkhead());
+    }
+
+    /**
+     * Creates a guard.
+     *
+     * @param breakerConfig  The circuit breaker properties
+     * @param bulkheadConfig The bulkhead properties
+     */
+    public NodeGuard(EKuiperClientProperties.Breaker breakerConfig, EKuiperClientProperties.Bulkhead bulkheadConfig) {
+        this.breakerConfig = breakerConfig;
+        this.bulkheadConfig = bulkheadConfig;
+    }
+
+    /**
+     * Wraps a client talking to a node with the node's bulkhead and circuit breaker.
+     *
+     * @param client The client sending requests to the node
+     * @param host   The eKuiper host
+     * @param port   The eKuiper REST port
+     * @return The guarded client, or the given client if both the breaker and the bulkhead are disabled
+     */
+    public HttpClient guard(HttpClient client, String host, int port) {
+        String nodeKey = NodeConcurrencyLimiter.nodeKey(host, port);
+        HttpClient guarded = client;
+        if (bulkheadConfig.isEnabled() && bulkheadConfig.getMaxConcurrentCalls() > 0) {
+            Semaphore permits = bulkheads.computeIfAbsent(nodeKey,
+                    key -> new Semaphore(bulkheadConfig.getMaxConcurrentCalls(), true));
+            guarded = new BulkheadHttpClient(guarded, permits, bulkheadConfig.getMaxWaitMs(), nodeKey);
+        }
+        if (breakerConfig.isEnabled()) {
+            OverviewAPI probe = new OverviewAPI(client);
+            CircuitBreaker circuitBreaker = circuitBreakers.computeIfAbsent(nodeKey,
+                    key -> new CircuitBreaker(key, breakerConfig, probe::ping));
+            guarded = new CircuitBreakingHttpClient(guarded, circuitBreaker);
+        }
+        return guarded;
+    }
+
+    /**
+     * Gets the circuit breaker of a node.
+     *
+     * @param host The eKuiper host
+     * @param port The eKuiper REST port
+     * @return The breaker, or null if no client was guarded for the node or breakers are disabled
+     */
+    public CircuitBreaker circuitBreaker(String host, int port) {
+        return circuitBreakers.get(NodeConcurrencyLimiter.nodeKey(host, port));
+    }
+
+    /**
+     * Gets the circuit breakers of all guarded nodes.
+     *
+     * @return The breakers by node key
+     */
+    public Map<String, CircuitBreaker> getCircuitBreakers() {
+        return Collections.unmodifiableMap(circuitBreakers);
+    }
+}
@@ -0,0 +1,103 @@
+package cn.brk2outside.ekuiper4j.http.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of retries relative to the number of requests, shared by all requests of a client.
+ * <p>
+ * Every request deposits {@code ratio} of a retry and every retry withdraws a whole one; on top of that a
+ * reserve of {@code minRetriesPerSecond} accrues over time so that a quiet client can still retry. When a node
+ * goes down, retries thus add at most {@code ratio} extra load instead of multiplying it by the number of
+ * attempts.
+ */
+public class RetryBudget {
+
+    /** Balance units per retry, so that fractional deposits can be kept in a long. */
+    private static final long SCALE = 1000;
+    /** The balance never exceeds this many seconds' worth of reserve. */
+    private static final long MAX_BANKED_SECONDS = 10;
+
+    private final long depositPerRequest;
+    private final long reservePerSecond;
+    private final long maxBalance;
+    private final LongSupplier clock;
+    private final AtomicLong balance;
+    private long lastRefill;
+
+    /**
+     * Creates a budget.
+     *
+     * @param ratio               Retries allowed per request sent, e.g. 0.2 for one retry every five requests
+     * @param minRetriesPerSecond Retries allowed per second regardless of the request volume
+     */
+    public RetryBudget(double ratio, int minRetriesPerSecond) {
+        this(ratio, minRetriesPerSecond, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a budget with a custom clock.
+     *
+     * @param ratio               Retries allowed per request sent
+     * @param minRetriesPerSecond Retries allowed per second regardless of the request volume
+     * @param clock               Current time in milliseconds
+     */
+    RetryBudget(double ratio, int minRetriesPerSecond, LongSupplier clock) {
+        this.depositPerRequest = (long) (Math.max(ratio, 0.0) * SCALE);
+        this.reservePerSecond = Math.max(minRetriesPerSecond, 0) * SCALE;
+        this.maxBalance = Math.max(reservePerSecond * MAX_BANKED_SECONDS, 100 * SCALE);
+        this.clock = clock;
+        this.lastRefill = clock.getAsLong();
+        this.balance = new AtomicLong(reservePerSecond);
+    }
+
+    /**
+     * Records a request, adding to the budget.
+     */
+    public void onRequest() {
+        if (depositPerRequest > 0) {
+            balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(current + deposit, maxBalance));
+        }
+    }
+
+    /**
+     * Withdraws one retry from the budget.
+     *
+     * @return True if the retry may be sent, false if the budget is exhausted
+     */
+    public boolean tryAcquire() {
+        refill();
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of retries currently available.
+     *
+     * @return The whole retries left in the budget
+     */
+    public long available() {
+        refill();
+        return balance.get() / SCALE;
+    }
+
+    private synchronized void refill() {
+        long now = clock.getAsLong();
+        long elapsed = now - lastRefill;
+        if (elapsed <= 0 || reservePerSecond == 0) {
+            return;
+        }
+        long reserve = reservePerSecond * elapsed / 1000;
+        if (reserve > 0) {
+            lastRefill = now;
+            balance.accumulateAndGet(reserve, (current, deposit) -> Math.min(current + deposit, maxBalance));
+        }
+    }
+}
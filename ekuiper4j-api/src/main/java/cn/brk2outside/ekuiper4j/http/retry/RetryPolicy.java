@@ -0,0 +1,109 @@
+package cn.brk2outside.ekuiper4j.http.retry;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How often, and with which delays, a failed request is sent again.
+ * <p>
+ * Delays grow exponentially from {@code initialBackoffMs} up to {@code maxBackoffMs}; the {@code jitter}
+ * fraction of each delay is randomized so that clients failing together do not retry in lockstep.
+ */
+public final class RetryPolicy {
+
+    /**
+     * Policy that never retries.
+     */
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, 1.0, 0.0);
+
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final double backoffMultiplier;
+    private final double jitter;
+
+    /**
+     * Creates a policy.
+     *
+     * @param maxAttempts       Maximum number of attempts, including the first one
+     * @param initialBackoffMs  Delay before the first retry
+     * @param maxBackoffMs      Upper bound of the delay between two attempts
+     * @param backoffMultiplier Factor the delay grows by after each retry
+     * @param jitter            Randomized fraction of each delay, between 0 and 1
+     */
+    public RetryPolicy(int maxAttempts, long initialBackoffMs, long maxBackoffMs, double backoffMultiplier, double jitter) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.initialBackoffMs = Math.max(initialBackoffMs, 0);
+        this.maxBackoffMs = Math.max(maxBackoffMs, this.initialBackoffMs);
+        this.backoffMultiplier = Math.max(backoffMultiplier, 1.0);
+        this.jitter = Math.min(Math.max(jitter, 0.0), 1.0);
+    }
+
+    /**
+     * Creates the default policy from the client properties.
+     *
+     * @param retry The retry properties
+     * @return The policy, or {@link #NONE} if retries are disabled
+     */
+    public static RetryPolicy from(EKuiperClientProperties.Retry retry) {
+        if (!retry.isEnabled()) {
+            return NONE;
+        }
+        return new RetryPolicy(retry.getMaxAttempts(), retry.getInitialBackoffMs(), retry.getMaxBackoffMs(),
+                retry.getBackoffMultiplier(), retry.getJitter());
+    }
+
+    /**
+     * Creates a copy of this policy with another number of attempts.
+     *
+     * @param maxAttempts Maximum number of attempts, including the first one
+     * @return The new policy
+     */
+    public RetryPolicy withMaxAttempts(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, initialBackoffMs, maxBackoffMs, backoffMultiplier, jitter);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Checks whether this policy retries at all.
+     *
+     * @return True if more than one attempt is allowed
+     */
+    public boolean isRetrying() {
+        return maxAttempts > 1;
+    }
+
+    /**
+     * Computes the delay before a retry.
+     *
+     * @param retry The retry number, starting at 1 for the second attempt
+     * @return The delay in milliseconds
+     */
+    public long backoffMs(int retry) {
+        double base = Math.min(initialBackoffMs * Math.pow(backoffMultiplier, retry - 1), maxBackoffMs);
+        double randomized = base * jitter * ThreadLocalRandom.current().nextDouble();
+        return (long) (base * (1.0 - jitter) + randomized);
+    }
+
+    /**
+     * Checks whether a failure is worth retrying.
+     *
+     * @param exception The failure
+     * @return True if the failure is {@link HttpClientException#isTransient() transient}
+     */
+    public static boolean isRetryable(HttpClientException exception) {
+        return exception.isTransient();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxAttempts=" + maxAttempts + ", initialBackoffMs=" + initialBackoffMs
+                + ", maxBackoffMs=" + maxBackoffMs + ", backoffMultiplier=" + backoffMultiplier
+                + ", jitter=" + jitter + "}";
+    }
+}
@@ -0,0 +1,155 @@
+package cn.brk2outside.ekuiper4j.http.retry;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.ForwardingHttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.ApiEndpoint;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link HttpClient} decorator that sends idempotent requests again when they fail transiently.
+ * <p>
+ * Whether a request is retried follows the {@link ApiEndpoint#isIdempotent() idempotency} of the standard
+ * endpoint it targets: GET, PUT and DELETE requests as well as starting and stopping rules are retried, other
+ * POST requests are not. Requests to paths that are not standard endpoints are retried based on their method.
+ * Retries wait with exponential backoff and jitter on the calling thread and are capped by a {@link RetryBudget}
+ * shared by all requests of the client.
+ */
+public class RetryingHttpClient extends ForwardingHttpClient {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetryingHttpClient.class);
+
+    private final RetryPolicy defaultPolicy;
+    private final Map<String, RetryPolicy> endpointPolicies = new HashMap<>();
+    private final RetryBudget budget;
+
+    /**
+     * Creates a decorator with a budget of its own.
+     *
+     * @param delegate The client requests are forwarded to
+     * @param retry    The retry properties
+     */
+    public RetryingHttpClient(HttpClient delegate, EKuiperClientProperties.Retry retry) {
+        this(delegate, retry, new RetryBudget(retry.getBudgetRatio(), retry.getBudgetMinRetriesPerSecond()));
+    }
+
+    /**
+     * Creates a decorator drawing from the given budget.
+     *
+     * @param delegate The client requests are forwarded to
+     * @param retry    The retry properties, including the per-endpoint overrides
+     * @param budget   The retry budget, can be shared by several clients
+     */
+    public RetryingHttpClient(HttpClient delegate, EKuiperClientProperties.Retry retry, RetryBudget budget) {
+        super(delegate);
+        this.defaultPolicy = RetryPolicy.from(retry);
+        this.budget = budget;
+
+        Map<StandardEndpoints, EKuiperClientProperties.EndpointRetry> overrides = new EnumMap<>(StandardEndpoints.class);
+        retry.getEndpoints().forEach((name, override) -> {
+            StandardEndpoints standardEndpoint = StandardEndpoints.fromName(name);
+            if (standardEndpoint == null) {
+                LOGGER.warn("Ignoring retry settings of unknown endpoint {}", name);
+            } else {
+                overrides.put(standardEndpoint, override);
+            }
+        });
+        for (StandardEndpoints standardEndpoint : StandardEndpoints.values()) {
+            ApiEndpoint<?, ?> endpoint = standardEndpoint.getEndpoint();
+            EKuiperClientProperties.EndpointRetry override = overrides.get(standardEndpoint);
+            endpointPolicies.putIfAbsent(key(endpoint.getMethod(), endpoint.getEndpoint()),
+                    policy(endpoint.isIdempotent(), override));
+        }
+    }
+
+    /**
+     * Wraps a client so that its idempotent requests are retried.
+     *
+     * @param client The client to wrap
+     * @param retry  The retry properties
+     * @return The retrying client, or the given client if retries are disabled
+     */
+    public static HttpClient wrap(HttpClient client, EKuiperClientProperties.Retry retry) {
+        if (!retry.isEnabled()) {
+            return client;
+        }
+        return new RetryingHttpClient(client, retry);
+    }
+
+    /**
+     * Gets the policy applied to requests of an endpoint.
+     *
+     * @param method The HTTP method
+     * @param path   The API path, with path variable placeholders
+     * @return The retry policy; {@link RetryPolicy#NONE} if the request is not retried
+     */
+    public RetryPolicy policyFor(HttpMethods method, String path) {
+        RetryPolicy policy = endpointPolicies.get(key(method, path));
+        if (policy != null) {
+            return policy;
+        }
+        return method != HttpMethods.POST ? defaultPolicy : RetryPolicy.NONE;
+    }
+
+    @Override
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) throws HttpClientException {
+        RetryPolicy policy = policyFor(method, path);
+        budget.onRequest();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return super.exchange(method, path, requestBody, queryParams, responseType, pathVariables);
+            } catch (HttpClientException e) {
+                if (attempt >= policy.getMaxAttempts() || !RetryPolicy.isRetryable(e)) {
+                    throw e;
+                }
+                if (!budget.tryAcquire()) {
+                    LOGGER.debug("Retry budget exhausted, not retrying {} {}", method, path);
+                    throw e;
+                }
+                long backoffMs = policy.backoffMs(attempt);
+                LOGGER.debug("Attempt {} of {} {} failed ({}), retrying in {} ms",
+                        attempt, method, path, e.getMessage(), backoffMs);
+                sleep(backoffMs, path, e);
+            }
+        }
+    }
+
+    private static void sleep(long backoffMs, String path, HttpClientException failure) {
+        try {
+            Thread.sleep(backoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            HttpClientException interrupted = new HttpClientException("Interrupted while waiting to retry " + path, e, -1);
+            interrupted.addSuppressed(failure);
+            throw interrupted;
+        }
+    }
+
+    private RetryPolicy policy(boolean idempotent, EKuiperClientProperties.EndpointRetry override) {
+        if (defaultPolicy == RetryPolicy.NONE) {
+            // Retries are disabled altogether
+            return RetryPolicy.NONE;
+        }
+        if (override == null) {
+            return idempotent ? defaultPolicy : RetryPolicy.NONE;
+        }
+        boolean enabled = override.getEnabled() != null ? override.getEnabled() : idempotent;
+        if (!enabled) {
+            return RetryPolicy.NONE;
+        }
+        return override.getMaxAttempts() != null ? defaultPolicy.withMaxAttempts(override.getMaxAttempts()) : defaultPolicy;
+    }
+
+    private static String key(HttpMethods method, String path) {
+        return method + " " + path;
+    }
+}
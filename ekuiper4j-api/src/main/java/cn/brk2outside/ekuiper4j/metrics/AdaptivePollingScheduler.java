@@ -0,0 +1,207 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.dto.response.RuleListResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides which rules of one node {@link RuleMetricsCollector} polls, and how, when polling adaptively.
+ * <p>
+ * Every rule has a poll interval of its own between {@code minIntervalMs} and {@code maxIntervalMs}. After each
+ * sample the interval is adapted to what changed since the previous one:
+ * <ul>
+ *     <li>exceptions raised or a buffer length changed: the shortest interval</li>
+ *     <li>records counters moved: half the interval</li>
+ *     <li>nothing changed: twice the interval</li>
+ *     <li>rule not running: the longest interval</li>
+ * </ul>
+ * On every tick the rules that are due are polled with {@code /rules/{id}/status}, most overdue first, unless
+ * so many are due that one {@code /rules/status/all} request is cheaper or the per-node request budget would be
+ * exceeded. The budget is a token bucket refilled at {@code maxRequestsPerSecond}; rules that do not fit stay due
+ * until the next tick. Every {@code intervalMs} the rules are listed, which is cheap and reveals new, deleted,
+ * started and stopped rules; new rules and rules whose state changed are polled on the next tick.
+ */
+class AdaptivePollingScheduler {
+
+    private final NodeHistory node;
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final long initialIntervalMs;
+    private final long listIntervalMs;
+    private final double tokensPerMs;
+    private final double maxTokens;
+    private final Set<String> pending = new HashSet<>();
+    private double tokens;
+    private long lastRefillMs = -1;
+    private long lastListMs = -1;
+    private boolean synced;
+
+    AdaptivePollingScheduler(NodeHistory node, EKuiperClientProperties.Metrics metrics) {
+        this.node = node;
+        this.minIntervalMs = Math.max(metrics.getMinIntervalMs(), 1);
+        this.maxIntervalMs = Math.max(metrics.getMaxIntervalMs(), minIntervalMs);
+        this.initialIntervalMs = clamp(metrics.getIntervalMs());
+        this.listIntervalMs = Math.max(metrics.getIntervalMs(), minIntervalMs);
+        this.tokensPerMs = metrics.getMaxRequestsPerSecond() > 0
+                ? metrics.getMaxRequestsPerSecond() / 1000 : Double.POSITIVE_INFINITY;
+        // One tick's worth of requests, but at least one so that low budgets still get a request through
+        this.maxTokens = Math.max(tokensPerMs * minIntervalMs, 1);
+        this.tokens = maxTokens;
+    }
+
+    /**
+     * Polls whatever is due.
+     *
+     * @param nowMs     The current time
+     * @param nanoClock The clock measuring the duration of polls
+     * @return The number of rules sampled
+     * @throws cn.brk2outside.ekuiper4j.http.HttpClientException if a poll fails; the rules it was meant to sample
+     *                                                           stay due
+     */
+    synchronized int tick(long nowMs, LongSupplier nanoClock) {
+        refill(nowMs);
+        if (tokens < 1) {
+            return 0;
+        }
+        if (!synced) {
+            return scrapeAll(nowMs, nanoClock);
+        }
+
+        // Pending rules first, then the most overdue
+        List<String> due = new ArrayList<>(pending);
+        List<RuleHistory> overdue = new ArrayList<>();
+        for (RuleHistory rule : node.getRules().values()) {
+            if (rule.nextPollMs <= nowMs && !pending.contains(rule.getRule())) {
+                overdue.add(rule);
+            }
+        }
+        overdue.sort(Comparator.comparingLong(rule -> rule.nextPollMs));
+        overdue.forEach(rule -> due.add(rule.getRule()));
+
+        Set<String> rules = new HashSet<>(node.getRules().keySet());
+        rules.addAll(pending);
+        int sampled = 0;
+        if (due.size() > 1 && (due.size() > (int) tokens || due.size() * 2 >= rules.size())) {
+            sampled = scrapeAll(nowMs, nanoClock);
+        } else {
+            for (String rule : due) {
+                tokens--;
+                RuleHistory sample = node.scrapeRule(rule, nowMs, nanoClock);
+                pending.remove(rule);
+                if (sample != null) {
+                    adapt(sample, nowMs);
+                    sampled++;
+                }
+            }
+        }
+
+        if (tokens >= 1 && nowMs - lastListMs >= listIntervalMs) {
+            tokens--;
+            list(nowMs, nanoClock);
+        }
+        return sampled;
+    }
+
+    private int scrapeAll(long nowMs, LongSupplier nanoClock) {
+        tokens--;
+        int count = node.scrape(nowMs, nanoClock);
+        synced = true;
+        pending.clear();
+        // The status of all rules is a listing as well
+        lastListMs = nowMs;
+        for (RuleHistory rule : node.getRules().values()) {
+            adapt(rule, nowMs);
+        }
+        return count;
+    }
+
+    private void list(long nowMs, LongSupplier nanoClock) {
+        lastListMs = nowMs;
+        Set<String> listedRules = new HashSet<>();
+        for (RuleListResponse listed : node.listRules(nowMs, nanoClock)) {
+            listedRules.add(listed.getId());
+            RuleHistory rule = node.getRule(listed.getId());
+            if (rule == null || RuleHistory.isRunning(listed.getStatus()) != rule.isRunning()) {
+                pending.add(listed.getId());
+            }
+        }
+        pending.retainAll(listedRules);
+    }
+
+    /**
+     * Adapts the interval of a rule to its two most recent samples and schedules its next poll.
+     */
+    private void adapt(RuleHistory rule, long nowMs) {
+        long interval = rule.pollIntervalMs > 0 ? rule.pollIntervalMs : initialIntervalMs;
+        if (!rule.isRunning()) {
+            interval = maxIntervalMs;
+        } else {
+            switch (activity(rule)) {
+                case UNSETTLED -> interval = minIntervalMs;
+                case FLOWING -> interval = clamp(interval / 2);
+                case IDLE -> interval = clamp(interval * 2);
+                case UNKNOWN -> interval = clamp(interval);
+            }
+        }
+        rule.pollIntervalMs = interval;
+        rule.nextPollMs = nowMs + interval;
+    }
+
+    private static Activity activity(RuleHistory rule) {
+        Activity activity = Activity.UNKNOWN;
+        for (OperatorHistory operator : rule.getOperators()) {
+            if (operator.size() < 2) {
+                continue;
+            }
+            if (changed(operator, MetricType.EXCEPTIONS_TOTAL) || changed(operator, MetricType.BUFFER_LENGTH)) {
+                return Activity.UNSETTLED;
+            }
+            if (changed(operator, MetricType.RECORDS_IN_TOTAL) || changed(operator, MetricType.RECORDS_OUT_TOTAL)) {
+                activity = Activity.FLOWING;
+            } else if (activity == Activity.UNKNOWN) {
+                activity = Activity.IDLE;
+            }
+        }
+        return activity;
+    }
+
+    private static boolean changed(OperatorHistory operator, MetricType metric) {
+        return operator.getValue(metric, 0) != operator.getValue(metric, 1);
+    }
+
+    private void refill(long nowMs) {
+        if (lastRefillMs >= 0 && nowMs > lastRefillMs) {
+            tokens = Math.min(tokens + (nowMs - lastRefillMs) * tokensPerMs, maxTokens);
+        }
+        lastRefillMs = nowMs;
+    }
+
+    private long clamp(long intervalMs) {
+        return Math.min(Math.max(intervalMs, minIntervalMs), maxIntervalMs);
+    }
+
+    private enum Activity {
+        /**
+         * Fewer than two samples
+         */
+        UNKNOWN,
+        /**
+         * No metric changed
+         */
+        IDLE,
+        /**
+         * Records flowing steadily
+         */
+        FLOWING,
+        /**
+         * Exceptions raised or buffers filling or draining
+         */
+        UNSETTLED
+    }
+}
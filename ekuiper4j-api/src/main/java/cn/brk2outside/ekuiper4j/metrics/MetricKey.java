@@ -0,0 +1,103 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+/**
+ * A flat metric key of a rule status split into its parts, e.g. {@code op_2_project_0_process_latency_us} into
+ * kind {@code op}, operator {@code 2_project}, instance 0 and metric {@code process_latency_us}.
+ * Parsed keys are immutable and cached by {@link RuleMetricsDecoder}.
+ */
+public final class MetricKey {
+
+    private final OperatorKind kind;
+    private final String operator;
+    private final int instance;
+    private final MetricType metric;
+    private final String operatorId;
+
+    private MetricKey(OperatorKind kind, String operator, int instance, MetricType metric, String operatorId) {
+        this.kind = kind;
+        this.operator = operator;
+        this.instance = instance;
+        this.metric = metric;
+        this.operatorId = operatorId;
+    }
+
+    /**
+     * Parses a metric key.
+     *
+     * @param key The flat key
+     * @return The parsed key, or null if the key is not an operator metric (e.g. {@code status})
+     */
+    public static MetricKey parse(String key) {
+        MetricType metric = null;
+        for (MetricType type : MetricType.values()) {
+            String suffix = type.getSuffix();
+            if (key.endsWith(suffix) && key.length() > suffix.length()
+                    && key.charAt(key.length() - suffix.length() - 1) == '_'
+                    && (metric == null || suffix.length() > metric.getSuffix().length())) {
+                metric = type;
+            }
+        }
+        if (metric == null) {
+            return null;
+        }
+
+        // <kind>_<operator>_<instance>
+        String prefix = key.substring(0, key.length() - metric.getSuffix().length() - 1);
+        int kindEnd = prefix.indexOf('_');
+        int instanceStart = prefix.lastIndexOf('_');
+        if (kindEnd < 0 || instanceStart <= kindEnd + 1) {
+            return null;
+        }
+        OperatorKind kind = OperatorKind.fromPrefix(prefix.substring(0, kindEnd));
+        if (kind == null) {
+            return null;
+        }
+        int instance;
+        try {
+            instance = Integer.parseInt(prefix, instanceStart + 1, prefix.length(), 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return new MetricKey(kind, prefix.substring(kindEnd + 1, instanceStart), instance, metric, prefix);
+    }
+
+    public OperatorKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the operator name, which may itself contain underscores.
+     *
+     * @return The operator name
+     */
+    public String getOperator() {
+        return operator;
+    }
+
+    /**
+     * Gets the index of the operator instance.
+     *
+     * @return The instance index
+     */
+    public int getInstance() {
+        return instance;
+    }
+
+    public MetricType getMetric() {
+        return metric;
+    }
+
+    /**
+     * Gets the identifier of the operator instance, e.g. {@code op_2_project_0}.
+     *
+     * @return The operator instance identifier
+     */
+    public String getOperatorId() {
+        return operatorId;
+    }
+
+    @Override
+    public String toString() {
+        return operatorId + "_" + metric.getSuffix();
+    }
+}
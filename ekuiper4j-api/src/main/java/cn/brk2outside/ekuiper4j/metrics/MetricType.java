@@ -0,0 +1,39 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+/**
+ * Metrics eKuiper reports per operator instance, by the suffix of their keys.
+ */
+public enum MetricType {
+    RECORDS_IN_TOTAL("records_in_total"),
+    RECORDS_OUT_TOTAL("records_out_total"),
+    PROCESS_LATENCY_US("process_latency_us"),
+    BUFFER_LENGTH("buffer_length"),
+    EXCEPTIONS_TOTAL("exceptions_total"),
+    LAST_INVOCATION("last_invocation"),
+    LAST_EXCEPTION("last_exception"),
+    LAST_EXCEPTION_TIME("last_exception_time");
+
+    private final String suffix;
+
+    MetricType(String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * Gets the suffix of the metric keys of this type, e.g. {@code records_in_total}.
+     *
+     * @return The key suffix
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Checks whether the metric is a number rather than a text value.
+     *
+     * @return True for counters and gauges
+     */
+    public boolean isNumeric() {
+        return this != LAST_INVOCATION && this != LAST_EXCEPTION && this != LAST_EXCEPTION_TIME;
+    }
+}
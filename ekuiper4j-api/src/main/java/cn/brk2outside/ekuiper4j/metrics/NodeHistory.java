@@ -0,0 +1,194 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+import cn.brk2outside.ekuiper4j.dto.response.RuleListResponse;
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The rule metric histories of one eKuiper node and the outcome of its polls, kept by
+ * {@link RuleMetricsCollector}. Rules no longer reported by the node are dropped.
+ */
+public class NodeHistory {
+
+    private final String name;
+    private final RuleAPI rules;
+    private final int capacity;
+    private final Map<String, RuleHistory> histories = new ConcurrentHashMap<>();
+    private volatile long lastSuccessTimestampMs;
+    private volatile long lastDurationMs;
+    private volatile int consecutiveFailures;
+    private volatile Exception lastError;
+    private volatile long pollCount;
+    ScheduledFuture<?> schedule;
+    AdaptivePollingScheduler scheduler;
+
+    NodeHistory(String name, RuleAPI rules, int capacity) {
+        this.name = name;
+        this.rules = rules;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Polls the node once and records a sample of every rule.
+     * Polls of the same node never overlap.
+     *
+     * @param timestampMs The time the sample is taken
+     * @param nanoClock   The clock measuring the duration of the poll
+     * @return The number of rules sampled
+     */
+    synchronized int scrape(long timestampMs, LongSupplier nanoClock) {
+        return poll(timestampMs, nanoClock, () -> {
+            Set<String> seen = new HashSet<>();
+            int count = rules.forEachRuleMetrics((rule, metrics) -> {
+                seen.add(rule);
+                histories.computeIfAbsent(rule, ruleName -> new RuleHistory(ruleName, capacity)).record(timestampMs, metrics);
+            });
+            histories.keySet().retainAll(seen);
+            return count;
+        });
+    }
+
+    /**
+     * Polls the status of one rule and records a sample of it.
+     *
+     * @param rule        The rule name
+     * @param timestampMs The time the sample is taken
+     * @param nanoClock   The clock measuring the duration of the poll
+     * @return The history of the rule, or null if the node no longer has the rule
+     */
+    synchronized RuleHistory scrapeRule(String rule, long timestampMs, LongSupplier nanoClock) {
+        return poll(timestampMs, nanoClock, () -> {
+            RuleStatusResponse status;
+            try {
+                status = rules.getRuleStatus(rule);
+            } catch (HttpClientException e) {
+                if (e.getStatusCode() == 404) {
+                    histories.remove(rule);
+                    return null;
+                }
+                throw e;
+            }
+            RuleHistory history = histories.computeIfAbsent(rule, ruleName -> new RuleHistory(ruleName, capacity));
+            history.record(timestampMs, RuleMetricsDecoder.shared().decode(status));
+            return history;
+        });
+    }
+
+    /**
+     * Lists the rules of the node, dropping the histories of rules that no longer exist.
+     *
+     * @param timestampMs The time the rules are listed
+     * @param nanoClock   The clock measuring the duration of the poll
+     * @return The rules of the node
+     */
+    synchronized List<RuleListResponse> listRules(long timestampMs, LongSupplier nanoClock) {
+        return poll(timestampMs, nanoClock, () -> {
+            List<RuleListResponse> listed = rules.listRules();
+            Set<String> seen = new HashSet<>();
+            for (RuleListResponse rule : listed) {
+                seen.add(rule.getId());
+            }
+            histories.keySet().retainAll(seen);
+            return listed;
+        });
+    }
+
+    private <T> T poll(long timestampMs, LongSupplier nanoClock, Supplier<T> request) {
+        long start = nanoClock.getAsLong();
+        try {
+            T result = request.get();
+            lastSuccessTimestampMs = timestampMs;
+            consecutiveFailures = 0;
+            lastError = null;
+            return result;
+        } catch (RuntimeException e) {
+            consecutiveFailures++;
+            lastError = e;
+            throw e;
+        } finally {
+            lastDurationMs = (nanoClock.getAsLong() - start) / 1_000_000;
+            pollCount++;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the histories of all rules of the node.
+     *
+     * @return An unmodifiable live view of the histories by rule name
+     */
+    public Map<String, RuleHistory> getRules() {
+        return Collections.unmodifiableMap(histories);
+    }
+
+    /**
+     * Gets the history of one rule.
+     *
+     * @param rule The rule name
+     * @return The history, or null if the rule was not reported by the last poll
+     */
+    public RuleHistory getRule(String rule) {
+        return histories.get(rule);
+    }
+
+    /**
+     * Gets the time of the last successful poll.
+     *
+     * @return The timestamp in milliseconds, or 0 if no poll succeeded yet
+     */
+    public long getLastSuccessTimestampMs() {
+        return lastSuccessTimestampMs;
+    }
+
+    /**
+     * Gets the duration of the last poll, successful or not.
+     *
+     * @return The duration in milliseconds
+     */
+    public long getLastDurationMs() {
+        return lastDurationMs;
+    }
+
+    /**
+     * Gets the number of polls that failed since the last successful one.
+     *
+     * @return The number of consecutive failures
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Gets the number of polls completed, successful or not, i.e. the number of requests sent to the node.
+     * The histories only change when it does, so it can be used to tell whether output derived from them is
+     * still current.
+     *
+     * @return The number of polls
+     */
+    public long getPollCount() {
+        return pollCount;
+    }
+
+    /**
+     * Gets the error of the last poll.
+     *
+     * @return The error, or null if the last poll succeeded
+     */
+    public Exception getLastError() {
+        return lastError;
+    }
+}
@@ -0,0 +1,204 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+/**
+ * The most recent samples of the numeric metrics of one operator instance, with rates derived from them.
+ * <p>
+ * Samples are kept in ring buffers of primitive longs allocated once, so recording a sample allocates nothing.
+ * Samples are addressed by age: 0 is the most recent one. Rates handle counter resets the way Prometheus does:
+ * a counter lower than in the previous sample is taken to have restarted from 0, e.g. after the rule was
+ * restarted.
+ */
+public class OperatorHistory {
+
+    private static final MetricType[] NUMERIC = {
+            MetricType.RECORDS_IN_TOTAL, MetricType.RECORDS_OUT_TOTAL, MetricType.PROCESS_LATENCY_US,
+            MetricType.BUFFER_LENGTH, MetricType.EXCEPTIONS_TOTAL
+    };
+
+    private final OperatorKind kind;
+    private final String name;
+    private final int instance;
+    private final int capacity;
+    private final long[] timestampsMs;
+    private final long[][] values = new long[MetricType.values().length][];
+    private int next;
+    private int size;
+
+    OperatorHistory(OperatorKind kind, String name, int instance, int capacity) {
+        this.kind = kind;
+        this.name = name;
+        this.instance = instance;
+        this.capacity = Math.max(capacity, 2);
+        this.timestampsMs = new long[this.capacity];
+        for (MetricType metric : NUMERIC) {
+            values[metric.ordinal()] = new long[this.capacity];
+        }
+    }
+
+    synchronized void record(long timestampMs, OperatorMetrics metrics) {
+        timestampsMs[next] = timestampMs;
+        for (MetricType metric : NUMERIC) {
+            values[metric.ordinal()][next] = metrics.get(metric);
+        }
+        next = (next + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    public OperatorKind getKind() {
+        return kind;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the maximum number of samples kept.
+     *
+     * @return The capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of samples recorded, up to the capacity.
+     *
+     * @return The sample count
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the time a sample was taken.
+     *
+     * @param age The age of the sample, 0 for the most recent one
+     * @return The timestamp in milliseconds
+     * @throws IndexOutOfBoundsException if there is no sample of that age
+     */
+    public synchronized long getTimestampMs(int age) {
+        return timestampsMs[index(age)];
+    }
+
+    /**
+     * Gets a sampled metric value.
+     *
+     * @param metric The numeric metric
+     * @param age    The age of the sample, 0 for the most recent one
+     * @return The value
+     * @throws IndexOutOfBoundsException if there is no sample of that age
+     * @throws IllegalArgumentException  if the metric is not numeric
+     */
+    public synchronized long getValue(MetricType metric, int age) {
+        return series(metric)[index(age)];
+    }
+
+    /**
+     * Gets the per-second rate of a counter over the most recent samples.
+     *
+     * @param counter   The counter, e.g. {@link MetricType#RECORDS_IN_TOTAL}
+     * @param intervals The number of sampling intervals to average over; capped at the samples available
+     * @return The rate per second, or NaN if fewer than two samples were recorded
+     * @throws IllegalArgumentException if the metric is not numeric
+     */
+    public synchronized double getRate(MetricType counter, int intervals) {
+        long[] series = series(counter);
+        int n = Math.min(intervals, size - 1);
+        if (n < 1) {
+            return Double.NaN;
+        }
+        long increase = 0;
+        for (int age = 0; age < n; age++) {
+            long current = series[index(age)];
+            long previous = series[index(age + 1)];
+            increase += current >= previous ? current - previous : current;
+        }
+        long elapsedMs = timestampsMs[index(0)] - timestampsMs[index(n)];
+        return elapsedMs > 0 ? increase * 1000.0 / elapsedMs : Double.NaN;
+    }
+
+    /**
+     * Gets the records read per second since the previous sample.
+     *
+     * @return The rate, or NaN if fewer than two samples were recorded
+     */
+    public double getRecordsInRate() {
+        return getRate(MetricType.RECORDS_IN_TOTAL, 1);
+    }
+
+    /**
+     * Gets the records written per second since the previous sample.
+     *
+     * @return The rate, or NaN if fewer than two samples were recorded
+     */
+    public double getRecordsOutRate() {
+        return getRate(MetricType.RECORDS_OUT_TOTAL, 1);
+    }
+
+    /**
+     * Gets the exceptions per second since the previous sample.
+     *
+     * @return The rate, or NaN if fewer than two samples were recorded
+     */
+    public double getExceptionsRate() {
+        return getRate(MetricType.EXCEPTIONS_TOTAL, 1);
+    }
+
+    /**
+     * Gets the trend of the processing latency over all samples kept: the slope of a least-squares line
+     * through them. Positive values mean the operator is getting slower.
+     *
+     * @return The change in microseconds of latency per second, or NaN if fewer than two samples were recorded
+     */
+    public synchronized double getLatencyTrend() {
+        if (size < 2) {
+            return Double.NaN;
+        }
+        long[] latencies = values[MetricType.PROCESS_LATENCY_US.ordinal()];
+        // Relative to the oldest sample, so that epoch milliseconds do not cost precision
+        long origin = timestampsMs[index(size - 1)];
+        double sumT = 0;
+        double sumL = 0;
+        for (int age = 0; age < size; age++) {
+            sumT += (timestampsMs[index(age)] - origin) / 1000.0;
+            sumL += latencies[index(age)];
+        }
+        double meanT = sumT / size;
+        double meanL = sumL / size;
+        double covariance = 0;
+        double variance = 0;
+        for (int age = 0; age < size; age++) {
+            double t = (timestampsMs[index(age)] - origin) / 1000.0 - meanT;
+            covariance += t * (latencies[index(age)] - meanL);
+            variance += t * t;
+        }
+        return variance > 0 ? covariance / variance : Double.NaN;
+    }
+
+    private long[] series(MetricType metric) {
+        long[] series = values[metric.ordinal()];
+        if (series == null) {
+            throw new IllegalArgumentException(metric + " is not numeric");
+        }
+        return series;
+    }
+
+    private int index(int age) {
+        if (age < 0 || age >= size) {
+            throw new IndexOutOfBoundsException("No sample of age " + age + ", " + size + " recorded");
+        }
+        return (next - 1 - age + capacity) % capacity;
+    }
+
+    @Override
+    public String toString() {
+        return kind.getPrefix() + "_" + name + "_" + instance;
+    }
+}
@@ -0,0 +1,34 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+/**
+ * Kinds of operators reporting metrics in a rule status, by the prefix of their metric keys.
+ */
+public enum OperatorKind {
+    SOURCE("source"),
+    OP("op"),
+    SINK("sink");
+
+    private final String prefix;
+
+    OperatorKind(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Gets the prefix of the metric keys of this kind, e.g. {@code source} in {@code source_demo_0_records_in_total}.
+     *
+     * @return The key prefix
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    static OperatorKind fromPrefix(String prefix) {
+        for (OperatorKind kind : values()) {
+            if (kind.prefix.equals(prefix)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,134 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+/**
+ * Metrics of one operator instance of a rule, as primitive values.
+ * Counters not reported by eKuiper are 0, text values null.
+ */
+public class OperatorMetrics {
+
+    private final OperatorKind kind;
+    private final String name;
+    private final int instance;
+    private final String id;
+    private long recordsIn;
+    private long recordsOut;
+    private long exceptions;
+    private long processLatencyUs;
+    private long bufferLength;
+    private String lastInvocation;
+    private String lastException;
+    private String lastExceptionTime;
+
+    OperatorMetrics(OperatorKind kind, String name, int instance, String id) {
+        this.kind = kind;
+        this.name = name;
+        this.instance = instance;
+        this.id = id;
+    }
+
+    void set(MetricType metric, long value) {
+        switch (metric) {
+            case RECORDS_IN_TOTAL -> recordsIn = value;
+            case RECORDS_OUT_TOTAL -> recordsOut = value;
+            case EXCEPTIONS_TOTAL -> exceptions = value;
+            case PROCESS_LATENCY_US -> processLatencyUs = value;
+            case BUFFER_LENGTH -> bufferLength = value;
+            default -> set(metric, Long.toString(value));
+        }
+    }
+
+    void set(MetricType metric, String value) {
+        switch (metric) {
+            case LAST_INVOCATION -> lastInvocation = value;
+            case LAST_EXCEPTION -> lastException = value;
+            case LAST_EXCEPTION_TIME -> lastExceptionTime = value;
+            default -> set(metric, parseLong(value));
+        }
+    }
+
+    /**
+     * The operator instance as it appears in the metric keys, e.g. {@code source_demo_0}.
+     */
+    String getId() {
+        return id;
+    }
+
+    long get(MetricType metric) {
+        return switch (metric) {
+            case RECORDS_IN_TOTAL -> recordsIn;
+            case RECORDS_OUT_TOTAL -> recordsOut;
+            case EXCEPTIONS_TOTAL -> exceptions;
+            case PROCESS_LATENCY_US -> processLatencyUs;
+            case BUFFER_LENGTH -> bufferLength;
+            default -> throw new IllegalArgumentException(metric + " is not numeric");
+        };
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return value == null || value.isEmpty() ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public OperatorKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the operator name, e.g. {@code demo} for a source or {@code 2_project} for an op.
+     *
+     * @return The operator name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the index of the operator instance; operators with a concurrency above 1 report one set per instance.
+     *
+     * @return The instance index
+     */
+    public int getInstance() {
+        return instance;
+    }
+
+    public long getRecordsIn() {
+        return recordsIn;
+    }
+
+    public long getRecordsOut() {
+        return recordsOut;
+    }
+
+    public long getExceptions() {
+        return exceptions;
+    }
+
+    public long getProcessLatencyUs() {
+        return processLatencyUs;
+    }
+
+    public long getBufferLength() {
+        return bufferLength;
+    }
+
+    public String getLastInvocation() {
+        return lastInvocation;
+    }
+
+    public String getLastException() {
+        return lastException;
+    }
+
+    public String getLastExceptionTime() {
+        return lastExceptionTime;
+    }
+
+    @Override
+    public String toString() {
+        return kind.getPrefix() + "_" + name + "_" + instance + "{in=" + recordsIn + ", out=" + recordsOut
+                + ", exceptions=" + exceptions + ", latencyUs=" + processLatencyUs + ", buffer=" + bufferLength + "}";
+    }
+}
@@ -0,0 +1,153 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The metric history of one rule on one node, kept by {@link RuleMetricsCollector}.
+ * Operators that disappear from the rule's status, e.g. after the rule was updated, are dropped.
+ */
+public class RuleHistory {
+
+    private final String rule;
+    private final int capacity;
+    private final Map<String, OperatorHistory> operators = new LinkedHashMap<>();
+    private volatile String status;
+    private volatile long lastTimestampMs;
+    volatile long pollIntervalMs;
+    long nextPollMs;
+
+    RuleHistory(String rule, int capacity) {
+        this.rule = rule;
+        this.capacity = capacity;
+    }
+
+    synchronized void record(long timestampMs, RuleMetrics metrics) {
+        Set<String> seen = new HashSet<>();
+        for (OperatorMetrics operator : metrics.getOperators()) {
+            seen.add(operator.getId());
+            operators.computeIfAbsent(operator.getId(),
+                    ignored -> new OperatorHistory(operator.getKind(), operator.getName(), operator.getInstance(), capacity))
+                    .record(timestampMs, operator);
+        }
+        operators.keySet().retainAll(seen);
+        status = metrics.getStatus();
+        lastTimestampMs = timestampMs;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    /**
+     * Gets the status reported by the most recent sample, e.g. {@code running}.
+     *
+     * @return The status, or null if not reported
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks whether the most recent sample reported the rule as running.
+     *
+     * @return True if the status is running, see {@link #isRunning(String)}
+     */
+    public boolean isRunning() {
+        return isRunning(status);
+    }
+
+    /**
+     * Checks whether a rule status reported by eKuiper means the rule is running. eKuiper reports
+     * {@code running} or {@code Running}, so the status is matched ignoring case, and only by its prefix.
+     *
+     * @param status The status, e.g. {@code running} or {@code stopped: canceled manually.}
+     * @return True if the status is running
+     */
+    public static boolean isRunning(String status) {
+        return status != null && status.regionMatches(true, 0, "running", 0, 7);
+    }
+
+    /**
+     * Gets the time the most recent sample was taken.
+     *
+     * @return The timestamp in milliseconds
+     */
+    public long getLastTimestampMs() {
+        return lastTimestampMs;
+    }
+
+    /**
+     * Gets the interval at which the rule is currently polled by the {@link AdaptivePollingScheduler}.
+     *
+     * @return The interval in milliseconds, or 0 if the rule is polled together with all rules of its node
+     */
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    /**
+     * Gets the history of every operator instance of the rule.
+     *
+     * @return A snapshot of the operator histories, in the order eKuiper reports them
+     */
+    public synchronized List<OperatorHistory> getOperators() {
+        return new ArrayList<>(operators.values());
+    }
+
+    /**
+     * Gets the history of one operator instance.
+     *
+     * @param kind     The operator kind
+     * @param name     The operator name
+     * @param instance The instance index
+     * @return The history, or null if the rule has no such operator instance
+     */
+    public synchronized OperatorHistory getOperator(OperatorKind kind, String name, int instance) {
+        return operators.get(kind.getPrefix() + "_" + name + "_" + instance);
+    }
+
+    /**
+     * Gets the records read per second by all sources of the rule since the previous sample.
+     *
+     * @return The rate, or NaN if fewer than two samples were recorded
+     */
+    public double getRecordsInRate() {
+        return sumOfRates(OperatorKind.SOURCE, MetricType.RECORDS_IN_TOTAL);
+    }
+
+    /**
+     * Gets the records written per second by all sinks of the rule since the previous sample.
+     *
+     * @return The rate, or NaN if fewer than two samples were recorded
+     */
+    public double getRecordsOutRate() {
+        return sumOfRates(OperatorKind.SINK, MetricType.RECORDS_OUT_TOTAL);
+    }
+
+    /**
+     * Gets the exceptions per second of all operators of the rule since the previous sample.
+     *
+     * @return The rate, or NaN if fewer than two samples were recorded
+     */
+    public double getExceptionsRate() {
+        return sumOfRates(null, MetricType.EXCEPTIONS_TOTAL);
+    }
+
+    private synchronized double sumOfRates(OperatorKind kind, MetricType counter) {
+        double sum = Double.NaN;
+        for (OperatorHistory operator : operators.values()) {
+            if (kind == null || operator.getKind() == kind) {
+                double rate = operator.getRate(counter, 1);
+                if (!Double.isNaN(rate)) {
+                    sum = Double.isNaN(sum) ? rate : sum + rate;
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,124 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Status and per-operator metrics of one rule, decoded by {@link RuleMetricsDecoder}.
+ * Timestamps not reported by eKuiper are 0.
+ */
+public class RuleMetrics {
+
+    private String status;
+    private String message;
+    private long lastStartTimestamp;
+    private long lastStopTimestamp;
+    private long nextStartTimestamp;
+    private final Map<String, OperatorMetrics> operators = new LinkedHashMap<>();
+
+    OperatorMetrics operator(MetricKey key) {
+        OperatorMetrics operator = operators.get(key.getOperatorId());
+        if (operator == null) {
+            operator = new OperatorMetrics(key.getKind(), key.getOperator(), key.getInstance(), key.getOperatorId());
+            operators.put(key.getOperatorId(), operator);
+        }
+        return operator;
+    }
+
+    void setStatus(String status) {
+        this.status = status;
+    }
+
+    void setMessage(String message) {
+        this.message = message;
+    }
+
+    void setLastStartTimestamp(long lastStartTimestamp) {
+        this.lastStartTimestamp = lastStartTimestamp;
+    }
+
+    void setLastStopTimestamp(long lastStopTimestamp) {
+        this.lastStopTimestamp = lastStopTimestamp;
+    }
+
+    void setNextStartTimestamp(long nextStartTimestamp) {
+        this.nextStartTimestamp = nextStartTimestamp;
+    }
+
+    /**
+     * Gets the rule status, e.g. {@code running} or {@code stopped: canceled manually.}.
+     *
+     * @return The status, or null if not reported
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getLastStartTimestamp() {
+        return lastStartTimestamp;
+    }
+
+    public long getLastStopTimestamp() {
+        return lastStopTimestamp;
+    }
+
+    public long getNextStartTimestamp() {
+        return nextStartTimestamp;
+    }
+
+    /**
+     * Gets the metrics of every operator instance, in the order they were reported.
+     *
+     * @return The operator metrics
+     */
+    public Collection<OperatorMetrics> getOperators() {
+        return Collections.unmodifiableCollection(operators.values());
+    }
+
+    /**
+     * Gets the metrics of one operator instance.
+     *
+     * @param kind     The operator kind
+     * @param name     The operator name
+     * @param instance The instance index
+     * @return The metrics, or null if the operator instance reported none
+     */
+    public OperatorMetrics getOperator(OperatorKind kind, String name, int instance) {
+        return operators.get(kind.getPrefix() + "_" + name + "_" + instance);
+    }
+
+    public List<OperatorMetrics> getSources() {
+        return ofKind(OperatorKind.SOURCE);
+    }
+
+    public List<OperatorMetrics> getOps() {
+        return ofKind(OperatorKind.OP);
+    }
+
+    public List<OperatorMetrics> getSinks() {
+        return ofKind(OperatorKind.SINK);
+    }
+
+    private List<OperatorMetrics> ofKind(OperatorKind kind) {
+        List<OperatorMetrics> result = new ArrayList<>();
+        for (OperatorMetrics operator : operators.values()) {
+            if (operator.getKind() == kind) {
+                result.add(operator);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleMetrics{status=" + status + ", operators=" + operators.values() + "}";
+    }
+}
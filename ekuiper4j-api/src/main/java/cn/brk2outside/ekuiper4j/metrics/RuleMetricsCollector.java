@@ -0,0 +1,196 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Polls the metrics of all rules of a set of eKuiper nodes in the background and keeps their recent history.
+ * <p>
+ * Every node is polled with one {@code /rules/status/all} request per interval, parsed incrementally by
+ * {@link RuleAPI#forEachRuleMetrics}, instead of one status request per rule. Each operator instance keeps the
+ * last {@code historySize} samples in preallocated ring buffers ({@link OperatorHistory}), from which rates and
+ * latency trends are computed on demand. Consumers read {@link #getNode(String)} instead of running polling loops
+ * of their own.
+ * <p>
+ * With {@code ekuiper.client.metrics.adaptive} enabled, every rule is polled at an interval of its own instead,
+ * chosen by an {@link AdaptivePollingScheduler} per node from how fast its metrics change and bounded by a
+ * per-node request budget.
+ * <p>
+ * The first poll of each node is delayed by a random fraction of the interval, so that many nodes added at once
+ * are not all polled at the same moment.
+ */
+public class RuleMetricsCollector implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RuleMetricsCollector.class);
+
+    private final Map<String, NodeHistory> nodes = new ConcurrentHashMap<>();
+    private final EKuiperClientProperties.Metrics metrics;
+    private final long intervalMs;
+    private final int historySize;
+    private final int threads;
+    private final LongSupplier clock;
+    private final LongSupplier nanoClock;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a collector; polling starts with {@link #start()}.
+     *
+     * @param metrics The metrics properties
+     */
+    public RuleMetricsCollector(EKuiperClientProperties.Metrics metrics) {
+        this(metrics, System::currentTimeMillis, System::nanoTime);
+    }
+
+    RuleMetricsCollector(EKuiperClientProperties.Metrics metrics, LongSupplier clock, LongSupplier nanoClock) {
+        this.metrics = metrics;
+        this.intervalMs = metrics.isAdaptive() ? metrics.getMinIntervalMs() : metrics.getIntervalMs();
+        this.historySize = Math.max(metrics.getHistorySize(), 2);
+        this.threads = Math.max(metrics.getThreads(), 1);
+        this.clock = clock;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Adds a node to poll, replacing any node added under the same name.
+     * If the collector is running, the node is polled from now on.
+     *
+     * @param name  The node name
+     * @param rules The rule API of the node
+     * @return The history of the node
+     */
+    public synchronized NodeHistory addNode(String name, RuleAPI rules) {
+        removeNode(name);
+        NodeHistory node = new NodeHistory(name, rules, historySize);
+        if (metrics.isAdaptive()) {
+            node.scheduler = new AdaptivePollingScheduler(node, metrics);
+        }
+        nodes.put(name, node);
+        if (scheduler != null) {
+            schedule(node);
+        }
+        return node;
+    }
+
+    /**
+     * Stops polling a node and drops its history.
+     *
+     * @param name The node name
+     * @return True if the node was added
+     */
+    public synchronized boolean removeNode(String name) {
+        NodeHistory node = nodes.remove(name);
+        if (node == null) {
+            return false;
+        }
+        if (node.schedule != null) {
+            node.schedule.cancel(false);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the history of a node.
+     *
+     * @param name The node name
+     * @return The history, or null if no node was added under the name
+     */
+    public NodeHistory getNode(String name) {
+        return nodes.get(name);
+    }
+
+    /**
+     * Gets the names of all nodes.
+     *
+     * @return The node names, sorted
+     */
+    public List<String> getNodeNames() {
+        return nodes.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Starts polling every node on daemon threads.
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalMs <= 0) {
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ekuiper4j-metrics-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newScheduledThreadPool(threads, threadFactory);
+        nodes.values().forEach(this::schedule);
+    }
+
+    private void schedule(NodeHistory node) {
+        long initialDelayMs = ThreadLocalRandom.current().nextLong(intervalMs);
+        node.schedule = scheduler.scheduleWithFixedDelay(() -> poll(node), initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Polls a node once, outside of the schedule.
+     *
+     * @param name The node name
+     * @return The number of rules sampled
+     * @throws IllegalArgumentException if no node was added under the name
+     * @throws cn.brk2outside.ekuiper4j.http.HttpClientException if the poll fails
+     */
+    public int scrape(String name) {
+        NodeHistory node = nodes.get(name);
+        if (node == null) {
+            throw new IllegalArgumentException("Unknown eKuiper node: " + name);
+        }
+        return node.scrape(clock.getAsLong(), nanoClock);
+    }
+
+    /**
+     * Runs one round of adaptive polling of a node, outside of the schedule.
+     *
+     * @param name The node name
+     * @return The number of rules sampled
+     */
+    int tick(String name) {
+        return nodes.get(name).scheduler.tick(clock.getAsLong(), nanoClock);
+    }
+
+    private void poll(NodeHistory node) {
+        try {
+            int failures = node.getConsecutiveFailures();
+            int count = node.scheduler != null
+                    ? node.scheduler.tick(clock.getAsLong(), nanoClock)
+                    : node.scrape(clock.getAsLong(), nanoClock);
+            if (failures > 0) {
+                LOGGER.info("Polling rule metrics of eKuiper node {} recovered after {} failures", node.getName(), failures);
+            }
+            LOGGER.debug("Polled metrics of {} rules of eKuiper node {} in {} ms", count, node.getName(), node.getLastDurationMs());
+        } catch (RuntimeException e) {
+            // Log the first failure of a streak only, a node that is down would otherwise flood the log
+            if (node.getConsecutiveFailures() == 1) {
+                LOGGER.warn("Polling rule metrics of eKuiper node {} failed: {}", node.getName(), e.getMessage());
+            } else {
+                LOGGER.debug("Polling rule metrics of eKuiper node {} failed: {}", node.getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops polling.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        nodes.values().forEach(node -> node.schedule = null);
+    }
+}
@@ -0,0 +1,286 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Decodes rule status payloads into {@link RuleMetrics} with primitive counters.
+ * <p>
+ * eKuiper reports operator metrics as flat keys such as {@code source_demo_0_records_in_total}. Each distinct
+ * key is split once and the result cached, so polling the same rules again only costs a map lookup per key.
+ * Payloads can be decoded from JSON directly, reading numbers without boxing, or from an already bound
+ * {@link RuleStatusResponse} or map. Instances are thread-safe.
+ */
+public class RuleMetricsDecoder {
+
+    /**
+     * Upper bound of cached keys, so that rules created and deleted over time cannot grow the cache forever.
+     */
+    private static final int MAX_CACHED_KEYS = 65536;
+    private static final Object NOT_A_METRIC = new Object();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final RuleMetricsDecoder SHARED = new RuleMetricsDecoder();
+
+    private final Map<String, Object> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the decoder shared by the SDK.
+     *
+     * @return The shared decoder
+     */
+    public static RuleMetricsDecoder shared() {
+        return SHARED;
+    }
+
+    /**
+     * Parses a flat metric key, using the cache.
+     *
+     * @param key The flat key
+     * @return The parsed key, or null if the key is not an operator metric
+     */
+    public MetricKey parseKey(String key) {
+        Object parsed = keys.get(key);
+        if (parsed == null) {
+            MetricKey metricKey = MetricKey.parse(key);
+            parsed = metricKey == null ? NOT_A_METRIC : metricKey;
+            if (keys.size() < MAX_CACHED_KEYS) {
+                keys.put(key, parsed);
+            }
+        }
+        return parsed == NOT_A_METRIC ? null : (MetricKey) parsed;
+    }
+
+    /**
+     * Decodes a bound status response.
+     *
+     * @param status The status response
+     * @return The decoded metrics
+     */
+    public RuleMetrics decode(RuleStatusResponse status) {
+        RuleMetrics metrics = new RuleMetrics();
+        metrics.setStatus(status.getStatus());
+        metrics.setMessage(status.getMessage());
+        metrics.setLastStartTimestamp(orZero(status.getLastStartTimestamp()));
+        metrics.setLastStopTimestamp(orZero(status.getLastStopTimestamp()));
+        metrics.setNextStartTimestamp(orZero(status.getNextStartTimestamp()));
+        if (status.getMetrics() != null) {
+            status.getMetrics().forEach((key, value) -> put(metrics, key, value));
+        }
+        return metrics;
+    }
+
+    /**
+     * Decodes a status payload bound to a map, e.g. the response of {@code /rules/{id}/status} read as a map.
+     *
+     * @param payload The status payload
+     * @return The decoded metrics
+     */
+    public RuleMetrics decode(Map<String, ?> payload) {
+        RuleMetrics metrics = new RuleMetrics();
+        payload.forEach((key, value) -> {
+            switch (key) {
+                case "status" -> metrics.setStatus(value == null ? null : value.toString());
+                case "message" -> metrics.setMessage(value == null ? null : value.toString());
+                case "lastStartTimestamp" -> metrics.setLastStartTimestamp(toLong(value));
+                case "lastStopTimestamp" -> metrics.setLastStopTimestamp(toLong(value));
+                case "nextStartTimestamp" -> metrics.setNextStartTimestamp(toLong(value));
+                default -> put(metrics, key, value);
+            }
+        });
+        return metrics;
+    }
+
+    /**
+     * Decodes the JSON status payload of one rule.
+     *
+     * @param json The payload of {@code /rules/{id}/status}
+     * @return The decoded metrics
+     * @throws IOException if the payload is not valid JSON
+     */
+    public RuleMetrics decode(byte[] json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return decode(parser);
+        }
+    }
+
+    /**
+     * Decodes the JSON status payload of one rule.
+     *
+     * @param json The payload of {@code /rules/{id}/status}; not closed
+     * @return The decoded metrics
+     * @throws IOException if the payload cannot be read or is not valid JSON
+     */
+    public RuleMetrics decode(InputStream json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return decode(parser);
+        }
+    }
+
+    /**
+     * Decodes the JSON status payload of all rules.
+     *
+     * @param json The payload of {@code /rules/status/all}
+     * @return The decoded metrics by rule name
+     * @throws IOException if the payload is not valid JSON
+     */
+    public Map<String, RuleMetrics> decodeAll(byte[] json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return decodeAll(parser);
+        }
+    }
+
+    /**
+     * Decodes the JSON status payload of all rules from a parser.
+     *
+     * @param parser The parser, positioned before or at the start of the payload object
+     * @return The decoded metrics by rule name
+     * @throws IOException if the payload is not valid JSON
+     */
+    public Map<String, RuleMetrics> decodeAll(JsonParser parser) throws IOException {
+        Map<String, RuleMetrics> rules = new LinkedHashMap<>();
+        decodeAll(parser, rules::put);
+        return rules;
+    }
+
+    /**
+     * Decodes the JSON status payload of all rules incrementally, handing each rule to the consumer as soon as
+     * it has been read. Only one rule is held in memory at a time.
+     *
+     * @param json     The payload of {@code /rules/status/all}; not closed
+     * @param consumer Receives the rule name and its metrics
+     * @return The number of rules decoded
+     * @throws IOException if the payload cannot be read or is not valid JSON
+     */
+    public int decodeAll(InputStream json, BiConsumer<String, RuleMetrics> consumer) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() == null) {
+                return 0;
+            }
+            return decodeAll(parser, consumer);
+        }
+    }
+
+    /**
+     * Decodes the JSON status payload of all rules from a parser incrementally.
+     *
+     * @param parser   The parser, positioned before or at the start of the payload object
+     * @param consumer Receives the rule name and its metrics
+     * @return The number of rules decoded
+     * @throws IOException if the payload is not valid JSON
+     */
+    public int decodeAll(JsonParser parser, BiConsumer<String, RuleMetrics> consumer) throws IOException {
+        expectObject(parser);
+        int count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String rule = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                consumer.accept(rule, decode(parser));
+                count++;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decodes the JSON status payload of one rule from a parser.
+     *
+     * @param parser The parser, positioned before or at the start of the payload object
+     * @return The decoded metrics
+     * @throws IOException if the payload is not valid JSON
+     */
+    public RuleMetrics decode(JsonParser parser) throws IOException {
+        expectObject(parser);
+        RuleMetrics metrics = new RuleMetrics();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (key) {
+                case "status" -> metrics.setStatus(text(parser, token));
+                case "message" -> metrics.setMessage(text(parser, token));
+                case "lastStartTimestamp" -> metrics.setLastStartTimestamp(number(parser, token));
+                case "lastStopTimestamp" -> metrics.setLastStopTimestamp(number(parser, token));
+                case "nextStartTimestamp" -> metrics.setNextStartTimestamp(number(parser, token));
+                default -> {
+                    MetricKey metricKey = parseKey(key);
+                    if (metricKey == null || token.isStructStart()) {
+                        parser.skipChildren();
+                    } else if (token.isNumeric()) {
+                        metrics.operator(metricKey).set(metricKey.getMetric(), parser.getValueAsLong());
+                    } else {
+                        metrics.operator(metricKey).set(metricKey.getMetric(), text(parser, token));
+                    }
+                }
+            }
+        }
+        return metrics;
+    }
+
+    private void put(RuleMetrics metrics, String key, Object value) {
+        MetricKey metricKey = parseKey(key);
+        if (metricKey == null || value == null) {
+            return;
+        }
+        if (value instanceof Number number) {
+            metrics.operator(metricKey).set(metricKey.getMetric(), number.longValue());
+        } else if (!(value instanceof Map) && !(value instanceof Iterable)) {
+            metrics.operator(metricKey).set(metricKey.getMetric(), value.toString());
+        }
+    }
+
+    private static void expectObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken() == null ? parser.nextToken() : parser.currentToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object for rule status, got " + token);
+        }
+    }
+
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static long number(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return 0;
+        }
+        return parser.getValueAsLong();
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+}
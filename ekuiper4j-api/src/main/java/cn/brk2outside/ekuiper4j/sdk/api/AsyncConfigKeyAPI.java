@@ -0,0 +1,54 @@
+package cn.brk2outside.ekuiper4j.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.request.MqttSourceConfigRequest;
+import cn.brk2outside.ekuiper4j.dto.response.MqttSourceConfigResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.AsyncApiRequestExecutor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous API for managing eKuiper configuration keys, see {@link ConfigKeyAPI}
+ */
+@RequiredArgsConstructor
+public class AsyncConfigKeyAPI {
+
+    private final HttpClient client;
+    private final Executor executor;
+
+    /**
+     * List all MQTT sources/brokers
+     *
+     * @return future of the map of MQTT brokers
+     */
+    public CompletableFuture<Map<String, MqttSourceConfigResponse>> listMqttBrokers() {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.CONF_LIST_MQTT_SOURCES.getEndpoint());
+    }
+
+    /**
+     * Delete an MQTT broker configuration
+     *
+     * @param brokerName the name of the broker to delete
+     * @return future completed when the broker is deleted
+     */
+    public CompletableFuture<Void> deleteMqttBroker(String brokerName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.CONF_DELETE_MQTT_BROKER.getEndpoint(), brokerName)
+                .thenApply(ignored -> null);
+    }
+
+    /**
+     * Create or update an MQTT broker configuration
+     *
+     * @param brokerName the name of the broker
+     * @param request the MQTT broker configuration
+     * @return future completed when the broker is created or updated
+     */
+    public CompletableFuture<Void> createOrUpdateMqttBroker(String brokerName, MqttSourceConfigRequest request) {
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.CONF_CREATE_MQTT_BROKER.getEndpoint(), request, brokerName)
+                .thenApply(ignored -> null);
+    }
+}
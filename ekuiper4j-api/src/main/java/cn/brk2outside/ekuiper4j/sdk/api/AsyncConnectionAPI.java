@@ -0,0 +1,109 @@
+package cn.brk2outside.ekuiper4j.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.request.CreateConnectionRequest;
+import cn.brk2outside.ekuiper4j.dto.request.MqttSourceConfigRequest;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.AsyncApiRequestExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.Assert;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous API for managing eKuiper connections, see {@link ConnectionAPI}
+ */
+@RequiredArgsConstructor
+public class AsyncConnectionAPI {
+
+    private final HttpClient client;
+    private final Executor executor;
+
+    /**
+     * Create a new connection
+     *
+     * @param request the connection creation request
+     * @return future of the success message
+     */
+    public CompletableFuture<String> createConnection(CreateConnectionRequest request) {
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.CREATE_CONNECTION.getEndpoint(), request);
+    }
+
+    /**
+     * Update an existing connection
+     *
+     * @param connectionName the name of the connection to update
+     * @param request the update request
+     * @return future of the success message
+     */
+    public CompletableFuture<String> updateConnection(String connectionName, CreateConnectionRequest<?> request) {
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.UPDATE_CONNECTION.getEndpoint(), request, connectionName);
+    }
+
+    /**
+     * List all connections
+     *
+     * @return future of the list of connections
+     */
+    public CompletableFuture<List<Map<String, Object>>> listConnections() {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.LIST_CONNECTIONS.getEndpoint());
+    }
+
+    /**
+     * Get details of a specific connection
+     *
+     * @param connectionName the name of the connection
+     * @return future of the connection details
+     */
+    public CompletableFuture<Map<String, Object>> getConnectionInfo(String connectionName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.GET_CONNECTION_INFO.getEndpoint(), connectionName);
+    }
+
+    /**
+     * Delete a connection
+     *
+     * @param connectionName the name of the connection to delete
+     * @return future of the success message
+     */
+    public CompletableFuture<String> deleteConnection(String connectionName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.DELETE_CONNECTION.getEndpoint(), connectionName);
+    }
+
+    /**
+     * Check sink connection
+     *
+     * @param config the sink connection configuration
+     * @return future of the check result
+     */
+    public CompletableFuture<String> checkSinkConnection(Map<String, Object> config) {
+        Object type = config.get("type");
+        Assert.notNull(type, "[checkSinkConnection] config.type is required");
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.SINK_CONNECTION_CHECK.getEndpoint(), config, type);
+    }
+
+    /**
+     * Check source connection
+     *
+     * @param config the source connection configuration
+     * @return future of the check result
+     */
+    public CompletableFuture<String> checkSourceConnection(Map<String, Object> config) {
+        Object type = config.get("type");
+        Assert.notNull(type, "[checkSourceConnection] config.type is required");
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.SOURCE_CONNECTION_CHECK.getEndpoint(), config, type);
+    }
+
+    /**
+     * Check MQTT source connection
+     *
+     * @param request the MQTT source configuration request
+     * @return future completed when the check succeeds
+     */
+    public CompletableFuture<Void> checkMqttSourceConnection(MqttSourceConfigRequest request) {
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.MQTT_SOURCE_CONNECTION_CHECK.getEndpoint(), request)
+                .thenApply(ignored -> null);
+    }
+}
@@ -0,0 +1,30 @@
+package cn.brk2outside.ekuiper4j.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.response.KuiperInfo;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.AsyncApiRequestExecutor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous API for eKuiper server information, see {@link OverviewAPI}
+ */
+@RequiredArgsConstructor
+public class AsyncOverviewAPI {
+
+    private final HttpClient client;
+    private final Executor executor;
+
+    public CompletableFuture<KuiperInfo> getServerInfo() {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.GET_SERVER_INFO.getEndpoint());
+    }
+
+    public CompletableFuture<Void> ping() {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.PING.getEndpoint())
+                .thenApply(ignored -> null);
+    }
+
+}
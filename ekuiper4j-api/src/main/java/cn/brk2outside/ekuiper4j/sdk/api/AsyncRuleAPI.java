@@ -0,0 +1,153 @@
+package cn.brk2outside.ekuiper4j.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.request.CreateRuleRequest;
+import cn.brk2outside.ekuiper4j.dto.response.RuleListResponse;
+import cn.brk2outside.ekuiper4j.dto.response.RuleResponse;
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.AsyncApiRequestExecutor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous API for managing eKuiper rules, see {@link RuleAPI}
+ */
+@RequiredArgsConstructor
+public class AsyncRuleAPI {
+
+    private final HttpClient client;
+    private final Executor executor;
+
+    /**
+     * Create a new rule
+     *
+     * @param request the rule creation request
+     * @return future of the success message
+     */
+    public CompletableFuture<String> createRule(CreateRuleRequest request) {
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.CREATE_RULE.getEndpoint(), request);
+    }
+
+    /**
+     * List all rules
+     *
+     * @return future of the list of rules
+     */
+    public CompletableFuture<List<RuleListResponse>> listRules() {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.LIST_RULES.getEndpoint());
+    }
+
+    /**
+     * Get details of a specific rule
+     *
+     * @param ruleName the name of the rule
+     * @return future of the rule details
+     */
+    public CompletableFuture<RuleResponse> getRule(String ruleName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.GET_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Update an existing rule
+     *
+     * @param ruleName the name of the rule to update
+     * @param request the update request
+     * @return future of the success message
+     */
+    public CompletableFuture<String> updateRule(String ruleName, CreateRuleRequest request) {
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.UPDATE_RULE.getEndpoint(), request, ruleName);
+    }
+
+    /**
+     * Delete a rule
+     *
+     * @param ruleName the name of the rule to delete
+     * @return future of the success message
+     */
+    public CompletableFuture<String> deleteRule(String ruleName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.DELETE_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Start a rule
+     *
+     * @param ruleName the name of the rule to start
+     * @return future of the success message
+     */
+    public CompletableFuture<String> startRule(String ruleName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.START_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Stop a rule
+     *
+     * @param ruleName the name of the rule to stop
+     * @return future of the success message
+     */
+    public CompletableFuture<String> stopRule(String ruleName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.STOP_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Restart a rule
+     *
+     * @param ruleName the name of the rule to restart
+     * @return future of the success message
+     */
+    public CompletableFuture<String> restartRule(String ruleName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.RESTART_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Get status of a specific rule
+     *
+     * @param ruleName the name of the rule
+     * @return future of the rule status
+     */
+    public CompletableFuture<RuleStatusResponse> getRuleStatus(String ruleName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.GET_RULE_STATUS.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Get status of all rules
+     *
+     * @return future of the map of rule statuses
+     */
+    public CompletableFuture<Map<String, RuleStatusResponse>> getAllRulesStatus() {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.GET_ALL_RULES_STATUS.getEndpoint());
+    }
+
+    /**
+     * Validate a rule
+     *
+     * @param request the rule to validate
+     * @return future of the validation result
+     */
+    public CompletableFuture<String> validateRule(CreateRuleRequest request) {
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.VALIDATE_RULE.getEndpoint(), request);
+    }
+
+    /**
+     * Get explanation of a rule
+     *
+     * @param ruleName the name of the rule
+     * @return future of the explanation of the rule
+     */
+    public CompletableFuture<String> explainRule(String ruleName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.EXPLAIN_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Get CPU usage of all rules
+     *
+     * @return future of the CPU usage information
+     */
+    public CompletableFuture<String> getRulesCpuUsage() {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.GET_RULES_CPU_USAGE.getEndpoint());
+    }
+}
@@ -0,0 +1,84 @@
+package cn.brk2outside.ekuiper4j.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.request.CreateStreamRequest;
+import cn.brk2outside.ekuiper4j.dto.request.UpdateStreamRequest;
+import cn.brk2outside.ekuiper4j.dto.response.StreamSchemaResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.model.stream.Stream;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.AsyncApiRequestExecutor;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous API for managing eKuiper streams, see {@link StreamAPI}
+ */
+@RequiredArgsConstructor
+public class AsyncStreamAPI {
+
+    private final HttpClient client;
+    private final Executor executor;
+
+    /**
+     * Create a new stream
+     *
+     * @param request the stream creation request
+     * @return future of the success message
+     */
+    public CompletableFuture<String> createStream(CreateStreamRequest request) {
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.CREATE_STREAM.getEndpoint(), request);
+    }
+
+    /**
+     * List all streams
+     *
+     * @return future of the list of stream names
+     */
+    public CompletableFuture<List<String>> listStreams() {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.LIST_STREAMS.getEndpoint());
+    }
+
+    /**
+     * Get details of a specific stream
+     *
+     * @param streamName the name of the stream
+     * @return future of the stream details
+     */
+    public CompletableFuture<Stream> getStreamDetails(String streamName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.GET_STREAM_DETAILS.getEndpoint(), streamName);
+    }
+
+    /**
+     * Get schema of a specific stream
+     *
+     * @param streamName the name of the stream
+     * @return future of the stream schema
+     */
+    public CompletableFuture<StreamSchemaResponse> getStreamSchema(String streamName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.GET_STREAM_SCHEMA.getEndpoint(), streamName);
+    }
+
+    /**
+     * Update an existing stream
+     *
+     * @param streamName the name of the stream to update
+     * @param request the update request
+     * @return future of the success message
+     */
+    public CompletableFuture<String> updateStream(String streamName, UpdateStreamRequest request) {
+        return AsyncApiRequestExecutor.executeBody(client, executor, StandardEndpoints.UPDATE_STREAM.getEndpoint(), request, streamName);
+    }
+
+    /**
+     * Delete a stream
+     *
+     * @param streamName the name of the stream to delete
+     * @return future of the success message
+     */
+    public CompletableFuture<String> deleteStream(String streamName) {
+        return AsyncApiRequestExecutor.execute(client, executor, StandardEndpoints.DELETE_STREAM.getEndpoint(), streamName);
+    }
+}
@@ -5,20 +5,48 @@ import cn.brk2outside.ekuiper4j.dto.response.RuleListResponse;
 import cn.brk2outside.ekuiper4j.dto.response.RuleResponse;
 import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
 import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
+import cn.brk2outside.ekuiper4j.http.ResponseBodyReader;
+import cn.brk2outside.ekuiper4j.metrics.RuleMetrics;
+import cn.brk2outside.ekuiper4j.metrics.RuleMetricsDecoder;
 import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
 import cn.brk2outside.ekuiper4j.sdk.util.ApiRequestExecutor;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * API for managing eKuiper rules
  */
-@RequiredArgsConstructor
 public class RuleAPI {
 
     private final HttpClient client;
+    private final JsonCodec jsonCodec;
+
+    /**
+     * Creates the API, parsing streamed responses with the shared JSON codec.
+     *
+     * @param client the eKuiper HTTP client
+     */
+    public RuleAPI(HttpClient client) {
+        this(client, JsonCodec.shared());
+    }
+
+    /**
+     * Creates the API.
+     *
+     * @param client    the eKuiper HTTP client
+     * @param jsonCodec the JSON codec parsing streamed responses, the same as the client's
+     */
+    public RuleAPI(HttpClient client, JsonCodec jsonCodec) {
+        this.client = client;
+        this.jsonCodec = jsonCodec;
+    }
 
     /**
      * Create a new rule
@@ -119,6 +147,62 @@ public class RuleAPI {
         return ApiRequestExecutor.execute(client, StandardEndpoints.GET_ALL_RULES_STATUS.getEndpoint());
     }
 
+    /**
+     * Get status of all rules without building the full map: the response is parsed incrementally and each
+     * rule's status is handed to the consumer as soon as it has been read, so only one rule is held in memory
+     * at a time. The consumer runs on the thread reading the response; if the request fails midway, the rules
+     * read so far have already been delivered.
+     *
+     * @param consumer receives the rule name and its status
+     * @return number of rules read
+     */
+    public int forEachRuleStatus(BiConsumer<String, RuleStatusResponse> consumer) {
+        ObjectReader reader = jsonCodec.reader(RuleStatusResponse.class);
+        return streamAllRulesStatus(body -> {
+            try (JsonParser parser = reader.createParser(body)) {
+                JsonToken token = parser.nextToken();
+                if (token == null) {
+                    return 0;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a JSON object for rule status, got " + token);
+                }
+                int count = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String ruleName = parser.currentName();
+                    parser.nextToken();
+                    consumer.accept(ruleName, reader.readValue(parser));
+                    count++;
+                }
+                return count;
+            }
+        });
+    }
+
+    /**
+     * Get typed metrics of all rules, parsed incrementally like {@link #forEachRuleStatus(BiConsumer)}
+     * but decoded straight into {@link RuleMetrics} without binding the status maps first.
+     *
+     * @param consumer receives the rule name and its metrics
+     * @return number of rules read
+     */
+    public int forEachRuleMetrics(BiConsumer<String, RuleMetrics> consumer) {
+        return streamAllRulesStatus(body -> {
+            try (JsonParser parser = jsonCodec.getObjectMapper().getFactory().createParser(body)) {
+                if (parser.nextToken() == null) {
+                    return 0;
+                }
+                return RuleMetricsDecoder.shared().decodeAll(parser, consumer);
+            }
+        });
+    }
+
+    private int streamAllRulesStatus(ResponseBodyReader.BodyReader<Integer> bodyReader) {
+        Integer count = client.get(StandardEndpoints.GET_ALL_RULES_STATUS.getEndpoint().getEndpoint(),
+                ResponseBodyReader.of(bodyReader));
+        return count == null ? 0 : count;
+    }
+
     /**
      * Validate a rule
      *
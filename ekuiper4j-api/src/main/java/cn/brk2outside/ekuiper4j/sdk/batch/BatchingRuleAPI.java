@@ -0,0 +1,51 @@
+package cn.brk2outside.ekuiper4j.sdk.batch;
+
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+
+/**
+ * {@link RuleAPI} whose rule status requests go through a {@link RuleStatusBatcher}.
+ */
+public class BatchingRuleAPI extends RuleAPI {
+
+    private final RuleStatusBatcher batcher;
+
+    /**
+     * Creates the API.
+     *
+     * @param client  The eKuiper HTTP client
+     * @param batcher The batcher for the same node as the client
+     */
+    public BatchingRuleAPI(HttpClient client, RuleStatusBatcher batcher) {
+        this(client, batcher, JsonCodec.shared());
+    }
+
+    /**
+     * Creates the API.
+     *
+     * @param client    The eKuiper HTTP client
+     * @param batcher   The batcher for the same node as the client
+     * @param jsonCodec The JSON codec parsing streamed responses, the same as the client's
+     */
+    public BatchingRuleAPI(HttpClient client, RuleStatusBatcher batcher, JsonCodec jsonCodec) {
+        super(client, jsonCodec);
+        this.batcher = batcher;
+    }
+
+    /**
+     * Get status of a specific rule, batched with concurrent status requests
+     *
+     * @param ruleName the name of the rule
+     * @return rule status
+     */
+    @Override
+    public RuleStatusResponse getRuleStatus(String ruleName) {
+        return batcher.getRuleStatus(ruleName);
+    }
+
+    public RuleStatusBatcher getBatcher() {
+        return batcher;
+    }
+}
@@ -0,0 +1,161 @@
+package cn.brk2outside.ekuiper4j.sdk.batch;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.ApiRequestExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Merges concurrent rule status requests to one node into a single {@code /rules/status/all} request.
+ * <p>
+ * The first status request of a batch waits {@code windowMs} for others to join, then fetches the status of all
+ * rules once and hands every caller the status of its rule. No threads of its own are used: the first caller
+ * sends the bulk request while the others wait for it. Batches with fewer than {@code minBatchSize} distinct
+ * rules, rules missing from the bulk response and bulk requests rejected with a non-transient error fall back
+ * to the per-rule request, so callers see the same responses and errors as without batching.
+ */
+public class RuleStatusBatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RuleStatusBatcher.class);
+
+    private final HttpClient client;
+    private final long windowMs;
+    private final int minBatchSize;
+    private final AtomicLong bulkRequests = new AtomicLong();
+    private final AtomicLong batchedCalls = new AtomicLong();
+    private Batch current;
+
+    /**
+     * Creates a batcher for the node a client talks to.
+     *
+     * @param client         The client sending requests to the node
+     * @param statusBatching The batching properties
+     */
+    public RuleStatusBatcher(HttpClient client, EKuiperClientProperties.StatusBatching statusBatching) {
+        this.client = client;
+        this.windowMs = statusBatching.getWindowMs();
+        this.minBatchSize = Math.max(statusBatching.getMinBatchSize(), 1);
+    }
+
+    /**
+     * Gets the status of a rule, possibly from a bulk request shared with concurrent callers.
+     *
+     * @param ruleName The name of the rule
+     * @return The rule status
+     * @throws HttpClientException if the request fails
+     */
+    public RuleStatusResponse getRuleStatus(String ruleName) {
+        Batch batch;
+        boolean first;
+        synchronized (this) {
+            first = current == null;
+            if (first) {
+                current = new Batch();
+            }
+            batch = current;
+            batch.rules.add(ruleName);
+        }
+
+        Map<String, RuleStatusResponse> statuses = first ? collect(batch) : await(batch);
+        if (statuses != null && statuses.containsKey(ruleName)) {
+            batchedCalls.incrementAndGet();
+            return statuses.get(ruleName);
+        }
+        return ApiRequestExecutor.execute(client, StandardEndpoints.GET_RULE_STATUS.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Gets the number of bulk requests sent.
+     *
+     * @return The number of bulk requests
+     */
+    public long getBulkRequestCount() {
+        return bulkRequests.get();
+    }
+
+    /**
+     * Gets the number of status requests answered from a bulk request.
+     *
+     * @return The number of batched calls
+     */
+    public long getBatchedCallCount() {
+        return batchedCalls.get();
+    }
+
+    /**
+     * Waits for the batch window, closes the batch and sends its bulk request.
+     */
+    private Map<String, RuleStatusResponse> collect(Batch batch) {
+        boolean interrupted = false;
+        if (windowMs > 0) {
+            try {
+                Thread.sleep(windowMs);
+            } catch (InterruptedException e) {
+                // Still complete the batch, the other callers are waiting for it
+                interrupted = true;
+            }
+        }
+        synchronized (this) {
+            current = null;
+        }
+        try {
+            if (batch.rules.size() < minBatchSize) {
+                batch.result.complete(null);
+                return null;
+            }
+            bulkRequests.incrementAndGet();
+            Map<String, RuleStatusResponse> statuses =
+                    ApiRequestExecutor.execute(client, StandardEndpoints.GET_ALL_RULES_STATUS.getEndpoint());
+            batch.result.complete(statuses);
+            return statuses;
+        } catch (HttpClientException e) {
+            if (e.isTransient()) {
+                // The node is struggling; do not follow up with a request per rule
+                batch.result.completeExceptionally(e);
+                throw e;
+            }
+            LOGGER.debug("Bulk rule status request failed, falling back to per-rule requests: {}", e.getMessage());
+            batch.result.complete(null);
+            return null;
+        } catch (RuntimeException e) {
+            batch.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Map<String, RuleStatusResponse> await(Batch batch) {
+        try {
+            return batch.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpClientException("Interrupted while waiting for rule status", e, -1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new HttpClientException("Error executing HTTP request: " + e.getCause().getMessage(), e.getCause(), -1);
+        }
+    }
+
+    /**
+     * The rules requested within one window and the bulk result, or null if not batched.
+     */
+    private static final class Batch {
+        private final Set<String> rules = new LinkedHashSet<>();
+        private final CompletableFuture<Map<String, RuleStatusResponse>> result = new CompletableFuture<>();
+    }
+}
@@ -1,13 +1,11 @@
 package cn.brk2outside.ekuiper4j.sdk.endpoint;
 
 import cn.brk2outside.ekuiper4j.constants.HttpMethods;
-import cn.brk2outside.ekuiper4j.sdk.util.ResponseConverter;
+import cn.brk2outside.ekuiper4j.http.PathTemplate;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
 
 @Getter
-@RequiredArgsConstructor
 public class ApiEndpoint<T, R> {
 
     protected final HttpMethods method;
@@ -15,5 +13,34 @@ public class ApiEndpoint<T, R> {
     protected final Class<T> requestClz;
     protected final ParameterizedTypeReference<R> responseClz;
     protected final int pathVariableCount;
+    /**
+     * The endpoint path compiled once, so requests only expand it.
+     */
+    protected final PathTemplate pathTemplate;
+    /**
+     * Whether sending the request twice has the same effect as sending it once, so it can be retried safely.
+     */
+    protected final boolean idempotent;
+
+    public ApiEndpoint(HttpMethods method, String endpoint, Class<T> requestClz,
+                       ParameterizedTypeReference<R> responseClz, int pathVariableCount) {
+        this(method, endpoint, requestClz, responseClz, pathVariableCount, method != HttpMethods.POST);
+    }
+
+    public ApiEndpoint(HttpMethods method, String endpoint, Class<T> requestClz,
+                       ParameterizedTypeReference<R> responseClz, int pathVariableCount, boolean idempotent) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.requestClz = requestClz;
+        this.responseClz = responseClz;
+        this.pathVariableCount = pathVariableCount;
+        this.pathTemplate = PathTemplate.of(endpoint);
+        this.idempotent = idempotent;
+        if (pathTemplate.getVariableCount() != pathVariableCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Endpoint %s declares %d path variables but its path has %d",
+                    endpoint, pathVariableCount, pathTemplate.getVariableCount()));
+        }
+    }
 
 }
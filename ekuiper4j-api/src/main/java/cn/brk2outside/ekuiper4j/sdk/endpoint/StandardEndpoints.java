@@ -17,6 +17,7 @@ import cn.brk2outside.ekuiper4j.model.stream.Stream;
 import cn.brk2outside.ekuiper4j.sdk.util.TypeUtil;
 import org.springframework.core.ParameterizedTypeReference;
 
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -60,8 +61,9 @@ public enum StandardEndpoints {
     GET_RULE(HttpMethods.GET, Endpoints.Rules.GET_RULE, Void.class, TypeUtil.of(RuleResponse.class), 1),
     UPDATE_RULE(HttpMethods.PUT, Endpoints.Rules.UPDATE_RULE, CreateRuleRequest.class, TypeUtil.of(String.class), 1),
     DELETE_RULE(HttpMethods.DELETE, Endpoints.Rules.DELETE_RULE, Void.class, TypeUtil.of(String.class), 1),
-    START_RULE(HttpMethods.POST, Endpoints.Rules.START_RULE, Void.class, TypeUtil.of(String.class), 1),
-    STOP_RULE(HttpMethods.POST, Endpoints.Rules.STOP_RULE, Void.class, TypeUtil.of(String.class), 1),
+    // starting a running rule or stopping a stopped one is a no-op
+    START_RULE(HttpMethods.POST, Endpoints.Rules.START_RULE, Void.class, TypeUtil.of(String.class), 1, true),
+    STOP_RULE(HttpMethods.POST, Endpoints.Rules.STOP_RULE, Void.class, TypeUtil.of(String.class), 1, true),
     RESTART_RULE(HttpMethods.POST, Endpoints.Rules.RESTART_RULE, Void.class, TypeUtil.of(String.class), 1),
     GET_RULE_STATUS(HttpMethods.GET, Endpoints.Rules.GET_RULE_STATUS, Void.class, TypeUtil.of(RuleStatusResponse.class), 1),
     GET_ALL_RULES_STATUS(HttpMethods.GET, Endpoints.Rules.GET_ALL_RULES_STATUS, Void.class, TypeUtil.mapOf(String.class, RuleStatusResponse.class), 0),
@@ -86,6 +88,43 @@ public enum StandardEndpoints {
         this.endpoint = new ApiEndpoint<>(method, path, requestClz, responseClz, pathVariableCount);
     }
 
+    /**
+     * Creates a new standard endpoint that is idempotent regardless of its HTTP method.
+     *
+     * @param method The HTTP method
+     * @param path The API path
+     * @param requestClz The request class type
+     * @param responseClz The response class type
+     * @param pathVariableCount The number of path variables expected in the path
+     * @param idempotent Whether the request can be sent again safely
+     */
+    <T, R> StandardEndpoints(HttpMethods method, String path, Class<T> requestClz, ParameterizedTypeReference<R> responseClz,
+                             int pathVariableCount, boolean idempotent) {
+        this.endpoint = new ApiEndpoint<>(method, path, requestClz, responseClz, pathVariableCount, idempotent);
+    }
+
+    /**
+     * Looks up an endpoint by name, as used in configuration properties.
+     * Names are matched ignoring case, dashes and underscores, so {@code GET_RULE_STATUS},
+     * {@code get-rule-status} and {@code getRuleStatus} all match.
+     *
+     * @param name The endpoint name
+     * @return The endpoint, or null if there is none with this name
+     */
+    public static StandardEndpoints fromName(String name) {
+        String normalized = normalize(name);
+        for (StandardEndpoints value : values()) {
+            if (normalize(value.name()).equals(normalized)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Gets the API endpoint.
      *
@@ -0,0 +1,330 @@
+package cn.brk2outside.ekuiper4j.sdk.fleet;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
+import cn.brk2outside.ekuiper4j.sdk.api.ConnectionAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.StreamAPI;
+import cn.brk2outside.ekuiper4j.sdk.util.ClientExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Runs SDK operations across many eKuiper nodes in parallel, e.g. deploying one rule to hundreds of gateways.
+ * <p>
+ * Nodes are registered by name, each with its own {@link HttpClient}. An operation runs on at most
+ * {@code maxConcurrency} nodes at a time; a node that takes longer than {@code nodeTimeoutMs} is reported as
+ * timed out and its task is interrupted, freeing its slot for the next node. Failures never abort the other
+ * nodes: every node gets a {@link NodeResult}.
+ * <pre>{@code
+ * FleetResult<String> deployed = fleet.rules(fleet.getNodeNames(), rules -> rules.createRule(request));
+ * deployed.getFailed().forEach(failure -> log.warn("Deploy failed: {}", failure));
+ * }</pre>
+ */
+public class FleetClient implements AutoCloseable {
+
+    private final Map<String, FleetNode> nodes = new ConcurrentHashMap<>();
+    private final ClientExecutor clientExecutor;
+    private final int maxConcurrency;
+    private final long nodeTimeoutMs;
+
+    /**
+     * Creates a fleet client running operations on its own threads: virtual threads if enabled by
+     * {@code ekuiper.client.async.virtual-threads} and supported, otherwise a cached pool of daemon threads.
+     *
+     * @param properties Client configuration properties
+     */
+    public FleetClient(EKuiperClientProperties properties) {
+        this(defaultExecutor(properties.getAsync()), properties.getFleet());
+    }
+
+    /**
+     * Creates a fleet client running operations on the given executor.
+     * The executor should not bound the number of threads below {@code maxConcurrency}, since timed out tasks
+     * may keep their thread until their request returns.
+     *
+     * @param clientExecutor The executor, closed together with this client
+     * @param fleet          The fleet properties
+     */
+    public FleetClient(ClientExecutor clientExecutor, EKuiperClientProperties.Fleet fleet) {
+        this.clientExecutor = clientExecutor;
+        this.maxConcurrency = Math.max(fleet.getMaxConcurrency(), 1);
+        this.nodeTimeoutMs = fleet.getNodeTimeoutMs();
+    }
+
+    private static ClientExecutor defaultExecutor(EKuiperClientProperties.Async async) {
+        if (async.isVirtualThreads() && ClientExecutor.isVirtualThreadsSupported()) {
+            return ClientExecutor.virtual();
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ekuiper4j-fleet-");
+        threadFactory.setDaemon(true);
+        return new ClientExecutor(Executors.newCachedThreadPool(threadFactory));
+    }
+
+    /**
+     * Registers a node, replacing any node registered under the same name.
+     *
+     * @param name   The node name
+     * @param client The client sending requests to the node
+     * @return The registered node
+     */
+    public FleetNode register(String name, HttpClient client) {
+        return register(new FleetNode(name, client));
+    }
+
+    /**
+     * Registers a node, replacing any node registered under the same name.
+     *
+     * @param name      The node name
+     * @param client    The client sending requests to the node
+     * @param jsonCodec The JSON codec of the client, parsing streamed responses
+     * @return The registered node
+     */
+    public FleetNode register(String name, HttpClient client, JsonCodec jsonCodec) {
+        return register(new FleetNode(name, client, jsonCodec));
+    }
+
+    private FleetNode register(FleetNode node) {
+        nodes.put(node.getName(), node);
+        return node;
+    }
+
+    /**
+     * Removes a node.
+     *
+     * @param name The node name
+     * @return True if the node was registered
+     */
+    public boolean unregister(String name) {
+        return nodes.remove(name) != null;
+    }
+
+    /**
+     * Gets a registered node.
+     *
+     * @param name The node name
+     * @return The node, or null if no node is registered under the name
+     */
+    public FleetNode getNode(String name) {
+        return nodes.get(name);
+    }
+
+    /**
+     * Gets the names of all registered nodes.
+     *
+     * @return The node names, sorted
+     */
+    public List<String> getNodeNames() {
+        return nodes.keySet().stream().sorted().toList();
+    }
+
+    /**
+     * Runs a rule operation on the selected nodes.
+     *
+     * @param nodeNames The names of the nodes to run on
+     * @param operation The operation
+     * @param <T>       The type of the operation result
+     * @return The result of every selected node
+     */
+    public <T> FleetResult<T> rules(Collection<String> nodeNames, Function<RuleAPI, T> operation) {
+        return execute(nodeNames, node -> operation.apply(node.rules()));
+    }
+
+    /**
+     * Runs a stream operation on the selected nodes.
+     *
+     * @param nodeNames The names of the nodes to run on
+     * @param operation The operation
+     * @param <T>       The type of the operation result
+     * @return The result of every selected node
+     */
+    public <T> FleetResult<T> streams(Collection<String> nodeNames, Function<StreamAPI, T> operation) {
+        return execute(nodeNames, node -> operation.apply(node.streams()));
+    }
+
+    /**
+     * Runs a connection operation on the selected nodes.
+     *
+     * @param nodeNames The names of the nodes to run on
+     * @param operation The operation
+     * @param <T>       The type of the operation result
+     * @return The result of every selected node
+     */
+    public <T> FleetResult<T> connections(Collection<String> nodeNames, Function<ConnectionAPI, T> operation) {
+        return execute(nodeNames, node -> operation.apply(node.connections()));
+    }
+
+    /**
+     * Runs an operation on the selected nodes and waits until every node has succeeded, failed or timed out.
+     *
+     * @param nodeNames The names of the nodes to run on
+     * @param operation The operation
+     * @param <T>       The type of the operation result
+     * @return The result of every selected node, in the order of {@code nodeNames}
+     * @throws IllegalArgumentException if a name is not registered
+     * @throws CancellationException    if the calling thread is interrupted; running nodes are interrupted and
+     *                                  nodes not started yet are skipped
+     */
+    public <T> FleetResult<T> execute(Collection<String> nodeNames, Function<FleetNode, T> operation) {
+        List<FleetNode> selected = select(nodeNames);
+        Semaphore slots = new Semaphore(maxConcurrency);
+        List<NodeTask<T>> tasks = new ArrayList<>(selected.size());
+        List<CompletableFuture<NodeResult<T>>> results = new ArrayList<>(selected.size());
+        try {
+            for (FleetNode node : selected) {
+                slots.acquire();
+                NodeTask<T> task = new NodeTask<>(node, operation);
+                tasks.add(task);
+                results.add(start(task, slots));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Interrupt the running nodes like timed out ones, so they give up their requests
+            tasks.forEach(NodeTask::cancel);
+            results.forEach(result -> result.cancel(true));
+            throw new CancellationException("Interrupted while running fleet operation");
+        } catch (ExecutionException e) {
+            // Node failures are reported as results, so this is unexpected
+            throw new CompletionException(e.getCause());
+        }
+        return new FleetResult<>(results.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Runs an operation on the selected nodes without blocking the caller.
+     *
+     * @param nodeNames The names of the nodes to run on
+     * @param operation The operation
+     * @param <T>       The type of the operation result
+     * @return A future completing with the result of every selected node
+     * @throws IllegalArgumentException if a name is not registered
+     */
+    public <T> CompletableFuture<FleetResult<T>> executeAsync(Collection<String> nodeNames,
+                                                              Function<FleetNode, T> operation) {
+        select(nodeNames);
+        return CompletableFuture.supplyAsync(() -> execute(nodeNames, operation), clientExecutor.getExecutor());
+    }
+
+    private List<FleetNode> select(Collection<String> nodeNames) {
+        List<FleetNode> selected = new ArrayList<>(nodeNames.size());
+        for (String name : nodeNames) {
+            FleetNode node = nodes.get(name);
+            if (node == null) {
+                throw new IllegalArgumentException("Unknown eKuiper node: " + name);
+            }
+            selected.add(node);
+        }
+        return selected;
+    }
+
+    private <T> CompletableFuture<NodeResult<T>> start(NodeTask<T> task, Semaphore slots) {
+        long start = System.nanoTime();
+        FleetNode node = task.node;
+        Executor executor = clientExecutor.getExecutor();
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            slots.release();
+            return CompletableFuture.completedFuture(NodeResult.failure(node.getName(), e, 0));
+        }
+        // A timed-out operation may still be blocked in a socket read that ignores the interrupt, so its slot is
+        // only released once it has actually returned
+        task.finished.whenComplete((ignored, error) -> slots.release());
+        CompletableFuture<T> result = nodeTimeoutMs > 0
+                ? task.result.orTimeout(nodeTimeoutMs, TimeUnit.MILLISECONDS)
+                : task.result;
+        return result.handle((value, error) -> {
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (error == null) {
+                return NodeResult.success(node.getName(), value, durationMs);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                task.cancel();
+                cause = new TimeoutException("No response from eKuiper node " + node.getName()
+                        + " within " + nodeTimeoutMs + " ms");
+            }
+            return NodeResult.failure(node.getName(), cause, durationMs);
+        });
+    }
+
+    /**
+     * Stops the threads running the operations.
+     */
+    @Override
+    public void close() {
+        clientExecutor.close();
+    }
+
+    /**
+     * An operation on one node that can be interrupted once it timed out or the caller was interrupted, without
+     * disturbing whatever its thread runs next. {@link #finished} completes once the operation has returned, or is known never to run.
+     */
+    private static final class NodeTask<T> implements Runnable {
+        private final FleetNode node;
+        private final Function<FleetNode, T> operation;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final CompletableFuture<Void> finished = new CompletableFuture<>();
+        private Thread runner;
+        private boolean done;
+
+        NodeTask(FleetNode node, Function<FleetNode, T> operation) {
+            this.node = node;
+            this.operation = operation;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (done) {
+                    finished.complete(null);
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            try {
+                result.complete(operation.apply(node));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    done = true;
+                    // Clear an interrupt from a cancellation that raced with completion
+                    Thread.interrupted();
+                }
+                finished.complete(null);
+            }
+        }
+
+        synchronized void cancel() {
+            if (done) {
+                return;
+            }
+            done = true;
+            if (runner != null) {
+                runner.interrupt();
+            } else {
+                // Not started yet, run() returns straight away
+                finished.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package cn.brk2outside.ekuiper4j.sdk.fleet;
+
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
+import cn.brk2outside.ekuiper4j.sdk.api.ConnectionAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.StreamAPI;
+
+/**
+ * A named eKuiper node of a {@link FleetClient}, with the API facades for its client.
+ */
+public class FleetNode {
+
+    private final String name;
+    private final HttpClient client;
+    private final RuleAPI rules;
+    private final StreamAPI streams;
+    private final ConnectionAPI connections;
+
+    /**
+     * Creates a node.
+     *
+     * @param name   The node name
+     * @param client The client sending requests to the node
+     */
+    public FleetNode(String name, HttpClient client) {
+        this(name, client, JsonCodec.shared());
+    }
+
+    /**
+     * Creates a node.
+     *
+     * @param name      The node name
+     * @param client    The client sending requests to the node
+     * @param jsonCodec The JSON codec of the client, parsing streamed responses
+     */
+    public FleetNode(String name, HttpClient client, JsonCodec jsonCodec) {
+        this.name = name;
+        this.client = client;
+        this.rules = new RuleAPI(client, jsonCodec);
+        this.streams = new StreamAPI(client);
+        this.connections = new ConnectionAPI(client);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HttpClient getClient() {
+        return client;
+    }
+
+    public RuleAPI rules() {
+        return rules;
+    }
+
+    public StreamAPI streams() {
+        return streams;
+    }
+
+    public ConnectionAPI connections() {
+        return connections;
+    }
+}
@@ -0,0 +1,75 @@
+package cn.brk2outside.ekuiper4j.sdk.fleet;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a fleet operation on all selected nodes, in the order the nodes were selected.
+ *
+ * @param <T> The type of the operation result
+ */
+public final class FleetResult<T> {
+
+    private final List<NodeResult<T>> results;
+
+    FleetResult(List<NodeResult<T>> results) {
+        this.results = List.copyOf(results);
+    }
+
+    /**
+     * Gets the result of every node.
+     *
+     * @return The per-node results
+     */
+    public List<NodeResult<T>> getResults() {
+        return results;
+    }
+
+    /**
+     * Gets the results of the nodes the operation succeeded on.
+     *
+     * @return The successful results
+     */
+    public List<NodeResult<T>> getSucceeded() {
+        return results.stream().filter(NodeResult::isSuccess).toList();
+    }
+
+    /**
+     * Gets the results of the nodes the operation failed or timed out on.
+     *
+     * @return The failed results
+     */
+    public List<NodeResult<T>> getFailed() {
+        return results.stream().filter(result -> !result.isSuccess()).toList();
+    }
+
+    /**
+     * Checks whether the operation succeeded on every node.
+     *
+     * @return True if no node failed
+     */
+    public boolean isAllSucceeded() {
+        return results.stream().allMatch(NodeResult::isSuccess);
+    }
+
+    /**
+     * Gets the values returned by the nodes the operation succeeded on.
+     *
+     * @return The values by node name
+     */
+    public Map<String, T> getValues() {
+        Map<String, T> values = new LinkedHashMap<>();
+        for (NodeResult<T> result : results) {
+            if (result.isSuccess()) {
+                values.put(result.getNode(), result.getValue());
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "FleetResult{" + getSucceeded().size() + " succeeded, " + getFailed().size() + " failed}";
+    }
+}
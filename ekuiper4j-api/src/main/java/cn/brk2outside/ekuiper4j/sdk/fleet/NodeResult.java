@@ -0,0 +1,81 @@
+package cn.brk2outside.ekuiper4j.sdk.fleet;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Outcome of a fleet operation on one node: either a value or the failure.
+ *
+ * @param <T> The type of the operation result
+ */
+public final class NodeResult<T> {
+
+    private final String node;
+    private final T value;
+    private final Throwable error;
+    private final long durationMs;
+
+    private NodeResult(String node, T value, Throwable error, long durationMs) {
+        this.node = node;
+        this.value = value;
+        this.error = error;
+        this.durationMs = durationMs;
+    }
+
+    static <T> NodeResult<T> success(String node, T value, long durationMs) {
+        return new NodeResult<>(node, value, null, durationMs);
+    }
+
+    static <T> NodeResult<T> failure(String node, Throwable error, long durationMs) {
+        return new NodeResult<>(node, null, error, durationMs);
+    }
+
+    /**
+     * Gets the name of the node.
+     *
+     * @return The node name
+     */
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * Gets the value returned by the operation.
+     *
+     * @return The value, or null if the operation failed
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the failure of the operation.
+     *
+     * @return The exception thrown by the operation, a {@link TimeoutException} if the node timed out,
+     *         or null if the operation succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Gets the time the operation took on the node, or until it timed out.
+     *
+     * @return The duration in milliseconds
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public boolean isTimedOut() {
+        return error instanceof TimeoutException;
+    }
+
+    @Override
+    public String toString() {
+        return node + ": " + (isSuccess() ? "OK " + value : "FAILED " + error) + " (" + durationMs + " ms)";
+    }
+}
@@ -127,7 +127,7 @@ public final class ApiRequestExecutor {
      * @param pathVariables  The path variables provided for the request
      * @throws IllegalArgumentException if the path variable count doesn't match the endpoint's expected count
      */
-    private static void validatePathVariableCount(ApiEndpoint<?, ?> endpoint, Object[] pathVariables) {
+    public static void validatePathVariableCount(ApiEndpoint<?, ?> endpoint, Object[] pathVariables) {
         int expectedCount = endpoint.getPathVariableCount();
         int actualCount = pathVariables != null ? pathVariables.length : 0;
 
@@ -0,0 +1,131 @@
+package cn.brk2outside.ekuiper4j.sdk.util;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.AsyncHttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.ApiEndpoint;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous counterpart of {@link ApiRequestExecutor}.
+ * <p>
+ * When the HTTP client is an {@link AsyncHttpClient} the request is sent without blocking any thread;
+ * otherwise the blocking call is run on the supplied executor. Failed requests complete the returned
+ * future exceptionally with an {@link cn.brk2outside.ekuiper4j.http.HttpClientException}.
+ */
+public final class AsyncApiRequestExecutor {
+
+    private AsyncApiRequestExecutor() {
+        // Utility class, do not instantiate
+    }
+
+    /**
+     * Executes an API request defined by the endpoint with path variables.
+     *
+     * @param httpClient The HTTP client to use
+     * @param executor The executor running blocking clients
+     * @param endpoint The API endpoint definition
+     * @param pathVariables Path variables to replace in the endpoint path
+     * @param <T> Request body type
+     * @param <R> Response type
+     * @return A future completed with the converted response
+     */
+    public static <T, R> CompletableFuture<R> execute(HttpClient httpClient, Executor executor, ApiEndpoint<T, R> endpoint,
+                                                      Object... pathVariables) {
+        return executeBodyAndQs(httpClient, executor, endpoint, null, null, pathVariables);
+    }
+
+    /**
+     * Executes an API request defined by the endpoint with a request body and path variables.
+     *
+     * @param httpClient The HTTP client to use
+     * @param executor The executor running blocking clients
+     * @param endpoint The API endpoint definition
+     * @param requestBody The request body (can be null)
+     * @param pathVariables Path variables to replace in the endpoint path
+     * @param <T> Request body type
+     * @param <R> Response type
+     * @return A future completed with the converted response
+     */
+    public static <T, R> CompletableFuture<R> executeBody(HttpClient httpClient, Executor executor, ApiEndpoint<T, R> endpoint,
+                                                          T requestBody, Object... pathVariables) {
+        return executeBodyAndQs(httpClient, executor, endpoint, requestBody, null, pathVariables);
+    }
+
+    /**
+     * Executes an API request defined by the endpoint with path variables and query parameters.
+     *
+     * @param httpClient The HTTP client to use
+     * @param executor The executor running blocking clients
+     * @param endpoint The API endpoint definition
+     * @param queryParams Query parameters to append to the URL
+     * @param pathVariables Path variables to replace in the endpoint path
+     * @param <T> Request body type
+     * @param <R> Response type
+     * @return A future completed with the converted response
+     */
+    public static <T, R> CompletableFuture<R> executeQs(HttpClient httpClient, Executor executor, ApiEndpoint<T, R> endpoint,
+                                                        Map<String, Object> queryParams, Object... pathVariables) {
+        return executeBodyAndQs(httpClient, executor, endpoint, null, queryParams, pathVariables);
+    }
+
+    /**
+     * Executes an API request defined by the endpoint with a request body, path variables, and query parameters.
+     *
+     * @param httpClient The HTTP client to use
+     * @param executor The executor running blocking clients
+     * @param endpoint The API endpoint definition
+     * @param requestBody The request body (can be null)
+     * @param queryParams Query parameters to append to the URL
+     * @param pathVariables Path variables to replace in the endpoint path
+     * @param <T> Request body type
+     * @param <R> Response type
+     * @return A future completed with the converted response
+     * @throws IllegalArgumentException if the path variable count doesn't match the endpoint's expected count
+     */
+    public static <T, R> CompletableFuture<R> executeBodyAndQs(HttpClient httpClient, Executor executor, ApiEndpoint<T, R> endpoint,
+                                                               T requestBody, Map<String, Object> queryParams,
+                                                               Object... pathVariables) {
+        ApiRequestExecutor.validatePathVariableCount(endpoint, pathVariables);
+
+        if (httpClient instanceof AsyncHttpClient asyncHttpClient) {
+            return dispatch(asyncHttpClient, endpoint, requestBody, queryParams, pathVariables);
+        }
+        return CompletableFuture.supplyAsync(
+                () -> ApiRequestExecutor.executeBodyAndQs(httpClient, endpoint, requestBody, queryParams, pathVariables),
+                executor);
+    }
+
+    private static <T, R> CompletableFuture<R> dispatch(AsyncHttpClient httpClient, ApiEndpoint<T, R> endpoint, T requestBody,
+                                                        Map<String, Object> queryParams, Object... pathVariables) {
+        String path = endpoint.getEndpoint();
+        HttpMethods method = endpoint.getMethod();
+        ParameterizedTypeReference<R> responseType = endpoint.getResponseClz();
+        boolean hasQuery = queryParams != null && !queryParams.isEmpty();
+
+        switch (method) {
+            case GET:
+                return hasQuery
+                        ? httpClient.getAsync(path, queryParams, responseType, pathVariables)
+                        : httpClient.getAsync(path, responseType, pathVariables);
+            case POST:
+                return hasQuery
+                        ? httpClient.postAsync(path, requestBody, queryParams, responseType, pathVariables)
+                        : httpClient.postAsync(path, requestBody, responseType, pathVariables);
+            case PUT:
+                return hasQuery
+                        ? httpClient.putAsync(path, requestBody, queryParams, responseType, pathVariables)
+                        : httpClient.putAsync(path, requestBody, responseType, pathVariables);
+            case DELETE:
+                return hasQuery
+                        ? httpClient.deleteAsync(path, queryParams, responseType, pathVariables)
+                        : httpClient.deleteAsync(path, responseType, pathVariables);
+            default:
+                return CompletableFuture.failedFuture(new IllegalArgumentException("Unsupported HTTP method: " + method));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package cn.brk2outside.ekuiper4j.sdk.util;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Owns the executor that runs blocking SDK requests issued through the asynchronous API facades.
+ * <p>
+ * Deliberately not an {@link Executor} itself, so that registering it as a Spring bean does not
+ * replace the application's default task executor.
+ */
+public final class ClientExecutor implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientExecutor.class);
+
+    private final ExecutorService executorService;
+
+    /**
+     * Creates a holder for an existing executor service.
+     *
+     * @param executorService The executor service, shut down by {@link #close()}
+     */
+    public ClientExecutor(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Creates a fixed pool of daemon platform threads.
+     *
+     * @param threads Number of threads
+     * @return A new client executor
+     */
+    public static ClientExecutor fixed(int threads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ekuiper4j-async-");
+        threadFactory.setDaemon(true);
+        return new ClientExecutor(Executors.newFixedThreadPool(threads, threadFactory));
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread per request.
+     * Blocking requests then only hold a platform thread while they are actually running.
+     *
+     * @return A new client executor
+     * @throws IllegalStateException if virtual threads are not available (Java 20 or earlier)
+     */
+    public static ClientExecutor virtual() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return new ClientExecutor((ExecutorService) factory.invoke(null));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     *
+     * @return True if {@link #virtual()} can be used
+     */
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates the executor described by the async properties, falling back to a fixed pool
+     * if virtual threads are requested but not supported by the running JVM.
+     *
+     * @param async The async properties
+     * @return A new client executor
+     */
+    public static ClientExecutor create(EKuiperClientProperties.Async async) {
+        if (async.isVirtualThreads()) {
+            if (isVirtualThreadsSupported()) {
+                return virtual();
+            }
+            LOGGER.warn("Virtual threads are not supported on Java {}, using {} platform threads instead",
+                    Runtime.version().feature(), async.getThreads());
+        }
+        return fixed(async.getThreads());
+    }
+
+    /**
+     * Gets the executor to run SDK requests on.
+     *
+     * @return The executor
+     */
+    public Executor getExecutor() {
+        return executorService;
+    }
+
+    /**
+     * Shuts the executor down; already submitted requests still complete.
+     */
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+}
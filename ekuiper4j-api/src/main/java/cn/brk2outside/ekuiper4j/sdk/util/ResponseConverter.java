@@ -1,6 +1,7 @@
 package cn.brk2outside.ekuiper4j.sdk.util;
 
 import cn.brk2outside.ekuiper4j.constants.ResponseFormat;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.ArrayList;
@@ -15,7 +16,7 @@ import java.util.Map;
  */
 public final class ResponseConverter {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper OBJECT_MAPPER = JsonCodec.shared().getObjectMapper();
 
     private ResponseConverter() {
         // Utility class, do not instantiate
@@ -6,6 +6,7 @@ import org.springframework.core.ParameterizedTypeReference;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -87,5 +88,27 @@ public interface TypeUtil {
         public Type getOwnerType() {
             return null;
         }
+
+        /**
+         * Value equality, so that equal types built by separate calls share cached readers.
+         */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ParameterizedType other)) {
+                return false;
+            }
+            return other.getOwnerType() == null
+                    && rawType.equals(other.getRawType())
+                    && Arrays.equals(actualTypeArguments, other.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            // Same formula as the JDK's own ParameterizedType with a null owner
+            return Arrays.hashCode(actualTypeArguments) ^ rawType.hashCode();
+        }
     }
 }
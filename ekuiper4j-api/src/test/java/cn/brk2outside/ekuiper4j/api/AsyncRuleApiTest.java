@@ -0,0 +1,99 @@
+package cn.brk2outside.ekuiper4j.api;
+
+import cn.brk2outside.ekuiper4j.dto.request.CreateRuleRequest;
+import cn.brk2outside.ekuiper4j.dto.request.CreateStreamRequest;
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.model.stream.StreamField;
+import cn.brk2outside.ekuiper4j.sdk.api.AsyncRuleAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.AsyncStreamAPI;
+import cn.brk2outside.ekuiper4j.sdk.util.ClientExecutor;
+import cn.brk2outside.ekuiper4j.utils.StreamFieldBuilder;
+import cn.brk2outside.ekuiper4j.utils.StreamSqlBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the asynchronous rule and stream facades
+ */
+public class AsyncRuleApiTest extends BaseApiTest {
+
+    private static final String TEST_RULE_NAME = "test_async_rule_api";
+    private static final String TEST_STREAM_NAME = "test_stream_for_async_rule_api";
+
+    private ClientExecutor clientExecutor;
+    private AsyncRuleAPI ruleAPI;
+    private AsyncStreamAPI streamAPI;
+
+    @BeforeEach
+    void setUpAsyncApi() {
+        clientExecutor = ClientExecutor.fixed(4);
+        ruleAPI = new AsyncRuleAPI(client, clientExecutor.getExecutor());
+        streamAPI = new AsyncStreamAPI(client, clientExecutor.getExecutor());
+        cleanup();
+    }
+
+    @AfterEach
+    void tearDownAsyncApi() {
+        cleanup();
+        clientExecutor.close();
+    }
+
+    private void cleanup() {
+        ruleAPI.deleteRule(TEST_RULE_NAME).exceptionally(e -> null).join();
+        streamAPI.deleteStream(TEST_STREAM_NAME).exceptionally(e -> null).join();
+    }
+
+    private CreateStreamRequest createTestStreamRequest() {
+        StreamField idField = StreamFieldBuilder.createBigintField("id");
+        StreamField tempField = StreamFieldBuilder.createFloatField("temperature");
+        List<StreamField> fields = StreamFieldBuilder.createFields(idField, tempField);
+
+        Map<String, String> options = new HashMap<>();
+        options.put("DATASOURCE", "test/topic");
+        options.put("FORMAT", "JSON");
+
+        CreateStreamRequest request = new CreateStreamRequest();
+        request.setSql(StreamSqlBuilder.buildCreateStreamSql(TEST_STREAM_NAME, fields, options));
+        return request;
+    }
+
+    private CreateRuleRequest createTestRuleRequest() {
+        Map<String, Object> logAction = new HashMap<>();
+        logAction.put("log", new HashMap<>());
+
+        return CreateRuleRequest.builder()
+                .id(TEST_RULE_NAME)
+                .sql("SELECT * FROM " + TEST_STREAM_NAME)
+                .actions(List.of(logAction))
+                .build();
+    }
+
+    @Test
+    void testComposedCreateStreamCreateRuleStartRule() throws Exception {
+        RuleStatusResponse status = streamAPI.createStream(createTestStreamRequest())
+                .thenCompose(ignored -> ruleAPI.createRule(createTestRuleRequest()))
+                .thenCompose(ignored -> ruleAPI.startRule(TEST_RULE_NAME))
+                .thenCompose(ignored -> ruleAPI.getRuleStatus(TEST_RULE_NAME))
+                .get(30, TimeUnit.SECONDS);
+
+        assertNotNull(status);
+    }
+
+    @Test
+    void testFailedRequestCompletesExceptionally() {
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> ruleAPI.getRule("non_existent_async_rule").join());
+
+        assertInstanceOf(HttpClientException.class, exception.getCause());
+    }
+}
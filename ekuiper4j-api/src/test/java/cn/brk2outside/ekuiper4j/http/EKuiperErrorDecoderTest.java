@@ -0,0 +1,50 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EKuiperErrorDecoder
+ */
+public class EKuiperErrorDecoderTest {
+
+    private final EKuiperErrorDecoder decoder = new EKuiperErrorDecoder(JsonCodec.shared());
+
+    private HttpClientException decode(int statusCode, String body) {
+        return decoder.decode(statusCode, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEKuiperError() {
+        HttpClientException exception = decode(400,
+                "{\"error\":1002,\"details\":{\"nested\":[1,2]},\"message\":\"Resource /rules/r1 not found\"}");
+
+        assertTrue(exception.hasEKuiperError());
+        assertTrue(exception.isEKuiperErrorType(EKuiperErrorCode.RESOURCE_NOT_FOUND));
+        assertEquals("Resource /rules/r1 not found", exception.getEKuiperError().getMessage());
+        assertEquals(400, exception.getStatusCode());
+    }
+
+    @Test
+    void testJsonErrorWithoutCode() {
+        HttpClientException exception = decode(500, "{\"status\":\"error\",\"message\":\"Something went wrong\"}");
+
+        assertFalse(exception.hasEKuiperError());
+        assertEquals("Something went wrong", exception.getMessage());
+
+        exception = decode(401, "{\"error\":\"token expired\"}");
+        assertFalse(exception.hasEKuiperError());
+        assertEquals("token expired", exception.getMessage());
+    }
+
+    @Test
+    void testNonJsonBodies() {
+        assertEquals("<html>502 Bad Gateway</html>", decode(502, "<html>502 Bad Gateway</html>").getMessage());
+        assertEquals("{\"error\":10", decode(500, "{\"error\":10").getMessage());
+        assertEquals("HTTP request failed with status code: 503", decoder.decode(503, new byte[0]).getMessage());
+        assertEquals("HTTP request failed with status code: 503", decoder.decode(503, null).getMessage());
+    }
+}
@@ -1,42 +1,40 @@
 package cn.brk2outside.ekuiper4j.http;
 
 import cn.brk2outside.ekuiper4j.BaseEKuiperTest;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentMatchers;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
-import java.net.URI;
 import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 /**
  * Tests for the enhanced error handling in RestTemplateHttpClient.
  */
 public class ErrorHandlingTest extends BaseEKuiperTest {
 
-    @Mock
-    private RestTemplate mockRestTemplate;
+    private MockRestServiceServer mockServer;
 
     private RestTemplateHttpClient mockClient;
     private RestTemplateHttpClient realClient;
-    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
     public void setup() {
-        MockitoAnnotations.openMocks(this);
-        
-        // Create a client with mock RestTemplate for unit tests
-        mockClient = new RestTemplateHttpClient("localhost", 9081, mockRestTemplate);
+        // Create a client on a RestTemplate bound to a mock server for unit tests
+        RestTemplate restTemplate = new RestTemplate();
+        mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+        mockClient = new RestTemplateHttpClient("localhost", 9081, restTemplate);
         
         // Create a client using the real container for integration tests
         realClient = new RestTemplateHttpClient(
@@ -44,32 +42,17 @@ public class ErrorHandlingTest extends BaseEKuiperTest {
                 EKUIPER.getEkuiperPort());
     }
 
-    // Unit tests with mocked RestTemplate
+    // Unit tests with a mocked server
     
     @Test
     public void testIOErrorHandlingMocked() {
-        // Prepare error response JSON
-        Map<String, Object> body = Map.of(
-                "error", 1003,
-                "message", "found error when connecting for tcp://localhost:1883: network Error : dial tcp 127.0.0.1:1883: connect: connection refused"
-        );
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        
-        // Create a ResponseEntity with Bad Request status
-        ResponseEntity<Map<String, Object>> responseEntity = ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .headers(headers)
-                .body(body);
-        
-        // Mock RestTemplate to return the error response - using exact parameter matcher
-        when(mockRestTemplate.exchange(
-                any(URI.class),
-                eq(HttpMethod.GET), 
-                any(HttpEntity.class),
-                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-                .thenReturn(responseEntity);
+        // Mock the server to return the error response
+        mockServer.expect(requestTo("http://localhost:9081/mqtt/sources"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":1003,\"message\":\"found error when connecting for tcp://localhost:1883: "
+                                + "network Error : dial tcp 127.0.0.1:1883: connect: connection refused\"}"));
         
         // Invoke client and expect exception with proper error code
         HttpClientException exception = assertThrows(HttpClientException.class, () -> {
@@ -82,29 +65,17 @@ public class ErrorHandlingTest extends BaseEKuiperTest {
         assertEquals(1003, exception.getEKuiperError().getErrorCode());
         assertTrue(exception.isEKuiperErrorType(EKuiperErrorCode.IO_ERROR));
         assertTrue(exception.getMessage().contains("IO error in Source/Sink"));
+        mockServer.verify();
     }
     
     @Test
     public void testResourceNotFoundErrorHandlingMocked() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        
-        // Create a ResponseEntity with Not Found status
-        ResponseEntity<Map<String, Object>> responseEntity = ResponseEntity
-                .status(HttpStatus.NOT_FOUND)
-                .headers(headers)
-                .body(Map.of(
-                        "error", 1002,
-                        "message", "Resource /rules/non_existent not found"
-                )); // Using null body as the RestTemplate would normally do
-        
-        // Mock RestTemplate to return the error response
-        when(mockRestTemplate.exchange(
-                any(URI.class),
-                eq(HttpMethod.GET), 
-                any(HttpEntity.class), 
-                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-                .thenReturn(responseEntity);
+        // Mock the server to return the error response
+        mockServer.expect(requestTo("http://localhost:9081/rules/non_existent"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":1002,\"message\":\"Resource /rules/non_existent not found\"}"));
         
         // Invoke client and expect exception with proper error code
         HttpClientException exception = assertThrows(HttpClientException.class, () -> {
@@ -117,25 +88,12 @@ public class ErrorHandlingTest extends BaseEKuiperTest {
     
     @Test
     public void testSQLCompilationErrorHandlingMocked() {
-        // Prepare error response JSON
-        String errorJson = "{\"error\":2001,\"message\":\"SQL syntax error in 'SELECT * FORM stream'\"}";
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        
-        // Create a ResponseEntity with Internal Server Error status
-        ResponseEntity<Map<String, Object>> responseEntity = ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .headers(headers)
-                .body(Map.of("error", 2001, "message", "SQL syntax error in 'SELECT * FORM stream'"));
-        
-        // Mock RestTemplate to return the error response
-        when(mockRestTemplate.exchange(
-                any(URI.class),
-                eq(HttpMethod.POST), 
-                any(HttpEntity.class), 
-                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-                .thenReturn(responseEntity);
+        // Mock the server to return the error response
+        mockServer.expect(requestTo("http://localhost:9081/rules/new_rule"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":2001,\"message\":\"SQL syntax error in 'SELECT * FORM stream'\"}"));
         
         // Invoke client and expect an exception for SQL compilation error
         HttpClientException exception = assertThrows(HttpClientException.class, () -> {
@@ -154,25 +112,12 @@ public class ErrorHandlingTest extends BaseEKuiperTest {
     
     @Test
     public void testNonEKuiperErrorMocked() {
-        // Prepare error response that is not an eKuiper error
-        Map<String, Object> errorBody = Map.of("status", "error", "message", "Something went wrong");
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        
-        // Create a ResponseEntity with Bad Request status
-        ResponseEntity<Map<String, Object>> responseEntity = ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .headers(headers)
-                .body(errorBody);
-        
-        // Mock RestTemplate to return the error response
-        when(mockRestTemplate.exchange(
-                any(URI.class),
-                eq(HttpMethod.GET), 
-                any(HttpEntity.class), 
-                ArgumentMatchers.<ParameterizedTypeReference<Map<String, Object>>>any()))
-                .thenReturn(responseEntity);
+        // Mock the server to return an error response that is not an eKuiper error
+        mockServer.expect(requestTo("http://localhost:9081/something"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"status\":\"error\",\"message\":\"Something went wrong\"}"));
         
         // Invoke client and expect a standard exception (not eKuiper error)
         HttpClientException exception = assertThrows(HttpClientException.class, () -> {
@@ -184,6 +129,28 @@ public class ErrorHandlingTest extends BaseEKuiperTest {
         assertTrue(exception.getMessage().contains("Something went wrong"));
     }
     
+    @Test
+    public void testMalformedResponseMocked() {
+        // Mock the server to return a successful response that is not valid JSON for the type
+        mockServer.expect(requestTo("http://localhost:9081/rules"))
+                .andRespond(withSuccess("[{\"id\":", MediaType.APPLICATION_JSON));
+        
+        HttpClientException exception = assertThrows(HttpClientException.class, () -> {
+            mockClient.get("/rules", new ParameterizedTypeReference<Map<String, Object>>() {});
+        });
+        assertEquals(HttpStatus.OK.value(), exception.getStatusCode());
+        assertTrue(exception.getMessage().contains("Failed to decode response"));
+    }
+    
+    @Test
+    public void testEmptyResponseMocked() {
+        // An empty body decodes to null instead of failing the JSON parser
+        mockServer.expect(requestTo("http://localhost:9081/rules/rule1"))
+                .andRespond(withSuccess());
+        
+        assertNull(mockClient.get("/rules/{id}", new ParameterizedTypeReference<Map<String, Object>>() {}, "rule1"));
+    }
+    
     // Integration tests with real eKuiper container
     
     @Test
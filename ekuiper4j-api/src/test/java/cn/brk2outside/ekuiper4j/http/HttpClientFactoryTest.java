@@ -0,0 +1,72 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HttpClientFactory
+ */
+public class HttpClientFactoryTest {
+
+    private static EKuiperClientProperties.Pool pool() {
+        EKuiperClientProperties.Pool pool = new EKuiperClientProperties.Pool();
+        pool.setMaxConnectionsPerNode(7);
+        pool.setMaxConnectionsTotal(50);
+        pool.setKeepAliveTtlMs(45000);
+        pool.setValidateAfterInactivityMs(1500);
+        return pool;
+    }
+
+    @Test
+    void testPoolPropertiesReachConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = HttpClientFactory.createConnectionManager(2000, 9000, pool());
+        assertEquals(7, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(50, connectionManager.getMaxTotal());
+    }
+
+    @Test
+    void testTotalConnectionsAreAtLeastPerNode() {
+        EKuiperClientProperties.Pool pool = pool();
+        pool.setMaxConnectionsTotal(3);
+        PoolingHttpClientConnectionManager connectionManager = HttpClientFactory.createConnectionManager(2000, 9000, pool);
+        assertEquals(7, connectionManager.getMaxTotal());
+    }
+
+    @Test
+    void testConnectionConfig() {
+        ConnectionConfig connectionConfig = HttpClientFactory.createConnectionConfig(2000, 9000, pool());
+        assertEquals(Timeout.ofMilliseconds(2000), connectionConfig.getConnectTimeout());
+        assertEquals(Timeout.ofMilliseconds(9000), connectionConfig.getSocketTimeout());
+        assertEquals(TimeValue.ofMilliseconds(45000), connectionConfig.getTimeToLive());
+        assertEquals(TimeValue.ofMilliseconds(1500), connectionConfig.getValidateAfterInactivity());
+    }
+
+    @Test
+    void testCloseReleasesOwnedTransportOnly() {
+        AtomicInteger closed = new AtomicInteger();
+        new RestTemplateHttpClient("localhost", 9081, new RestTemplate(), closed::incrementAndGet).close();
+        assertEquals(1, closed.get());
+
+        // The caller's RestTemplate is left alone
+        new RestTemplateHttpClient("localhost", 9081, new RestTemplate()).close();
+        assertEquals(1, closed.get());
+
+        try (RestTemplateHttpClient client = HttpClientFactory.createPooled("localhost", 9081, 2000, 9000, pool())) {
+            assertEquals("http://localhost:9081", client.getBaseUrl());
+        }
+
+        // Clients with their own timeouts own a pool too, released by closing them
+        HttpClient withTimeouts = HttpClientFactory.createWithTimeouts("localhost", 9081, 2000, 9000);
+        assertInstanceOf(AutoCloseable.class, withTimeouts);
+        ForwardingHttpClient.closeClient(withTimeouts);
+    }
+}
@@ -0,0 +1,197 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JdkHttpClient against a local HTTP server
+ */
+public class JdkHttpClientTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<String> TEXT = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Void> VOID = new ParameterizedTypeReference<>() {};
+
+    private final CountDownLatch slowReleased = new CountDownLatch(1);
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private JdkHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/json", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            respond(exchange, 200, body.isEmpty()
+                    ? "{\"method\":\"" + exchange.getRequestMethod() + "\",\"query\":\"" + exchange.getRequestURI().getQuery() + "\"}"
+                    : body);
+        });
+        server.createContext("/text", exchange -> respond(exchange, 200, "Rule r1 was started"));
+        server.createContext("/empty", exchange -> respond(exchange, 200, ""));
+        server.createContext("/missing", exchange ->
+                respond(exchange, 404, "{\"error\":1002,\"message\":\"Resource /rules/r1 not found\"}"));
+        server.createContext("/broken", exchange -> respond(exchange, 503, "upstream unavailable"));
+        server.createContext("/slow", exchange -> {
+            try {
+                slowReleased.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "late");
+        });
+        server.start();
+        client = new JdkHttpClient("localhost", server.getAddress().getPort(),
+                JdkHttpClient.newTransport(Duration.ofSeconds(1), null), Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowReleased.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static HttpClientException failure(Runnable request) {
+        return assertThrows(HttpClientException.class, request::run);
+    }
+
+    private static HttpClientException asyncFailure(java.util.concurrent.CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return assertInstanceOf(HttpClientException.class, e.getCause());
+    }
+
+    @Test
+    void testSendDecodesJson() {
+        Map<String, Object> response = client.get("/json", Map.of("expand", true), MAP);
+        assertEquals("GET", response.get("method"));
+        assertEquals("expand=true", response.get("query"));
+
+        Map<String, Object> echoed = client.post("/json", Map.of("id", "r1"), MAP);
+        assertEquals(Map.of("id", "r1"), echoed);
+    }
+
+    @Test
+    void testSendAsyncDecodesJson() throws Exception {
+        Map<String, Object> response = client.getAsync("/json", MAP).get(5, TimeUnit.SECONDS);
+        assertEquals("GET", response.get("method"));
+
+        Map<String, Object> echoed = client.putAsync("/json", Map.of("id", "r1"), MAP).get(5, TimeUnit.SECONDS);
+        assertEquals(Map.of("id", "r1"), echoed);
+    }
+
+    @Test
+    void testTextAndVoidResponses() throws Exception {
+        assertEquals("Rule r1 was started", client.post("/text", null, TEXT));
+        assertEquals("Rule r1 was started", client.postAsync("/text", null, TEXT).get(5, TimeUnit.SECONDS));
+
+        // A body is discarded for Void, and an empty body decodes to null for any type
+        assertNull(client.delete("/text", VOID));
+        assertNull(client.get("/empty", MAP));
+        assertNull(client.getAsync("/empty", TEXT).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEKuiperErrorsAreDecoded() {
+        HttpClientException sync = failure(() -> client.get("/missing", MAP));
+        assertEquals(404, sync.getStatusCode());
+        assertTrue(sync.isEKuiperErrorType(EKuiperErrorCode.RESOURCE_NOT_FOUND));
+        assertEquals("Resource /rules/r1 not found", sync.getEKuiperError().getMessage());
+        assertFalse(sync.isTransient());
+
+        HttpClientException async = asyncFailure(client.getAsync("/missing", MAP));
+        assertEquals(404, async.getStatusCode());
+        assertTrue(async.isEKuiperErrorType(EKuiperErrorCode.RESOURCE_NOT_FOUND));
+
+        // Error status codes are reported before a body reader sees the body
+        HttpClientException streamed = failure(() -> client.get("/missing", ResponseBodyReader.of(body -> {
+            throw new AssertionError("Reader called for an error response");
+        })));
+        assertTrue(streamed.isEKuiperErrorType(EKuiperErrorCode.RESOURCE_NOT_FOUND));
+
+        HttpClientException plain = failure(() -> client.get("/broken", TEXT));
+        assertEquals(503, plain.getStatusCode());
+        assertFalse(plain.hasEKuiperError());
+        assertTrue(plain.isTransient());
+    }
+
+    @Test
+    void testTimeoutsAreTransient() {
+        HttpClientException sync = failure(() -> client.get("/slow", TEXT));
+        assertEquals(-1, sync.getStatusCode());
+        assertTrue(sync.getMessage().contains("timed out"), sync.getMessage());
+        assertTrue(sync.isTransient());
+
+        HttpClientException async = asyncFailure(client.getAsync("/slow", TEXT));
+        assertTrue(async.isTransient());
+    }
+
+    @Test
+    void testConnectionFailuresAreTransient() {
+        int port = server.getAddress().getPort();
+        server.stop(0);
+        JdkHttpClient closed = new JdkHttpClient("localhost", port,
+                JdkHttpClient.newTransport(Duration.ofSeconds(1), null), Duration.ofMillis(500));
+
+        HttpClientException sync = failure(() -> closed.get("/json", MAP));
+        assertEquals(-1, sync.getStatusCode());
+        assertTrue(sync.isTransient());
+        assertTrue(asyncFailure(closed.getAsync("/json", MAP)).isTransient());
+    }
+
+    @Test
+    void testBodyReadErrorsKeepTheStatus() {
+        ResponseBodyReader<String> failing = ResponseBodyReader.of(body -> {
+            body.read();
+            throw new IOException("truncated");
+        });
+
+        HttpClientException sync = failure(() -> client.get("/text", failing));
+        assertEquals(200, sync.getStatusCode());
+        assertTrue(sync.getMessage().contains("truncated"), sync.getMessage());
+        // Part of the body may have been consumed, so the request is not sent again
+        assertFalse(sync.isTransient());
+
+        HttpClientException async = asyncFailure(client.getAsync("/text", failing));
+        assertEquals(200, async.getStatusCode());
+        assertFalse(async.isTransient());
+
+        // A reader that succeeds gets the streamed body
+        assertEquals("Rule r1 was started", client.get("/text", ResponseBodyReader.of(
+                body -> new String(body.readAllBytes(), StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void testJsonDecodeErrorsKeepTheStatus() {
+        HttpClientException e = failure(() -> client.get("/text", MAP));
+        assertEquals(200, e.getStatusCode());
+        assertFalse(e.isTransient());
+    }
+}
@@ -0,0 +1,36 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JdkTransport
+ */
+public class JdkTransportTest {
+
+    @Test
+    void testClientIsSharedUntilClosed() {
+        JdkTransport transport = new JdkTransport(Duration.ofSeconds(1));
+        java.net.http.HttpClient httpClient = transport.getHttpClient();
+        assertSame(httpClient, transport.getHttpClient());
+        assertEquals(Duration.ofSeconds(1), httpClient.connectTimeout().orElseThrow());
+
+        ExecutorService executor = (ExecutorService) httpClient.executor().orElseThrow();
+        transport.close();
+        assertTrue(executor.isShutdown());
+        assertThrows(IllegalStateException.class, transport::getHttpClient);
+        // Closing twice is harmless
+        transport.close();
+    }
+
+    @Test
+    void testUnusedTransportStartsNothing() {
+        JdkTransport transport = new JdkTransport(Duration.ofSeconds(1));
+        transport.close();
+        assertThrows(IllegalStateException.class, transport::getHttpClient);
+    }
+}
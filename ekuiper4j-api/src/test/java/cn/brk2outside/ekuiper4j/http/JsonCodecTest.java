@@ -0,0 +1,78 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.TypeUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JsonCodec
+ */
+public class JsonCodecTest {
+
+    private final JsonCodec codec = JsonCodec.create(false);
+
+    @Test
+    void testReadersAreCachedPerType() {
+        assertSame(codec.reader(RuleStatusResponse.class), codec.reader(RuleStatusResponse.class));
+        // Equal types built by separate calls share one reader
+        assertSame(codec.reader(TypeUtil.mapOf(String.class, RuleStatusResponse.class).getType()),
+                codec.reader(TypeUtil.mapOf(String.class, RuleStatusResponse.class).getType()));
+        assertSame(codec.reader(StandardEndpoints.GET_ALL_RULES_STATUS.getEndpoint().getResponseClz().getType()),
+                codec.reader(TypeUtil.mapOf(String.class, RuleStatusResponse.class).getType()));
+    }
+
+    @Test
+    void testReadIgnoresUnknownProperties() throws Exception {
+        byte[] json = "{\"rule1\":{\"status\":\"running\",\"lastStartTimestamp\":1700000000000,\"unknown\":{\"a\":1}}}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        Map<String, RuleStatusResponse> statuses =
+                codec.read(json, TypeUtil.mapOf(String.class, RuleStatusResponse.class).getType());
+
+        assertEquals(1, statuses.size());
+        assertEquals(1700000000000L, statuses.get("rule1").getLastStartTimestamp());
+    }
+
+    @Test
+    void testWriteUsesRuntimeClass() throws Exception {
+        Object request = new Extended("base", "extra");
+
+        String json = codec.writeString(request);
+
+        assertTrue(json.contains("\"name\":\"base\""));
+        assertTrue(json.contains("\"extra\":\"extra\""));
+        assertSame(codec.writer(Extended.class), codec.writer(Extended.class));
+        assertEquals("null", codec.writeString(null));
+    }
+
+    public static class Base {
+        private final String name;
+
+        Base(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class Extended extends Base {
+        private final String extra;
+
+        Extended(String name, String extra) {
+            super(name);
+            this.extra = extra;
+        }
+
+        public String getExtra() {
+            return extra;
+        }
+    }
+}
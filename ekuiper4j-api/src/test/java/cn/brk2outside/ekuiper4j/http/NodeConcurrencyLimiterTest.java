@@ -0,0 +1,152 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.sdk.api.AsyncOverviewAPI;
+import cn.brk2outside.ekuiper4j.sdk.util.TypeUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for NodeConcurrencyLimiter, ConcurrencyLimitedHttpClient and AsyncConcurrencyLimitedHttpClient
+ */
+public class NodeConcurrencyLimiterTest {
+
+    /**
+     * Non-blocking client whose responses are completed by the test.
+     */
+    private static class PendingHttpClient extends ForwardingAsyncHttpClient {
+        private final Queue<CompletableFuture<Object>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        PendingHttpClient() {
+            super(null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected <T> CompletableFuture<T> exchangeAsync(HttpMethods method, String path, Object requestBody,
+                                                         Map<String, Object> queryParams,
+                                                         ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+            CompletableFuture<Object> response = new CompletableFuture<>();
+            pending.add(response);
+            maxInFlight.accumulateAndGet(pending.size(), Math::max);
+            return (CompletableFuture<T>) response;
+        }
+
+        void completeNext() {
+            pending.remove().complete(null);
+        }
+    }
+
+    @Test
+    void testAsyncRequestsWaitWithoutThreads() {
+        NodeConcurrencyLimiter limiter = new NodeConcurrencyLimiter(2);
+        PendingHttpClient node = new PendingHttpClient();
+        HttpClient client = limiter.limit(node, "edge-1", 9081);
+        assertInstanceOf(AsyncHttpClient.class, client);
+
+        AtomicInteger executorUses = new AtomicInteger();
+        AsyncOverviewAPI overview = new AsyncOverviewAPI(client, runnable -> {
+            executorUses.incrementAndGet();
+            runnable.run();
+        });
+        List<CompletableFuture<Void>> pings = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            pings.add(overview.ping());
+        }
+        NodePermits permits = limiter.permits("edge-1:9081");
+        assertEquals(2, node.pending.size());
+        assertEquals(3, permits.getQueueLength());
+
+        // Each response hands its permit to the next queued request
+        for (int i = 0; i < 5; i++) {
+            node.completeNext();
+        }
+        pings.forEach(ping -> assertTrue(ping.isDone()));
+        assertEquals(2, node.maxInFlight.get());
+        assertEquals(0, executorUses.get());
+        assertEquals(2, permits.getAvailablePermits());
+    }
+
+    @Test
+    void testCancelledAsyncRequestReturnsItsPermit() {
+        NodeConcurrencyLimiter limiter = new NodeConcurrencyLimiter(1);
+        PendingHttpClient node = new PendingHttpClient();
+        AsyncHttpClient client = (AsyncHttpClient) limiter.limit(node, "edge-1", 9081);
+
+        CompletableFuture<String> first = client.getAsync("/ping", TypeUtil.of(String.class));
+        CompletableFuture<String> second = client.getAsync("/ping", TypeUtil.of(String.class));
+        second.cancel(false);
+        node.completeNext();
+
+        assertTrue(first.isDone());
+        assertTrue(node.pending.isEmpty());
+        assertEquals(1, limiter.permits("edge-1:9081").getAvailablePermits());
+    }
+
+    @Test
+    void testBlockingAndAsyncRequestsShareTheLimit() throws Exception {
+        NodeConcurrencyLimiter limiter = new NodeConcurrencyLimiter(1);
+        PendingHttpClient node = new PendingHttpClient();
+        AsyncHttpClient client = (AsyncHttpClient) limiter.limit(node, "edge-1", 9081);
+        NodePermits permits = limiter.permits("edge-1:9081");
+
+        permits.acquire();
+        CompletableFuture<String> queued = client.getAsync("/ping", TypeUtil.of(String.class));
+        assertTrue(node.pending.isEmpty());
+        permits.release();
+        assertEquals(1, node.pending.size());
+        node.completeNext();
+        assertTrue(queued.isDone());
+        assertEquals(1, permits.getAvailablePermits());
+    }
+
+    @Test
+    void testLimitIsSharedByClientsOfTheSameNode() throws Exception {
+        NodeConcurrencyLimiter limiter = new NodeConcurrencyLimiter(3);
+        StubHttpClient recorder = new StubHttpClient();
+        recorder.setDelayMs(20);
+        HttpClient first = limiter.limit(recorder, "edge-1", 9081);
+        HttpClient second = limiter.limit(recorder, "edge-1", 9081);
+
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        try {
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 24; i++) {
+                HttpClient client = i % 2 == 0 ? first : second;
+                futures.add(CompletableFuture.supplyAsync(() -> client.get("/ping", TypeUtil.of(String.class)), executor));
+            }
+            for (CompletableFuture<String> future : futures) {
+                assertEquals("/ping", future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(recorder.getMaxInFlight() <= 3, "max in flight was " + recorder.getMaxInFlight());
+        assertSame(limiter.permits("edge-1:9081"), limiter.permits(NodeConcurrencyLimiter.nodeKey("edge-1", 9081)));
+        assertNotSame(limiter.permits("edge-1:9081"), limiter.permits("edge-2:9081"));
+    }
+
+    @Test
+    void testDisabledLimiterReturnsClientUnchanged() {
+        NodeConcurrencyLimiter limiter = new NodeConcurrencyLimiter(0);
+        StubHttpClient recorder = new StubHttpClient();
+
+        assertFalse(limiter.isEnabled());
+        assertSame(recorder, limiter.limit(recorder, "edge-1", 9081));
+    }
+}
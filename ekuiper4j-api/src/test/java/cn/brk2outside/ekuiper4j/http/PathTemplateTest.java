@@ -0,0 +1,68 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PathTemplate
+ */
+public class PathTemplateTest {
+
+    private static final String BASE_URL = "http://localhost:9081";
+
+    @Test
+    void testExpandPathVariables() {
+        PathTemplate template = PathTemplate.of("/rules/{id}/status");
+
+        assertEquals(1, template.getVariableCount());
+        assertEquals("http://localhost:9081/rules/rule1/status", template.expandToString(BASE_URL, null, "rule1"));
+        assertEquals(URI.create("http://localhost:9081/rules/rule1/status"), template.expand(BASE_URL, null, "rule1"));
+    }
+
+    @Test
+    void testPathWithoutLeadingSlash() {
+        assertEquals("http://localhost:9081/ping", PathTemplate.of("ping").expandToString(BASE_URL, null));
+        assertEquals("http://localhost:9081", PathTemplate.of("").expandToString(BASE_URL, null));
+    }
+
+    @Test
+    void testPathVariablesArePercentEncoded() {
+        PathTemplate template = PathTemplate.of("/streams/{id}");
+
+        assertEquals("http://localhost:9081/streams/a%20b%2Fc%3F%23", template.expandToString(BASE_URL, null, "a b/c?#"));
+        assertEquals("http://localhost:9081/streams/%E6%B8%A9%E5%BA%A6", template.expandToString(BASE_URL, null, "\u6e29\u5ea6"));
+        assertEquals("http://localhost:9081/streams/x:y@z", template.expandToString(BASE_URL, null, "x:y@z"));
+    }
+
+    @Test
+    void testQueryParametersAreEncodedAndNullsSkipped() {
+        Map<String, Object> queryParams = new LinkedHashMap<>();
+        queryParams.put("q", "a&b=c d+e");
+        queryParams.put("skip", null);
+        queryParams.put("limit", 10);
+
+        assertEquals("http://localhost:9081/rules?q=a%26b%3Dc%20d%2Be&limit=10",
+                PathTemplate.of("/rules").expandToString(BASE_URL, queryParams));
+    }
+
+    @Test
+    void testNotEnoughPathVariables() {
+        PathTemplate template = PathTemplate.of("/rules/{id}/status");
+
+        assertThrows(IllegalArgumentException.class, () -> template.expandToString(BASE_URL, null));
+    }
+
+    @Test
+    void testStandardEndpointsArePrecompiled() {
+        for (StandardEndpoints endpoint : StandardEndpoints.values()) {
+            assertSame(endpoint.getEndpoint().getPathTemplate(), PathTemplate.of(endpoint.getEndpoint().getEndpoint()),
+                    endpoint.name());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.http.coalescing.CoalescingHttpClient;
+import cn.brk2outside.ekuiper4j.metrics.RuleMetrics;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for ResponseBodyReader and the streaming rule status methods of RuleAPI
+ */
+public class ResponseBodyReaderTest {
+
+    private static final String ALL_STATUS = """
+            {
+              "rule1": {"status": "running", "source_demo_0_records_in_total": 10, "sink_log_0_records_out_total": 9},
+              "rule2": {"status": "stopped: canceled manually.", "lastStopTimestamp": 1712345678000}
+            }
+            """;
+
+    /**
+     * Client serving a fixed body, streamed to body readers like the transports do.
+     */
+    private static StubHttpClient node(String body) {
+        return new StubHttpClient(request -> StubHttpClient.json(body));
+    }
+
+    @Test
+    void testForEachRuleStatus() {
+        Map<String, RuleStatusResponse> received = new LinkedHashMap<>();
+        int count = new RuleAPI(node(ALL_STATUS)).forEachRuleStatus(received::put);
+
+        assertEquals(2, count);
+        assertEquals(List.of("rule1", "rule2"), new ArrayList<>(received.keySet()));
+        assertEquals("running", received.get("rule1").getStatus());
+        assertEquals(10, ((Number) received.get("rule1").getMetrics().get("source_demo_0_records_in_total")).intValue());
+        assertEquals(1712345678000L, received.get("rule2").getLastStopTimestamp());
+    }
+
+    @Test
+    void testForEachRuleMetrics() {
+        Map<String, RuleMetrics> received = new LinkedHashMap<>();
+        int count = new RuleAPI(node(ALL_STATUS)).forEachRuleMetrics(received::put);
+
+        assertEquals(2, count);
+        assertEquals(10, received.get("rule1").getSources().get(0).getRecordsIn());
+        assertEquals(9, received.get("rule1").getSinks().get(0).getRecordsOut());
+        assertTrue(received.get("rule2").getOperators().isEmpty());
+    }
+
+    @Test
+    void testStreamingUsesTheClientsCodec() {
+        String lenient = "{'rule1': {'status': 'running', 'source_demo_0_records_in_total': 10}}";
+        JsonCodec codec = new JsonCodec(JsonMapper.builder().enable(JsonReadFeature.ALLOW_SINGLE_QUOTES).build());
+        RuleAPI rules = new RuleAPI(node(lenient), codec);
+
+        Map<String, RuleStatusResponse> statuses = new LinkedHashMap<>();
+        assertEquals(1, rules.forEachRuleStatus(statuses::put));
+        assertEquals("running", statuses.get("rule1").getStatus());
+        Map<String, RuleMetrics> metrics = new LinkedHashMap<>();
+        assertEquals(1, rules.forEachRuleMetrics(metrics::put));
+        assertEquals(10, metrics.get("rule1").getSources().get(0).getRecordsIn());
+
+        // The shared codec is strict
+        assertThrows(HttpClientException.class, () -> new RuleAPI(node(lenient)).forEachRuleStatus((rule, status) -> fail()));
+    }
+
+    @Test
+    void testEmptyPayload() {
+        assertEquals(0, new RuleAPI(node("")).forEachRuleStatus((rule, status) -> fail()));
+        assertEquals(0, new RuleAPI(node("{}")).forEachRuleMetrics((rule, metrics) -> fail()));
+    }
+
+    @Test
+    void testBodyReadersAreNotCoalesced() {
+        StubHttpClient node = node(ALL_STATUS);
+        RuleAPI rules = new RuleAPI(new CoalescingHttpClient(node));
+
+        AtomicInteger received = new AtomicInteger();
+        rules.forEachRuleStatus((rule, status) -> received.incrementAndGet());
+        rules.forEachRuleStatus((rule, status) -> received.incrementAndGet());
+        assertEquals(2, node.getCalls());
+        assertEquals(4, received.get());
+    }
+
+    @Test
+    void testRestTemplateStreamsBody() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+        mockServer.expect(requestTo("http://localhost:9081/rules/status/all"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(ALL_STATUS, MediaType.APPLICATION_JSON));
+
+        List<String> received = new ArrayList<>();
+        int count = new RuleAPI(new RestTemplateHttpClient("localhost", 9081, restTemplate))
+                .forEachRuleMetrics((rule, metrics) -> received.add(rule));
+
+        assertEquals(2, count);
+        assertEquals(List.of("rule1", "rule2"), received);
+        mockServer.verify();
+    }
+
+    @Test
+    void testRestTemplateErrorsAndReadFailures() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer mockServer = MockRestServiceServer.bindTo(restTemplate).build();
+        RestTemplateHttpClient client = new RestTemplateHttpClient("localhost", 9081, restTemplate);
+
+        mockServer.expect(requestTo("http://localhost:9081/rules/status/all"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":1002,\"message\":\"Resource not found\"}"));
+        HttpClientException error = assertThrows(HttpClientException.class,
+                () -> new RuleAPI(client).forEachRuleStatus((rule, status) -> fail()));
+        assertEquals(400, error.getStatusCode());
+
+        // A body that breaks off midway is not retried: part of it was already consumed
+        mockServer.expect(requestTo("http://localhost:9081/rules/status/all"))
+                .andRespond(withSuccess("{\"rule1\": {\"status\": \"running\"}, \"rule2\": {", MediaType.APPLICATION_JSON));
+        List<String> received = new ArrayList<>();
+        HttpClientException truncated = assertThrows(HttpClientException.class,
+                () -> new RuleAPI(client).forEachRuleMetrics((rule, metrics) -> received.add(rule)));
+        assertEquals(200, truncated.getStatusCode());
+        assertFalse(truncated.isTransient());
+        assertEquals(List.of("rule1"), received);
+        mockServer.verify();
+    }
+}
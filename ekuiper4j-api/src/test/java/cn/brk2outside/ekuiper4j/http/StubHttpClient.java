@@ -0,0 +1,320 @@
+package cn.brk2outside.ekuiper4j.http;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory {@link HttpClient} for tests, standing in for an eKuiper node.
+ * <p>
+ * Every request is answered with its path unless a {@link Responder} is set; a responder may return
+ * {@link #json(Object)} to have the body decoded like a real client would, including through a
+ * {@link ResponseBodyReader}. The node can be taken down (connection refused), made to fail the next requests,
+ * delayed or held until a latch opens. Requests are counted in total, per method and per path template.
+ */
+public class StubHttpClient extends ForwardingHttpClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * A request received by the stub.
+     *
+     * @param method        The HTTP method
+     * @param path          The path template, e.g. "/rules/{id}/status"
+     * @param requestBody   The request body, or null
+     * @param queryParams   The query parameters, or null
+     * @param pathVariables The path variables
+     * @param call          The number of the request, starting at 1
+     */
+    public record Request(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                          Object[] pathVariables, int call) {
+
+        /**
+         * Gets a path variable as a string.
+         *
+         * @param index The index of the variable
+         * @return The variable
+         */
+        public String pathVariable(int index) {
+            return String.valueOf(pathVariables[index]);
+        }
+    }
+
+    /**
+     * Produces the response to a request.
+     */
+    @FunctionalInterface
+    public interface Responder {
+        /**
+         * Answers a request.
+         *
+         * @param request The request
+         * @return The response, or a {@link #json(Object)} body to decode into the expected type
+         */
+        Object respond(Request request);
+    }
+
+    /**
+     * A response body decoded into the type the caller expects.
+     */
+    private record JsonBody(byte[] bytes) {
+    }
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Map<String, AtomicInteger> callsByKey = new ConcurrentHashMap<>();
+    private volatile AtomicInteger inFlight = new AtomicInteger();
+    private volatile AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final Queue<HttpClientException> failures = new ConcurrentLinkedQueue<>();
+    private final Queue<String> threads = new ConcurrentLinkedQueue<>();
+    private volatile Responder responder = Request::path;
+    private volatile boolean down;
+    private volatile long delayMs;
+    private volatile CountDownLatch gate;
+
+    /**
+     * Creates a stub answering every request with its path.
+     */
+    public StubHttpClient() {
+        super(null);
+    }
+
+    /**
+     * Creates a stub answering every request with the given responder.
+     *
+     * @param responder Produces the responses
+     */
+    public StubHttpClient(Responder responder) {
+        this();
+        this.responder = responder;
+    }
+
+    /**
+     * Wraps a JSON response body, to be decoded into the type the caller expects.
+     *
+     * @param body JSON text, or a value serialized to JSON
+     * @return The response body
+     */
+    public static Object json(Object body) {
+        try {
+            return new JsonBody(body instanceof String text
+                    ? text.getBytes(StandardCharsets.UTF_8)
+                    : MAPPER.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize " + body, e);
+        }
+    }
+
+    /**
+     * Creates the exception a client throws when the node refuses connections.
+     *
+     * @param path The requested path
+     * @return A transient exception
+     */
+    public static HttpClientException connectionRefused(String path) {
+        return new HttpClientException("Error accessing resource: " + path, new ConnectException("Connection refused"), -1);
+    }
+
+    /**
+     * Sets the responder answering the next requests.
+     *
+     * @param responder Produces the responses
+     */
+    public void setResponder(Responder responder) {
+        this.responder = responder;
+    }
+
+    /**
+     * Takes the node down or brings it back up. Requests to a node that is down fail with a connection error.
+     *
+     * @param down True to refuse connections
+     */
+    public void setDown(boolean down) {
+        this.down = down;
+    }
+
+    /**
+     * Makes the next requests fail, one failure per request, once they have been delayed or held.
+     *
+     * @param failures The exceptions to throw, in order
+     */
+    public void failNext(HttpClientException... failures) {
+        this.failures.addAll(List.of(failures));
+    }
+
+    /**
+     * Delays every response.
+     *
+     * @param delayMs The delay in milliseconds; an interrupted request fails
+     */
+    public void setDelayMs(long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    /**
+     * Holds every request until the latch opens. An interrupted request stops waiting and is answered.
+     *
+     * @param gate The latch requests wait for, or null to answer right away
+     */
+    public void setGate(CountDownLatch gate) {
+        this.gate = gate;
+    }
+
+    /**
+     * Tracks the requests in flight with the given counters instead of the stub's own, e.g. to follow the
+     * requests in flight across the stubs of several nodes.
+     *
+     * @param inFlight    The counter of requests in flight
+     * @param maxInFlight The peak of requests in flight
+     */
+    public void trackInFlight(AtomicInteger inFlight, AtomicInteger maxInFlight) {
+        this.inFlight = inFlight;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Waits until the stub received a request.
+     *
+     * @param timeoutMs The maximum time to wait
+     * @return True if a request was received
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitRequest(long timeoutMs) throws InterruptedException {
+        return entered.await(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                             ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        int call = calls.incrementAndGet();
+        callsByKey.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+        callsByKey.computeIfAbsent(method.name(), key -> new AtomicInteger()).incrementAndGet();
+        threads.add(Thread.currentThread().getName());
+        AtomicInteger inFlight = this.inFlight;
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        entered.countDown();
+        try {
+            if (down) {
+                throw connectionRefused(path);
+            }
+            await();
+            HttpClientException failure = failures.poll();
+            if (failure != null) {
+                throw failure;
+            }
+            return decode(responder.respond(new Request(method, path, requestBody, queryParams, pathVariables, call)),
+                    responseType);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void await() {
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HttpClientException("Interrupted", e, -1);
+            }
+        }
+        CountDownLatch latch = gate;
+        if (latch != null) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T decode(Object response, ParameterizedTypeReference<T> responseType) {
+        if (!(response instanceof JsonBody body)) {
+            return (T) response;
+        }
+        try {
+            if (responseType instanceof ResponseBodyReader<T> reader) {
+                return reader.read(new ByteArrayInputStream(body.bytes()));
+            }
+            return MAPPER.readValue(body.bytes(), MAPPER.constructType(responseType.getType()));
+        } catch (IOException e) {
+            throw new HttpClientException("Failed to read response body", e, 200);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of requests received.
+     *
+     * @return The requests received, including failed ones
+     */
+    public int getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * Gets the number of requests received for a path template or with a method.
+     *
+     * @param pathOrMethod A path template such as "/rules/{id}/status", or a method name such as "GET"
+     * @return The requests received
+     */
+    public int getCalls(String pathOrMethod) {
+        AtomicInteger count = callsByKey.get(pathOrMethod);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Gets the number of requests being answered.
+     *
+     * @return The requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the highest number of requests that were in flight at once.
+     *
+     * @return The peak of requests in flight
+     */
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    /**
+     * Gets the number of times the stub was closed.
+     *
+     * @return The close count
+     */
+    public int getCloseCount() {
+        return closed.get();
+    }
+
+    /**
+     * Gets the names of the threads that sent the requests, in order.
+     *
+     * @return The thread names
+     */
+    public List<String> getThreads() {
+        return List.copyOf(threads);
+    }
+}
@@ -7,6 +7,7 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -107,4 +108,21 @@ class JwtAuthTest extends BaseEKuiperTest {
         assertEquals(properties.getJwt().getIssuer(), claims.getIssuer());
         assertEquals(properties.getJwt().getAudience(), claims.getAudience());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testHeaderSnapshotFollowsToken() {
+        HttpHeaders baseHeaders = new HttpHeaders();
+        baseHeaders.set("Accept", "application/json");
+        HeaderSnapshot snapshot = HeaderSnapshot.jwt(baseHeaders, tokenManager);
+
+        // The same pre-merged, read-only instance is reused until the token changes
+        HttpHeaders headers = snapshot.get();
+        assertSame(headers, snapshot.get());
+        assertEquals("application/json", headers.getFirst("Accept"));
+        assertEquals(tokenManager.getToken(), headers.getFirst(HttpHeaders.AUTHORIZATION));
+        assertThrows(UnsupportedOperationException.class, () -> headers.set("X-Test", "1"));
+
+        tokenManager.refreshToken();
+        assertEquals(tokenManager.getToken(), snapshot.get().getFirst(HttpHeaders.AUTHORIZATION));
+    }
+}
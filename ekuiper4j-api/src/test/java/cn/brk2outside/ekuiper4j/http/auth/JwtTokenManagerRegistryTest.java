@@ -0,0 +1,80 @@
+package cn.brk2outside.ekuiper4j.http.auth;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JwtTokenManagerRegistry, with keys generated in a temporary directory.
+ */
+class JwtTokenManagerRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EKuiperClientProperties.JwtAuth jwt(String issuer, Path certsDir) {
+        EKuiperClientProperties.JwtAuth jwt = new EKuiperClientProperties.JwtAuth();
+        jwt.setEnabled(true);
+        jwt.setIssuer(issuer);
+        jwt.setCertsDir(certsDir.toString());
+        jwt.setEkuiperMgmtPath(tempDir.resolve("mgmt").toString());
+        return jwt;
+    }
+
+    private EKuiperClientProperties.Node node(EKuiperClientProperties.JwtAuth jwt) {
+        EKuiperClientProperties.Node node = new EKuiperClientProperties.Node();
+        node.setJwt(jwt);
+        return node;
+    }
+
+    @Test
+    void testNodesWithOwnKeysAndIssuers() throws Exception {
+        EKuiperClientProperties properties = new EKuiperClientProperties();
+        properties.setJwt(jwt("global.pub", tempDir.resolve("global")));
+        properties.getNodes().put("edge-1", node(null));
+        properties.getNodes().put("edge-2", node(jwt("edge-2.pub", tempDir.resolve("edge-2"))));
+        properties.getNodes().put("edge-3", node(jwt("edge-2.pub", tempDir.resolve("edge-2"))));
+
+        try (JwtTokenManagerRegistry registry = new JwtTokenManagerRegistry(properties)) {
+            // Keys are only created when a node is first used
+            assertFalse(Files.exists(tempDir.resolve("edge-2")));
+
+            JwtTokenManager edge1 = registry.forNode("edge-1");
+            JwtTokenManager edge2 = registry.forNode("edge-2");
+
+            assertSame(registry.forConfig(properties.getJwt()), edge1, "Nodes without jwt settings use the global ones");
+            assertSame(edge2, registry.forNode("edge-3"), "Nodes with equal settings share a manager");
+            assertNotSame(edge1, edge2);
+
+            assertTrue(Files.exists(tempDir.resolve("edge-2").resolve("ekuiper4j_rsa.key")));
+            assertTrue(Files.exists(tempDir.resolve("edge-2").resolve("edge-2.pub")));
+            assertEquals("global.pub", issuer(edge1.getToken()));
+            assertEquals("edge-2.pub", issuer(edge2.getToken()));
+        }
+    }
+
+    @Test
+    void testDisabledAndUnknownNodes() {
+        EKuiperClientProperties properties = new EKuiperClientProperties();
+        properties.getNodes().put("plain", node(null));
+
+        try (JwtTokenManagerRegistry registry = new JwtTokenManagerRegistry(properties)) {
+            assertNull(registry.forNode("plain"));
+            assertThrows(IllegalArgumentException.class, () -> registry.forNode("missing"));
+        }
+    }
+
+    private String issuer(String token) throws Exception {
+        String payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]));
+        return objectMapper.readTree(payload).get("iss").asText();
+    }
+}
@@ -0,0 +1,126 @@
+package cn.brk2outside.ekuiper4j.http.auth;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the refresh scheduling of JwtTokenManager, with a fake token source instead of RSA signing.
+ */
+class JwtTokenManagerTest {
+
+    private static EKuiperClientProperties.JwtAuth jwt(long expirationTimeSeconds, long refreshAheadSeconds) {
+        EKuiperClientProperties.JwtAuth jwt = new EKuiperClientProperties.JwtAuth();
+        jwt.setEnabled(true);
+        jwt.setExpirationTimeSeconds(expirationTimeSeconds);
+        jwt.setRefreshAheadSeconds(refreshAheadSeconds);
+        return jwt;
+    }
+
+    @Test
+    void testConcurrentRefreshesShareOneSigning() throws Exception {
+        AtomicInteger signed = new AtomicInteger();
+        AtomicBoolean block = new AtomicBoolean();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (JwtTokenManager manager = new JwtTokenManager(jwt(3600, 60), () -> {
+            if (block.get()) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "token-" + signed.incrementAndGet();
+        }, System::currentTimeMillis)) {
+            assertEquals("token-1", manager.getToken());
+
+            block.set(true);
+            CompletableFuture<String> first = manager.refreshAsync();
+            CompletableFuture<String> second = manager.refreshAsync();
+            assertSame(first, second);
+            // Callers keep getting the valid token while the refresh is signing
+            assertEquals("token-1", manager.getToken());
+
+            release.countDown();
+            assertEquals("token-2", first.get(5, TimeUnit.SECONDS));
+            assertEquals(2, signed.get());
+            assertEquals("token-2", manager.getToken());
+        }
+    }
+
+    @Test
+    void testRefreshesAheadOfExpiry() throws Exception {
+        AtomicInteger signed = new AtomicInteger();
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        // Valid for 2 seconds, renewed after 1 second (refresh-ahead is capped at half the lifetime)
+        try (JwtTokenManager manager = new JwtTokenManager(jwt(2, 60), () -> {
+            if (signed.incrementAndGet() == 2) {
+                refreshed.countDown();
+            }
+            return "token-" + signed.get();
+        }, System::currentTimeMillis)) {
+            assertEquals("token-1", manager.getToken());
+            assertTrue(refreshed.await(5, TimeUnit.SECONDS), "Token should be renewed in the background");
+        }
+    }
+
+    @Test
+    void testExpiredTokenWaitsForRefresh() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        AtomicInteger signed = new AtomicInteger();
+
+        try (JwtTokenManager manager = new JwtTokenManager(jwt(3600, 60),
+                () -> "token-" + signed.incrementAndGet(), now::get)) {
+            assertEquals("token-1", manager.getToken());
+
+            now.addAndGet(3_600_000);
+            assertEquals("token-2", manager.getToken());
+        }
+    }
+
+    @Test
+    void testHeaderSnapshotDoesNotSendExpiredTokens() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        AtomicInteger signed = new AtomicInteger();
+        AtomicBoolean failing = new AtomicBoolean();
+        Supplier<String> tokenSource = () -> {
+            if (failing.get()) {
+                throw new IllegalStateException("Signing key unavailable");
+            }
+            return "token-" + signed.incrementAndGet();
+        };
+
+        try (JwtTokenManager manager = new JwtTokenManager(jwt(3600, 60), tokenSource, now::get)) {
+            HeaderSnapshot snapshot = HeaderSnapshot.jwt(new HttpHeaders(), manager);
+            HttpHeaders headers = snapshot.get();
+            assertEquals("token-1", headers.getFirst(HttpHeaders.AUTHORIZATION));
+            assertSame(headers, snapshot.get());
+
+            // The background refresh did not run before the token expired: the snapshot asks for a new one
+            now.addAndGet(3_600_000);
+            assertEquals("token-2", snapshot.get().getFirst(HttpHeaders.AUTHORIZATION));
+            assertEquals(2, signed.get());
+
+            // No new token can be generated: the expired one is not sent
+            failing.set(true);
+            now.addAndGet(3_600_000);
+            assertNull(snapshot.get().getFirst(HttpHeaders.AUTHORIZATION));
+
+            failing.set(false);
+            now.addAndGet(60_000);
+            assertEquals("token-3", snapshot.get().getFirst(HttpHeaders.AUTHORIZATION));
+        }
+    }
+}
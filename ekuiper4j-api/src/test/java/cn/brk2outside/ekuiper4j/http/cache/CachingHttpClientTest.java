@@ -0,0 +1,140 @@
+package cn.brk2outside.ekuiper4j.http.cache;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.TypeUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CachingHttpClient
+ */
+public class CachingHttpClientTest {
+
+    private static final String LIST_RULES = StandardEndpoints.LIST_RULES.getEndpoint().getEndpoint();
+    private static final String GET_RULE = StandardEndpoints.GET_RULE.getEndpoint().getEndpoint();
+    private static final String LIST_STREAMS = StandardEndpoints.LIST_STREAMS.getEndpoint().getEndpoint();
+    private static final String GET_STREAM_SCHEMA = StandardEndpoints.GET_STREAM_SCHEMA.getEndpoint().getEndpoint();
+    private static final String RULE_STATUS = StandardEndpoints.GET_RULE_STATUS.getEndpoint().getEndpoint();
+
+    /**
+     * Answers with the request path, its first path variable and a call counter.
+     */
+    private static final StubHttpClient.Responder ANSWER = request -> request.path()
+            + (request.pathVariables().length > 0 ? ":" + request.pathVariable(0) : "") + "#" + request.call();
+
+    private static EKuiperClientProperties.Cache cache() {
+        EKuiperClientProperties.Cache cache = new EKuiperClientProperties.Cache();
+        cache.setEnabled(true);
+        cache.setTtlMs(1000);
+        return cache;
+    }
+
+    @Test
+    void testRepeatedReadsAreServedFromCacheUntilExpiry() {
+        AtomicLong now = new AtomicLong();
+        StubHttpClient node = new StubHttpClient(ANSWER);
+        CachingHttpClient client = new CachingHttpClient(node, cache(), now::get);
+
+        String first = client.get(GET_RULE, TypeUtil.of(String.class), "rule1");
+        assertEquals(first, client.get(GET_RULE, TypeUtil.of(String.class), "rule1"));
+        assertNotEquals(first, client.get(GET_RULE, TypeUtil.of(String.class), "rule2"));
+        assertEquals(2, node.getCalls());
+        assertEquals(1, client.getHitCount());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertNotEquals(first, client.get(GET_RULE, TypeUtil.of(String.class), "rule1"));
+        assertEquals(3, node.getCalls());
+    }
+
+    @Test
+    void testWritesInvalidateTheirResourceOnly() {
+        StubHttpClient node = new StubHttpClient(ANSWER);
+        CachingHttpClient client = new CachingHttpClient(node, cache(), () -> 0);
+
+        String rules = client.get(LIST_RULES, TypeUtil.of(String.class));
+        String rule = client.get(GET_RULE, TypeUtil.of(String.class), "rule1");
+        String streams = client.get(LIST_STREAMS, TypeUtil.of(String.class));
+        assertEquals(3, client.size());
+
+        client.post(StandardEndpoints.START_RULE.getEndpoint().getEndpoint(), null, TypeUtil.of(String.class), "rule1");
+        assertEquals(1, client.size());
+        assertNotEquals(rules, client.get(LIST_RULES, TypeUtil.of(String.class)));
+        assertNotEquals(rule, client.get(GET_RULE, TypeUtil.of(String.class), "rule1"));
+        assertEquals(streams, client.get(LIST_STREAMS, TypeUtil.of(String.class)));
+
+        client.delete(StandardEndpoints.DELETE_STREAM.getEndpoint().getEndpoint(), TypeUtil.of(String.class), "demo");
+        assertNotEquals(streams, client.get(LIST_STREAMS, TypeUtil.of(String.class)));
+    }
+
+    @Test
+    void testEndpointTtlAndUncachedEndpoints() {
+        AtomicLong now = new AtomicLong();
+        EKuiperClientProperties.Cache cache = cache();
+        cache.getEndpointTtlMs().put("GET_STREAM_SCHEMA", 60_000L);
+        cache.getEndpointTtlMs().put("list-streams", 0L);
+        StubHttpClient node = new StubHttpClient(ANSWER);
+        CachingHttpClient client = new CachingHttpClient(node, cache, now::get);
+
+        String schema = client.get(GET_STREAM_SCHEMA, TypeUtil.of(String.class), "demo");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(schema, client.get(GET_STREAM_SCHEMA, TypeUtil.of(String.class), "demo"));
+
+        // A TTL of 0 disables caching, and endpoints not listed are never cached
+        client.get(LIST_STREAMS, TypeUtil.of(String.class));
+        client.get(LIST_STREAMS, TypeUtil.of(String.class));
+        client.get(RULE_STATUS, TypeUtil.of(String.class), "rule1");
+        client.get(RULE_STATUS, TypeUtil.of(String.class), "rule1");
+        assertEquals(5, node.getCalls());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvicted() {
+        EKuiperClientProperties.Cache cache = cache();
+        cache.setMaxEntries(2);
+        StubHttpClient node = new StubHttpClient(ANSWER);
+        CachingHttpClient client = new CachingHttpClient(node, cache, () -> 0);
+
+        String rule1 = client.get(GET_RULE, TypeUtil.of(String.class), "rule1");
+        client.get(GET_RULE, TypeUtil.of(String.class), "rule2");
+        client.get(GET_RULE, TypeUtil.of(String.class), "rule1");
+        client.get(GET_RULE, TypeUtil.of(String.class), "rule3");
+
+        assertEquals(2, client.size());
+        assertEquals(rule1, client.get(GET_RULE, TypeUtil.of(String.class), "rule1"));
+        assertEquals(3, node.getCalls());
+        client.get(GET_RULE, TypeUtil.of(String.class), "rule2");
+        assertEquals(4, node.getCalls());
+    }
+
+    @Test
+    void testReadOverlappingWriteIsNotCached() {
+        StubHttpClient node = new StubHttpClient(ANSWER);
+        CachingHttpClient client = new CachingHttpClient(node, cache(), () -> 0);
+        node.setResponder(request -> {
+            client.invalidate("rules");
+            return ANSWER.respond(request);
+        });
+
+        String stale = client.get(LIST_RULES, TypeUtil.of(String.class));
+        node.setResponder(ANSWER);
+        assertNotEquals(stale, client.get(LIST_RULES, TypeUtil.of(String.class)));
+        assertEquals(0, client.getHitCount());
+    }
+
+    @Test
+    void testResourceOf() {
+        assertEquals("streams", CachingHttpClient.resourceOf("/streams/{id}/schema"));
+        assertEquals("rules", CachingHttpClient.resourceOf("/rules"));
+        assertEquals("ping", CachingHttpClient.resourceOf("ping"));
+        assertEquals(List.of("streams", "connections"), List.of(
+                CachingHttpClient.resourceOf(StandardEndpoints.UPDATE_STREAM.getEndpoint().getEndpoint()),
+                CachingHttpClient.resourceOf(StandardEndpoints.CREATE_CONNECTION.getEndpoint().getEndpoint())));
+    }
+}
@@ -0,0 +1,149 @@
+package cn.brk2outside.ekuiper4j.http.cluster;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.http.cache.CachingHttpClient;
+import cn.brk2outside.ekuiper4j.http.coalescing.CoalescingHttpClient;
+import cn.brk2outside.ekuiper4j.http.retry.RetryingHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.util.TypeUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ClusterHttpClient
+ */
+public class ClusterHttpClientTest {
+
+    /**
+     * Client of one node answering with its name.
+     */
+    private static StubHttpClient node(String name) {
+        return new StubHttpClient(request -> name);
+    }
+
+    private static ClusterHttpClient cluster(EKuiperClientProperties.Balancing balancing,
+                                             StubHttpClient primary, StubHttpClient replica) {
+        List<ClusterMember> members = List.of(new ClusterMember("primary", primary), new ClusterMember("replica-1", replica));
+        return new ClusterHttpClient(members, "primary", balancing);
+    }
+
+    @Test
+    void testWritesStickToWriteNodeAndReadsAreSpread() {
+        StubHttpClient primary = node("primary");
+        StubHttpClient replica = node("replica-1");
+        try (ClusterHttpClient client = cluster(EKuiperClientProperties.Balancing.LEAST_OUTSTANDING, primary, replica)) {
+            for (int i = 0; i < 50; i++) {
+                assertEquals("primary", client.post("/rules", "{}", TypeUtil.of(String.class)));
+                client.get("/rules", TypeUtil.of(String.class));
+            }
+            assertEquals(50, primary.getCalls("POST"));
+            assertEquals(0, replica.getCalls("POST"));
+            assertEquals(50, primary.getCalls("GET") + replica.getCalls("GET"));
+            assertTrue(primary.getCalls("GET") > 0 && replica.getCalls("GET") > 0,
+                    "reads: " + primary.getCalls("GET") + "/" + replica.getCalls("GET"));
+        }
+    }
+
+    @Test
+    void testReadsAvoidBusyMember() throws Exception {
+        for (EKuiperClientProperties.Balancing balancing : EKuiperClientProperties.Balancing.values()) {
+            StubHttpClient primary = node("primary");
+            StubHttpClient replica = node("replica-1");
+            try (ClusterHttpClient client = cluster(balancing, primary, replica)) {
+                CountDownLatch release = new CountDownLatch(1);
+                primary.setGate(release);
+                Thread writer = new Thread(() -> client.put("/rules/{id}", "{}", TypeUtil.of(String.class), "rule1"));
+                writer.start();
+                while (client.getWriteMember().getOutstanding() == 0) {
+                    Thread.sleep(1);
+                }
+
+                for (int i = 0; i < 20; i++) {
+                    assertEquals("replica-1", client.get("/rules", TypeUtil.of(String.class)), balancing.name());
+                }
+                release.countDown();
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+                assertEquals(0, client.getWriteMember().getOutstanding());
+            }
+        }
+    }
+
+    @Test
+    void testFailedMemberLeavesRotationUntilHealthy() {
+        StubHttpClient primary = node("primary");
+        StubHttpClient replica = node("replica-1");
+        try (ClusterHttpClient client = cluster(EKuiperClientProperties.Balancing.POWER_OF_TWO_CHOICES, primary, replica)) {
+            replica.setDown(true);
+            HttpClientException failure = null;
+            for (int i = 0; i < 50 && failure == null; i++) {
+                try {
+                    client.get("/rules", TypeUtil.of(String.class));
+                } catch (HttpClientException e) {
+                    failure = e;
+                }
+            }
+            assertNotNull(failure, "the replica should have been chosen at least once");
+            assertFalse(client.getMembers().get(1).isHealthy());
+            for (int i = 0; i < 20; i++) {
+                assertEquals("primary", client.get("/rules", TypeUtil.of(String.class)));
+            }
+
+            client.checkHealth();
+            assertFalse(client.getMembers().get(1).isHealthy());
+            replica.setDown(false);
+            client.checkHealth();
+            assertTrue(client.getMembers().get(1).isHealthy());
+        }
+    }
+
+    @Test
+    void testAllMembersUnhealthyStillServesReads() {
+        StubHttpClient primary = node("primary");
+        StubHttpClient replica = node("replica-1");
+        try (ClusterHttpClient client = cluster(EKuiperClientProperties.Balancing.LEAST_OUTSTANDING, primary, replica)) {
+            primary.setDown(true);
+            replica.setDown(true);
+            client.checkHealth();
+            primary.setDown(false);
+            replica.setDown(false);
+
+            assertNotNull(client.get("/rules", TypeUtil.of(String.class)));
+        }
+    }
+
+    @Test
+    void testWriteNodeMustBeMember() {
+        List<ClusterMember> members = List.of(new ClusterMember("primary", node("primary")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ClusterHttpClient(members, "replica-1", EKuiperClientProperties.Balancing.LEAST_OUTSTANDING));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ClusterHttpClient(List.of(), "primary", EKuiperClientProperties.Balancing.LEAST_OUTSTANDING));
+    }
+
+    @Test
+    void testClosingOutermostDecoratorClosesMembers() throws Exception {
+        StubHttpClient primary = node("primary");
+        StubHttpClient replica = node("replica-1");
+        ClusterHttpClient cluster = cluster(EKuiperClientProperties.Balancing.LEAST_OUTSTANDING, primary, replica);
+        cluster.startHealthChecks(60000);
+        EKuiperClientProperties.Coalescing coalescing = new EKuiperClientProperties.Coalescing();
+        coalescing.setEnabled(true);
+        EKuiperClientProperties.Cache cache = new EKuiperClientProperties.Cache();
+        cache.setEnabled(true);
+        EKuiperClientProperties.Retry retry = new EKuiperClientProperties.Retry();
+        retry.setEnabled(true);
+        HttpClient client = CachingHttpClient.wrap(CoalescingHttpClient.wrap(
+                RetryingHttpClient.wrap(cluster, retry), coalescing), cache);
+
+        ((AutoCloseable) client).close();
+        assertEquals(1, primary.getCloseCount());
+        assertEquals(1, replica.getCloseCount());
+    }
+}
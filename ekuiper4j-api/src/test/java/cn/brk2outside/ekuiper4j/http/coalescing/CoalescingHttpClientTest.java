@@ -0,0 +1,101 @@
+package cn.brk2outside.ekuiper4j.http.coalescing;
+
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.util.TypeUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CoalescingHttpClient
+ */
+public class CoalescingHttpClientTest {
+
+    /**
+     * Answers every request with a new object.
+     */
+    private static StubHttpClient node() {
+        return new StubHttpClient(request -> new StringBuilder(request.path()).append('#').append(request.call()));
+    }
+
+    private static List<Future<Object>> callConcurrently(ExecutorService executor, CoalescingHttpClient client,
+                                                         StubHttpClient node, int callers) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        node.setGate(release);
+        List<Future<Object>> results = new ArrayList<>();
+        results.add(executor.submit(() -> client.get("/rules/status/all", TypeUtil.of(Object.class))));
+        assertTrue(node.awaitRequest(5000));
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(() -> client.get("/rules/status/all", TypeUtil.of(Object.class))));
+        }
+        while (client.getCoalescedCount() < callers - 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return results;
+    }
+
+    @Test
+    void testConcurrentIdenticalGetsShareOneRequest() throws Exception {
+        StubHttpClient node = node();
+        CoalescingHttpClient client = new CoalescingHttpClient(node);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = callConcurrently(executor, client, node, 8);
+            Object first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, node.getCalls());
+
+            // Once completed, the next request is sent again
+            assertNotSame(first, client.get("/rules/status/all", TypeUtil.of(Object.class)));
+            assertEquals(2, node.getCalls());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailureIsSharedAndNotRemembered() throws Exception {
+        StubHttpClient node = node();
+        node.failNext(new HttpClientException("Service unavailable", 503));
+        CoalescingHttpClient client = new CoalescingHttpClient(node);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = callConcurrently(executor, client, node, 4);
+            for (Future<Object> result : results) {
+                Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertEquals(503, ((HttpClientException) e.getCause()).getStatusCode());
+            }
+            assertEquals(1, node.getCalls());
+
+            assertNotNull(client.get("/rules/status/all", TypeUtil.of(Object.class)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDifferentRequestsAreNotCoalesced() {
+        StubHttpClient node = node();
+        CoalescingHttpClient client = new CoalescingHttpClient(node);
+
+        client.get("/rules/{id}/status", TypeUtil.of(Object.class), "rule1");
+        client.get("/rules/{id}/status", TypeUtil.of(Object.class), "rule2");
+        client.get("/rules/{id}/status", Map.of("verbose", true), TypeUtil.of(Object.class), "rule1");
+        client.post("/rules/{id}/start", null, TypeUtil.of(Object.class), "rule1");
+        assertEquals(4, node.getCalls());
+        assertEquals(0, client.getCoalescedCount());
+    }
+}
@@ -0,0 +1,113 @@
+package cn.brk2outside.ekuiper4j.http.config;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientAutoConfiguration;
+import cn.brk2outside.ekuiper4j.dto.request.CreateStreamRequest;
+import cn.brk2outside.ekuiper4j.sdk.api.AsyncStreamAPI;
+import cn.brk2outside.ekuiper4j.sdk.api.StreamAPI;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the asynchronous API facades of the auto-configuration against a local HTTP server
+ */
+class AsyncClientConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(EKuiperClientAutoConfiguration.class));
+
+    private final List<String> streams = new CopyOnWriteArrayList<>(List.of("demo"));
+    private final AtomicInteger listRequests = new AtomicInteger();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/streams", exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())) {
+                exchange.getRequestBody().readAllBytes();
+                streams.add("stream" + streams.size());
+                respond(exchange, "Stream " + streams.get(streams.size() - 1) + " is created.");
+            } else {
+                listRequests.incrementAndGet();
+                respond(exchange, "[\"" + String.join("\",\"", streams) + "\"]");
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    void testAsyncWriteInvalidatesCachedRead() {
+        contextRunner
+                .withPropertyValues(
+                        "ekuiper.client.host=localhost",
+                        "ekuiper.client.port=" + server.getAddress().getPort(),
+                        "ekuiper.client.transport=jdk",
+                        "ekuiper.client.cache.enabled=true",
+                        "ekuiper.client.cache.ttl-ms=60000"
+                )
+                .run(context -> {
+                    StreamAPI streamAPI = context.getBean(StreamAPI.class);
+                    AsyncStreamAPI asyncStreamAPI = context.getBean(AsyncStreamAPI.class);
+
+                    assertEquals(List.of("demo"), streamAPI.listStreams());
+                    assertEquals(List.of("demo"), streamAPI.listStreams());
+                    assertEquals(1, listRequests.get());
+
+                    asyncStreamAPI.createStream(new CreateStreamRequest("create stream stream1 () WITH (TYPE=\"memory\")"))
+                            .get(5, TimeUnit.SECONDS);
+
+                    // The write went through the caching client, so the next read is not served from the cache
+                    assertEquals(List.of("demo", "stream1"), streamAPI.listStreams());
+                    assertEquals(2, listRequests.get());
+                });
+    }
+
+    @Test
+    void testAsyncReadsAreCachedLikeBlockingReads() {
+        contextRunner
+                .withPropertyValues(
+                        "ekuiper.client.host=localhost",
+                        "ekuiper.client.port=" + server.getAddress().getPort(),
+                        "ekuiper.client.transport=jdk",
+                        "ekuiper.client.cache.enabled=true",
+                        "ekuiper.client.cache.ttl-ms=60000"
+                )
+                .run(context -> {
+                    StreamAPI streamAPI = context.getBean(StreamAPI.class);
+                    AsyncStreamAPI asyncStreamAPI = context.getBean(AsyncStreamAPI.class);
+
+                    assertEquals(List.of("demo"), streamAPI.listStreams());
+                    assertEquals(List.of("demo"), asyncStreamAPI.listStreams().get(5, TimeUnit.SECONDS));
+                    assertEquals(1, listRequests.get());
+                });
+    }
+}
@@ -8,6 +8,7 @@ import cn.brk2outside.ekuiper4j.http.HttpClientException;
 import cn.brk2outside.ekuiper4j.http.RestTemplateHttpClient;
 import cn.brk2outside.ekuiper4j.http.auth.JwtAwareHttpClient;
 import cn.brk2outside.ekuiper4j.http.auth.JwtTokenManager;
+import cn.brk2outside.ekuiper4j.http.retry.RetryingHttpClient;
 import cn.brk2outside.ekuiper4j.sdk.util.TypeUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
 import org.junit.jupiter.api.Test;
@@ -103,6 +104,31 @@ class EKuiperClientAutoConfigurationTest extends BaseEKuiperTest {
                 });
     }
     
+    @Test
+    void testResilienceDecoratorsAreOptIn() {
+        contextRunner
+                .withPropertyValues(
+                        "ekuiper.client.host=" + EKUIPER.getEkuiperHost(),
+                        "ekuiper.client.port=" + EKUIPER.getEkuiperPort()
+                )
+                .run(context -> {
+                    EKuiperClientProperties properties = context.getBean(EKuiperClientProperties.class);
+                    assertFalse(properties.getRetry().isEnabled());
+                    assertFalse(properties.getCircuitBreaker().isEnabled());
+                    assertFalse(properties.getBulkhead().isEnabled());
+                    // Neither retried nor guarded unless enabled
+                    assertThat(context.getBean(HttpClient.class)).isInstanceOf(RestTemplateHttpClient.class);
+                });
+
+        contextRunner
+                .withPropertyValues(
+                        "ekuiper.client.host=" + EKUIPER.getEkuiperHost(),
+                        "ekuiper.client.port=" + EKUIPER.getEkuiperPort(),
+                        "ekuiper.client.retry.enabled=true"
+                )
+                .run(context -> assertThat(context.getBean(HttpClient.class)).isInstanceOf(RetryingHttpClient.class));
+    }
+
     @Test
     void testCustomHttpClientBean() {
         contextRunner
@@ -0,0 +1,144 @@
+package cn.brk2outside.ekuiper4j.http.hedging;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.TypeUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HedgingHttpClient and LatencyTracker
+ */
+public class HedgingHttpClientTest {
+
+    private static final String RULE_STATUS = StandardEndpoints.GET_RULE_STATUS.getEndpoint().getEndpoint();
+
+    private final Queue<Runnable> script = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Client running the queued behaviours, one per call, and answering with the request path.
+     */
+    private final StubHttpClient node = new StubHttpClient(request -> {
+        Runnable behaviour = script.poll();
+        if (behaviour != null) {
+            behaviour.run();
+        }
+        return request.path();
+    });
+
+    private static EKuiperClientProperties.Hedging hedging() {
+        EKuiperClientProperties.Hedging hedging = new EKuiperClientProperties.Hedging();
+        hedging.setEnabled(true);
+        hedging.setEndpoints(List.of("get-rule-status", "create-rule"));
+        hedging.setMinSamples(4);
+        hedging.setMinDelayMs(20);
+        return hedging;
+    }
+
+    private int warmUp(HedgingHttpClient client) {
+        for (int i = 0; i < 4; i++) {
+            client.get(RULE_STATUS, TypeUtil.of(String.class), "rule1");
+        }
+        assertTrue(client.getLatencyTracker(RULE_STATUS).percentileMs() >= 0);
+        return node.getCalls();
+    }
+
+    @Test
+    void testSlowRequestIsHedged() throws Exception {
+        try (HedgingHttpClient client = new HedgingHttpClient(node, hedging())) {
+            int warmUpCalls = warmUp(client);
+
+            CountDownLatch cancelled = new CountDownLatch(1);
+            script.add(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    cancelled.countDown();
+                }
+            });
+            long start = System.nanoTime();
+            assertEquals(RULE_STATUS, client.get(RULE_STATUS, TypeUtil.of(String.class), "rule1"));
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5_000);
+            assertEquals(2, node.getCalls() - warmUpCalls);
+            assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testFastRequestIsNotHedged() {
+        try (HedgingHttpClient client = new HedgingHttpClient(node, hedging())) {
+            int warmUpCalls = warmUp(client);
+
+            assertEquals(RULE_STATUS, client.get(RULE_STATUS, TypeUtil.of(String.class), "rule1"));
+            assertEquals(1, node.getCalls() - warmUpCalls);
+        }
+    }
+
+    @Test
+    void testPrimaryFailureReportedWhenBothAttemptsFail() {
+        try (HedgingHttpClient client = new HedgingHttpClient(node, hedging())) {
+            int warmUpCalls = warmUp(client);
+
+            script.add(() -> {
+                sleep(100);
+                throw new HttpClientException("primary", 503);
+            });
+            script.add(() -> {
+                throw new HttpClientException("hedge", 502);
+            });
+            HttpClientException e = assertThrows(HttpClientException.class,
+                    () -> client.get(RULE_STATUS, TypeUtil.of(String.class), "rule1"));
+            assertEquals(503, e.getStatusCode());
+            assertEquals(2, node.getCalls() - warmUpCalls);
+        }
+    }
+
+    @Test
+    void testOtherRequestsPassThrough() {
+        try (HedgingHttpClient client = new HedgingHttpClient(node, hedging())) {
+            // Not a GET endpoint, so not hedged even though configured
+            assertNull(client.getLatencyTracker(StandardEndpoints.CREATE_RULE.getEndpoint().getEndpoint()));
+
+            client.post("/rules", null, TypeUtil.of(String.class));
+            client.get("/streams", TypeUtil.of(String.class));
+            assertEquals(2, node.getCalls());
+            assertEquals(List.of(Thread.currentThread().getName(), Thread.currentThread().getName()),
+                    node.getThreads());
+        }
+    }
+
+    @Test
+    void testLatencyTrackerPercentile() {
+        LatencyTracker tracker = new LatencyTracker(95, 20);
+        for (int i = 1; i < 20; i++) {
+            tracker.record(i);
+        }
+        assertEquals(-1, tracker.percentileMs());
+
+        for (int i = 20; i <= 100; i++) {
+            tracker.record(i);
+        }
+        assertEquals(100, tracker.getCount());
+        // Recomputed every 16 samples, so the last few samples may not be reflected yet
+        long p95 = tracker.percentileMs();
+        assertTrue(p95 >= 90 && p95 <= 95, "p95 was " + p95);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package cn.brk2outside.ekuiper4j.http.resilience;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.util.TypeUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CircuitBreaker, CircuitBreakingHttpClient and BulkheadHttpClient
+ */
+public class CircuitBreakerTest {
+
+    /**
+     * Client answering with the request path, or with a 404 error for paths under /missing.
+     */
+    private static StubHttpClient node() {
+        return new StubHttpClient(request -> {
+            if (request.path().startsWith("/missing")) {
+                throw new HttpClientException("Not found", 404);
+            }
+            return request.path();
+        });
+    }
+
+    private static EKuiperClientProperties.Breaker config() {
+        EKuiperClientProperties.Breaker config = new EKuiperClientProperties.Breaker();
+        config.setEnabled(true);
+        config.setFailureRateThreshold(50);
+        config.setSlidingWindowSize(10);
+        config.setMinimumNumberOfCalls(4);
+        config.setWaitDurationInOpenStateMs(1000);
+        config.setProbeTimeoutMs(200);
+        return config;
+    }
+
+    @Test
+    void testOpensAndProbesWithPing() {
+        AtomicLong now = new AtomicLong();
+        StubHttpClient node = node();
+        AtomicInteger probes = new AtomicInteger();
+        CircuitBreaker breaker = new CircuitBreaker("edge-1:9081", config(), () -> {
+            probes.incrementAndGet();
+            node.get("/ping", TypeUtil.of(String.class));
+        }, Runnable::run, now::get);
+        HttpClient client = new CircuitBreakingHttpClient(node, breaker);
+
+        // 4xx responses show that the node is up
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientException.class, () -> client.get("/missing", TypeUtil.of(String.class)));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        node.setDown(true);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientException.class, () -> client.get("/rules", TypeUtil.of(String.class)));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // Rejected without reaching the node
+        int calls = node.getCalls();
+        HttpClientException rejected = assertThrows(HttpClientException.class,
+                () -> client.get("/rules", TypeUtil.of(String.class)));
+        assertEquals(-1, rejected.getStatusCode());
+        assertFalse(rejected.isTransient());
+        assertEquals(calls, node.getCalls());
+
+        // Probe fails while the node is still down
+        now.addAndGet(1000);
+        assertThrows(HttpClientException.class, () -> client.get("/rules", TypeUtil.of(String.class)));
+        assertEquals(1, probes.get());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(HttpClientException.class, () -> client.get("/rules", TypeUtil.of(String.class)));
+        assertEquals(1, probes.get());
+
+        // Probe succeeds once the node is back
+        node.setDown(false);
+        now.addAndGet(1000);
+        assertEquals("/rules", client.get("/rules", TypeUtil.of(String.class)));
+        assertEquals(2, probes.get());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(-1f, breaker.getFailureRate());
+    }
+
+    @Test
+    void testProbeRunsInBackgroundAndTimesOut() throws Exception {
+        AtomicLong now = new AtomicLong();
+        AtomicInteger probes = new AtomicInteger();
+        CountDownLatch probeStarted = new CountDownLatch(1);
+        CountDownLatch nodeAnswers = new CountDownLatch(1);
+        CircuitBreaker breaker = new CircuitBreaker("edge-1:9081", config(), () -> {
+            probes.incrementAndGet();
+            probeStarted.countDown();
+            try {
+                // A ping hanging until the read timeout
+                nodeAnswers.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, probe -> new Thread(probe).start(), now::get);
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // The caller starting the probe is rejected right away instead of waiting for the ping
+        now.addAndGet(1000);
+        assertFalse(breaker.tryAcquirePermission());
+        assertTrue(probeStarted.await(5, TimeUnit.SECONDS));
+        assertFalse(breaker.tryAcquirePermission());
+
+        // The probe times out and opens the breaker again; no second probe starts while the first hangs
+        long deadline = System.currentTimeMillis() + 5000;
+        while (breaker.getState() != CircuitBreaker.State.OPEN && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now.addAndGet(1000);
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1, probes.get());
+
+        // Once the hanging ping returns, the next probe answers in time and closes the breaker
+        nodeAnswers.countDown();
+        deadline = System.currentTimeMillis() + 5000;
+        while (breaker.getState() != CircuitBreaker.State.CLOSED && System.currentTimeMillis() < deadline) {
+            breaker.tryAcquirePermission();
+            Thread.sleep(10);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2, probes.get());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testFailureRateBelowThresholdKeepsBreakerClosed() {
+        StubHttpClient node = node();
+        CircuitBreaker breaker = new CircuitBreaker("edge-1:9081", config(), () -> { }, Runnable::run, () -> 0);
+        HttpClient client = new CircuitBreakingHttpClient(node, breaker);
+
+        for (int i = 0; i < 20; i++) {
+            node.setDown(i % 3 == 2);
+            try {
+                client.get("/rules", TypeUtil.of(String.class));
+            } catch (HttpClientException e) {
+                // expected for the failing calls
+            }
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.getFailureRate() < 50);
+    }
+
+    @Test
+    void testBulkheadRejectsCallsBeyondLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StubHttpClient slow = new StubHttpClient();
+        slow.setGate(release);
+        HttpClient client = new BulkheadHttpClient(slow, new Semaphore(1), 10, "edge-1:9081");
+
+        Thread holder = new Thread(() -> client.get("/rules", TypeUtil.of(String.class)));
+        holder.start();
+        assertTrue(slow.awaitRequest(5000));
+
+        HttpClientException rejected = assertThrows(HttpClientException.class,
+                () -> client.get("/rules", TypeUtil.of(String.class)));
+        assertTrue(rejected.getMessage().contains("edge-1:9081"));
+
+        release.countDown();
+        holder.join(5000);
+        assertEquals("/rules", client.get("/rules", TypeUtil.of(String.class)));
+    }
+
+    @Test
+    void testNodeGuardIsOptIn() {
+        NodeGuard guard = new NodeGuard(new EKuiperClientProperties());
+        HttpClient client = node();
+
+        assertSame(client, guard.guard(client, "edge-1", 9081));
+        assertTrue(guard.getCircuitBreakers().isEmpty());
+    }
+
+    @Test
+    void testNodeGuardSharesBreakerPerNode() {
+        NodeGuard guard = new NodeGuard(config(), new EKuiperClientProperties.Bulkhead());
+        HttpClient first = guard.guard(node(), "edge-1", 9081);
+        HttpClient second = guard.guard(node(), "edge-1", 9081);
+        guard.guard(node(), "edge-2", 9081);
+
+        assertSame(((CircuitBreakingHttpClient) first).getCircuitBreaker(),
+                ((CircuitBreakingHttpClient) second).getCircuitBreaker());
+        assertSame(guard.circuitBreaker("edge-1", 9081), ((CircuitBreakingHttpClient) first).getCircuitBreaker());
+        assertEquals(2, guard.getCircuitBreakers().size());
+    }
+}
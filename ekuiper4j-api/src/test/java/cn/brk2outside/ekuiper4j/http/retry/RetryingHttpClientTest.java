@@ -0,0 +1,163 @@
+package cn.brk2outside.ekuiper4j.http.retry;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.EKuiperErrorResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.ApiEndpoint;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import cn.brk2outside.ekuiper4j.sdk.util.ApiRequestExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RetryingHttpClient, RetryPolicy and RetryBudget
+ */
+public class RetryingHttpClientTest {
+
+    /**
+     * Client failing with the given exceptions before answering with the request path.
+     */
+    private static StubHttpClient failing(HttpClientException... failures) {
+        StubHttpClient client = new StubHttpClient();
+        client.failNext(failures);
+        return client;
+    }
+
+    private static EKuiperClientProperties.Retry retry() {
+        EKuiperClientProperties.Retry retry = new EKuiperClientProperties.Retry();
+        retry.setEnabled(true);
+        retry.setInitialBackoffMs(1);
+        retry.setMaxBackoffMs(5);
+        return retry;
+    }
+
+    private static HttpClientException unavailable() {
+        return new HttpClientException("Service Unavailable", 503);
+    }
+
+    private static HttpClientException readTimeout() {
+        return HttpClientException.timeout("Connection timed out", new SocketTimeoutException("Read timed out"));
+    }
+
+    private static <R> R execute(HttpClient client, StandardEndpoints endpoint, Object... pathVariables) {
+        ApiEndpoint<Object, R> apiEndpoint = endpoint.getEndpoint();
+        return ApiRequestExecutor.execute(client, apiEndpoint, pathVariables);
+    }
+
+    @Test
+    void testRetriesIdempotentRequests() {
+        StubHttpClient failing = failing(unavailable(), readTimeout());
+        HttpClient client = new RetryingHttpClient(failing, retry());
+
+        assertEquals(StandardEndpoints.GET_RULE_STATUS.getEndpoint().getEndpoint(),
+                execute(client, StandardEndpoints.GET_RULE_STATUS, "rule1"));
+        assertEquals(3, failing.getCalls());
+
+        // Starting a rule is a POST, but idempotent
+        failing = failing(readTimeout());
+        execute(new RetryingHttpClient(failing, retry()), StandardEndpoints.START_RULE, "rule1");
+        assertEquals(2, failing.getCalls());
+    }
+
+    @Test
+    void testDoesNotRetryNonIdempotentOrPermanentFailures() {
+        StubHttpClient failing = failing(unavailable());
+        HttpClient client = new RetryingHttpClient(failing, retry());
+        assertThrows(HttpClientException.class, () -> execute(client, StandardEndpoints.RESTART_RULE, "rule1"));
+        assertEquals(1, failing.getCalls());
+
+        StubHttpClient notFound = failing(new HttpClientException("Not found", 404));
+        HttpClient notFoundClient = new RetryingHttpClient(notFound, retry());
+        assertThrows(HttpClientException.class, () -> execute(notFoundClient, StandardEndpoints.GET_RULE, "rule1"));
+        assertEquals(1, notFound.getCalls());
+
+        // A 5xx response reported by eKuiper itself would fail again
+        assertFalse(RetryPolicy.isRetryable(HttpClientException.ekuiperError(new EKuiperErrorResponse(1000, "failed"), 500)));
+    }
+
+    @Test
+    void testRetryIsOptIn() {
+        StubHttpClient failing = failing(unavailable());
+        assertSame(failing, RetryingHttpClient.wrap(failing, new EKuiperClientProperties.Retry()));
+        assertInstanceOf(RetryingHttpClient.class, RetryingHttpClient.wrap(failing, retry()));
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        StubHttpClient failing = failing(unavailable(), unavailable(), unavailable(), unavailable());
+        HttpClient client = new RetryingHttpClient(failing, retry());
+
+        HttpClientException exception = assertThrows(HttpClientException.class,
+                () -> execute(client, StandardEndpoints.LIST_RULES));
+        assertEquals(503, exception.getStatusCode());
+        assertEquals(3, failing.getCalls());
+    }
+
+    @Test
+    void testEndpointOverrides() {
+        EKuiperClientProperties.Retry retry = retry();
+        EKuiperClientProperties.EndpointRetry restart = new EKuiperClientProperties.EndpointRetry();
+        restart.setEnabled(true);
+        restart.setMaxAttempts(2);
+        retry.getEndpoints().put("restart-rule", restart);
+        EKuiperClientProperties.EndpointRetry ping = new EKuiperClientProperties.EndpointRetry();
+        ping.setEnabled(false);
+        retry.getEndpoints().put("PING", ping);
+
+        RetryingHttpClient client = new RetryingHttpClient(failing(), retry);
+        ApiEndpoint<?, ?> restartRule = StandardEndpoints.RESTART_RULE.getEndpoint();
+        ApiEndpoint<?, ?> createRule = StandardEndpoints.CREATE_RULE.getEndpoint();
+        ApiEndpoint<?, ?> getRule = StandardEndpoints.GET_RULE.getEndpoint();
+
+        assertEquals(2, client.policyFor(restartRule.getMethod(), restartRule.getEndpoint()).getMaxAttempts());
+        assertSame(RetryPolicy.NONE, client.policyFor(createRule.getMethod(), createRule.getEndpoint()));
+        assertSame(RetryPolicy.NONE, client.policyFor(HttpMethods.GET, StandardEndpoints.PING.getEndpoint().getEndpoint()));
+        assertEquals(3, client.policyFor(getRule.getMethod(), getRule.getEndpoint()).getMaxAttempts());
+        // Unknown paths are retried based on their method
+        assertEquals(3, client.policyFor(HttpMethods.GET, "/custom").getMaxAttempts());
+        assertSame(RetryPolicy.NONE, client.policyFor(HttpMethods.POST, "/custom"));
+    }
+
+    @Test
+    void testBudgetLimitsRetries() {
+        AtomicLong now = new AtomicLong();
+        RetryBudget budget = new RetryBudget(0.5, 1, now::get);
+
+        // One retry of reserve, plus half a retry per request
+        assertEquals(1, budget.available());
+        budget.onRequest();
+        budget.onRequest();
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        now.addAndGet(1000);
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        StubHttpClient failing = failing(unavailable(), unavailable());
+        HttpClient client = new RetryingHttpClient(failing, retry(), new RetryBudget(0, 0));
+        assertThrows(HttpClientException.class, () -> execute(client, StandardEndpoints.LIST_STREAMS));
+        assertEquals(1, failing.getCalls());
+    }
+
+    @Test
+    void testBackoffGrowsWithinBounds() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 1000, 2.0, 0.5);
+        for (int i = 0; i < 100; i++) {
+            long first = policy.backoffMs(1);
+            long third = policy.backoffMs(3);
+            long tenth = policy.backoffMs(10);
+            assertTrue(first >= 50 && first <= 100, "first backoff was " + first);
+            assertTrue(third >= 200 && third <= 400, "third backoff was " + third);
+            assertTrue(tenth >= 500 && tenth <= 1000, "tenth backoff was " + tenth);
+        }
+    }
+}
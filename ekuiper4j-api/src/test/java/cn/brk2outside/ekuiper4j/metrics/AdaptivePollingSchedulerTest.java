@@ -0,0 +1,209 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AdaptivePollingScheduler
+ */
+public class AdaptivePollingSchedulerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final Map<String, Map<String, Object>> rules = new LinkedHashMap<>();
+
+    /**
+     * Node serving the status of its rules from /rules, /rules/{id}/status and /rules/status/all.
+     */
+    private final StubHttpClient node = new StubHttpClient(request -> switch (request.path()) {
+        case "/rules/status/all" -> StubHttpClient.json(rules);
+        case "/rules" -> {
+            List<Map<String, Object>> listing = new ArrayList<>();
+            rules.forEach((name, metrics) -> listing.add(Map.of("id", name, "status", metrics.get("status"))));
+            yield StubHttpClient.json(listing);
+        }
+        case "/rules/{id}/status" -> {
+            Map<String, Object> status = rules.get(request.pathVariable(0));
+            if (status == null) {
+                throw new HttpClientException("Rule " + request.pathVariable(0) + " is not found", 404);
+            }
+            yield StubHttpClient.json(status);
+        }
+        default -> throw new AssertionError("Unexpected request to " + request.path());
+    });
+
+    private void rule(String name, String status, long recordsIn, long exceptions, long bufferLength) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("status", status);
+        metrics.put("source_demo_0_records_in_total", recordsIn);
+        metrics.put("op_2_filter_0_exceptions_total", exceptions);
+        metrics.put("sink_log_0_buffer_length", bufferLength);
+        rules.put(name, metrics);
+    }
+
+    private RuleMetricsCollector collector(double maxRequestsPerSecond) {
+        EKuiperClientProperties.Metrics metrics = new EKuiperClientProperties.Metrics();
+        metrics.setAdaptive(true);
+        metrics.setIntervalMs(8000);
+        metrics.setMinIntervalMs(1000);
+        metrics.setMaxIntervalMs(64000);
+        metrics.setMaxRequestsPerSecond(maxRequestsPerSecond);
+        RuleMetricsCollector collector = new RuleMetricsCollector(metrics, now::get, System::nanoTime);
+        collector.addNode("edge-1", new RuleAPI(node));
+        return collector;
+    }
+
+    private int tickAfter(RuleMetricsCollector collector, long elapsedMs) {
+        now.addAndGet(elapsedMs);
+        return collector.tick("edge-1");
+    }
+
+    private long interval(RuleMetricsCollector collector, String rule) {
+        return collector.getNode("edge-1").getRule(rule).getPollIntervalMs();
+    }
+
+    @Test
+    void testIntervalsFollowActivity() {
+        rule("hot", "running", 0, 0, 0);
+        rule("idle", "running", 5, 0, 0);
+        rule("stopped", "stopped: canceled manually.", 0, 0, 0);
+        RuleMetricsCollector collector = collector(10);
+
+        // The first tick syncs all rules, which then start at the configured interval
+        assertEquals(3, tickAfter(collector, 0));
+        assertEquals(1, node.getCalls("/rules/status/all"));
+        assertEquals(8000, interval(collector, "hot"));
+        assertEquals(64000, interval(collector, "stopped"));
+
+        // All rules due at once: one request for all of them
+        assertEquals(0, tickAfter(collector, 7000));
+        rule("hot", "running", 100, 0, 0);
+        assertEquals(3, tickAfter(collector, 1000));
+        assertEquals(2, node.getCalls("/rules/status/all"));
+        assertEquals(4000, interval(collector, "hot"));
+        assertEquals(16000, interval(collector, "idle"));
+        assertEquals(64000, interval(collector, "stopped"));
+
+        // Only the hot rule is due, it gets a request of its own
+        rule("hot", "running", 200, 0, 0);
+        assertEquals(1, tickAfter(collector, 4000));
+        assertEquals(1, node.getCalls("/rules/{id}/status"));
+        assertEquals(2000, interval(collector, "hot"));
+        rule("hot", "running", 300, 0, 0);
+        tickAfter(collector, 2000);
+        assertEquals(1000, interval(collector, "hot"));
+        rule("hot", "running", 400, 0, 0);
+        tickAfter(collector, 1000);
+        assertEquals(1000, interval(collector, "hot"));
+
+        // Once its counters stop, the hot rule backs off again
+        tickAfter(collector, 1000);
+        assertEquals(2000, interval(collector, "hot"));
+        assertEquals(2, node.getCalls("/rules/status/all"));
+
+        // A rule deleted between listings is dropped when its status is polled
+        rules.remove("hot");
+        assertEquals(0, tickAfter(collector, 2000));
+        NodeHistory history = collector.getNode("edge-1");
+        assertNull(history.getRule("hot"));
+        assertEquals(2, history.getRules().size());
+        assertEquals(0, history.getConsecutiveFailures());
+    }
+
+    @Test
+    void testExceptionsAndBuffersGoStraightToMinInterval() {
+        rule("rule1", "running", 0, 0, 0);
+        rule("rule2", "running", 0, 0, 0);
+        rule("rule3", "running", 0, 0, 0);
+        RuleMetricsCollector collector = collector(10);
+        tickAfter(collector, 0);
+        tickAfter(collector, 8000);
+        assertEquals(16000, interval(collector, "rule1"));
+
+        rule("rule1", "running", 0, 1, 0);
+        rule("rule2", "running", 0, 0, 7);
+        tickAfter(collector, 16000);
+        assertEquals(1000, interval(collector, "rule1"));
+        assertEquals(1000, interval(collector, "rule2"));
+        assertEquals(32000, interval(collector, "rule3"));
+    }
+
+    @Test
+    void testBudgetLimitsRequests() {
+        for (int i = 0; i < 20; i++) {
+            rule("rule" + i, "running", 0, 0, 0);
+        }
+        RuleMetricsCollector collector = collector(0.5);
+        tickAfter(collector, 0);
+
+        // Every rule is busy and wants to be polled every second
+        for (int second = 1; second <= 600; second++) {
+            for (int i = 0; i < 20; i++) {
+                rule("rule" + i, "running", second * (i + 1L), 0, 0);
+            }
+            tickAfter(collector, 1000);
+        }
+        assertTrue(node.getCalls() <= 1 + 300, "Sent " + node.getCalls() + " requests");
+        assertEquals(1000, interval(collector, "rule0"));
+        // Far more due rules than budget: polled all at once rather than one by one
+        assertEquals(0, node.getCalls("/rules/{id}/status"));
+        assertTrue(collector.getNode("edge-1").getRule("rule19").getRecordsInRate() > 0);
+    }
+
+    @Test
+    void testIdleRulesCutRequests() {
+        for (int i = 0; i < 20; i++) {
+            rule("rule" + i, "running", 0, 0, 0);
+        }
+        RuleMetricsCollector collector = collector(10);
+        for (int second = 0; second < 600; second++) {
+            rule("rule0", "running", second, 0, 0);
+            tickAfter(collector, 1000);
+        }
+        // A fixed 1 s interval would have sent 600 requests for all rules; the idle ones are hardly polled
+        assertEquals(64000, interval(collector, "rule19"));
+        assertEquals(1000, interval(collector, "rule0"));
+        int perRule = node.getCalls("/rules/{id}/status");
+        assertTrue(perRule > 500, "Polled rule0 " + perRule + " times");
+        assertTrue(node.getCalls("/rules/status/all") < 20, "Sent " + node.getCalls("/rules/status/all") + " bulk requests");
+    }
+
+    @Test
+    void testListingFindsNewStoppedAndDeletedRules() {
+        for (int i = 1; i <= 5; i++) {
+            rule("rule" + i, "running", 0, 0, 0);
+        }
+        RuleMetricsCollector collector = collector(10);
+        tickAfter(collector, 0);
+        tickAfter(collector, 8000);
+        NodeHistory history = collector.getNode("edge-1");
+        assertEquals(16000, interval(collector, "rule1"));
+
+        rules.remove("rule2");
+        rule("rule3", "stopped: canceled manually.", 0, 0, 0);
+        rule("rule6", "running", 0, 0, 0);
+        assertEquals(0, tickAfter(collector, 7000));
+        assertEquals(0, node.getCalls("/rules"));
+
+        // rule2 is dropped by the listing, rule3 and rule6 are polled on the next tick
+        assertEquals(0, tickAfter(collector, 1000));
+        assertEquals(1, node.getCalls("/rules"));
+        assertNull(history.getRule("rule2"));
+        assertNull(history.getRule("rule6"));
+        assertEquals(2, tickAfter(collector, 100));
+        assertEquals(2, node.getCalls("/rules/{id}/status"));
+        assertEquals(64000, interval(collector, "rule3"));
+        assertEquals(8000, interval(collector, "rule6"));
+        assertEquals(2, node.getCalls("/rules/status/all"));
+    }
+}
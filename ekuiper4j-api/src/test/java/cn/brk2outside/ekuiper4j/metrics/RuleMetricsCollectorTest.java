@@ -0,0 +1,153 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RuleMetricsCollector, RuleHistory and OperatorHistory
+ */
+public class RuleMetricsCollectorTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private volatile String body = "{}";
+
+    /**
+     * Node serving whatever status payload the test sets, or failing while down.
+     */
+    private final StubHttpClient node = new StubHttpClient(request -> {
+        assertEquals("/rules/status/all", request.path());
+        return StubHttpClient.json(body);
+    });
+
+    private RuleMetricsCollector collector(int historySize) {
+        EKuiperClientProperties.Metrics metrics = new EKuiperClientProperties.Metrics();
+        metrics.setHistorySize(historySize);
+        RuleMetricsCollector collector = new RuleMetricsCollector(metrics, now::get, System::nanoTime);
+        collector.addNode("edge-1", new RuleAPI(node));
+        return collector;
+    }
+
+    private static String status(long in, long out, long exceptions, long latencyUs) {
+        return "{\"rule1\": {\"status\": \"running\""
+                + ", \"source_demo_0_records_in_total\": " + in
+                + ", \"op_2_filter_0_records_in_total\": " + in
+                + ", \"op_2_filter_0_exceptions_total\": " + exceptions
+                + ", \"op_2_filter_0_process_latency_us\": " + latencyUs
+                + ", \"sink_log_0_records_out_total\": " + out + "}}";
+    }
+
+    private void scrapeAfter(RuleMetricsCollector collector, long elapsedMs, String body) {
+        now.addAndGet(elapsedMs);
+        this.body = body;
+        collector.scrape("edge-1");
+    }
+
+    @Test
+    void testRates() {
+        RuleMetricsCollector collector = collector(10);
+        scrapeAfter(collector, 0, status(100, 90, 0, 50));
+        RuleHistory rule = collector.getNode("edge-1").getRule("rule1");
+        assertEquals("running", rule.getStatus());
+        assertTrue(Double.isNaN(rule.getRecordsInRate()));
+
+        scrapeAfter(collector, 10_000, status(600, 590, 20, 50));
+        assertEquals(50.0, rule.getRecordsInRate(), 1e-9);
+        assertEquals(50.0, rule.getRecordsOutRate(), 1e-9);
+        assertEquals(2.0, rule.getExceptionsRate(), 1e-9);
+        OperatorHistory filter = rule.getOperator(OperatorKind.OP, "2_filter", 0);
+        assertEquals(50.0, filter.getRecordsInRate(), 1e-9);
+        assertEquals(2.0, filter.getExceptionsRate(), 1e-9);
+        assertEquals(0.0, filter.getRecordsOutRate(), 1e-9);
+
+        // The counters restart from 0 after the rule was restarted
+        scrapeAfter(collector, 10_000, status(30, 30, 0, 50));
+        assertEquals(3.0, rule.getRecordsInRate(), 1e-9);
+        assertEquals(26.5, rule.getOperator(OperatorKind.SOURCE, "demo", 0)
+                .getRate(MetricType.RECORDS_IN_TOTAL, 5), 1e-9);
+    }
+
+    @Test
+    void testRingBufferKeepsMostRecentSamples() {
+        RuleMetricsCollector collector = collector(3);
+        for (int i = 1; i <= 5; i++) {
+            scrapeAfter(collector, 1000, status(i * 10, i * 10, 0, i * 100));
+        }
+        OperatorHistory source = collector.getNode("edge-1").getRule("rule1").getOperator(OperatorKind.SOURCE, "demo", 0);
+        assertEquals(3, source.size());
+        assertEquals(50, source.getValue(MetricType.RECORDS_IN_TOTAL, 0));
+        assertEquals(30, source.getValue(MetricType.RECORDS_IN_TOTAL, 2));
+        assertEquals(now.get() - 2000, source.getTimestampMs(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> source.getValue(MetricType.RECORDS_IN_TOTAL, 3));
+        assertThrows(IllegalArgumentException.class, () -> source.getValue(MetricType.LAST_EXCEPTION, 0));
+        assertEquals(10.0, source.getRate(MetricType.RECORDS_IN_TOTAL, 10), 1e-9);
+    }
+
+    @Test
+    void testLatencyTrend() {
+        RuleMetricsCollector collector = collector(10);
+        scrapeAfter(collector, 0, status(0, 0, 0, 100));
+        scrapeAfter(collector, 10_000, status(0, 0, 0, 200));
+        scrapeAfter(collector, 10_000, status(0, 0, 0, 300));
+        OperatorHistory filter = collector.getNode("edge-1").getRule("rule1").getOperator(OperatorKind.OP, "2_filter", 0);
+        assertEquals(10.0, filter.getLatencyTrend(), 1e-9);
+    }
+
+    @Test
+    void testDeletedRulesAndOperatorsAreDropped() {
+        RuleMetricsCollector collector = collector(10);
+        scrapeAfter(collector, 0, "{\"rule1\": {\"source_demo_0_records_in_total\": 1, \"sink_log_0_records_out_total\": 1}"
+                + ", \"rule2\": {\"source_demo_0_records_in_total\": 1}}");
+        NodeHistory history = collector.getNode("edge-1");
+        assertEquals(2, history.getRules().size());
+        assertEquals(2, history.getRule("rule1").getOperators().size());
+
+        scrapeAfter(collector, 1000, "{\"rule1\": {\"source_demo_0_records_in_total\": 2}}");
+        assertNull(history.getRule("rule2"));
+        assertEquals(1, history.getRule("rule1").getOperators().size());
+        assertNull(history.getRule("rule1").getOperator(OperatorKind.SINK, "log", 0));
+    }
+
+    @Test
+    void testFailuresKeepHistory() {
+        RuleMetricsCollector collector = collector(10);
+        scrapeAfter(collector, 0, status(100, 100, 0, 0));
+        long lastSuccess = now.get();
+
+        node.setDown(true);
+        assertThrows(HttpClientException.class, () -> scrapeAfter(collector, 1000, status(0, 0, 0, 0)));
+        assertThrows(HttpClientException.class, () -> scrapeAfter(collector, 1000, status(0, 0, 0, 0)));
+        NodeHistory history = collector.getNode("edge-1");
+        assertEquals(2, history.getConsecutiveFailures());
+        assertNotNull(history.getLastError());
+        assertEquals(lastSuccess, history.getLastSuccessTimestampMs());
+        assertNotNull(history.getRule("rule1"));
+
+        node.setDown(false);
+        scrapeAfter(collector, 1000, status(400, 400, 0, 0));
+        assertEquals(0, history.getConsecutiveFailures());
+        assertNull(history.getLastError());
+        // Averaged over the gap left by the failed polls
+        assertEquals(100.0, history.getRule("rule1").getRecordsInRate(), 1e-9);
+    }
+
+    @Test
+    void testNodes() {
+        RuleMetricsCollector collector = collector(10);
+        collector.addNode("edge-2", new RuleAPI(new StubHttpClient()));
+        assertEquals(List.of("edge-1", "edge-2"), collector.getNodeNames());
+        assertTrue(collector.removeNode("edge-2"));
+        assertFalse(collector.removeNode("edge-2"));
+        assertThrows(IllegalArgumentException.class, () -> collector.scrape("edge-2"));
+        assertEquals(0, collector.scrape("edge-1"));
+        assertEquals(1, node.getCalls());
+        collector.close();
+    }
+}
@@ -0,0 +1,148 @@
+package cn.brk2outside.ekuiper4j.metrics;
+
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MetricKey and RuleMetricsDecoder
+ */
+public class RuleMetricsDecoderTest {
+
+    private static final String STATUS = """
+            {
+              "status": "running",
+              "lastStartTimestamp": 1712345678000,
+              "source_demo_0_records_in_total": 120,
+              "source_demo_0_records_out_total": 120,
+              "source_demo_0_process_latency_us": 15,
+              "source_demo_0_last_invocation": "2024-04-05T10:00:00.123456",
+              "op_2_project_0_records_in_total": 120,
+              "op_2_project_0_exceptions_total": 2,
+              "op_2_project_0_last_exception": "invalid field",
+              "sink_mqtt_0_0_records_in_total": 118,
+              "sink_mqtt_0_0_buffer_length": 3,
+              "sink_mqtt_0_1_records_in_total": 2,
+              "sink_mqtt_0_1_process_latency_us": 12.7
+            }
+            """;
+
+    @Test
+    void testParseKeys() {
+        MetricKey source = MetricKey.parse("source_demo_0_records_in_total");
+        assertEquals(OperatorKind.SOURCE, source.getKind());
+        assertEquals("demo", source.getOperator());
+        assertEquals(0, source.getInstance());
+        assertEquals(MetricType.RECORDS_IN_TOTAL, source.getMetric());
+        assertEquals("source_demo_0", source.getOperatorId());
+
+        MetricKey op = MetricKey.parse("op_2_project_0_process_latency_us");
+        assertEquals(OperatorKind.OP, op.getKind());
+        assertEquals("2_project", op.getOperator());
+        assertEquals(MetricType.PROCESS_LATENCY_US, op.getMetric());
+
+        // Longest suffix wins: last_exception_time, not last_exception
+        MetricKey sink = MetricKey.parse("sink_mqtt_0_1_last_exception_time");
+        assertEquals("mqtt_0", sink.getOperator());
+        assertEquals(1, sink.getInstance());
+        assertEquals(MetricType.LAST_EXCEPTION_TIME, sink.getMetric());
+
+        assertNull(MetricKey.parse("status"));
+        assertNull(MetricKey.parse("lastStartTimestamp"));
+        assertNull(MetricKey.parse("source_demo_x_records_in_total"));
+        assertNull(MetricKey.parse("other_demo_0_records_in_total"));
+    }
+
+    @Test
+    void testDecodeJson() throws Exception {
+        RuleMetrics metrics = new RuleMetricsDecoder().decode(STATUS.getBytes(StandardCharsets.UTF_8));
+        assertRunningRule(metrics);
+        assertEquals(12, metrics.getOperator(OperatorKind.SINK, "mqtt_0", 1).getProcessLatencyUs());
+    }
+
+    @Test
+    void testDecodeBoundResponse() throws Exception {
+        RuleStatusResponse response = JsonCodec.shared().read(STATUS.getBytes(StandardCharsets.UTF_8),
+                RuleStatusResponse.class);
+        assertEquals("running", response.getStatus());
+        assertEquals(120, ((Number) response.getMetrics().get("source_demo_0_records_in_total")).intValue());
+        assertFalse(response.getMetrics().containsKey("status"));
+
+        assertRunningRule(new RuleMetricsDecoder().decode(response));
+    }
+
+    @Test
+    void testBoundResponseStaysFlat() throws Exception {
+        JsonCodec codec = JsonCodec.shared();
+        RuleStatusResponse response = codec.read(STATUS.getBytes(StandardCharsets.UTF_8), RuleStatusResponse.class);
+
+        // Metrics are written back as top-level keys, not nested under "metrics"
+        Map<?, ?> written = codec.getObjectMapper().convertValue(response, Map.class);
+        assertFalse(written.containsKey("metrics"));
+        assertEquals(120, ((Number) written.get("source_demo_0_records_in_total")).intValue());
+        assertEquals("running", written.get("status"));
+
+        RuleStatusResponse copy = codec.read(codec.writer(RuleStatusResponse.class).writeValueAsBytes(response),
+                RuleStatusResponse.class);
+        assertEquals(response, copy);
+        assertRunningRule(new RuleMetricsDecoder().decode(copy));
+    }
+
+    @Test
+    void testResponseWithoutStatus() {
+        RuleStatusResponse response = new RuleStatusResponse(1712345678000L, null, null,
+                Map.of("source_demo_0_records_in_total", 120));
+        assertNull(response.getStatus());
+        assertEquals(1712345678000L, response.getLastStartTimestamp());
+        assertEquals(120, response.getMetrics().get("source_demo_0_records_in_total"));
+    }
+
+    @Test
+    void testDecodeAll() throws Exception {
+        String all = "{\"rule1\": " + STATUS + ", \"rule2\": {\"status\": \"stopped: canceled manually.\"}}";
+        Map<String, RuleMetrics> rules = new RuleMetricsDecoder().decodeAll(all.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, rules.size());
+        assertRunningRule(rules.get("rule1"));
+        assertEquals("stopped: canceled manually.", rules.get("rule2").getStatus());
+        assertTrue(rules.get("rule2").getOperators().isEmpty());
+    }
+
+    @Test
+    void testParsedKeysAreCached() {
+        RuleMetricsDecoder decoder = new RuleMetricsDecoder();
+        MetricKey first = decoder.parseKey("op_filter_0_records_out_total");
+        assertSame(first, decoder.parseKey("op_filter_0_records_out_total"));
+        assertNull(decoder.parseKey("status"));
+        assertNull(decoder.parseKey("status"));
+    }
+
+    private static void assertRunningRule(RuleMetrics metrics) {
+        assertEquals("running", metrics.getStatus());
+        assertEquals(1712345678000L, metrics.getLastStartTimestamp());
+        assertEquals(0, metrics.getLastStopTimestamp());
+        assertEquals(1, metrics.getSources().size());
+        assertEquals(1, metrics.getOps().size());
+        assertEquals(2, metrics.getSinks().size());
+
+        OperatorMetrics source = metrics.getOperator(OperatorKind.SOURCE, "demo", 0);
+        assertEquals(120, source.getRecordsIn());
+        assertEquals(120, source.getRecordsOut());
+        assertEquals(15, source.getProcessLatencyUs());
+        assertEquals("2024-04-05T10:00:00.123456", source.getLastInvocation());
+
+        OperatorMetrics op = metrics.getOperator(OperatorKind.OP, "2_project", 0);
+        assertEquals(2, op.getExceptions());
+        assertEquals("invalid field", op.getLastException());
+
+        OperatorMetrics sink = metrics.getOperator(OperatorKind.SINK, "mqtt_0", 0);
+        assertEquals(118, sink.getRecordsIn());
+        assertEquals(3, sink.getBufferLength());
+        assertEquals(2, metrics.getOperator(OperatorKind.SINK, "mqtt_0", 1).getRecordsIn());
+    }
+}
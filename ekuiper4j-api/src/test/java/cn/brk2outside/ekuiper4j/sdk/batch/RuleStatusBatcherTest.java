@@ -0,0 +1,139 @@
+package cn.brk2outside.ekuiper4j.sdk.batch;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RuleStatusBatcher and BatchingRuleAPI
+ */
+public class RuleStatusBatcherTest {
+
+    private static final String ALL_STATUS = StandardEndpoints.GET_ALL_RULES_STATUS.getEndpoint().getEndpoint();
+    private static final String RULE_STATUS = StandardEndpoints.GET_RULE_STATUS.getEndpoint().getEndpoint();
+
+    private final Map<String, RuleStatusResponse> statuses = knownRules();
+    private volatile HttpClientException bulkFailure;
+
+    /**
+     * Node knowing rule0 to rule9, failing bulk requests with bulkFailure if set.
+     */
+    private final StubHttpClient node = new StubHttpClient(request -> {
+        if (request.path().equals(ALL_STATUS)) {
+            if (bulkFailure != null) {
+                throw bulkFailure;
+            }
+            return new LinkedHashMap<>(statuses);
+        }
+        RuleStatusResponse status = statuses.get(request.pathVariable(0));
+        if (status == null) {
+            throw new HttpClientException("Rule " + request.pathVariable(0) + " is not found", 404);
+        }
+        return status;
+    });
+
+    private static Map<String, RuleStatusResponse> knownRules() {
+        Map<String, RuleStatusResponse> statuses = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            statuses.put("rule" + i, new RuleStatusResponse());
+        }
+        return statuses;
+    }
+
+    private static EKuiperClientProperties.StatusBatching batching() {
+        EKuiperClientProperties.StatusBatching batching = new EKuiperClientProperties.StatusBatching();
+        batching.setEnabled(true);
+        batching.setWindowMs(200);
+        batching.setMinBatchSize(3);
+        return batching;
+    }
+
+    private static List<Future<RuleStatusResponse>> concurrently(BatchingRuleAPI api, List<String> rules) {
+        ExecutorService executor = Executors.newFixedThreadPool(rules.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RuleStatusResponse>> results = new ArrayList<>();
+        for (String rule : rules) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return api.getRuleStatus(rule);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        return results;
+    }
+
+    @Test
+    void testConcurrentStatusCallsShareOneBulkRequest() throws Exception {
+        BatchingRuleAPI api = new BatchingRuleAPI(node, new RuleStatusBatcher(node, batching()));
+
+        List<String> rules = List.of("rule0", "rule1", "rule2", "rule3", "rule4", "rule5", "rule5", "rule9");
+        List<Future<RuleStatusResponse>> results = concurrently(api, rules);
+        for (int i = 0; i < rules.size(); i++) {
+            assertSame(statuses.get(rules.get(i)), results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, node.getCalls(ALL_STATUS));
+        assertEquals(0, node.getCalls(RULE_STATUS));
+        assertEquals(rules.size(), api.getBatcher().getBatchedCallCount());
+    }
+
+    @Test
+    void testSmallBatchUsesPerRuleRequests() throws Exception {
+        BatchingRuleAPI api = new BatchingRuleAPI(node, new RuleStatusBatcher(node, batching()));
+
+        // Two distinct rules are below the minimum batch size of three
+        for (Future<RuleStatusResponse> result : concurrently(api, List.of("rule1", "rule2", "rule2"))) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, node.getCalls(ALL_STATUS));
+        assertEquals(3, node.getCalls(RULE_STATUS));
+    }
+
+    @Test
+    void testMissingRuleFallsBackToPerRuleRequest() throws Exception {
+        BatchingRuleAPI api = new BatchingRuleAPI(node, new RuleStatusBatcher(node, batching()));
+
+        List<Future<RuleStatusResponse>> results = concurrently(api, List.of("rule1", "rule2", "missing"));
+        assertSame(statuses.get("rule1"), results.get(0).get(5, TimeUnit.SECONDS));
+        Exception e = assertThrows(Exception.class, () -> results.get(2).get(5, TimeUnit.SECONDS));
+        assertEquals(404, ((HttpClientException) e.getCause()).getStatusCode());
+        assertEquals(1, node.getCalls(ALL_STATUS));
+        assertEquals(1, node.getCalls(RULE_STATUS));
+    }
+
+    @Test
+    void testBulkFailures() throws Exception {
+        BatchingRuleAPI api = new BatchingRuleAPI(node, new RuleStatusBatcher(node, batching()));
+
+        // A struggling node fails every caller without a request per rule
+        bulkFailure = new HttpClientException("Service unavailable", 503);
+        for (Future<RuleStatusResponse> result : concurrently(api, List.of("rule1", "rule2", "rule3"))) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals(503, ((HttpClientException) e.getCause()).getStatusCode());
+        }
+        assertEquals(0, node.getCalls(RULE_STATUS));
+
+        // A node without the bulk endpoint is asked per rule
+        bulkFailure = new HttpClientException("Not found", 404);
+        for (Future<RuleStatusResponse> result : concurrently(api, List.of("rule1", "rule2", "rule3"))) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, node.getCalls(ALL_STATUS));
+        assertEquals(3, node.getCalls(RULE_STATUS));
+    }
+}
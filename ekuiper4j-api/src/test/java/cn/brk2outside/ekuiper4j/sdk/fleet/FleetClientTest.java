@@ -0,0 +1,202 @@
+package cn.brk2outside.ekuiper4j.sdk.fleet;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.StubHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.api.ConnectionAPI;
+import cn.brk2outside.ekuiper4j.sdk.util.ClientExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for FleetClient
+ */
+public class FleetClientTest {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private static EKuiperClientProperties.Fleet fleet(int maxConcurrency, long nodeTimeoutMs) {
+        EKuiperClientProperties.Fleet fleet = new EKuiperClientProperties.Fleet();
+        fleet.setMaxConcurrency(maxConcurrency);
+        fleet.setNodeTimeoutMs(nodeTimeoutMs);
+        return fleet;
+    }
+
+    private static FleetClient fleetClient(int maxConcurrency, long nodeTimeoutMs) {
+        return new FleetClient(new ClientExecutor(Executors.newCachedThreadPool()), fleet(maxConcurrency, nodeTimeoutMs));
+    }
+
+    /**
+     * Client answering every request with the node name after a delay, tracking the calls in flight on all nodes.
+     */
+    private StubHttpClient node(String name, long delayMs) {
+        StubHttpClient node = new StubHttpClient(request -> {
+            if (name.startsWith("broken")) {
+                throw new HttpClientException("Internal error", 500);
+            }
+            return name;
+        });
+        node.setDelayMs(delayMs);
+        node.trackInFlight(inFlight, maxInFlight);
+        return node;
+    }
+
+    @Test
+    void testRunsInParallelWithBoundedConcurrency() {
+        try (FleetClient fleetClient = fleetClient(8, 5000)) {
+            IntStream.range(0, 40).forEach(i -> fleetClient.register("gw-" + i,
+                    node("gw-" + i, 20)));
+
+            long start = System.nanoTime();
+            FleetResult<String> result = fleetClient.rules(fleetClient.getNodeNames(), rules -> rules.startRule("rule1"));
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue(result.isAllSucceeded());
+            assertEquals(40, result.getValues().size());
+            assertEquals("gw-7", result.getValues().get("gw-7"));
+            assertEquals(fleetClient.getNodeNames(), result.getResults().stream().map(NodeResult::getNode).toList());
+            assertTrue(maxInFlight.get() <= 8, "max in flight: " + maxInFlight.get());
+            // 40 nodes of 20 ms each, sequentially 800 ms
+            assertTrue(elapsedMs < 600, "took " + elapsedMs + " ms");
+        }
+    }
+
+    @Test
+    void testReportsFailuresAndTimeoutsPerNode() {
+        try (FleetClient fleetClient = fleetClient(2, 200)) {
+            fleetClient.register("gw-1", node("gw-1", 0));
+            fleetClient.register("broken-1", node("broken-1", 0));
+            fleetClient.register("slow-1", node("slow-1", 10_000));
+            fleetClient.register("slow-2", node("slow-2", 10_000));
+            fleetClient.register("gw-2", node("gw-2", 0));
+
+            FleetResult<String> result = fleetClient.streams(
+                    List.of("gw-1", "broken-1", "slow-1", "slow-2", "gw-2"), streams -> streams.deleteStream("demo"));
+
+            assertFalse(result.isAllSucceeded());
+            assertEquals(List.of("gw-1", "gw-2"), List.copyOf(result.getValues().keySet()));
+            List<NodeResult<String>> failed = result.getFailed();
+            assertEquals(3, failed.size());
+            assertEquals(500, ((HttpClientException) failed.get(0).getError()).getStatusCode());
+            assertTrue(failed.get(1).isTimedOut());
+            assertTrue(failed.get(2).isTimedOut());
+        }
+    }
+
+    @Test
+    void testTimedOutNodeKeepsItsSlotUntilItReturns() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (FleetClient fleetClient = fleetClient(1, 100)) {
+            fleetClient.register("stuck-1", node("stuck-1", 0));
+            fleetClient.register("gw-1", node("gw-1", 0));
+
+            CompletableFuture<FleetResult<String>> future = fleetClient.executeAsync(List.of("stuck-1", "gw-1"), node -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    if (node.getName().startsWith("stuck")) {
+                        // Like a blocking socket read, the wait ignores interrupts
+                        boolean released = false;
+                        while (!released) {
+                            try {
+                                released = release.await(10, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                // Keep waiting
+                            }
+                        }
+                    }
+                    return node.getName();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+
+            // The stuck node timed out, but the next one may not start while it still holds the only slot
+            try {
+                Thread.sleep(400);
+                assertFalse(future.isDone());
+            } finally {
+                release.countDown();
+            }
+
+            FleetResult<String> result = future.get(5, TimeUnit.SECONDS);
+            assertTrue(result.getResults().get(0).isTimedOut());
+            assertEquals(List.of("gw-1"), List.copyOf(result.getValues().keySet()));
+            assertEquals(1, maxInFlight.get());
+        }
+    }
+
+    @Test
+    void testInterruptedCallerInterruptsRunningNodes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch nodeInterrupted = new CountDownLatch(1);
+        AtomicInteger startedNodes = new AtomicInteger();
+        CompletableFuture<Throwable> outcome = new CompletableFuture<>();
+        try (FleetClient fleetClient = fleetClient(1, 0)) {
+            fleetClient.register("gw-1", node("gw-1", 0));
+            fleetClient.register("gw-2", node("gw-2", 0));
+
+            Thread caller = new Thread(() -> {
+                try {
+                    fleetClient.execute(List.of("gw-1", "gw-2"), node -> {
+                        startedNodes.incrementAndGet();
+                        started.countDown();
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException e) {
+                            nodeInterrupted.countDown();
+                        }
+                        return node.getName();
+                    });
+                    outcome.complete(null);
+                } catch (Throwable t) {
+                    outcome.complete(t);
+                }
+            });
+            caller.start();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            caller.interrupt();
+
+            assertInstanceOf(CancellationException.class, outcome.get(5, TimeUnit.SECONDS));
+            // The running node gives up its slot instead of sleeping on, and the next node is skipped
+            assertTrue(nodeInterrupted.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            assertEquals(1, startedNodes.get());
+        }
+    }
+
+    @Test
+    void testUnknownNodeIsRejected() {
+        try (FleetClient fleetClient = fleetClient(4, 1000)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> fleetClient.connections(List.of("missing"), ConnectionAPI::listConnections));
+        }
+    }
+
+    @Test
+    void testExecuteAsync() throws Exception {
+        CountDownLatch ran = new CountDownLatch(2);
+        try (FleetClient fleetClient = fleetClient(4, 1000)) {
+            fleetClient.register("gw-1", node("gw-1", 0));
+            fleetClient.register("gw-2", node("gw-2", 0));
+
+            FleetResult<String> result = fleetClient.executeAsync(fleetClient.getNodeNames(), node -> {
+                ran.countDown();
+                return node.getName();
+            }).get(5, TimeUnit.SECONDS);
+            assertTrue(ran.await(0, TimeUnit.SECONDS));
+            assertEquals(Map.of("gw-1", "gw-1", "gw-2", "gw-2"), result.getValues());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package cn.brk2outside.ekuiper4j.prometheus;
+
+import org.springframework.boot.actuate.endpoint.Producible;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Text formats the rule metrics can be exposed in, negotiated from the scraper's {@code Accept} header.
+ */
+public enum ExpositionFormat implements Producible<ExpositionFormat> {
+
+    /**
+     * Prometheus text format 0.0.4, understood by every Prometheus version; the default.
+     */
+    PROMETHEUS_TEXT("text/plain;version=0.0.4;charset=utf-8"),
+
+    /**
+     * OpenMetrics text format 1.0.0.
+     */
+    OPENMETRICS_TEXT("application/openmetrics-text;version=1.0.0;charset=utf-8");
+
+    private final MimeType mimeType;
+
+    ExpositionFormat(String mimeType) {
+        this.mimeType = MimeTypeUtils.parseMimeType(mimeType);
+    }
+
+    @Override
+    public MimeType getProducedMimeType() {
+        return mimeType;
+    }
+
+    @Override
+    public boolean isDefault() {
+        return this == PROMETHEUS_TEXT;
+    }
+}
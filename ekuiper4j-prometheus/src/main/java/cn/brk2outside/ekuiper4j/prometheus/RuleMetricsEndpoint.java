@@ -0,0 +1,36 @@
+package cn.brk2outside.ekuiper4j.prometheus;
+
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+
+/**
+ * Actuator endpoint serving the eKuiper rule metrics to Prometheus, at {@code /actuator/ekuipermetrics} once
+ * exposed with {@code management.endpoints.web.exposure.include=ekuipermetrics}.
+ * The format is negotiated from the {@code Accept} header, see {@link ExpositionFormat}.
+ */
+@WebEndpoint(id = "ekuipermetrics")
+public class RuleMetricsEndpoint {
+
+    private final RuleMetricsTextEncoder encoder;
+
+    /**
+     * Creates the endpoint.
+     *
+     * @param encoder The encoder producing the exposition
+     */
+    public RuleMetricsEndpoint(RuleMetricsTextEncoder encoder) {
+        this.encoder = encoder;
+    }
+
+    /**
+     * Encodes the current rule metrics.
+     *
+     * @param format The negotiated exposition format
+     * @return The encoded metrics
+     */
+    @ReadOperation(producesFrom = ExpositionFormat.class)
+    public WebEndpointResponse<byte[]> scrape(ExpositionFormat format) {
+        return new WebEndpointResponse<>(encoder.encode(format), format);
+    }
+}
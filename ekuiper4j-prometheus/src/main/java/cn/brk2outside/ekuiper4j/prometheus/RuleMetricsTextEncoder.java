@@ -0,0 +1,218 @@
+package cn.brk2outside.ekuiper4j.prometheus;
+
+import cn.brk2outside.ekuiper4j.metrics.MetricType;
+import cn.brk2outside.ekuiper4j.metrics.NodeHistory;
+import cn.brk2outside.ekuiper4j.metrics.OperatorHistory;
+import cn.brk2outside.ekuiper4j.metrics.RuleHistory;
+import cn.brk2outside.ekuiper4j.metrics.RuleMetricsCollector;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the rule metrics kept by a {@link RuleMetricsCollector} as labelled Prometheus series.
+ * <p>
+ * Every operator instance of every rule becomes one series per metric, labelled by {@code node}, {@code rule},
+ * {@code kind} (source, op or sink), {@code operator} and {@code instance}:
+ * <ul>
+ *     <li>{@code ekuiper_operator_records_in_total}, {@code ekuiper_operator_records_out_total} and
+ *     {@code ekuiper_operator_exceptions_total} (counters)</li>
+ *     <li>{@code ekuiper_operator_process_latency_us} and {@code ekuiper_operator_buffer_length} (gauges)</li>
+ * </ul>
+ * plus {@code ekuiper_rule_running} per rule and {@code ekuiper_scrape_up} and
+ * {@code ekuiper_scrape_duration_seconds} per node.
+ * <p>
+ * The encoded text only changes when a node is polled, so it is cached per format until the next poll of any
+ * node completes; scrapes in between are served the same bytes. The escaped label set of each operator is
+ * cached as well and reused as long as the operator exists. Values are those of the most recent sample; rates
+ * are left to Prometheus.
+ */
+public class RuleMetricsTextEncoder {
+
+    private static final OperatorFamily[] OPERATOR_FAMILIES = {
+            new OperatorFamily("ekuiper_operator_records_in", true,
+                    "Records received by the operator instance.", MetricType.RECORDS_IN_TOTAL),
+            new OperatorFamily("ekuiper_operator_records_out", true,
+                    "Records sent by the operator instance.", MetricType.RECORDS_OUT_TOTAL),
+            new OperatorFamily("ekuiper_operator_exceptions", true,
+                    "Exceptions raised by the operator instance.", MetricType.EXCEPTIONS_TOTAL),
+            new OperatorFamily("ekuiper_operator_process_latency_us", false,
+                    "Processing latency of the last record in microseconds.", MetricType.PROCESS_LATENCY_US),
+            new OperatorFamily("ekuiper_operator_buffer_length", false,
+                    "Records waiting in the buffer of the operator instance.", MetricType.BUFFER_LENGTH)
+    };
+
+    private final RuleMetricsCollector collector;
+    private final Map<ExpositionFormat, Encoded> cache = new EnumMap<>(ExpositionFormat.class);
+    private Map<OperatorHistory, String> labelCache = new IdentityHashMap<>();
+    private int lastLength = 4096;
+
+    /**
+     * Creates an encoder.
+     *
+     * @param collector The collector whose metrics are encoded
+     */
+    public RuleMetricsTextEncoder(RuleMetricsCollector collector) {
+        this.collector = collector;
+    }
+
+    /**
+     * Encodes the current metrics.
+     *
+     * @param format The exposition format
+     * @return The UTF-8 encoded text; shared between callers until the next poll, so it must not be modified
+     */
+    public synchronized byte[] encode(ExpositionFormat format) {
+        Map<String, Long> polls = polls();
+        Encoded encoded = cache.get(format);
+        if (encoded == null || !encoded.polls.equals(polls)) {
+            encoded = new Encoded(polls, render(format).getBytes(StandardCharsets.UTF_8));
+            cache.put(format, encoded);
+        }
+        return encoded.body;
+    }
+
+    /**
+     * The poll count of every node, which identifies the state the metrics are in.
+     */
+    private Map<String, Long> polls() {
+        Map<String, Long> polls = new LinkedHashMap<>();
+        for (String name : collector.getNodeNames()) {
+            NodeHistory node = collector.getNode(name);
+            if (node != null) {
+                polls.put(name, node.getPollCount());
+            }
+        }
+        return polls;
+    }
+
+    private String render(ExpositionFormat format) {
+        boolean openMetrics = format == ExpositionFormat.OPENMETRICS_TEXT;
+        StringBuilder out = new StringBuilder(lastLength + lastLength / 8);
+
+        List<NodeHistory> nodes = new ArrayList<>();
+        List<RuleSample> rules = new ArrayList<>();
+        List<OperatorSample> operators = new ArrayList<>();
+        Map<OperatorHistory, String> labels = new IdentityHashMap<>();
+        for (String name : collector.getNodeNames()) {
+            NodeHistory node = collector.getNode(name);
+            if (node == null) {
+                continue;
+            }
+            nodes.add(node);
+            for (RuleHistory rule : node.getRules().values()) {
+                rules.add(new RuleSample(name, rule.getRule(), rule.isRunning()));
+                for (OperatorHistory operator : rule.getOperators()) {
+                    OperatorSample sample = operatorSample(name, rule.getRule(), operator, labels);
+                    if (sample != null) {
+                        operators.add(sample);
+                    }
+                }
+            }
+        }
+        // Drops the labels of operators that are gone
+        labelCache = labels;
+
+        header(out, "ekuiper_scrape_up", "gauge", "Whether the last poll of the eKuiper node succeeded.");
+        for (NodeHistory node : nodes) {
+            boolean up = node.getLastSuccessTimestampMs() > 0 && node.getConsecutiveFailures() == 0;
+            sample(out, "ekuiper_scrape_up", nodeLabels(node.getName())).append(up ? '1' : '0').append('\n');
+        }
+        header(out, "ekuiper_scrape_duration_seconds", "gauge", "Duration of the last poll of the eKuiper node.");
+        for (NodeHistory node : nodes) {
+            sample(out, "ekuiper_scrape_duration_seconds", nodeLabels(node.getName()))
+                    .append(node.getLastDurationMs() / 1000.0).append('\n');
+        }
+        header(out, "ekuiper_rule_running", "gauge", "Whether the rule is running.");
+        for (RuleSample rule : rules) {
+            sample(out, "ekuiper_rule_running", rule.labels()).append(rule.running() ? '1' : '0').append('\n');
+        }
+
+        for (int i = 0; i < OPERATOR_FAMILIES.length; i++) {
+            OperatorFamily family = OPERATOR_FAMILIES[i];
+            String sampleName = family.counter() ? family.name() + "_total" : family.name();
+            // OpenMetrics names the counter family without the _total suffix of its samples
+            header(out, openMetrics ? family.name() : sampleName, family.counter() ? "counter" : "gauge", family.help());
+            for (OperatorSample operator : operators) {
+                sample(out, sampleName, operator.labels()).append(operator.values()[i]).append('\n');
+            }
+        }
+        if (openMetrics) {
+            out.append("# EOF\n");
+        }
+        lastLength = out.length();
+        return out.toString();
+    }
+
+    private OperatorSample operatorSample(String node, String rule, OperatorHistory operator,
+                                          Map<OperatorHistory, String> labels) {
+        if (operator.size() == 0) {
+            return null;
+        }
+        String label = labelCache.get(operator);
+        if (label == null) {
+            StringBuilder builder = new StringBuilder(96);
+            label(builder.append('{'), "node", node).append(',');
+            label(builder, "rule", rule).append(',');
+            label(builder, "kind", operator.getKind().getPrefix()).append(',');
+            label(builder, "operator", operator.getName()).append(',');
+            label(builder, "instance", Integer.toString(operator.getInstance())).append('}');
+            label = builder.toString();
+        }
+        labels.put(operator, label);
+
+        long[] values = new long[OPERATOR_FAMILIES.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = operator.getValue(OPERATOR_FAMILIES[i].metric(), 0);
+        }
+        return new OperatorSample(label, values);
+    }
+
+    private static String nodeLabels(String node) {
+        return label(new StringBuilder().append('{'), "node", node).append('}').toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static StringBuilder sample(StringBuilder out, String name, String labels) {
+        return out.append(name).append(labels).append(' ');
+    }
+
+    private static StringBuilder label(StringBuilder out, String name, String value) {
+        out.append(name).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+        return out.append('"');
+    }
+
+    private record OperatorFamily(String name, boolean counter, String help, MetricType metric) {
+    }
+
+    private record OperatorSample(String labels, long[] values) {
+    }
+
+    private record RuleSample(String labels, boolean running) {
+        RuleSample(String node, String rule, boolean running) {
+            this(label(label(new StringBuilder().append('{'), "node", node).append(','), "rule", rule)
+                    .append('}').toString(), running);
+        }
+    }
+
+    private record Encoded(Map<String, Long> polls, byte[] body) {
+    }
+}
@@ -0,0 +1,50 @@
+package cn.brk2outside.ekuiper4j.prometheus.config;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientAutoConfiguration;
+import cn.brk2outside.ekuiper4j.metrics.RuleMetricsCollector;
+import cn.brk2outside.ekuiper4j.prometheus.RuleMetricsEndpoint;
+import cn.brk2outside.ekuiper4j.prometheus.RuleMetricsTextEncoder;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto-configuration exposing the eKuiper rule metrics to Prometheus.
+ * Requires the rule metrics collector, enabled with {@code ekuiper.client.metrics.enabled=true}.
+ */
+@Configuration
+@ConditionalOnClass(Endpoint.class)
+@AutoConfigureAfter(EKuiperClientAutoConfiguration.class)
+@ConditionalOnBean(RuleMetricsCollector.class)
+public class EKuiperPrometheusAutoConfiguration {
+
+    /**
+     * Creates the encoder of the collected rule metrics if not already defined.
+     *
+     * @param collector The rule metrics collector
+     * @return The encoder
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RuleMetricsTextEncoder ekuiperRuleMetricsTextEncoder(RuleMetricsCollector collector) {
+        return new RuleMetricsTextEncoder(collector);
+    }
+
+    /**
+     * Creates the actuator endpoint serving the rule metrics, if it is enabled and exposed.
+     *
+     * @param encoder The encoder of the collected rule metrics
+     * @return The endpoint
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint
+    public RuleMetricsEndpoint ekuiperRuleMetricsEndpoint(RuleMetricsTextEncoder encoder) {
+        return new RuleMetricsEndpoint(encoder);
+    }
+}
@@ -0,0 +1,161 @@
+package cn.brk2outside.ekuiper4j.prometheus;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.ForwardingHttpClient;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.ResponseBodyReader;
+import cn.brk2outside.ekuiper4j.metrics.RuleMetricsCollector;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RuleMetricsTextEncoder
+ */
+public class RuleMetricsTextEncoderTest {
+
+    /**
+     * Node serving whatever status payload the test sets, or failing while down.
+     */
+    private static class NodeHttpClient extends ForwardingHttpClient {
+        private volatile String body = "{}";
+        private volatile boolean down;
+
+        NodeHttpClient() {
+            super(null);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected <T> T exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                                 ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+            if (down) {
+                throw new HttpClientException("Error accessing resource: " + path, new ConnectException("Connection refused"), -1);
+            }
+            try {
+                return ((ResponseBodyReader<T>) responseType).read(
+                        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new HttpClientException("Failed to read response body", e, 200);
+            }
+        }
+    }
+
+    private static final String STATUS = """
+            {
+              "rule1": {
+                "status": "running",
+                "source_demo_0_records_in_total": 120,
+                "op_2_filter_0_records_in_total": 120,
+                "op_2_filter_0_exceptions_total": 2,
+                "op_2_filter_0_process_latency_us": 35,
+                "sink_mqtt_0_0_records_out_total": 118,
+                "sink_mqtt_0_0_buffer_length": 3
+              },
+              "rule2": {"status": "stopped: canceled manually."}
+            }
+            """;
+
+    private final NodeHttpClient node = new NodeHttpClient();
+    private final RuleMetricsCollector collector = new RuleMetricsCollector(new EKuiperClientProperties.Metrics());
+
+    private String encode(RuleMetricsTextEncoder encoder, ExpositionFormat format) {
+        return new String(encoder.encode(format), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testPrometheusText() {
+        collector.addNode("edge-1", new RuleAPI(node));
+        node.body = STATUS;
+        collector.scrape("edge-1");
+
+        String text = encode(new RuleMetricsTextEncoder(collector), ExpositionFormat.PROMETHEUS_TEXT);
+        assertTrue(text.contains("# TYPE ekuiper_operator_records_in_total counter\n"));
+        assertTrue(text.contains("ekuiper_operator_records_in_total"
+                + "{node=\"edge-1\",rule=\"rule1\",kind=\"source\",operator=\"demo\",instance=\"0\"} 120\n"));
+        assertTrue(text.contains("ekuiper_operator_exceptions_total"
+                + "{node=\"edge-1\",rule=\"rule1\",kind=\"op\",operator=\"2_filter\",instance=\"0\"} 2\n"));
+        assertTrue(text.contains("# TYPE ekuiper_operator_process_latency_us gauge\n"));
+        assertTrue(text.contains("ekuiper_operator_process_latency_us"
+                + "{node=\"edge-1\",rule=\"rule1\",kind=\"op\",operator=\"2_filter\",instance=\"0\"} 35\n"));
+        assertTrue(text.contains("ekuiper_operator_buffer_length"
+                + "{node=\"edge-1\",rule=\"rule1\",kind=\"sink\",operator=\"mqtt_0\",instance=\"0\"} 3\n"));
+        assertTrue(text.contains("ekuiper_rule_running{node=\"edge-1\",rule=\"rule1\"} 1\n"));
+        assertTrue(text.contains("ekuiper_rule_running{node=\"edge-1\",rule=\"rule2\"} 0\n"));
+        assertTrue(text.contains("ekuiper_scrape_up{node=\"edge-1\"} 1\n"));
+        assertFalse(text.contains("# EOF"));
+
+        // Every family is declared once, with all of its samples right after it
+        int type = text.indexOf("# TYPE ekuiper_operator_records_out_total");
+        assertEquals(type, text.lastIndexOf("# TYPE ekuiper_operator_records_out_total"));
+        assertTrue(text.indexOf("ekuiper_operator_records_out_total{") > type);
+        assertTrue(text.lastIndexOf("ekuiper_operator_records_out_total{") < text.indexOf("# TYPE ekuiper_operator_exceptions"));
+    }
+
+    @Test
+    void testRunningStatusIgnoresCase() {
+        collector.addNode("edge-1", new RuleAPI(node));
+        node.body = STATUS.replace("\"status\": \"running\"", "\"status\": \"Running\"");
+        collector.scrape("edge-1");
+
+        String text = encode(new RuleMetricsTextEncoder(collector), ExpositionFormat.PROMETHEUS_TEXT);
+        assertTrue(text.contains("ekuiper_rule_running{node=\"edge-1\",rule=\"rule1\"} 1\n"));
+        assertTrue(text.contains("ekuiper_rule_running{node=\"edge-1\",rule=\"rule2\"} 0\n"));
+    }
+
+    @Test
+    void testOpenMetricsText() {
+        collector.addNode("edge-1", new RuleAPI(node));
+        node.body = STATUS;
+        collector.scrape("edge-1");
+
+        String text = encode(new RuleMetricsTextEncoder(collector), ExpositionFormat.OPENMETRICS_TEXT);
+        assertTrue(text.contains("# TYPE ekuiper_operator_records_in counter\n"));
+        assertTrue(text.contains("ekuiper_operator_records_in_total{node=\"edge-1\""));
+        assertTrue(text.endsWith("# EOF\n"));
+    }
+
+    @Test
+    void testEncodingIsCachedUntilNextPoll() {
+        collector.addNode("edge-1", new RuleAPI(node));
+        node.body = STATUS;
+        collector.scrape("edge-1");
+        RuleMetricsTextEncoder encoder = new RuleMetricsTextEncoder(collector);
+
+        byte[] first = encoder.encode(ExpositionFormat.PROMETHEUS_TEXT);
+        assertSame(first, encoder.encode(ExpositionFormat.PROMETHEUS_TEXT));
+
+        node.body = STATUS.replace("\"source_demo_0_records_in_total\": 120", "\"source_demo_0_records_in_total\": 150");
+        collector.scrape("edge-1");
+        String second = new String(encoder.encode(ExpositionFormat.PROMETHEUS_TEXT), StandardCharsets.UTF_8);
+        assertTrue(second.contains("kind=\"source\",operator=\"demo\",instance=\"0\"} 150\n"));
+
+        // Failed polls change the output as well
+        node.down = true;
+        assertThrows(HttpClientException.class, () -> collector.scrape("edge-1"));
+        assertTrue(encode(encoder, ExpositionFormat.PROMETHEUS_TEXT).contains("ekuiper_scrape_up{node=\"edge-1\"} 0\n"));
+
+        // So do nodes that are added
+        collector.addNode("edge-2", new RuleAPI(new NodeHttpClient()));
+        assertTrue(encode(encoder, ExpositionFormat.PROMETHEUS_TEXT).contains("ekuiper_scrape_up{node=\"edge-2\"} 0\n"));
+    }
+
+    @Test
+    void testLabelValuesAreEscaped() {
+        collector.addNode("edge \"1\"\\a", new RuleAPI(node));
+        node.body = "{\"rule1\": {\"source_demo_0_records_in_total\": 1}}";
+        collector.scrape("edge \"1\"\\a");
+
+        String text = encode(new RuleMetricsTextEncoder(collector), ExpositionFormat.PROMETHEUS_TEXT);
+        assertTrue(text.contains("{node=\"edge \\\"1\\\"\\\\a\",rule=\"rule1\""));
+    }
+}
@@ -0,0 +1,170 @@
+package cn.brk2outside.ekuiper4j.reactive.config;
+
+import cn.brk2outside.ekuiper4j.config.EKuiperClientAutoConfiguration;
+import cn.brk2outside.ekuiper4j.config.EKuiperClientProperties;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
+import cn.brk2outside.ekuiper4j.http.auth.JwtTokenManager;
+import cn.brk2outside.ekuiper4j.reactive.http.ReactiveHttpClient;
+import cn.brk2outside.ekuiper4j.reactive.sdk.api.ReactiveConfigKeyAPI;
+import cn.brk2outside.ekuiper4j.reactive.sdk.api.ReactiveConnectionAPI;
+import cn.brk2outside.ekuiper4j.reactive.sdk.api.ReactiveOverviewAPI;
+import cn.brk2outside.ekuiper4j.reactive.sdk.api.ReactiveRuleAPI;
+import cn.brk2outside.ekuiper4j.reactive.sdk.api.ReactiveStreamAPI;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Auto-configuration for the reactive eKuiper client.
+ * Shares the {@code ekuiper.client.*} properties with the blocking client.
+ */
+@Configuration
+@ConditionalOnClass(WebClient.class)
+@AutoConfigureAfter(EKuiperClientAutoConfiguration.class)
+@EnableConfigurationProperties(EKuiperClientProperties.class)
+public class EKuiperReactiveAutoConfiguration {
+
+    /**
+     * Creates the connection pool used by the reactive client, sized by {@code ekuiper.client.pool.*}.
+     *
+     * @param properties The eKuiper client properties
+     * @return The connection provider; disposed together with the application context
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean(name = "ekuiperReactiveConnectionProvider")
+    public ConnectionProvider ekuiperReactiveConnectionProvider(EKuiperClientProperties properties) {
+        EKuiperClientProperties.Pool pool = properties.getPool();
+        if (!pool.isEnabled()) {
+            return ConnectionProvider.newConnection();
+        }
+        return ConnectionProvider.builder("ekuiper4j")
+                .maxConnections(pool.getMaxConnectionsPerNode())
+                .maxIdleTime(Duration.ofMillis(pool.getIdleEvictionMs()))
+                .maxLifeTime(Duration.ofMillis(pool.getKeepAliveTtlMs()))
+                .evictInBackground(Duration.ofMillis(pool.getIdleEvictionMs()))
+                .build();
+    }
+
+    /**
+     * Creates the reactive HTTP client bean if not already defined.
+     *
+     * @param properties The eKuiper client properties
+     * @param connectionProvider The connection pool
+     * @param webClientBuilder The application's WebClient builder, if any
+     * @param jsonCodec The JSON codec shared with the blocking clients
+     * @param jwtTokenManager JWT token manager, if JWT auth is enabled
+     * @return A configured ReactiveHttpClient instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveHttpClient ekuiperReactiveHttpClient(
+            EKuiperClientProperties properties,
+            @Qualifier("ekuiperReactiveConnectionProvider") ConnectionProvider connectionProvider,
+            ObjectProvider<WebClient.Builder> webClientBuilder,
+            ObjectProvider<JsonCodec> jsonCodec,
+            ObjectProvider<JwtTokenManager> jwtTokenManager) {
+
+        HttpClient nettyClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.getConnectTimeout())
+                .responseTimeout(Duration.ofMillis(properties.getReadTimeout()));
+
+        WebClient.Builder builder = webClientBuilder.getIfAvailable(WebClient::builder)
+                .clone()
+                .baseUrl(String.format("http://%s:%d", properties.getHost(), properties.getPort()))
+                .clientConnector(new ReactorClientHttpConnector(nettyClient));
+
+        // JWT authentication takes precedence if enabled
+        JwtTokenManager tokenManager = jwtTokenManager.getIfAvailable();
+        if (properties.getJwt().isEnabled() && tokenManager != null) {
+            builder.filter((request, next) -> {
+                String token = tokenManager.getToken();
+                if (token == null) {
+                    return next.exchange(request);
+                }
+                return next.exchange(ClientRequest.from(request)
+                        .headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, token))
+                        .build());
+            });
+        }
+        // Basic authentication
+        else if (properties.isAuthEnabled() && properties.getUsername() != null && properties.getPassword() != null) {
+            builder.defaultHeaders(headers -> headers.setBasicAuth(properties.getUsername(), properties.getPassword()));
+        }
+
+        return new ReactiveHttpClient(builder.build(), jsonCodec.getIfAvailable(JsonCodec::shared));
+    }
+
+    /**
+     * Creates the ReactiveOverviewAPI bean if not already defined.
+     *
+     * @param httpClient The reactive eKuiper HTTP client
+     * @return A configured ReactiveOverviewAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveOverviewAPI reactiveOverviewAPI(ReactiveHttpClient httpClient) {
+        return new ReactiveOverviewAPI(httpClient);
+    }
+
+    /**
+     * Creates the ReactiveStreamAPI bean if not already defined.
+     *
+     * @param httpClient The reactive eKuiper HTTP client
+     * @return A configured ReactiveStreamAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveStreamAPI reactiveStreamAPI(ReactiveHttpClient httpClient) {
+        return new ReactiveStreamAPI(httpClient);
+    }
+
+    /**
+     * Creates the ReactiveConnectionAPI bean if not already defined.
+     *
+     * @param httpClient The reactive eKuiper HTTP client
+     * @return A configured ReactiveConnectionAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveConnectionAPI reactiveConnectionAPI(ReactiveHttpClient httpClient) {
+        return new ReactiveConnectionAPI(httpClient);
+    }
+
+    /**
+     * Creates the ReactiveConfigKeyAPI bean if not already defined.
+     *
+     * @param httpClient The reactive eKuiper HTTP client
+     * @return A configured ReactiveConfigKeyAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveConfigKeyAPI reactiveConfigKeyAPI(ReactiveHttpClient httpClient) {
+        return new ReactiveConfigKeyAPI(httpClient);
+    }
+
+    /**
+     * Creates the ReactiveRuleAPI bean if not already defined.
+     *
+     * @param httpClient The reactive eKuiper HTTP client
+     * @return A configured ReactiveRuleAPI instance
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveRuleAPI reactiveRuleAPI(ReactiveHttpClient httpClient) {
+        return new ReactiveRuleAPI(httpClient);
+    }
+}
@@ -0,0 +1,177 @@
+package cn.brk2outside.ekuiper4j.reactive.http;
+
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes a top-level JSON object, e.g. {@code {"rule1": {...}, "rule2": {...}}}, into a stream of
+ * its entries while the body is still arriving.
+ * <p>
+ * Chunks are fed to a non-blocking Jackson parser and each member value is buffered only until it is
+ * complete, so memory stays bounded by the largest single value rather than the whole document. The
+ * upstream body is requested chunk by chunk as the subscriber drains the decoded entries.
+ *
+ * @param <V> The type of the object member values
+ */
+public class JsonObjectEntryDecoder<V> {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader valueReader;
+    private final JavaType valueType;
+
+    /**
+     * Creates a decoder for object members of the given type.
+     *
+     * @param objectMapper The object mapper providing the parser factory and deserializers
+     * @param valueType    The type of the object member values
+     */
+    public JsonObjectEntryDecoder(ObjectMapper objectMapper, JavaType valueType) {
+        this.objectMapper = objectMapper;
+        this.valueReader = objectMapper.readerFor(valueType);
+        this.valueType = valueType;
+    }
+
+    /**
+     * Decodes the given body into the entries of its top-level JSON object.
+     * A {@code null} or empty body yields no entries.
+     *
+     * @param body The response body chunks; each chunk is released once it has been fed to the parser
+     * @return The object entries in document order
+     */
+    public Flux<Map.Entry<String, V>> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            Tokenizer tokenizer = new Tokenizer();
+            return body.concatMapIterable(tokenizer::feed, 1)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())));
+        });
+    }
+
+    /**
+     * Per-subscription parser state.
+     */
+    private final class Tokenizer {
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+
+        /** Whether the opening brace of the top-level object has been read. */
+        private boolean inObject;
+        /** Whether the closing brace of the top-level object (or a top-level null) has been read. */
+        private boolean done;
+        /** Name of the member whose value is currently being read. */
+        private String fieldName;
+        /** Tokens of the member value read so far. */
+        private TokenBuffer valueTokens;
+        /** Nesting depth inside the member value. */
+        private int valueDepth;
+
+        Tokenizer() {
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to create non-blocking JSON parser", e);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<Map.Entry<String, V>> feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                return parseAvailable();
+            } catch (IOException e) {
+                throw decodingError(e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        List<Map.Entry<String, V>> endOfInput() {
+            feeder.endOfInput();
+            try {
+                List<Map.Entry<String, V>> entries = parseAvailable();
+                if (inObject && !done) {
+                    throw new HttpClientException("Unexpected end of JSON object", 200);
+                }
+                return entries;
+            } catch (IOException e) {
+                throw decodingError(e);
+            }
+        }
+
+        private List<Map.Entry<String, V>> parseAvailable() throws IOException {
+            List<Map.Entry<String, V>> entries = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (done) {
+                    throw new HttpClientException("Unexpected content after JSON object: " + token, 200);
+                }
+                if (!inObject) {
+                    if (token == JsonToken.VALUE_NULL) {
+                        done = true;
+                        continue;
+                    }
+                    if (token != JsonToken.START_OBJECT) {
+                        throw new HttpClientException("Expected a JSON object but found " + token, 200);
+                    }
+                    inObject = true;
+                    continue;
+                }
+                if (fieldName == null) {
+                    if (token == JsonToken.END_OBJECT) {
+                        done = true;
+                    } else {
+                        fieldName = parser.currentName();
+                    }
+                    continue;
+                }
+
+                if (valueTokens == null) {
+                    valueTokens = new TokenBuffer(parser);
+                }
+                valueTokens.copyCurrentEvent(parser);
+                if (token.isStructStart()) {
+                    valueDepth++;
+                } else if (token.isStructEnd()) {
+                    valueDepth--;
+                }
+                if (valueDepth == 0) {
+                    if (entries == null) {
+                        entries = new ArrayList<>();
+                    }
+                    entries.add(new AbstractMap.SimpleImmutableEntry<>(fieldName, readValue()));
+                    fieldName = null;
+                    valueTokens = null;
+                }
+            }
+            return entries != null ? entries : Collections.emptyList();
+        }
+
+        private V readValue() throws IOException {
+            try (JsonParser valueParser = valueTokens.asParser(objectMapper)) {
+                return valueReader.readValue(valueParser);
+            }
+        }
+
+        private HttpClientException decodingError(IOException e) {
+            return new HttpClientException("Failed to decode response entry as " + valueType, e, 200);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package cn.brk2outside.ekuiper4j.reactive.http;
+
+import cn.brk2outside.ekuiper4j.constants.HttpMethods;
+import cn.brk2outside.ekuiper4j.http.EKuiperErrorDecoder;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import cn.brk2outside.ekuiper4j.http.JsonCodec;
+import com.fasterxml.jackson.databind.JavaType;
+import io.netty.channel.ConnectTimeoutException;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking HTTP client for the eKuiper REST API built on {@link WebClient}.
+ * <p>
+ * Responses are decoded like the blocking {@link cn.brk2outside.ekuiper4j.http.HttpClient} implementations:
+ * plain text for {@code String}, JSON otherwise, regardless of the content type the server reports.
+ * Failed requests signal an {@link HttpClientException}.
+ */
+public class ReactiveHttpClient {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final WebClient webClient;
+    private final JsonCodec jsonCodec;
+    private final EKuiperErrorDecoder errorDecoder;
+
+    /**
+     * Creates a client for the given eKuiper host and port with a default WebClient.
+     *
+     * @param host The eKuiper host
+     * @param port The eKuiper REST port
+     */
+    public ReactiveHttpClient(String host, int port) {
+        this(WebClient.builder().baseUrl(String.format("http://%s:%d", host, port)).build());
+    }
+
+    /**
+     * Creates a client on top of a preconfigured WebClient.
+     * The WebClient must have its base URL set to the eKuiper REST endpoint.
+     *
+     * @param webClient The WebClient to use
+     */
+    public ReactiveHttpClient(WebClient webClient) {
+        this(webClient, JsonCodec.shared());
+    }
+
+    /**
+     * Creates a client on top of a preconfigured WebClient, decoding responses with the given codec.
+     * The WebClient must have its base URL set to the eKuiper REST endpoint.
+     *
+     * @param webClient The WebClient to use
+     * @param jsonCodec The JSON codec used for response bodies
+     */
+    public ReactiveHttpClient(WebClient webClient, JsonCodec jsonCodec) {
+        this.webClient = webClient;
+        this.jsonCodec = jsonCodec;
+        this.errorDecoder = new EKuiperErrorDecoder(jsonCodec);
+    }
+
+    /**
+     * Performs a request and decodes the whole response body.
+     *
+     * @param method        The HTTP method
+     * @param path          The API path (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param requestBody   The request body (can be null)
+     * @param queryParams   Query parameters to append to the URL (can be null or empty)
+     * @param responseType  The expected response type
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @param <T>           The expected response type
+     * @return A mono of the response body; empty if the body is empty or the response type is {@code Void}
+     */
+    public <T> Mono<T> exchange(HttpMethods method, String path, Object requestBody, Map<String, Object> queryParams,
+                                ParameterizedTypeReference<T> responseType, Object... pathVariables) {
+        return Mono.defer(() -> request(method, path, requestBody, queryParams, pathVariables)
+                        .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                                .defaultIfEmpty(EMPTY_BODY)
+                                .flatMap(body -> Mono.justOrEmpty(
+                                        decode(response.statusCode().value(), body, responseType)))))
+                .onErrorMap(error -> translate(error, path));
+    }
+
+    /**
+     * Performs a request whose response is a JSON object and streams the object's entries as they are parsed.
+     * Further body chunks are only read from the connection as the subscriber requests more entries.
+     *
+     * @param method        The HTTP method
+     * @param path          The API path (with path variable placeholders, e.g., "/api/{id}/details")
+     * @param queryParams   Query parameters to append to the URL (can be null or empty)
+     * @param valueType     The type of the object member values
+     * @param pathVariables Variables to replace in the URL path in order of appearance
+     * @param <V>           The type of the object member values
+     * @return A flux of the object entries in document order
+     */
+    public <V> Flux<Map.Entry<String, V>> exchangeEntries(HttpMethods method, String path, Map<String, Object> queryParams,
+                                                          ParameterizedTypeReference<V> valueType, Object... pathVariables) {
+        JavaType javaType = jsonCodec.getObjectMapper().getTypeFactory().constructType(valueType.getType());
+        JsonObjectEntryDecoder<V> decoder = new JsonObjectEntryDecoder<>(jsonCodec.getObjectMapper(), javaType);
+
+        return Flux.defer(() -> request(method, path, null, queryParams, pathVariables)
+                        .exchangeToFlux(response -> {
+                            int statusCode = response.statusCode().value();
+                            if (statusCode >= 400) {
+                                return response.bodyToMono(byte[].class)
+                                        .defaultIfEmpty(EMPTY_BODY)
+                                        .flatMapMany(body -> Flux.error(errorDecoder.decode(statusCode, body)));
+                            }
+                            return decoder.decode(response.bodyToFlux(DataBuffer.class));
+                        }))
+                .onErrorMap(error -> translate(error, path));
+    }
+
+    private WebClient.RequestHeadersSpec<?> request(HttpMethods method, String path, Object requestBody,
+                                                    Map<String, Object> queryParams, Object... pathVariables) {
+        WebClient.RequestBodySpec spec = webClient.method(HttpMethod.valueOf(method.name()))
+                .uri(builder -> buildUri(builder, path, queryParams, pathVariables))
+                .accept(MediaType.APPLICATION_JSON);
+        if (requestBody == null) {
+            return spec;
+        }
+        return spec.contentType(MediaType.APPLICATION_JSON).bodyValue(requestBody);
+    }
+
+    private static URI buildUri(UriBuilder builder, String path, Map<String, Object> queryParams, Object... pathVariables) {
+        if (path != null && !path.isEmpty()) {
+            builder.path(path.startsWith("/") ? path : "/" + path);
+        }
+        if (queryParams != null) {
+            queryParams.forEach((key, value) -> {
+                if (value != null) {
+                    builder.queryParam(key, value);
+                }
+            });
+        }
+        return builder.build(pathVariables != null ? pathVariables : new Object[0]);
+    }
+
+    /**
+     * Decodes a response body into the expected type, or throws for error status codes.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T decode(int statusCode, byte[] body, ParameterizedTypeReference<T> responseType) {
+        if (statusCode >= 400) {
+            throw errorDecoder.decode(statusCode, body);
+        }
+
+        Type type = responseType.getType();
+        if (body.length == 0 || type == Void.class) {
+            return null;
+        }
+        if (type == String.class) {
+            return (T) new String(body, StandardCharsets.UTF_8);
+        }
+        if (type == byte[].class) {
+            return (T) body;
+        }
+        try {
+            return jsonCodec.read(body, type);
+        } catch (IOException e) {
+            throw new HttpClientException("Failed to decode response as " + type.getTypeName(), e, statusCode);
+        }
+    }
+
+    /**
+     * Translates transport failures into {@link HttpClientException}s.
+     */
+    private static Throwable translate(Throwable error, String path) {
+        if (error instanceof HttpClientException || error instanceof IllegalArgumentException) {
+            return error;
+        }
+        Throwable cause = error instanceof WebClientRequestException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException
+                || cause instanceof io.netty.handler.timeout.TimeoutException
+                || cause instanceof ConnectTimeoutException) {
+            return HttpClientException.timeout("Request to " + path + " timed out", cause);
+        }
+        if (error instanceof WebClientRequestException || cause instanceof IOException) {
+            return new HttpClientException("Error accessing resource: " + path, cause, -1);
+        }
+        return new HttpClientException("Error executing HTTP request: " + cause.getMessage(), cause, -1);
+    }
+}
@@ -0,0 +1,53 @@
+package cn.brk2outside.ekuiper4j.reactive.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.request.MqttSourceConfigRequest;
+import cn.brk2outside.ekuiper4j.dto.response.MqttSourceConfigResponse;
+import cn.brk2outside.ekuiper4j.reactive.http.ReactiveHttpClient;
+import cn.brk2outside.ekuiper4j.reactive.sdk.util.ReactiveApiRequestExecutor;
+import cn.brk2outside.ekuiper4j.sdk.api.ConfigKeyAPI;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Reactive API for managing eKuiper configuration keys, see {@link ConfigKeyAPI}
+ */
+@RequiredArgsConstructor
+public class ReactiveConfigKeyAPI {
+
+    private final ReactiveHttpClient client;
+
+    /**
+     * List all MQTT sources/brokers
+     *
+     * @return mono of the map of MQTT brokers
+     */
+    public Mono<Map<String, MqttSourceConfigResponse>> listMqttBrokers() {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.CONF_LIST_MQTT_SOURCES.getEndpoint());
+    }
+
+    /**
+     * Delete an MQTT broker configuration
+     *
+     * @param brokerName the name of the broker to delete
+     * @return mono completing when the broker is deleted
+     */
+    public Mono<Void> deleteMqttBroker(String brokerName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.CONF_DELETE_MQTT_BROKER.getEndpoint(), brokerName)
+                .then();
+    }
+
+    /**
+     * Create or update an MQTT broker configuration
+     *
+     * @param brokerName the name of the broker
+     * @param request the MQTT broker configuration
+     * @return mono completing when the broker is created or updated
+     */
+    public Mono<Void> createOrUpdateMqttBroker(String brokerName, MqttSourceConfigRequest request) {
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.CONF_CREATE_MQTT_BROKER.getEndpoint(), request, brokerName)
+                .then();
+    }
+}
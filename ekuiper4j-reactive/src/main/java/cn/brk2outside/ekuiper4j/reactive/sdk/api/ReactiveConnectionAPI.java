@@ -0,0 +1,108 @@
+package cn.brk2outside.ekuiper4j.reactive.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.request.CreateConnectionRequest;
+import cn.brk2outside.ekuiper4j.dto.request.MqttSourceConfigRequest;
+import cn.brk2outside.ekuiper4j.reactive.http.ReactiveHttpClient;
+import cn.brk2outside.ekuiper4j.reactive.sdk.util.ReactiveApiRequestExecutor;
+import cn.brk2outside.ekuiper4j.sdk.api.ConnectionAPI;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive API for managing eKuiper connections, see {@link ConnectionAPI}
+ */
+@RequiredArgsConstructor
+public class ReactiveConnectionAPI {
+
+    private final ReactiveHttpClient client;
+
+    /**
+     * Create a new connection
+     *
+     * @param request the connection creation request
+     * @return mono of the success message
+     */
+    public Mono<String> createConnection(CreateConnectionRequest request) {
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.CREATE_CONNECTION.getEndpoint(), request);
+    }
+
+    /**
+     * Update an existing connection
+     *
+     * @param connectionName the name of the connection to update
+     * @param request the update request
+     * @return mono of the success message
+     */
+    public Mono<String> updateConnection(String connectionName, CreateConnectionRequest<?> request) {
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.UPDATE_CONNECTION.getEndpoint(), request, connectionName);
+    }
+
+    /**
+     * List all connections
+     *
+     * @return mono of the list of connections
+     */
+    public Mono<List<Map<String, Object>>> listConnections() {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.LIST_CONNECTIONS.getEndpoint());
+    }
+
+    /**
+     * Get details of a specific connection
+     *
+     * @param connectionName the name of the connection
+     * @return mono of the connection details
+     */
+    public Mono<Map<String, Object>> getConnectionInfo(String connectionName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.GET_CONNECTION_INFO.getEndpoint(), connectionName);
+    }
+
+    /**
+     * Delete a connection
+     *
+     * @param connectionName the name of the connection to delete
+     * @return mono of the success message
+     */
+    public Mono<String> deleteConnection(String connectionName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.DELETE_CONNECTION.getEndpoint(), connectionName);
+    }
+
+    /**
+     * Check sink connection
+     *
+     * @param config the sink connection configuration
+     * @return mono of the check result
+     */
+    public Mono<String> checkSinkConnection(Map<String, Object> config) {
+        Object type = config.get("type");
+        Assert.notNull(type, "[checkSinkConnection] config.type is required");
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.SINK_CONNECTION_CHECK.getEndpoint(), config, type);
+    }
+
+    /**
+     * Check source connection
+     *
+     * @param config the source connection configuration
+     * @return mono of the check result
+     */
+    public Mono<String> checkSourceConnection(Map<String, Object> config) {
+        Object type = config.get("type");
+        Assert.notNull(type, "[checkSourceConnection] config.type is required");
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.SOURCE_CONNECTION_CHECK.getEndpoint(), config, type);
+    }
+
+    /**
+     * Check MQTT source connection
+     *
+     * @param request the MQTT source configuration request
+     * @return mono completing when the check succeeds
+     */
+    public Mono<Void> checkMqttSourceConnection(MqttSourceConfigRequest request) {
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.MQTT_SOURCE_CONNECTION_CHECK.getEndpoint(), request)
+                .then();
+    }
+}
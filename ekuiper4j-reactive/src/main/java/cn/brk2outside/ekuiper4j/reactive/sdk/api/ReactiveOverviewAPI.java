@@ -0,0 +1,28 @@
+package cn.brk2outside.ekuiper4j.reactive.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.response.KuiperInfo;
+import cn.brk2outside.ekuiper4j.reactive.http.ReactiveHttpClient;
+import cn.brk2outside.ekuiper4j.reactive.sdk.util.ReactiveApiRequestExecutor;
+import cn.brk2outside.ekuiper4j.sdk.api.OverviewAPI;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive API for eKuiper server information, see {@link OverviewAPI}
+ */
+@RequiredArgsConstructor
+public class ReactiveOverviewAPI {
+
+    private final ReactiveHttpClient client;
+
+    public Mono<KuiperInfo> getServerInfo() {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.GET_SERVER_INFO.getEndpoint());
+    }
+
+    public Mono<Void> ping() {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.PING.getEndpoint())
+                .then();
+    }
+
+}
@@ -0,0 +1,164 @@
+package cn.brk2outside.ekuiper4j.reactive.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.request.CreateRuleRequest;
+import cn.brk2outside.ekuiper4j.dto.response.RuleListResponse;
+import cn.brk2outside.ekuiper4j.dto.response.RuleResponse;
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.reactive.http.ReactiveHttpClient;
+import cn.brk2outside.ekuiper4j.reactive.sdk.util.ReactiveApiRequestExecutor;
+import cn.brk2outside.ekuiper4j.sdk.api.RuleAPI;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive API for managing eKuiper rules, see {@link RuleAPI}
+ */
+@RequiredArgsConstructor
+public class ReactiveRuleAPI {
+
+    private final ReactiveHttpClient client;
+
+    /**
+     * Create a new rule
+     *
+     * @param request the rule creation request
+     * @return mono of the success message
+     */
+    public Mono<String> createRule(CreateRuleRequest request) {
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.CREATE_RULE.getEndpoint(), request);
+    }
+
+    /**
+     * List all rules
+     *
+     * @return mono of the list of rules
+     */
+    public Mono<List<RuleListResponse>> listRules() {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.LIST_RULES.getEndpoint());
+    }
+
+    /**
+     * Get details of a specific rule
+     *
+     * @param ruleName the name of the rule
+     * @return mono of the rule details
+     */
+    public Mono<RuleResponse> getRule(String ruleName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.GET_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Update an existing rule
+     *
+     * @param ruleName the name of the rule to update
+     * @param request the update request
+     * @return mono of the success message
+     */
+    public Mono<String> updateRule(String ruleName, CreateRuleRequest request) {
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.UPDATE_RULE.getEndpoint(), request, ruleName);
+    }
+
+    /**
+     * Delete a rule
+     *
+     * @param ruleName the name of the rule to delete
+     * @return mono of the success message
+     */
+    public Mono<String> deleteRule(String ruleName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.DELETE_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Start a rule
+     *
+     * @param ruleName the name of the rule to start
+     * @return mono of the success message
+     */
+    public Mono<String> startRule(String ruleName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.START_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Stop a rule
+     *
+     * @param ruleName the name of the rule to stop
+     * @return mono of the success message
+     */
+    public Mono<String> stopRule(String ruleName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.STOP_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Restart a rule
+     *
+     * @param ruleName the name of the rule to restart
+     * @return mono of the success message
+     */
+    public Mono<String> restartRule(String ruleName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.RESTART_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Get status of a specific rule
+     *
+     * @param ruleName the name of the rule
+     * @return mono of the rule status
+     */
+    public Mono<RuleStatusResponse> getRuleStatus(String ruleName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.GET_RULE_STATUS.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Get status of all rules
+     *
+     * @return mono of the map of rule statuses
+     */
+    public Mono<Map<String, RuleStatusResponse>> getAllRulesStatus() {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.GET_ALL_RULES_STATUS.getEndpoint());
+    }
+
+    /**
+     * Stream the status of all rules as it is decoded from the response.
+     * Only as much of the response is read from the connection as the subscriber has requested,
+     * so large fleets of rules do not have to be buffered in memory.
+     *
+     * @return flux of rule name and status pairs
+     */
+    public Flux<Map.Entry<String, RuleStatusResponse>> streamAllRulesStatus() {
+        return ReactiveApiRequestExecutor.executeEntries(client, StandardEndpoints.GET_ALL_RULES_STATUS.getEndpoint());
+    }
+
+    /**
+     * Validate a rule
+     *
+     * @param request the rule to validate
+     * @return mono of the validation result
+     */
+    public Mono<String> validateRule(CreateRuleRequest request) {
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.VALIDATE_RULE.getEndpoint(), request);
+    }
+
+    /**
+     * Get explanation of a rule
+     *
+     * @param ruleName the name of the rule
+     * @return mono of the explanation of the rule
+     */
+    public Mono<String> explainRule(String ruleName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.EXPLAIN_RULE.getEndpoint(), ruleName);
+    }
+
+    /**
+     * Get CPU usage of all rules
+     *
+     * @return mono of the CPU usage information
+     */
+    public Mono<String> getRulesCpuUsage() {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.GET_RULES_CPU_USAGE.getEndpoint());
+    }
+}
@@ -0,0 +1,83 @@
+package cn.brk2outside.ekuiper4j.reactive.sdk.api;
+
+import cn.brk2outside.ekuiper4j.dto.request.CreateStreamRequest;
+import cn.brk2outside.ekuiper4j.dto.request.UpdateStreamRequest;
+import cn.brk2outside.ekuiper4j.dto.response.StreamSchemaResponse;
+import cn.brk2outside.ekuiper4j.model.stream.Stream;
+import cn.brk2outside.ekuiper4j.reactive.http.ReactiveHttpClient;
+import cn.brk2outside.ekuiper4j.reactive.sdk.util.ReactiveApiRequestExecutor;
+import cn.brk2outside.ekuiper4j.sdk.api.StreamAPI;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.StandardEndpoints;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive API for managing eKuiper streams, see {@link StreamAPI}
+ */
+@RequiredArgsConstructor
+public class ReactiveStreamAPI {
+
+    private final ReactiveHttpClient client;
+
+    /**
+     * Create a new stream
+     *
+     * @param request the stream creation request
+     * @return mono of the success message
+     */
+    public Mono<String> createStream(CreateStreamRequest request) {
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.CREATE_STREAM.getEndpoint(), request);
+    }
+
+    /**
+     * List all streams
+     *
+     * @return mono of the list of stream names
+     */
+    public Mono<List<String>> listStreams() {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.LIST_STREAMS.getEndpoint());
+    }
+
+    /**
+     * Get details of a specific stream
+     *
+     * @param streamName the name of the stream
+     * @return mono of the stream details
+     */
+    public Mono<Stream> getStreamDetails(String streamName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.GET_STREAM_DETAILS.getEndpoint(), streamName);
+    }
+
+    /**
+     * Get schema of a specific stream
+     *
+     * @param streamName the name of the stream
+     * @return mono of the stream schema
+     */
+    public Mono<StreamSchemaResponse> getStreamSchema(String streamName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.GET_STREAM_SCHEMA.getEndpoint(), streamName);
+    }
+
+    /**
+     * Update an existing stream
+     *
+     * @param streamName the name of the stream to update
+     * @param request the update request
+     * @return mono of the success message
+     */
+    public Mono<String> updateStream(String streamName, UpdateStreamRequest request) {
+        return ReactiveApiRequestExecutor.executeBody(client, StandardEndpoints.UPDATE_STREAM.getEndpoint(), request, streamName);
+    }
+
+    /**
+     * Delete a stream
+     *
+     * @param streamName the name of the stream to delete
+     * @return mono of the success message
+     */
+    public Mono<String> deleteStream(String streamName) {
+        return ReactiveApiRequestExecutor.execute(client, StandardEndpoints.DELETE_STREAM.getEndpoint(), streamName);
+    }
+}
@@ -0,0 +1,123 @@
+package cn.brk2outside.ekuiper4j.reactive.sdk.util;
+
+import cn.brk2outside.ekuiper4j.reactive.http.ReactiveHttpClient;
+import cn.brk2outside.ekuiper4j.sdk.endpoint.ApiEndpoint;
+import cn.brk2outside.ekuiper4j.sdk.util.ApiRequestExecutor;
+import org.springframework.core.ParameterizedTypeReference;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link ApiRequestExecutor}, driven by the same {@link ApiEndpoint} metadata.
+ * <p>
+ * Path variable count mismatches are signalled as an {@link IllegalArgumentException} on subscription.
+ */
+public final class ReactiveApiRequestExecutor {
+
+    private ReactiveApiRequestExecutor() {
+        // Utility class, do not instantiate
+    }
+
+    /**
+     * Executes an API request defined by the endpoint with path variables.
+     *
+     * @param httpClient The reactive HTTP client to use
+     * @param endpoint The API endpoint definition
+     * @param pathVariables Path variables to replace in the endpoint path
+     * @param <T> Request body type
+     * @param <R> Response type
+     * @return A mono of the converted response
+     */
+    public static <T, R> Mono<R> execute(ReactiveHttpClient httpClient, ApiEndpoint<T, R> endpoint, Object... pathVariables) {
+        return executeBodyAndQs(httpClient, endpoint, null, null, pathVariables);
+    }
+
+    /**
+     * Executes an API request defined by the endpoint with a request body and path variables.
+     *
+     * @param httpClient The reactive HTTP client to use
+     * @param endpoint The API endpoint definition
+     * @param requestBody The request body (can be null)
+     * @param pathVariables Path variables to replace in the endpoint path
+     * @param <T> Request body type
+     * @param <R> Response type
+     * @return A mono of the converted response
+     */
+    public static <T, R> Mono<R> executeBody(ReactiveHttpClient httpClient, ApiEndpoint<T, R> endpoint, T requestBody,
+                                             Object... pathVariables) {
+        return executeBodyAndQs(httpClient, endpoint, requestBody, null, pathVariables);
+    }
+
+    /**
+     * Executes an API request defined by the endpoint with path variables and query parameters.
+     *
+     * @param httpClient The reactive HTTP client to use
+     * @param endpoint The API endpoint definition
+     * @param queryParams Query parameters to append to the URL
+     * @param pathVariables Path variables to replace in the endpoint path
+     * @param <T> Request body type
+     * @param <R> Response type
+     * @return A mono of the converted response
+     */
+    public static <T, R> Mono<R> executeQs(ReactiveHttpClient httpClient, ApiEndpoint<T, R> endpoint,
+                                           Map<String, Object> queryParams, Object... pathVariables) {
+        return executeBodyAndQs(httpClient, endpoint, null, queryParams, pathVariables);
+    }
+
+    /**
+     * Executes an API request defined by the endpoint with a request body, path variables, and query parameters.
+     *
+     * @param httpClient The reactive HTTP client to use
+     * @param endpoint The API endpoint definition
+     * @param requestBody The request body (can be null)
+     * @param queryParams Query parameters to append to the URL
+     * @param pathVariables Path variables to replace in the endpoint path
+     * @param <T> Request body type
+     * @param <R> Response type
+     * @return A mono of the converted response
+     */
+    public static <T, R> Mono<R> executeBodyAndQs(ReactiveHttpClient httpClient, ApiEndpoint<T, R> endpoint, T requestBody,
+                                                  Map<String, Object> queryParams, Object... pathVariables) {
+        return Mono.defer(() -> {
+            ApiRequestExecutor.validatePathVariableCount(endpoint, pathVariables);
+            return httpClient.exchange(endpoint.getMethod(), endpoint.getEndpoint(), requestBody, queryParams,
+                    endpoint.getResponseClz(), pathVariables);
+        });
+    }
+
+    /**
+     * Executes an API request whose response is a map and streams the map entries as they are decoded,
+     * honouring downstream demand.
+     *
+     * @param httpClient The reactive HTTP client to use
+     * @param endpoint The API endpoint definition; its response type must be a {@code Map<String, V>}
+     * @param pathVariables Path variables to replace in the endpoint path
+     * @param <T> Request body type
+     * @param <V> Map value type
+     * @return A flux of the map entries in response order
+     * @throws IllegalArgumentException if the endpoint's response type is not a map
+     */
+    public static <T, V> Flux<Map.Entry<String, V>> executeEntries(ReactiveHttpClient httpClient,
+                                                                   ApiEndpoint<T, Map<String, V>> endpoint,
+                                                                   Object... pathVariables) {
+        ParameterizedTypeReference<V> valueType = mapValueType(endpoint);
+        return Flux.defer(() -> {
+            ApiRequestExecutor.validatePathVariableCount(endpoint, pathVariables);
+            return httpClient.exchangeEntries(endpoint.getMethod(), endpoint.getEndpoint(), null, valueType, pathVariables);
+        });
+    }
+
+    private static <V> ParameterizedTypeReference<V> mapValueType(ApiEndpoint<?, ?> endpoint) {
+        Type type = endpoint.getResponseClz().getType();
+        if (type instanceof ParameterizedType parameterizedType
+                && parameterizedType.getRawType() instanceof Class<?> rawType
+                && Map.class.isAssignableFrom(rawType)) {
+            return ParameterizedTypeReference.forType(parameterizedType.getActualTypeArguments()[1]);
+        }
+        throw new IllegalArgumentException("Endpoint " + endpoint.getEndpoint() + " does not return a map: " + type);
+    }
+}
@@ -0,0 +1,112 @@
+package cn.brk2outside.ekuiper4j.reactive.http;
+
+import cn.brk2outside.ekuiper4j.dto.response.RuleStatusResponse;
+import cn.brk2outside.ekuiper4j.http.HttpClientException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JsonObjectEntryDecoder
+ */
+public class JsonObjectEntryDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final JsonObjectEntryDecoder<RuleStatusResponse> decoder = new JsonObjectEntryDecoder<>(
+            objectMapper, objectMapper.getTypeFactory().constructType(RuleStatusResponse.class));
+
+    @Test
+    void testDecodesEntriesSplitAcrossChunks() {
+        String json = "{\"rule1\": {\"lastStartTimestamp\": 100, \"nested\": {\"a\": [1, 2]}},"
+                + " \"rule2\": {\"lastStopTimestamp\": 200}}";
+
+        StepVerifier.create(decoder.decode(chunks(json, 3)))
+                .assertNext(entry -> {
+                    assertEquals("rule1", entry.getKey());
+                    assertEquals(100L, entry.getValue().getLastStartTimestamp());
+                })
+                .assertNext(entry -> {
+                    assertEquals("rule2", entry.getKey());
+                    assertEquals(200L, entry.getValue().getLastStopTimestamp());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testEmptyObjectAndEmptyBody() {
+        StepVerifier.create(decoder.decode(chunks("{}", 1))).verifyComplete();
+        StepVerifier.create(decoder.decode(Flux.empty())).verifyComplete();
+        StepVerifier.create(decoder.decode(chunks("null", 2))).verifyComplete();
+    }
+
+    @Test
+    void testScalarValues() {
+        JavaType valueType = objectMapper.getTypeFactory().constructType(Object.class);
+        JsonObjectEntryDecoder<Object> scalarDecoder = new JsonObjectEntryDecoder<>(objectMapper, valueType);
+
+        StepVerifier.create(scalarDecoder.decode(chunks("{\"a\": 1, \"b\": \"two\", \"c\": null}", 4)))
+                .assertNext(entry -> assertEquals(1, entry.getValue()))
+                .assertNext(entry -> assertEquals("two", entry.getValue()))
+                .assertNext(entry -> assertNull(entry.getValue()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testReadsBodyOnDemand() {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"rule").append(i).append("\": {\"lastStartTimestamp\": ").append(i).append('}');
+        }
+        json.append('}');
+
+        AtomicInteger chunksRead = new AtomicInteger();
+        Flux<DataBuffer> body = chunks(json.toString(), 16).doOnNext(buffer -> chunksRead.incrementAndGet());
+
+        StepVerifier.create(decoder.decode(body), 1)
+                .assertNext(entry -> assertEquals("rule0", entry.getKey()))
+                .then(() -> assertTrue(chunksRead.get() < 10, "read " + chunksRead.get() + " chunks for one entry"))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(99)
+                .verifyComplete();
+    }
+
+    @Test
+    void testRejectsNonObjectAndTruncatedBodies() {
+        StepVerifier.create(decoder.decode(chunks("[1, 2]", 2)))
+                .expectError(HttpClientException.class)
+                .verify();
+
+        StepVerifier.create(decoder.decode(chunks("{\"rule1\": {\"lastStartTimestamp\": 1", 5)))
+                .expectError(HttpClientException.class)
+                .verify();
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int chunkSize) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<byte[]> parts = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            byte[] part = new byte[Math.min(chunkSize, bytes.length - offset)];
+            System.arraycopy(bytes, offset, part, 0, part.length);
+            parts.add(part);
+        }
+        return Flux.fromIterable(parts).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+}